@@ -1041,6 +1041,7 @@ CREATE TABLE "INFRA_JOB" (
   "CRON_EXPRESSION" NVARCHAR2(32),
   "RETRY_COUNT" NUMBER(11,0) NOT NULL,
   "RETRY_INTERVAL" NUMBER(11,0) NOT NULL,
+  "SHARDING_TOTAL" NUMBER(11,0) DEFAULT 1 NOT NULL,
   "MONITOR_TIMEOUT" NUMBER(11,0) NOT NULL,
   "CREATOR" NVARCHAR2(64),
   "CREATE_TIME" DATE NOT NULL,
@@ -1073,6 +1074,7 @@ COMMENT ON COLUMN "INFRA_JOB"."HANDLER_PARAM" IS '处理器的参数';
 COMMENT ON COLUMN "INFRA_JOB"."CRON_EXPRESSION" IS 'CRON 表达式';
 COMMENT ON COLUMN "INFRA_JOB"."RETRY_COUNT" IS '重试次数';
 COMMENT ON COLUMN "INFRA_JOB"."RETRY_INTERVAL" IS '重试间隔';
+COMMENT ON COLUMN "INFRA_JOB"."SHARDING_TOTAL" IS '分片总数';
 COMMENT ON COLUMN "INFRA_JOB"."MONITOR_TIMEOUT" IS '监控超时时间';
 COMMENT ON COLUMN "INFRA_JOB"."CREATOR" IS '创建者';
 COMMENT ON COLUMN "INFRA_JOB"."CREATE_TIME" IS '创建时间';
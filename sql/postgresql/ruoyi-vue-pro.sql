@@ -169,6 +169,15 @@ INCREMENT 1
 MAXVALUE 9223372036854775807
 CACHE 1;
 
+-- ----------------------------
+-- Sequence structure for infra_job_log_failure_seq
+-- ----------------------------
+DROP SEQUENCE IF EXISTS "infra_job_log_failure_seq";
+CREATE SEQUENCE "infra_job_log_failure_seq"
+INCREMENT 1
+MAXVALUE 9223372036854775807
+CACHE 1;
+
 -- ----------------------------
 -- Sequence structure for infra_job_seq
 -- ----------------------------
@@ -1314,6 +1323,7 @@ CREATE TABLE "infra_job" (
   "cron_expression" varchar(32) COLLATE "pg_catalog"."default" NOT NULL,
   "retry_count" int4 NOT NULL,
   "retry_interval" int4 NOT NULL,
+  "sharding_total" int4 NOT NULL DEFAULT 1,
   "monitor_timeout" int4 NOT NULL,
   "creator" varchar(64) COLLATE "pg_catalog"."default",
   "create_time" timestamp(6) NOT NULL,
@@ -1330,6 +1340,7 @@ COMMENT ON COLUMN "infra_job"."handler_param" IS '处理器的参数';
 COMMENT ON COLUMN "infra_job"."cron_expression" IS 'CRON 表达式';
 COMMENT ON COLUMN "infra_job"."retry_count" IS '重试次数';
 COMMENT ON COLUMN "infra_job"."retry_interval" IS '重试间隔';
+COMMENT ON COLUMN "infra_job"."sharding_total" IS '分片总数';
 COMMENT ON COLUMN "infra_job"."monitor_timeout" IS '监控超时时间';
 COMMENT ON COLUMN "infra_job"."creator" IS '创建者';
 COMMENT ON COLUMN "infra_job"."create_time" IS '创建时间';
@@ -1390,6 +1401,33 @@ COMMENT ON TABLE "infra_job_log" IS '定时任务日志表';
 BEGIN;
 COMMIT;
 
+-- ----------------------------
+-- Table structure for infra_job_log_failure
+-- ----------------------------
+DROP TABLE IF EXISTS "infra_job_log_failure";
+CREATE TABLE "infra_job_log_failure" (
+  "id" int8 NOT NULL,
+  "log_id" int8 NOT NULL,
+  "failed_key" varchar(64) COLLATE "pg_catalog"."default" NOT NULL,
+  "reason" varchar(500) COLLATE "pg_catalog"."default",
+  "creator" varchar(64) COLLATE "pg_catalog"."default",
+  "create_time" timestamp(6) NOT NULL,
+  "updater" varchar(64) COLLATE "pg_catalog"."default",
+  "update_time" timestamp(6) NOT NULL,
+  "deleted" int2 NOT NULL DEFAULT 0
+)
+;
+COMMENT ON COLUMN "infra_job_log_failure"."id" IS '编号';
+COMMENT ON COLUMN "infra_job_log_failure"."log_id" IS '日志编号';
+COMMENT ON COLUMN "infra_job_log_failure"."failed_key" IS '失败的 key';
+COMMENT ON COLUMN "infra_job_log_failure"."reason" IS '失败原因';
+COMMENT ON COLUMN "infra_job_log_failure"."creator" IS '创建者';
+COMMENT ON COLUMN "infra_job_log_failure"."create_time" IS '创建时间';
+COMMENT ON COLUMN "infra_job_log_failure"."updater" IS '更新者';
+COMMENT ON COLUMN "infra_job_log_failure"."update_time" IS '更新时间';
+COMMENT ON COLUMN "infra_job_log_failure"."deleted" IS '是否删除';
+COMMENT ON TABLE "infra_job_log_failure" IS '定时任务日志的失败明细表';
+
 -- ----------------------------
 -- Table structure for infra_test_demo
 -- ----------------------------
@@ -4367,6 +4405,18 @@ ALTER TABLE "infra_job" ADD CONSTRAINT "infra_job_pkey" PRIMARY KEY ("id");
 -- ----------------------------
 ALTER TABLE "infra_job_log" ADD CONSTRAINT "infra_job_log_pkey" PRIMARY KEY ("id");
 
+-- ----------------------------
+-- Indexes structure for table infra_job_log_failure
+-- ----------------------------
+CREATE INDEX "idx_infra_job_log_failure_log_id" ON "infra_job_log_failure" USING btree (
+  "log_id" "pg_catalog"."int8_ops" ASC NULLS LAST
+);
+
+-- ----------------------------
+-- Primary Key structure for table infra_job_log_failure
+-- ----------------------------
+ALTER TABLE "infra_job_log_failure" ADD CONSTRAINT "infra_job_log_failure_pkey" PRIMARY KEY ("id");
+
 -- ----------------------------
 -- Primary Key structure for table infra_test_demo
 -- ----------------------------
@@ -3014,6 +3014,7 @@ CREATE TABLE [dbo].[infra_job] (
   [cron_expression] nvarchar(32) COLLATE SQL_Latin1_General_CP1_CI_AS  NOT NULL,
   [retry_count] int  NOT NULL,
   [retry_interval] int  NOT NULL,
+  [sharding_total] int DEFAULT 1 NOT NULL,
   [monitor_timeout] int  NOT NULL,
   [creator] nvarchar(64) COLLATE SQL_Latin1_General_CP1_CI_AS  NULL,
   [create_time] datetime2(7)  NOT NULL,
@@ -3082,6 +3083,13 @@ EXEC sp_addextendedproperty
 'COLUMN', N'retry_interval'
 GO
 
+EXEC sp_addextendedproperty
+'MS_Description', N'分片总数',
+'SCHEMA', N'dbo',
+'TABLE', N'infra_job',
+'COLUMN', N'sharding_total'
+GO
+
 EXEC sp_addextendedproperty
 'MS_Description', N'监控超时时间',
 'SCHEMA', N'dbo',
@@ -3307,6 +3315,99 @@ COMMIT
 GO
 
 
+-- ----------------------------
+-- Table structure for infra_job_log_failure
+-- ----------------------------
+IF EXISTS (SELECT * FROM sys.all_objects WHERE object_id = OBJECT_ID(N'[dbo].[infra_job_log_failure]') AND type IN ('U'))
+	DROP TABLE [dbo].[infra_job_log_failure]
+GO
+
+CREATE TABLE [dbo].[infra_job_log_failure] (
+  [id] bigint  IDENTITY(1,1) NOT NULL,
+  [log_id] bigint  NOT NULL,
+  [failed_key] nvarchar(64) COLLATE SQL_Latin1_General_CP1_CI_AS  NOT NULL,
+  [reason] nvarchar(500) COLLATE SQL_Latin1_General_CP1_CI_AS  NULL,
+  [creator] nvarchar(64) COLLATE SQL_Latin1_General_CP1_CI_AS  NULL,
+  [create_time] datetime2(7)  NOT NULL,
+  [updater] nvarchar(64) COLLATE SQL_Latin1_General_CP1_CI_AS  NULL,
+  [update_time] datetime2(7)  NOT NULL,
+  [deleted] bit DEFAULT 0 NOT NULL
+)
+GO
+
+ALTER TABLE [dbo].[infra_job_log_failure] SET (LOCK_ESCALATION = TABLE)
+GO
+
+EXEC sp_addextendedproperty
+'MS_Description', N'编号',
+'SCHEMA', N'dbo',
+'TABLE', N'infra_job_log_failure',
+'COLUMN', N'id'
+GO
+
+EXEC sp_addextendedproperty
+'MS_Description', N'日志编号',
+'SCHEMA', N'dbo',
+'TABLE', N'infra_job_log_failure',
+'COLUMN', N'log_id'
+GO
+
+EXEC sp_addextendedproperty
+'MS_Description', N'失败的 key',
+'SCHEMA', N'dbo',
+'TABLE', N'infra_job_log_failure',
+'COLUMN', N'failed_key'
+GO
+
+EXEC sp_addextendedproperty
+'MS_Description', N'失败原因',
+'SCHEMA', N'dbo',
+'TABLE', N'infra_job_log_failure',
+'COLUMN', N'reason'
+GO
+
+EXEC sp_addextendedproperty
+'MS_Description', N'创建者',
+'SCHEMA', N'dbo',
+'TABLE', N'infra_job_log_failure',
+'COLUMN', N'creator'
+GO
+
+EXEC sp_addextendedproperty
+'MS_Description', N'创建时间',
+'SCHEMA', N'dbo',
+'TABLE', N'infra_job_log_failure',
+'COLUMN', N'create_time'
+GO
+
+EXEC sp_addextendedproperty
+'MS_Description', N'更新者',
+'SCHEMA', N'dbo',
+'TABLE', N'infra_job_log_failure',
+'COLUMN', N'updater'
+GO
+
+EXEC sp_addextendedproperty
+'MS_Description', N'更新时间',
+'SCHEMA', N'dbo',
+'TABLE', N'infra_job_log_failure',
+'COLUMN', N'update_time'
+GO
+
+EXEC sp_addextendedproperty
+'MS_Description', N'是否删除',
+'SCHEMA', N'dbo',
+'TABLE', N'infra_job_log_failure',
+'COLUMN', N'deleted'
+GO
+
+EXEC sp_addextendedproperty
+'MS_Description', N'定时任务日志的失败明细表',
+'SCHEMA', N'dbo',
+'TABLE', N'infra_job_log_failure'
+GO
+
+
 -- ----------------------------
 -- Table structure for infra_test_demo
 -- ----------------------------
@@ -11783,6 +11884,18 @@ ON [PRIMARY]
 GO
 
 
+-- ----------------------------
+-- Primary Key structure for table infra_job_log_failure
+-- ----------------------------
+ALTER TABLE [dbo].[infra_job_log_failure] ADD CONSTRAINT [PK__infra_job_log_failure] PRIMARY KEY CLUSTERED ([id])
+WITH (PAD_INDEX = OFF, STATISTICS_NORECOMPUTE = OFF, IGNORE_DUP_KEY = OFF, ALLOW_ROW_LOCKS = ON, ALLOW_PAGE_LOCKS = ON)
+ON [PRIMARY]
+GO
+
+CREATE NONCLUSTERED INDEX [idx_log_id] ON [dbo].[infra_job_log_failure] ([log_id])
+GO
+
+
 -- ----------------------------
 -- Auto increment value for infra_test_demo
 -- ----------------------------
@@ -27,4 +27,12 @@ public class PageParam implements Serializable {
     @Max(value = 100, message = "每页条数最大值为 100")
     private Integer pageSize = PAGE_SIZE;
 
+    @ApiModelProperty(value = "是否跳过查询总数", example = "false",
+            notes = "数据量大时，COUNT 查询较慢，可以跳过。此时，返回的总量为估算值，只用于判断是否有下一页")
+    private Boolean skipCount;
+
+    @ApiModelProperty(value = "游标，即上一页返回的 nextCursor", example = "MTAyNA",
+            notes = "非空时，使用游标分页，从游标的位置继续查询，避免深分页的性能问题")
+    private String cursor;
+
 }
@@ -15,9 +15,20 @@ public final class PageResult<T> implements Serializable {
     @ApiModelProperty(value = "数据", required = true)
     private List<T> list;
 
-    @ApiModelProperty(value = "总量", required = true)
+    /**
+     * 总量
+     *
+     * 注意，{@link PageParam#getSkipCount()} 为 true 时，不执行 COUNT 查询，此时为估算值：
+     * (pageNo - 1) * pageSize + 本页条数，有下一页时再 + 1。只能用于判断是否有下一页，不能作为真实的总数展示。
+     * 游标分页时，pageNo 一般保持为 1，估算值更不代表真实的总数
+     */
+    @ApiModelProperty(value = "总量", required = true,
+            notes = "跳过查询总数时，为估算值，只用于判断是否有下一页")
     private Long total;
 
+    @ApiModelProperty(value = "下一页的游标", example = "MTAyNA", notes = "为空时，表示没有下一页。仅游标分页时返回")
+    private String nextCursor;
+
     public PageResult() {
     }
 
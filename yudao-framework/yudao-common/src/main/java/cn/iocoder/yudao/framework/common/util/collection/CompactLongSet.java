@@ -0,0 +1,153 @@
+package cn.iocoder.yudao.framework.common.util.collection;
+
+import java.util.*;
+
+/**
+ * 紧凑的、不可变的 Long 集合
+ *
+ * 排序后，将连续的编号合并成区间 [start, end]，使用 long 数组存储，类似 Roaring Bitmap 的 Run 容器。
+ * 例如说，部门的子部门编号大多是连续自增的，可以压缩成少量区间，相比 HashSet 占用的内存小很多。
+ *
+ * 适合作为本地缓存的值，例如说数据权限的部门编号集合
+ *
+ * @author 芋道源码
+ */
+public final class CompactLongSet extends AbstractSet<Long> {
+
+    private static final CompactLongSet EMPTY = new CompactLongSet(new long[0], 0);
+
+    /**
+     * 区间数组，每两个元素为一个区间，即 runs[2i] 为开始编号，runs[2i + 1] 为结束编号（包含）
+     */
+    private final long[] runs;
+    /**
+     * 元素数量
+     */
+    private final int size;
+
+    private CompactLongSet(long[] runs, int size) {
+        this.runs = runs;
+        this.size = size;
+    }
+
+    /**
+     * 基于集合，创建 CompactLongSet。null 元素会被忽略
+     *
+     * @param values 集合
+     * @return CompactLongSet
+     */
+    public static CompactLongSet of(Collection<Long> values) {
+        if (values instanceof CompactLongSet) {
+            return (CompactLongSet) values;
+        }
+        if (values == null || values.isEmpty()) {
+            return EMPTY;
+        }
+        // 排序、去重
+        long[] sorted = values.stream().filter(Objects::nonNull).mapToLong(Long::longValue).sorted().distinct().toArray();
+        if (sorted.length == 0) {
+            return EMPTY;
+        }
+        // 合并连续的编号为区间
+        long[] runs = new long[sorted.length * 2];
+        int count = 0;
+        long start = sorted[0];
+        long end = start;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] == end + 1) {
+                end = sorted[i];
+                continue;
+            }
+            runs[count++] = start;
+            runs[count++] = end;
+            start = end = sorted[i];
+        }
+        runs[count++] = start;
+        runs[count++] = end;
+        return new CompactLongSet(Arrays.copyOf(runs, count), sorted.length);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Long)) {
+            return false;
+        }
+        return contains(((Long) o).longValue());
+    }
+
+    public boolean contains(long value) {
+        // 二分查找，最后一个开始编号 <= value 的区间
+        int low = 0;
+        int high = runs.length / 2 - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long start = runs[mid * 2];
+            if (start > value) {
+                high = mid - 1;
+            } else if (runs[mid * 2 + 1] < value) {
+                low = mid + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 获得区间数量，用于评估压缩效果
+     *
+     * @return 区间数量
+     */
+    public int getRunCount() {
+        return runs.length / 2;
+    }
+
+    /**
+     * 获得区间数组，每两个元素为一个区间，即 [开始编号, 结束编号（包含）]
+     *
+     * 例如说，数据权限可以使用 BETWEEN 条件，代替很长的 IN 条件
+     *
+     * @return 区间数组
+     */
+    public long[] getRuns() {
+        return runs.clone();
+    }
+
+    @Override
+    public Iterator<Long> iterator() {
+        return new Iterator<Long>() {
+
+            private int run;
+            private long next = runs.length > 0 ? runs[0] : 0;
+
+            @Override
+            public boolean hasNext() {
+                return run * 2 < runs.length;
+            }
+
+            @Override
+            public Long next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                long value = next;
+                if (value == runs[run * 2 + 1]) {
+                    run++;
+                    if (run * 2 < runs.length) {
+                        next = runs[run * 2];
+                    }
+                } else {
+                    next = value + 1;
+                }
+                return value;
+            }
+
+        };
+    }
+
+}
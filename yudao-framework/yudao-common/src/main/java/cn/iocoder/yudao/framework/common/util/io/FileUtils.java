@@ -7,9 +7,11 @@ import cn.hutool.core.util.IdUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.crypto.digest.DigestUtil;
 import lombok.SneakyThrows;
+import org.springframework.core.io.InputStreamSource;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.InputStream;
 
 /**
  * 文件工具类
@@ -81,4 +83,28 @@ public class FileUtils {
         return sha256Hex + '.' + FileTypeUtil.getType(new ByteArrayInputStream(content));
     }
 
+    /**
+     * 生成文件路径，基于流式读取，避免将整个文件加载到内存中
+     *
+     * @param content      文件内容，会被多次打开读取
+     * @param originalName 原始文件名
+     * @return path，唯一不可重复
+     */
+    @SneakyThrows
+    public static String generatePath(InputStreamSource content, String originalName) {
+        String sha256Hex;
+        try (InputStream in = content.getInputStream()) {
+            sha256Hex = DigestUtil.sha256Hex(in);
+        }
+        // 情况一：如果存在 name，则优先使用 name 的后缀
+        if (StrUtil.isNotBlank(originalName)) {
+            String extName = FileNameUtil.extName(originalName);
+            return StrUtil.isBlank(extName) ? sha256Hex : sha256Hex + "." + extName;
+        }
+        // 情况二：基于 content 计算
+        try (InputStream in = content.getInputStream()) {
+            return sha256Hex + '.' + FileTypeUtil.getType(in);
+        }
+    }
+
 }
@@ -0,0 +1,88 @@
+package cn.iocoder.yudao.framework.common.util.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link CompactLongSet} 的单元测试类
+ */
+public class CompactLongSetTest {
+
+    @Test
+    public void testOf_runBoundaries() {
+        // 调用
+        CompactLongSet set = CompactLongSet.of(asList(5L, 1L, 2L, 3L, 7L, 8L, 10L));
+        // 断言：区间为 [1, 3]、[5, 5]、[7, 8]、[10, 10]
+        assertEquals(7, set.size());
+        assertEquals(4, set.getRunCount());
+        assertArrayEquals(new long[]{1, 3, 5, 5, 7, 8, 10, 10}, set.getRuns());
+        // 断言：区间的边界
+        assertTrue(set.contains(1L));
+        assertTrue(set.contains(3L));
+        assertTrue(set.contains(5L));
+        assertTrue(set.contains(7L));
+        assertTrue(set.contains(8L));
+        assertTrue(set.contains(10L));
+        // 断言：区间之间、两端之外
+        assertFalse(set.contains(0L));
+        assertFalse(set.contains(4L));
+        assertFalse(set.contains(6L));
+        assertFalse(set.contains(9L));
+        assertFalse(set.contains(11L));
+        // 断言：迭代顺序，跨越区间
+        assertEquals(asList(1L, 2L, 3L, 5L, 7L, 8L, 10L), new ArrayList<>(set));
+    }
+
+    @Test
+    public void testOf_duplicates() {
+        // 调用
+        CompactLongSet set = CompactLongSet.of(asList(3L, 1L, 2L, 2L, 3L, 1L, null));
+        // 断言：去重，并且忽略 null
+        assertEquals(3, set.size());
+        assertEquals(1, set.getRunCount());
+        assertEquals(new HashSet<>(asList(1L, 2L, 3L)), set);
+        assertFalse(set.contains(null));
+    }
+
+    @Test
+    public void testOf_negative() {
+        // 调用
+        CompactLongSet set = CompactLongSet.of(asList(-2L, -1L, 0L, 1L, -5L, Long.MIN_VALUE, Long.MAX_VALUE));
+        // 断言：负数、跨越 0 的区间，以及 long 的边界
+        assertEquals(7, set.size());
+        assertArrayEquals(new long[]{Long.MIN_VALUE, Long.MIN_VALUE, -5, -5, -2, 1, Long.MAX_VALUE, Long.MAX_VALUE},
+                set.getRuns());
+        assertTrue(set.contains(-1L));
+        assertTrue(set.contains(Long.MIN_VALUE));
+        assertTrue(set.contains(Long.MAX_VALUE));
+        assertFalse(set.contains(-3L));
+        assertFalse(set.contains(Long.MAX_VALUE - 1));
+        assertEquals(asList(Long.MIN_VALUE, -5L, -2L, -1L, 0L, 1L, Long.MAX_VALUE), new ArrayList<>(set));
+    }
+
+    @Test
+    public void testOf_empty() {
+        // 断言：空集合、只有 null 的集合
+        assertTrue(CompactLongSet.of(null).isEmpty());
+        assertTrue(CompactLongSet.of(Collections.emptyList()).isEmpty());
+        CompactLongSet set = CompactLongSet.of(Collections.singletonList(null));
+        assertTrue(set.isEmpty());
+        assertEquals(0, set.getRunCount());
+        assertFalse(set.iterator().hasNext());
+        assertThrows(NoSuchElementException.class, () -> set.iterator().next());
+        assertFalse(set.contains(0L));
+    }
+
+    @Test
+    public void testContains_otherType() {
+        CompactLongSet set = CompactLongSet.of(asList(1L, 2L));
+        // 断言：非 Long 类型，不包含
+        assertFalse(set.contains(1));
+        assertFalse(set.contains("1"));
+    }
+
+}
@@ -10,6 +10,10 @@ import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
 import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
 import com.baomidou.mybatisplus.extension.parser.JsqlParserSupport;
 import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import net.sf.jsqlparser.expression.*;
@@ -18,6 +22,7 @@ import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
 import net.sf.jsqlparser.expression.operators.relational.ExistsExpression;
 import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
 import net.sf.jsqlparser.expression.operators.relational.InExpression;
+import net.sf.jsqlparser.parser.ASTNodeAccessImpl;
 import net.sf.jsqlparser.schema.Table;
 import net.sf.jsqlparser.statement.delete.Delete;
 import net.sf.jsqlparser.statement.select.*;
@@ -41,6 +46,9 @@ import java.util.concurrent.ConcurrentHashMap;
  * 整体的代码实现上，参考 {@link com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor} 实现。
  * 所以每次 MyBatis Plus 升级时，需要 Review 下其具体的实现是否有变更！
  *
+ * 考虑到 SQL 解析的性能开销较大，通过 {@link SqlRewriteCache} 缓存 SQL 重写后的模板，
+ * 命中缓存时，只需要重新计算每个规则的条件，拼接到模板中即可，无需再次解析 SQL
+ *
  * @author 芋道源码
  */
 @RequiredArgsConstructor
@@ -50,6 +58,8 @@ public class DataPermissionDatabaseInterceptor extends JsqlParserSupport impleme
 
     @Getter
     private final MappedStatementCache mappedStatementCache = new MappedStatementCache();
+    @Getter
+    private final SqlRewriteCache sqlRewriteCache = new SqlRewriteCache();
 
     @Override // SELECT 场景
     public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) {
@@ -64,7 +74,7 @@ public class DataPermissionDatabaseInterceptor extends JsqlParserSupport impleme
             // 初始化上下文
             ContextHolder.init(rules);
             // 处理 SQL
-            mpBs.sql(parserSingle(mpBs.sql(), null));
+            mpBs.sql(rewriteSql(mpBs.sql(), rules, false));
         } finally {
             // 添加是否需要重写的缓存
             addMappedStatementCache(ms);
@@ -90,7 +100,7 @@ public class DataPermissionDatabaseInterceptor extends JsqlParserSupport impleme
                 // 初始化上下文
                 ContextHolder.init(rules);
                 // 处理 SQL
-                mpBs.sql(parserMulti(mpBs.sql(), null));
+                mpBs.sql(rewriteSql(mpBs.sql(), rules, true));
             } finally {
                 // 添加是否需要重写的缓存
                 addMappedStatementCache(ms);
@@ -100,6 +110,36 @@ public class DataPermissionDatabaseInterceptor extends JsqlParserSupport impleme
         }
     }
 
+    /**
+     * 重写 SQL，优先使用 {@link SqlRewriteCache} 缓存的模板
+     *
+     * @param sql 原始 SQL
+     * @param rules 数据权限规则数组
+     * @param multi 是否为多条 SQL，即 UPDATE / DELETE 场景
+     * @return 重写后的 SQL
+     */
+    private String rewriteSql(String sql, List<DataPermissionRule> rules, boolean multi) {
+        // 情况一：命中缓存，重新计算每个规则的条件，拼接到模板中
+        SqlRewriteTemplate template = sqlRewriteCache.get(sql, rules);
+        if (template != null) {
+            String result = template.render();
+            if (result != null) {
+                ContextHolder.setRewrite(template.isRewrite());
+                return result;
+            }
+        }
+
+        // 情况二：未命中缓存，解析 SQL 并记录规则的调用，生成模板
+        ContextHolder.startRecord();
+        String templateSql = multi ? parserMulti(sql, null) : parserSingle(sql, null);
+        SqlRewriteRecorder recorder = ContextHolder.getRecorder();
+        if (template == null) {
+            template = new SqlRewriteTemplate(recorder.getInvocations(), ContextHolder.getRewrite());
+            sqlRewriteCache.put(sql, rules, template);
+        }
+        return template.addVariant(recorder.getNullMask(), templateSql).render(recorder.getExpressions());
+    }
+
     @Override
     protected void processSelect(Select select, int index, String sql, Object obj) {
         processSelectBody(select.getSelectBody());
@@ -508,6 +548,11 @@ public class DataPermissionDatabaseInterceptor extends JsqlParserSupport impleme
             // 单条规则的条件
             String tableName = MyBatisUtils.getTableName(table);
             Expression oneExpress = rule.getExpression(tableName, table.getAlias());
+            // 记录规则的调用，使用占位符替代条件，用于生成 SqlRewriteCache 的模板
+            oneExpress = ContextHolder.record(rule, tableName, table.getAlias(), oneExpress);
+            if (oneExpress == null) {
+                continue;
+            }
             // 拼接到 allExpression 中
             allExpression = allExpression == null ? oneExpress
                     : new AndExpression(allExpression, oneExpress);
@@ -544,6 +589,10 @@ public class DataPermissionDatabaseInterceptor extends JsqlParserSupport impleme
          * SQL 是否进行重写
          */
         private static final ThreadLocal<Boolean> REWRITE = new TransmittableThreadLocal<>();
+        /**
+         * 规则调用的记录器，用于生成 {@link SqlRewriteTemplate} 模板
+         */
+        private static final ThreadLocal<SqlRewriteRecorder> RECORDER = new TransmittableThreadLocal<>();
 
         public static void init(List<DataPermissionRule> rules) {
             RULES.set(rules);
@@ -553,6 +602,28 @@ public class DataPermissionDatabaseInterceptor extends JsqlParserSupport impleme
         public static void clear() {
             RULES.remove();
             REWRITE.remove();
+            RECORDER.remove();
+        }
+
+        public static void startRecord() {
+            RECORDER.set(new SqlRewriteRecorder());
+        }
+
+        public static SqlRewriteRecorder getRecorder() {
+            return RECORDER.get();
+        }
+
+        /**
+         * 记录规则的调用。如果未开启记录，则直接返回条件
+         *
+         * @return 条件的占位符；如果条件为空，则返回 null
+         */
+        public static Expression record(DataPermissionRule rule, String tableName, Alias tableAlias, Expression expression) {
+            SqlRewriteRecorder recorder = RECORDER.get();
+            if (recorder == null) {
+                return expression;
+            }
+            return recorder.record(rule, tableName, tableAlias, expression);
         }
 
         public static boolean getRewrite() {
@@ -636,4 +707,227 @@ public class DataPermissionDatabaseInterceptor extends JsqlParserSupport impleme
 
     }
 
+    /**
+     * SQL 重写的模板缓存
+     * 目前主要用于，缓存 SQL 解析并重写后的结果，避免每次都解析 SQL，加快速度
+     *
+     * 缓存的 key 为原始 SQL + 数据权限规则数组，value 为 {@link SqlRewriteTemplate} 模板
+     *
+     * @author 芋道源码
+     */
+    static final class SqlRewriteCache {
+
+        /**
+         * 缓存的最大数量，避免动态 SQL 过多时，内存无限增长
+         */
+        private static final int MAXIMUM_SIZE = 4096;
+
+        private final Cache<SqlRewriteKey, SqlRewriteTemplate> templates = CacheBuilder.newBuilder()
+                .maximumSize(MAXIMUM_SIZE).build();
+
+        public SqlRewriteTemplate get(String sql, List<DataPermissionRule> rules) {
+            return templates.getIfPresent(new SqlRewriteKey(sql, rules));
+        }
+
+        public void put(String sql, List<DataPermissionRule> rules, SqlRewriteTemplate template) {
+            // 规则调用过多时，无法使用 long 记录条件为空的情况，不进行缓存
+            if (template.getInvocations().size() > Long.SIZE) {
+                return;
+            }
+            templates.put(new SqlRewriteKey(sql, rules), template);
+        }
+
+        public long size() {
+            return templates.size();
+        }
+
+        /**
+         * 清空缓存
+         * 目前主要提供给单元测试
+         */
+        public void clear() {
+            templates.invalidateAll();
+        }
+
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class SqlRewriteKey {
+
+        private final String sql;
+        private final List<DataPermissionRule> rules;
+
+    }
+
+    /**
+     * 规则的一次调用，即 {@link DataPermissionRule#getExpression(String, Alias)} 的参数
+     */
+    @AllArgsConstructor
+    private static final class RuleInvocation {
+
+        private final DataPermissionRule rule;
+        private final String tableName;
+        private final Alias tableAlias;
+
+    }
+
+    /**
+     * SQL 重写的模板
+     *
+     * 每个规则条件的位置，使用占位符表示；命中时，按照相同的顺序调用规则，将条件拼接到占位符处。
+     * 因为条件为空时，SQL 的结构不同（例如说，不拼接 AND），所以按照条件为空的情况，存储多个变体
+     */
+    static final class SqlRewriteTemplate {
+
+        /**
+         * 规则的调用，按照 SQL 解析时的顺序
+         */
+        @Getter
+        private final List<RuleInvocation> invocations;
+        /**
+         * SQL 是否进行重写
+         */
+        @Getter
+        private final boolean rewrite;
+        /**
+         * 模板的变体
+         *
+         * key：条件为空的位图，第 i 位为 1 表示第 i 次调用的条件为空
+         */
+        private final Map<Long, SqlRewriteVariant> variants = new ConcurrentHashMap<>();
+
+        SqlRewriteTemplate(List<RuleInvocation> invocations, boolean rewrite) {
+            this.invocations = invocations;
+            this.rewrite = rewrite;
+        }
+
+        /**
+         * 重新计算规则的条件，渲染 SQL
+         *
+         * @return SQL；如果对应的变体不存在，则返回 null
+         */
+        public String render() {
+            Expression[] expressions = new Expression[invocations.size()];
+            long nullMask = 0;
+            for (int i = 0; i < expressions.length; i++) {
+                RuleInvocation invocation = invocations.get(i);
+                expressions[i] = invocation.rule.getExpression(invocation.tableName, invocation.tableAlias);
+                if (expressions[i] == null) {
+                    nullMask |= 1L << i;
+                }
+            }
+            SqlRewriteVariant variant = variants.get(nullMask);
+            return variant != null ? variant.render(expressions) : null;
+        }
+
+        public SqlRewriteVariant addVariant(long nullMask, String templateSql) {
+            SqlRewriteVariant variant = new SqlRewriteVariant(templateSql);
+            // 规则调用过多时，nullMask 不准确，不进行缓存
+            if (invocations.size() <= Long.SIZE) {
+                variants.put(nullMask, variant);
+            }
+            return variant;
+        }
+
+    }
+
+    /**
+     * SQL 重写模板的变体，将模板 SQL 按照占位符拆分成片段
+     */
+    static final class SqlRewriteVariant {
+
+        /**
+         * SQL 片段，数量比 {@link #slots} 多 1
+         */
+        private final String[] parts;
+        /**
+         * 每个占位符，对应的规则调用的下标
+         */
+        private final int[] slots;
+
+        SqlRewriteVariant(String templateSql) {
+            List<String> partList = new ArrayList<>();
+            List<Integer> slotList = new ArrayList<>();
+            int start = 0;
+            int begin;
+            while ((begin = templateSql.indexOf(PlaceholderExpression.MARK, start)) >= 0) {
+                int end = templateSql.indexOf(PlaceholderExpression.MARK, begin + 1);
+                partList.add(templateSql.substring(start, begin));
+                slotList.add(Integer.parseInt(templateSql.substring(begin + 1, end)));
+                start = end + 1;
+            }
+            partList.add(templateSql.substring(start));
+            this.parts = partList.toArray(new String[0]);
+            this.slots = slotList.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        public String render(Expression[] expressions) {
+            StringBuilder sql = new StringBuilder(parts[0]);
+            for (int i = 0; i < slots.length; i++) {
+                sql.append(expressions[slots[i]]).append(parts[i + 1]);
+            }
+            return sql.toString();
+        }
+
+    }
+
+    /**
+     * 规则调用的记录器，在 SQL 解析时使用
+     */
+    static final class SqlRewriteRecorder {
+
+        @Getter
+        private final List<RuleInvocation> invocations = new ArrayList<>();
+        private final List<Expression> expressions = new ArrayList<>();
+        @Getter
+        private long nullMask;
+
+        public Expression record(DataPermissionRule rule, String tableName, Alias tableAlias, Expression expression) {
+            int index = invocations.size();
+            invocations.add(new RuleInvocation(rule, tableName, tableAlias));
+            expressions.add(expression);
+            if (expression == null) {
+                if (index < Long.SIZE) {
+                    nullMask |= 1L << index;
+                }
+                return null;
+            }
+            return new PlaceholderExpression(index);
+        }
+
+        public Expression[] getExpressions() {
+            return expressions.toArray(new Expression[0]);
+        }
+
+    }
+
+    /**
+     * 条件的占位符，输出为 MARK + 下标 + MARK
+     */
+    static final class PlaceholderExpression extends ASTNodeAccessImpl implements Expression {
+
+        /**
+         * 占位符的标记，使用不可见字符，避免与 SQL 冲突
+         */
+        static final char MARK = '\u0001';
+
+        private final int index;
+
+        PlaceholderExpression(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void accept(ExpressionVisitor expressionVisitor) {
+            // 占位符只用于生成模板，无需访问
+        }
+
+        @Override
+        public String toString() {
+            return MARK + String.valueOf(index) + MARK;
+        }
+
+    }
+
 }
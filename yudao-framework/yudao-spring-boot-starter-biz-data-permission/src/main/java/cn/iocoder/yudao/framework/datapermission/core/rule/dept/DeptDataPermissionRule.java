@@ -5,6 +5,7 @@ import cn.hutool.core.util.ObjectUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.iocoder.yudao.framework.common.enums.UserTypeEnum;
 import cn.iocoder.yudao.framework.common.util.collection.CollectionUtils;
+import cn.iocoder.yudao.framework.common.util.collection.CompactLongSet;
 import cn.iocoder.yudao.framework.common.util.json.JsonUtils;
 import cn.iocoder.yudao.framework.datapermission.core.rule.DataPermissionRule;
 import cn.iocoder.yudao.framework.expression.OrExpressionX;
@@ -21,12 +22,17 @@ import net.sf.jsqlparser.expression.Alias;
 import net.sf.jsqlparser.expression.Expression;
 import net.sf.jsqlparser.expression.LongValue;
 import net.sf.jsqlparser.expression.NullValue;
+import net.sf.jsqlparser.expression.Parenthesis;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
+import net.sf.jsqlparser.expression.operators.relational.Between;
 import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
 import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
 import net.sf.jsqlparser.expression.operators.relational.InExpression;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -59,6 +65,11 @@ public class DeptDataPermissionRule implements DataPermissionRule {
     private static final String DEPT_COLUMN_NAME = "dept_id";
     private static final String USER_COLUMN_NAME = "user_id";
 
+    /**
+     * 使用 BETWEEN 条件的最小区间长度，更短的区间使用 IN 条件
+     */
+    private static final int BETWEEN_MIN_RUN_LENGTH = 3;
+
     static final Expression EXPRESSION_NULL = new NullValue();
 
     private final PermissionApi permissionApi;
@@ -157,11 +168,49 @@ public class DeptDataPermissionRule implements DataPermissionRule {
         if (CollUtil.isEmpty(deptIds)) {
             return null;
         }
-        // 拼接条件
+        // 情况一：部门编号压缩成区间，连续的部门编号使用 BETWEEN 条件，避免 IN 条件过长
+        if (deptIds instanceof CompactLongSet && ((CompactLongSet) deptIds).getRunCount() < deptIds.size()) {
+            return buildDeptRangeExpression(tableName, tableAlias, columnName, ((CompactLongSet) deptIds).getRuns());
+        }
+        // 情况二：拼接 IN 条件
         return new InExpression(MyBatisUtils.buildColumn(tableName, tableAlias, columnName),
                 new ExpressionList(CollectionUtils.convertList(deptIds, LongValue::new)));
     }
 
+    private Expression buildDeptRangeExpression(String tableName, Alias tableAlias, String columnName, long[] runs) {
+        // 较长的区间，使用 BETWEEN 条件；其余的部门编号，合并成一个 IN 条件
+        List<Expression> expressions = new ArrayList<>();
+        List<Expression> inValues = new ArrayList<>();
+        for (int i = 0; i < runs.length; i += 2) {
+            long start = runs[i];
+            long end = runs[i + 1];
+            if (end - start + 1 >= BETWEEN_MIN_RUN_LENGTH) {
+                Between between = new Between();
+                between.setLeftExpression(MyBatisUtils.buildColumn(tableName, tableAlias, columnName));
+                between.setBetweenExpressionStart(new LongValue(start));
+                between.setBetweenExpressionEnd(new LongValue(end));
+                expressions.add(between);
+                continue;
+            }
+            for (long value = start; value <= end; value++) {
+                inValues.add(new LongValue(value));
+            }
+        }
+        if (!inValues.isEmpty()) {
+            expressions.add(new InExpression(MyBatisUtils.buildColumn(tableName, tableAlias, columnName),
+                    new ExpressionList(inValues)));
+        }
+        // 组合成 OR 条件
+        if (expressions.size() == 1) {
+            return expressions.get(0);
+        }
+        Expression result = expressions.get(0);
+        for (int i = 1; i < expressions.size(); i++) {
+            result = new OrExpression(result, expressions.get(i));
+        }
+        return new Parenthesis(result);
+    }
+
     private Expression buildUserExpression(String tableName, Alias tableAlias, Boolean self, Long userId) {
         // 如果不查看自己，则无需作为条件
         if (Boolean.FALSE.equals(self)) {
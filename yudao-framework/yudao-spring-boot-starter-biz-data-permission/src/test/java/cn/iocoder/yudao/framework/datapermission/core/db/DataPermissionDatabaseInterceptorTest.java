@@ -50,6 +50,7 @@ public class DataPermissionDatabaseInterceptorTest extends BaseMockitoUnitTest {
         DataPermissionDatabaseInterceptor.ContextHolder.clear();
         // 清空缓存
         interceptor.getMappedStatementCache().clear();
+        interceptor.getSqlRewriteCache().clear();
     }
 
     @Test // 不存在规则，且不匹配
@@ -120,6 +121,43 @@ public class DataPermissionDatabaseInterceptorTest extends BaseMockitoUnitTest {
         }
     }
 
+    @Test // 存在规则，且命中 SQL 重写的模板缓存
+    public void testBeforeQuery_withSqlRewriteCache() {
+        try (MockedStatic<PluginUtils> pluginUtilsMock = mockStatic(PluginUtils.class)) {
+            // 准备参数
+            MappedStatement mappedStatement = mock(MappedStatement.class);
+            BoundSql boundSql = mock(BoundSql.class);
+            // mock 方法(数据权限)
+            VariableDeptDataPermissionRule rule = new VariableDeptDataPermissionRule();
+            when(ruleFactory.getDataPermissionRule(same(mappedStatement.getId())))
+                    .thenReturn(singletonList(rule));
+            // mock 方法(MPBoundSql)
+            PluginUtils.MPBoundSql mpBs = mock(PluginUtils.MPBoundSql.class);
+            pluginUtilsMock.when(() -> PluginUtils.mpBoundSql(same(boundSql))).thenReturn(mpBs);
+            // mock 方法(SQL)
+            String sql = "select * from t_user u where id = 1";
+            when(mpBs.sql()).thenReturn(sql);
+
+            // 调用，第一次解析 SQL
+            rule.deptId = 100L;
+            interceptor.beforeQuery(null, mappedStatement, null, null, null, boundSql);
+            // 调用，第二次命中缓存，条件使用最新的值
+            rule.deptId = 200L;
+            interceptor.beforeQuery(null, mappedStatement, null, null, null, boundSql);
+            // 调用，第三次条件为空，SQL 结构不同
+            rule.deptId = null;
+            interceptor.beforeQuery(null, mappedStatement, null, null, null, boundSql);
+            rule.deptId = null;
+            interceptor.beforeQuery(null, mappedStatement, null, null, null, boundSql);
+            // 断言
+            verify(mpBs, times(1)).sql(eq("SELECT * FROM t_user u WHERE id = 1 AND u.dept_id = 100"));
+            verify(mpBs, times(1)).sql(eq("SELECT * FROM t_user u WHERE id = 1 AND u.dept_id = 200"));
+            verify(mpBs, times(2)).sql(eq("SELECT * FROM t_user u WHERE id = 1"));
+            // 断言缓存
+            assertEquals(1, interceptor.getSqlRewriteCache().size());
+        }
+    }
+
     @Test
     public void testAddNoRewritable() {
         // 准备参数
@@ -173,6 +211,28 @@ public class DataPermissionDatabaseInterceptorTest extends BaseMockitoUnitTest {
 
     }
 
+    private static class VariableDeptDataPermissionRule implements DataPermissionRule {
+
+        private static final String COLUMN = "dept_id";
+
+        private Long deptId;
+
+        @Override
+        public Set<String> getTableNames() {
+            return SetUtils.asSet("t_user");
+        }
+
+        @Override
+        public Expression getExpression(String tableName, Alias tableAlias) {
+            if (deptId == null) {
+                return null;
+            }
+            Column column = MyBatisUtils.buildColumn(tableName, tableAlias, COLUMN);
+            return new EqualsTo(column, new LongValue(deptId));
+        }
+
+    }
+
     private static class EmptyDataPermissionRule implements DataPermissionRule {
 
         @Override
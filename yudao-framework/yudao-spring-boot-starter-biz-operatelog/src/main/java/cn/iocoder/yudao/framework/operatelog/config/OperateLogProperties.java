@@ -0,0 +1,36 @@
+package cn.iocoder.yudao.framework.operatelog.config;
+
+import cn.iocoder.yudao.framework.web.core.buffer.LogBufferProperties;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+/**
+ * 操作日志的配置
+ *
+ * @author 芋道源码
+ */
+@ConfigurationProperties(prefix = "yudao.operate-log")
+@Validated
+@Data
+public class OperateLogProperties {
+
+    /**
+     * 操作日志的批量写入缓冲区
+     *
+     * 操作日志属于审计记录，缓冲区满时默认同步写入，不丢弃
+     */
+    @NotNull(message = "缓冲区配置不能为空")
+    @Valid
+    private LogBufferProperties buffer = buildDefaultBuffer();
+
+    private static LogBufferProperties buildDefaultBuffer() {
+        LogBufferProperties buffer = new LogBufferProperties();
+        buffer.setOverflowPolicy(LogBufferProperties.OverflowPolicy.SYNC);
+        return buffer;
+    }
+
+}
@@ -5,9 +5,11 @@ import cn.iocoder.yudao.framework.operatelog.core.service.OperateLogFrameworkSer
 import cn.iocoder.yudao.framework.operatelog.core.service.OperateLogFrameworkServiceImpl;
 import cn.iocoder.yudao.module.system.api.logger.OperateLogApi;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 
 @AutoConfiguration
+@EnableConfigurationProperties(OperateLogProperties.class)
 public class YudaoOperateLogAutoConfiguration {
 
     @Bean
@@ -16,8 +18,9 @@ public class YudaoOperateLogAutoConfiguration {
     }
 
     @Bean
-    public OperateLogFrameworkService operateLogFrameworkService(OperateLogApi operateLogApi) {
-        return new OperateLogFrameworkServiceImpl(operateLogApi);
+    public OperateLogFrameworkService operateLogFrameworkService(OperateLogApi operateLogApi,
+                                                                 OperateLogProperties operateLogProperties) {
+        return new OperateLogFrameworkServiceImpl(operateLogApi, operateLogProperties.getBuffer());
     }
 
 }
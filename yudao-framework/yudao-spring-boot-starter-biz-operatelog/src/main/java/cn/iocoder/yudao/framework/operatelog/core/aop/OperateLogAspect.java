@@ -161,7 +161,7 @@ public class OperateLogAspect {
         // 补全方法信息
         fillMethodFields(operateLogObj, joinPoint, operateLog, startTime, result, exception);
 
-        // 异步记录日志
+        // 异步记录日志，由缓冲区批量写入
         operateLogFrameworkService.createOperateLog(operateLogObj);
     }
 
@@ -219,6 +219,7 @@ public class OperateLogAspect {
             return;
         }
         // 补全请求信息
+        operateLogObj.setTenantId(WebFrameworkUtils.getTenantId(request));
         operateLogObj.setRequestMethod(request.getMethod());
         operateLogObj.setRequestUrl(request.getRequestURI());
         operateLogObj.setUserIp(ServletUtil.getClientIP(request));
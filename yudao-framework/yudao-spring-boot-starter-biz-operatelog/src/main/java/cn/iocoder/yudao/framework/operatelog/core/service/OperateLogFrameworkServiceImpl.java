@@ -1,28 +1,49 @@
 package cn.iocoder.yudao.framework.operatelog.core.service;
 
 import cn.hutool.core.bean.BeanUtil;
+import cn.iocoder.yudao.framework.common.util.collection.CollectionUtils;
+import cn.iocoder.yudao.framework.web.core.buffer.LogBatchBuffer;
+import cn.iocoder.yudao.framework.web.core.buffer.LogBufferProperties;
 import cn.iocoder.yudao.module.system.api.logger.OperateLogApi;
 import cn.iocoder.yudao.module.system.api.logger.dto.OperateLogCreateReqDTO;
-import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.List;
 
 /**
  * 操作日志 Framework Service 实现类
  *
  * 基于 {@link OperateLogApi} 实现，记录操作日志
+ * 日志先写入 {@link LogBatchBuffer} 缓冲区，再由后台线程批量写入
  *
  * @author 芋道源码
  */
-@RequiredArgsConstructor
-public class OperateLogFrameworkServiceImpl implements OperateLogFrameworkService {
+public class OperateLogFrameworkServiceImpl implements OperateLogFrameworkService, DisposableBean {
 
     private final OperateLogApi operateLogApi;
 
+    private final LogBatchBuffer<OperateLog> buffer;
+
+    public OperateLogFrameworkServiceImpl(OperateLogApi operateLogApi, LogBufferProperties bufferProperties) {
+        this.operateLogApi = operateLogApi;
+        this.buffer = new LogBatchBuffer<>("operate-log", bufferProperties, this::createOperateLogList);
+        this.buffer.start();
+    }
+
     @Override
-    @Async
     public void createOperateLog(OperateLog operateLog) {
-        OperateLogCreateReqDTO reqDTO = BeanUtil.copyProperties(operateLog, OperateLogCreateReqDTO.class);
-        operateLogApi.createOperateLog(reqDTO);
+        buffer.offer(operateLog);
+    }
+
+    private void createOperateLogList(List<OperateLog> operateLogs) {
+        List<OperateLogCreateReqDTO> reqDTOs = CollectionUtils.convertList(operateLogs,
+                operateLog -> BeanUtil.copyProperties(operateLog, OperateLogCreateReqDTO.class));
+        operateLogApi.createOperateLogList(reqDTOs);
+    }
+
+    @Override
+    public void destroy() {
+        buffer.stop();
     }
 
 }
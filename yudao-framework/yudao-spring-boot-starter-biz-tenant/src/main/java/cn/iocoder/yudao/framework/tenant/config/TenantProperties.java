@@ -3,6 +3,7 @@ package cn.iocoder.yudao.framework.tenant.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Set;
 
@@ -39,4 +40,27 @@ public class TenantProperties {
      */
     private Set<String> ignoreTables = Collections.emptySet();
 
+    /**
+     * 多租户 Job 的配置
+     */
+    private Job job = new Job();
+
+    @Data
+    public static class Job {
+
+        /**
+         * 执行多租户 Job 的线程池大小，所有多租户 Job 共享
+         */
+        private Integer poolSize = 16;
+        /**
+         * 单个 Job 最多同时执行的租户数量，避免一个 Job 占满线程池
+         */
+        private Integer maxConcurrency = 8;
+        /**
+         * 单个租户的执行超时时间，超时后会中断执行，并记录为失败
+         */
+        private Duration timeout = Duration.ofMinutes(10);
+
+    }
+
 }
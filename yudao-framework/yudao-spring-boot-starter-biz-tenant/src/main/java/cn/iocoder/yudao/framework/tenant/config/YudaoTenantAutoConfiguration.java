@@ -7,6 +7,7 @@ import cn.iocoder.yudao.framework.quartz.core.handler.JobHandler;
 import cn.iocoder.yudao.framework.tenant.core.aop.TenantIgnoreAspect;
 import cn.iocoder.yudao.framework.tenant.core.db.TenantDatabaseInterceptor;
 import cn.iocoder.yudao.framework.tenant.core.job.TenantJob;
+import cn.iocoder.yudao.framework.tenant.core.job.TenantJobExecutor;
 import cn.iocoder.yudao.framework.tenant.core.job.TenantJobHandlerDecorator;
 import cn.iocoder.yudao.framework.tenant.core.mq.TenantRedisMessageInterceptor;
 import cn.iocoder.yudao.framework.tenant.core.redis.TenantRedisCacheManager;
@@ -97,9 +98,15 @@ public class YudaoTenantAutoConfiguration {
 
     // ========== Job ==========
 
+    @Bean
+    public TenantJobExecutor tenantJobExecutor(TenantProperties tenantProperties) {
+        return new TenantJobExecutor(tenantProperties.getJob());
+    }
+
     @Bean
     @SuppressWarnings("SpringJavaInjectionPointsAutowiringInspection")
-    public BeanPostProcessor jobHandlerBeanPostProcessor(TenantFrameworkService tenantFrameworkService) {
+    public BeanPostProcessor jobHandlerBeanPostProcessor(TenantFrameworkService tenantFrameworkService,
+                                                         TenantJobExecutor tenantJobExecutor) {
         return new BeanPostProcessor() {
 
             @Override
@@ -113,7 +120,7 @@ public class YudaoTenantAutoConfiguration {
                 }
 
                 // 使用 TenantJobHandlerDecorator 装饰
-                return new TenantJobHandlerDecorator(tenantFrameworkService, (JobHandler) bean);
+                return new TenantJobHandlerDecorator(tenantFrameworkService, tenantJobExecutor, (JobHandler) bean);
             }
 
         };
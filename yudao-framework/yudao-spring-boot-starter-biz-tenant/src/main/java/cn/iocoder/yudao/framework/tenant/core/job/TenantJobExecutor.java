@@ -0,0 +1,208 @@
+package cn.iocoder.yudao.framework.tenant.core.job;
+
+import cn.hutool.core.exceptions.ExceptionUtil;
+import cn.hutool.core.thread.NamedThreadFactory;
+import cn.iocoder.yudao.framework.tenant.config.TenantProperties;
+import cn.iocoder.yudao.framework.tenant.core.context.TenantContextHolder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * 多租户 Job 的执行器
+ *
+ * 使用独立的线程池按照租户并行执行，相比 parallelStream 使用公共的 ForkJoinPool，不会影响其它的并行任务：
+ * 1. 单个 Job 最多同时执行 maxConcurrency 个租户，执行完一个再提交下一个
+ * 2. 单个租户超过 timeout 未执行完成，通过 {@link Future#cancel(boolean)} 取消：排队中的任务不再执行，执行中的任务被中断，并记录为失败。
+ *    任务实际结束前，仍然占用并发数，避免不响应中断的任务无限堆积
+ * 3. 单个租户执行失败，不影响其它租户，最终返回每个租户的结果
+ *
+ * @author 芋道源码
+ */
+@Slf4j
+public class TenantJobExecutor implements DisposableBean {
+
+    /**
+     * 失败原因的最大长度，避免 Job 日志过长
+     */
+    private static final int ERROR_MAX_LENGTH = 200;
+
+    private final TenantProperties.Job properties;
+
+    private final ThreadPoolExecutor executor;
+
+    public TenantJobExecutor(TenantProperties.Job properties) {
+        this.properties = properties;
+        this.executor = new ThreadPoolExecutor(properties.getPoolSize(), properties.getPoolSize(),
+                60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new NamedThreadFactory("tenant-job-", true));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 按照租户并行执行任务
+     *
+     * @param tenantIds 租户编号数组
+     * @param task 任务，执行时已经设置好租户上下文
+     * @return 执行结果
+     */
+    public Result execute(Collection<Long> tenantIds, Callable<String> task) throws InterruptedException {
+        Result result = new Result();
+        BlockingQueue<TenantTask> finishedTasks = new LinkedBlockingQueue<>();
+        Set<TenantTask> runningTasks = new HashSet<>();
+        Iterator<Long> iterator = tenantIds.iterator();
+        long timeoutNanos = properties.getTimeout().toNanos();
+        try {
+            while (true) {
+                // 1. 提交任务，直到达到最大并发数。超时被中断、但仍未结束的任务，继续占用并发数
+                while (iterator.hasNext() && runningTasks.size() < properties.getMaxConcurrency()) {
+                    TenantTask tenantTask = new TenantTask(iterator.next(), task, finishedTasks,
+                            System.nanoTime() + timeoutNanos);
+                    executor.execute(tenantTask);
+                    runningTasks.add(tenantTask);
+                }
+                if (runningTasks.isEmpty()) {
+                    break;
+                }
+                // 没有待提交的租户，并且剩余的任务都已经超时，无需继续等待
+                if (!iterator.hasNext() && runningTasks.stream().allMatch(TenantTask::isTimedOut)) {
+                    runningTasks.forEach(tenantTask -> log.warn("[execute][租户({}) 超时中断后仍未结束，不再等待]",
+                            tenantTask.getTenantId()));
+                    break;
+                }
+
+                // 2. 等待任意一个任务结束，最多等待到最早的截止时间
+                long deadline = runningTasks.stream().mapToLong(TenantTask::getDeadline).min().getAsLong();
+                TenantTask finishedTask = finishedTasks.poll(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                if (finishedTask != null) {
+                    runningTasks.remove(finishedTask);
+                    if (finishedTask.isTimedOut()) {
+                        log.info("[execute][租户({}) 超时中断后已结束]", finishedTask.getTenantId());
+                    } else {
+                        collect(result, finishedTask);
+                    }
+                    continue;
+                }
+
+                // 3. 处理到达截止时间的任务
+                long now = System.nanoTime();
+                for (TenantTask runningTask : runningTasks) {
+                    if (runningTask.getDeadline() > now) {
+                        continue;
+                    }
+                    // 情况一：首次超时，取消执行，并记录为失败
+                    if (!runningTask.isTimedOut()) {
+                        runningTask.timeout();
+                        // 还在排队的任务，从线程池中移除，不会再执行，直接结束
+                        if (executor.remove(runningTask)) {
+                            finishedTasks.add(runningTask);
+                        }
+                        result.getFailures().put(runningTask.getTenantId(), "执行超时（" + properties.getTimeout() + "）");
+                    // 情况二：中断后仍未结束，说明任务没有响应中断，每个超时周期打印一次告警
+                    } else {
+                        log.warn("[execute][租户({}) 超时中断后仍未结束，继续占用并发数]", runningTask.getTenantId());
+                    }
+                    runningTask.setDeadline(now + timeoutNanos);
+                }
+            }
+        } finally {
+            // 被中断时，取消未结束的任务
+            runningTasks.forEach(tenantTask -> tenantTask.cancel(true));
+        }
+        return result;
+    }
+
+    private static void collect(Result result, TenantTask task) throws InterruptedException {
+        try {
+            result.getSuccesses().put(task.getTenantId(), task.get()); // 任务已经结束，不会阻塞
+        } catch (ExecutionException ex) {
+            log.error("[collect][租户({}) 执行 Job 失败]", task.getTenantId(), ex.getCause());
+            String error = ExceptionUtil.getRootCauseMessage(ex.getCause());
+            result.getFailures().put(task.getTenantId(), error.length() > ERROR_MAX_LENGTH ? error.substring(0, ERROR_MAX_LENGTH) : error);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 单个租户的任务
+     *
+     * 超时时，通过 {@link #cancel(boolean)} 取消，但 Future 会立即完成，无法得知任务实际结束的时间。
+     * 所以在 {@link #run()} 结束时，才加入 finishedTasks 队列：即使被取消，线程池执行到它时，也会立即结束并加入队列
+     */
+    @Getter
+    private static class TenantTask extends FutureTask<String> {
+
+        private final Long tenantId;
+        private final BlockingQueue<TenantTask> finishedTasks;
+        /**
+         * 截止时间：未超时时，为超时时间；已超时时，为下次打印告警的时间
+         */
+        @Setter
+        private long deadline;
+        /**
+         * 是否已经超时
+         */
+        private volatile boolean timedOut;
+
+        TenantTask(Long tenantId, Callable<String> task, BlockingQueue<TenantTask> finishedTasks, long deadline) {
+            super(() -> {
+                try {
+                    TenantContextHolder.setTenantId(tenantId);
+                    return task.call();
+                } finally {
+                    TenantContextHolder.clear();
+                }
+            });
+            this.tenantId = tenantId;
+            this.finishedTasks = finishedTasks;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                finishedTasks.add(this);
+            }
+        }
+
+        void timeout() {
+            timedOut = true;
+            cancel(true);
+        }
+
+    }
+
+    /**
+     * 多租户 Job 的执行结果
+     */
+    @Data
+    public static class Result {
+
+        /**
+         * 执行成功的租户
+         *
+         * key：租户编号
+         * value：执行结果
+         */
+        private final Map<Long, String> successes = new TreeMap<>();
+        /**
+         * 执行失败的租户
+         *
+         * key：租户编号
+         * value：失败原因
+         */
+        private final Map<Long, String> failures = new TreeMap<>();
+
+    }
+
+}
@@ -2,27 +2,37 @@ package cn.iocoder.yudao.framework.tenant.core.job;
 
 import cn.hutool.core.collection.CollUtil;
 import cn.iocoder.yudao.framework.common.util.json.JsonUtils;
+import cn.iocoder.yudao.framework.quartz.core.context.JobContextHolder;
 import cn.iocoder.yudao.framework.quartz.core.handler.JobHandler;
-import cn.iocoder.yudao.framework.tenant.core.context.TenantContextHolder;
+import cn.iocoder.yudao.framework.quartz.core.handler.JobPartialFailureException;
+import cn.iocoder.yudao.framework.quartz.core.service.JobLogFrameworkService;
 import cn.iocoder.yudao.framework.tenant.core.service.TenantFrameworkService;
 import lombok.AllArgsConstructor;
 
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.*;
+
+import static cn.iocoder.yudao.framework.common.util.collection.CollectionUtils.filterList;
 
 /**
  * 多租户 JobHandler 装饰器
- * 任务执行时，会按照租户逐个执行 Job 的逻辑
+ * 任务执行时，会通过 {@link TenantJobExecutor} 按照租户并行执行 Job 的逻辑
  *
- * 注意，需要保证 JobHandler 的幂等性。因为 Job 因为某个租户执行失败重试时，之前执行成功的租户也会再次执行。
+ * 单个租户执行失败时，不影响其它租户，最终抛出 {@link JobPartialFailureException} 异常：
+ * Job 日志的结果记录成功、失败的数量和失败的租户编号，失败明细记录每个失败租户的原因。
+ * Job 重试时，只会执行上次失败的租户。当然，仍然建议保证 JobHandler 的幂等性。
  *
  * @author 芋道源码
  */
 @AllArgsConstructor
 public class TenantJobHandlerDecorator implements JobHandler {
 
+    /**
+     * 摘要中，除失败租户编号以外的字段预留的长度
+     */
+    private static final int SUMMARY_RESERVED_LENGTH = 128;
+
     private final TenantFrameworkService tenantFrameworkService;
+    private final TenantJobExecutor tenantJobExecutor;
     /**
      * 被装饰的 Job
      */
@@ -32,27 +42,63 @@ public class TenantJobHandlerDecorator implements JobHandler {
     public final String execute(String param) throws Exception {
         // 获得租户列表
         List<Long> tenantIds = tenantFrameworkService.getTenantIds();
+        // 重试时，只执行上次失败的租户
+        Set<String> retryKeys = JobContextHolder.getRetryKeys();
+        if (retryKeys != null) {
+            tenantIds = filterList(tenantIds, tenantId -> retryKeys.contains(String.valueOf(tenantId)));
+        }
         if (CollUtil.isEmpty(tenantIds)) {
             return null;
         }
 
-        // 逐个租户，执行 Job
-        Map<Long, String> results = new ConcurrentHashMap<>();
-        tenantIds.parallelStream().forEach(tenantId -> { // TODO 芋艿：先通过 parallel 实现并行；1）多个租户，是一条执行日志；2）异常的情况
+        // 按照租户并行执行 Job。由于在其它线程执行，需要传递分片信息
+        int shardingIndex = JobContextHolder.getShardingIndex();
+        int shardingTotal = JobContextHolder.getShardingTotal();
+        TenantJobExecutor.Result result = tenantJobExecutor.execute(tenantIds, () -> {
             try {
-                // 设置租户
-                TenantContextHolder.setTenantId(tenantId);
-                // 执行 Job
-                String result = jobHandler.execute(param);
-                // 添加结果
-                results.put(tenantId, result);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
+                JobContextHolder.setSharding(shardingIndex, shardingTotal);
+                return jobHandler.execute(param);
             } finally {
-                TenantContextHolder.clear();
+                JobContextHolder.clear();
             }
         });
-        return JsonUtils.toJsonString(results);
+        // 记录执行结果的摘要，每个租户的失败原因通过 JobPartialFailureException 逐条记录
+        String summary = buildSummary(result);
+        if (!result.getFailures().isEmpty()) {
+            Map<String, String> failures = new LinkedHashMap<>();
+            result.getFailures().forEach((tenantId, error) -> failures.put(String.valueOf(tenantId), error));
+            throw new JobPartialFailureException(summary, failures);
+        }
+        return summary;
+    }
+
+    /**
+     * 构建执行结果的摘要，格式为 {"successCount": 成功数, "failureCount": 失败数, "failedTenantIds": [失败的租户编号]}
+     *
+     * 失败的租户过多，超过 {@link JobLogFrameworkService#RESULT_MAX_LENGTH} 时，只保留前面的部分，
+     * 并标记 failedTenantIdsTruncated 为 true。完整的失败租户，可以在 Job 日志的失败明细中查看
+     */
+    private static String buildSummary(TenantJobExecutor.Result result) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("successCount", result.getSuccesses().size());
+        summary.put("failureCount", result.getFailures().size());
+        if (result.getFailures().isEmpty()) {
+            return JsonUtils.toJsonString(summary);
+        }
+        List<Long> failedTenantIds = new ArrayList<>();
+        int length = SUMMARY_RESERVED_LENGTH;
+        for (Long tenantId : result.getFailures().keySet()) {
+            length += String.valueOf(tenantId).length() + 1; // 1 是分隔的逗号
+            if (length > JobLogFrameworkService.RESULT_MAX_LENGTH) {
+                break;
+            }
+            failedTenantIds.add(tenantId);
+        }
+        summary.put("failedTenantIds", failedTenantIds);
+        if (failedTenantIds.size() < result.getFailures().size()) {
+            summary.put("failedTenantIdsTruncated", true);
+        }
+        return JsonUtils.toJsonString(summary);
     }
 
 }
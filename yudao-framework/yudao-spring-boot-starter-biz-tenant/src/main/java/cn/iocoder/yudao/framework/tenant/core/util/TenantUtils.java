@@ -2,8 +2,10 @@ package cn.iocoder.yudao.framework.tenant.core.util;
 
 import cn.iocoder.yudao.framework.tenant.core.context.TenantContextHolder;
 
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static cn.iocoder.yudao.framework.web.core.util.WebFrameworkUtils.HEADER_TENANT_ID;
 
@@ -78,6 +80,30 @@ public class TenantUtils {
         }
     }
 
+    /**
+     * 按照租户分组，使用每组对应的租户，执行对应的逻辑
+     *
+     * 适合后台线程批量处理多个租户的数据，例如说批量写入日志。租户编号为空的数据，忽略租户执行
+     *
+     * @param list 数据数组
+     * @param tenantIdFunc 获得数据的租户编号
+     * @param consumer 逻辑，参数为同一租户的数据
+     */
+    public static <T> void executeByTenant(Collection<T> list, Function<T, Long> tenantIdFunc,
+                                           Consumer<List<T>> consumer) {
+        // 按照租户分组。不使用 Collectors.groupingBy 的原因是，它不支持 null 的 key
+        Map<Long, List<T>> tenantGroups = new LinkedHashMap<>();
+        list.forEach(item -> tenantGroups.computeIfAbsent(tenantIdFunc.apply(item), key -> new ArrayList<>()).add(item));
+        // 逐个租户执行
+        tenantGroups.forEach((tenantId, items) -> {
+            if (tenantId == null) {
+                executeIgnore(() -> consumer.accept(items));
+            } else {
+                execute(tenantId, () -> consumer.accept(items));
+            }
+        });
+    }
+
     /**
      * 将多租户编号，添加到 header 中
      *
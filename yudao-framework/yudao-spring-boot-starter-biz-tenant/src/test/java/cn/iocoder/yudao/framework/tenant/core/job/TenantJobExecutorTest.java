@@ -0,0 +1,183 @@
+package cn.iocoder.yudao.framework.tenant.core.job;
+
+import cn.iocoder.yudao.framework.tenant.config.TenantProperties;
+import cn.iocoder.yudao.framework.tenant.core.context.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantJobExecutorTest {
+
+    private TenantJobExecutor executor;
+
+    @AfterEach
+    public void tearDown() {
+        if (executor != null) {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    public void testExecute_successAndFailure() throws InterruptedException {
+        executor = buildExecutor(2, Duration.ofSeconds(10));
+
+        // 调用
+        TenantJobExecutor.Result result = executor.execute(Arrays.asList(1L, 2L, 3L), () -> {
+            Long tenantId = TenantContextHolder.getTenantId();
+            if (tenantId == 2L) {
+                throw new IllegalStateException("租户 2 失败");
+            }
+            return "tenant-" + tenantId;
+        });
+        // 断言
+        assertEquals(2, result.getSuccesses().size());
+        assertEquals("tenant-1", result.getSuccesses().get(1L));
+        assertEquals("tenant-3", result.getSuccesses().get(3L));
+        assertEquals(1, result.getFailures().size());
+        assertTrue(result.getFailures().get(2L).contains("租户 2 失败"));
+    }
+
+    @Test
+    public void testExecute_maxConcurrency() throws InterruptedException {
+        executor = buildExecutor(2, Duration.ofSeconds(10));
+        // 准备参数
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        // 调用
+        TenantJobExecutor.Result result = executor.execute(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L), () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } finally {
+                running.decrementAndGet();
+            }
+            return null;
+        });
+        // 断言
+        assertEquals(6, result.getSuccesses().size());
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    public void testExecute_timeout() throws InterruptedException {
+        executor = buildExecutor(2, Duration.ofMillis(100));
+
+        // 调用
+        TenantJobExecutor.Result result = executor.execute(Arrays.asList(1L, 2L), () -> {
+            if (TenantContextHolder.getTenantId() == 1L) {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1)); // 响应中断
+            }
+            return "ok";
+        });
+        // 断言
+        assertEquals(1, result.getSuccesses().size());
+        assertEquals("ok", result.getSuccesses().get(2L));
+        assertTrue(result.getFailures().get(1L).startsWith("执行超时"));
+    }
+
+    @Test
+    public void testExecute_timeoutIgnoreInterrupt() throws InterruptedException {
+        executor = buildExecutor(1, Duration.ofMillis(100));
+        // 准备参数
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicLong releasedAt = new AtomicLong();
+        AtomicLong tenant2StartedAt = new AtomicLong();
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(400);
+            } catch (InterruptedException ignored) {
+            }
+            releasedAt.set(System.nanoTime());
+            release.countDown();
+        });
+        releaser.start();
+
+        // 调用
+        TenantJobExecutor.Result result = executor.execute(Arrays.asList(1L, 2L), () -> {
+            if (TenantContextHolder.getTenantId() == 1L) {
+                // 不响应中断，直到被释放
+                while (true) {
+                    try {
+                        if (release.await(10, TimeUnit.MILLISECONDS)) {
+                            break;
+                        }
+                    } catch (InterruptedException ignored) {
+                    }
+                }
+                return "late";
+            }
+            tenant2StartedAt.set(System.nanoTime());
+            return "ok";
+        });
+        // 断言：租户 1 超时，但在实际结束前仍占用并发数，租户 2 在其结束后才开始执行
+        assertTrue(result.getFailures().get(1L).startsWith("执行超时"));
+        assertFalse(result.getSuccesses().containsKey(1L));
+        assertEquals("ok", result.getSuccesses().get(2L));
+        assertTrue(tenant2StartedAt.get() >= releasedAt.get());
+    }
+
+    @Test
+    public void testExecute_timeoutQueued() throws InterruptedException {
+        // 准备参数：线程池只有 1 个线程，被其它任务占用，租户的任务只能排队
+        TenantProperties.Job properties = new TenantProperties.Job();
+        properties.setPoolSize(1);
+        properties.setMaxConcurrency(1);
+        properties.setTimeout(Duration.ofMillis(100));
+        executor = new TenantJobExecutor(properties);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread occupier = new Thread(() -> {
+            try {
+                executor.execute(Collections.singletonList(0L), () -> {
+                    // 不响应中断，直到被释放
+                    while (true) {
+                        try {
+                            if (release.await(10, TimeUnit.MILLISECONDS)) {
+                                return null;
+                            }
+                        } catch (InterruptedException ignored) {
+                        }
+                    }
+                });
+            } catch (InterruptedException ignored) {
+            }
+        });
+        occupier.start();
+        Thread.sleep(20);
+        AtomicInteger executed = new AtomicInteger();
+
+        try {
+            // 调用
+            TenantJobExecutor.Result result = executor.execute(Arrays.asList(1L, 2L), () -> {
+                executed.incrementAndGet();
+                return "ok";
+            });
+            // 断言：排队超时的任务被取消，不会再执行；下一个租户继续提交
+            assertTrue(result.getFailures().get(1L).startsWith("执行超时"));
+            assertTrue(result.getFailures().get(2L).startsWith("执行超时"));
+        } finally {
+            release.countDown();
+            occupier.join();
+        }
+        Thread.sleep(50);
+        assertEquals(0, executed.get());
+    }
+
+    private static TenantJobExecutor buildExecutor(int maxConcurrency, Duration timeout) {
+        TenantProperties.Job properties = new TenantProperties.Job();
+        properties.setPoolSize(4);
+        properties.setMaxConcurrency(maxConcurrency);
+        properties.setTimeout(timeout);
+        return new TenantJobExecutor(properties);
+    }
+
+}
@@ -0,0 +1,115 @@
+package cn.iocoder.yudao.framework.tenant.core.job;
+
+import cn.iocoder.yudao.framework.common.util.json.JsonUtils;
+import cn.iocoder.yudao.framework.quartz.core.context.JobContextHolder;
+import cn.iocoder.yudao.framework.quartz.core.handler.JobPartialFailureException;
+import cn.iocoder.yudao.framework.quartz.core.service.JobLogFrameworkService;
+import cn.iocoder.yudao.framework.tenant.config.TenantProperties;
+import cn.iocoder.yudao.framework.tenant.core.context.TenantContextHolder;
+import cn.iocoder.yudao.framework.tenant.core.service.TenantFrameworkService;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TenantJobHandlerDecoratorTest {
+
+    private TenantFrameworkService tenantFrameworkService;
+    private TenantJobExecutor tenantJobExecutor;
+
+    @BeforeEach
+    public void setUp() {
+        tenantFrameworkService = mock(TenantFrameworkService.class);
+        when(tenantFrameworkService.getTenantIds()).thenReturn(Arrays.asList(1L, 2L, 3L));
+        tenantJobExecutor = new TenantJobExecutor(new TenantProperties.Job());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        tenantJobExecutor.destroy();
+        JobContextHolder.clear();
+    }
+
+    @Test
+    public void testExecute_success() throws Exception {
+        // 准备参数
+        TenantJobHandlerDecorator decorator = new TenantJobHandlerDecorator(tenantFrameworkService, tenantJobExecutor,
+                param -> param + "-" + TenantContextHolder.getTenantId());
+
+        // 调用
+        String result = decorator.execute("test");
+        // 断言
+        assertEquals("{\"successCount\":3,\"failureCount\":0}", result);
+    }
+
+    @Test
+    public void testExecute_partialFailure() {
+        // 准备参数
+        TenantJobHandlerDecorator decorator = new TenantJobHandlerDecorator(tenantFrameworkService, tenantJobExecutor,
+                param -> {
+                    if (TenantContextHolder.getTenantId() == 2L) {
+                        throw new IllegalStateException("租户 2 失败");
+                    }
+                    return "ok";
+                });
+
+        // 调用
+        JobPartialFailureException ex = assertThrows(JobPartialFailureException.class, () -> decorator.execute(null));
+        // 断言：失败的 key 用于重试，结果为摘要，失败原因在失败明细中
+        assertEquals(Collections.singleton("2"), ex.getFailedKeys());
+        assertEquals("{\"successCount\":2,\"failureCount\":1,\"failedTenantIds\":[2]}", ex.getResult());
+        assertTrue(ex.getFailures().get("2").contains("租户 2 失败"));
+    }
+
+    @Test
+    public void testExecute_partialFailureTruncated() {
+        // 准备参数：1000 个租户全部失败，租户编号超过摘要的长度
+        List<Long> tenantIds = new ArrayList<>();
+        for (long i = 0; i < 1000; i++) {
+            tenantIds.add(10000000L + i);
+        }
+        when(tenantFrameworkService.getTenantIds()).thenReturn(tenantIds);
+        TenantJobHandlerDecorator decorator = new TenantJobHandlerDecorator(tenantFrameworkService, tenantJobExecutor,
+                param -> {
+                    throw new IllegalStateException("失败");
+                });
+
+        // 调用
+        JobPartialFailureException ex = assertThrows(JobPartialFailureException.class, () -> decorator.execute(null));
+        // 断言：摘要不超过最大长度，并且是合法的 JSON；失败明细包含全部租户
+        assertTrue(ex.getResult().length() <= JobLogFrameworkService.RESULT_MAX_LENGTH);
+        JsonNode summary = JsonUtils.parseTree(ex.getResult());
+        assertEquals(0, summary.get("successCount").asInt());
+        assertEquals(1000, summary.get("failureCount").asInt());
+        assertTrue(summary.get("failedTenantIdsTruncated").asBoolean());
+        assertTrue(summary.get("failedTenantIds").size() > 0);
+        assertTrue(summary.get("failedTenantIds").size() < 1000);
+        assertEquals(10000000L, summary.get("failedTenantIds").get(0).asLong());
+        assertEquals(1000, ex.getFailures().size());
+    }
+
+    @Test
+    public void testExecute_retryKeys() throws Exception {
+        // 准备参数
+        JobContextHolder.setRetryKeys(Collections.singleton("2"));
+        Set<Long> executedTenantIds = ConcurrentHashMap.newKeySet();
+        TenantJobHandlerDecorator decorator = new TenantJobHandlerDecorator(tenantFrameworkService, tenantJobExecutor,
+                param -> {
+                    executedTenantIds.add(TenantContextHolder.getTenantId());
+                    return "ok";
+                });
+
+        // 调用
+        decorator.execute(null);
+        // 断言：重试时，只执行上次失败的租户
+        assertEquals(Collections.singleton(2L), executedTenantIds);
+    }
+
+}
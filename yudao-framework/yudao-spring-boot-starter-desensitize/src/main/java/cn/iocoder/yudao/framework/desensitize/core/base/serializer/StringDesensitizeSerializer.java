@@ -2,8 +2,6 @@ package cn.iocoder.yudao.framework.desensitize.core.base.serializer;
 
 import cn.hutool.core.annotation.AnnotationUtil;
 import cn.hutool.core.lang.Singleton;
-import cn.hutool.core.util.ArrayUtil;
-import cn.hutool.core.util.ReflectUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.iocoder.yudao.framework.desensitize.core.base.annotation.DesensitizeBy;
 import cn.iocoder.yudao.framework.desensitize.core.base.handler.DesensitizationHandler;
@@ -11,43 +9,60 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.BeanProperty;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
 import com.fasterxml.jackson.databind.ser.ContextualSerializer;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import lombok.Getter;
-import lombok.Setter;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
 
 /**
  * 脱敏序列化器
  *
  * 实现 JSON 返回数据时，使用 {@link DesensitizationHandler} 对声明脱敏注解的字段，进行脱敏处理。
  *
+ * 在 {@link #createContextual(SerializerProvider, BeanProperty)} 时，一次性解析字段的脱敏注解和处理器，
+ * 创建该字段专属的序列化器，由 Jackson 按字段缓存；{@link #serialize(String, JsonGenerator, SerializerProvider)} 不再进行反射。
+ *
  * @author gaibu
  */
 @SuppressWarnings("rawtypes")
 public class StringDesensitizeSerializer extends StdSerializer<String> implements ContextualSerializer {
 
     @Getter
-    @Setter
-    private DesensitizationHandler desensitizationHandler;
+    private final DesensitizationHandler desensitizationHandler;
+    /**
+     * 字段上的脱敏注解，例如说 {@link cn.iocoder.yudao.framework.desensitize.core.slider.annotation.MobileDesensitize}
+     */
+    @Getter
+    private final Annotation annotation;
 
     protected StringDesensitizeSerializer() {
+        this(null, null);
+    }
+
+    protected StringDesensitizeSerializer(DesensitizationHandler desensitizationHandler, Annotation annotation) {
         super(String.class);
+        this.desensitizationHandler = desensitizationHandler;
+        this.annotation = annotation;
     }
 
     @Override
     public JsonSerializer<?> createContextual(SerializerProvider serializerProvider, BeanProperty beanProperty) {
-        DesensitizeBy annotation = beanProperty.getAnnotation(DesensitizeBy.class);
+        if (beanProperty == null) {
+            return this;
+        }
+        DesensitizeBy desensitizeBy = beanProperty.getAnnotation(DesensitizeBy.class);
+        if (desensitizeBy == null) {
+            return this;
+        }
+        Annotation annotation = findDesensitizeAnnotation(beanProperty.getMember());
         if (annotation == null) {
             return this;
         }
         // 创建一个 StringDesensitizeSerializer 对象，使用 DesensitizeBy 对应的处理器
-        StringDesensitizeSerializer serializer = new StringDesensitizeSerializer();
-        serializer.setDesensitizationHandler(Singleton.get(annotation.handler()));
-        return serializer;
+        return new StringDesensitizeSerializer(Singleton.get(desensitizeBy.handler()), annotation);
     }
 
     @Override
@@ -57,36 +72,32 @@ public class StringDesensitizeSerializer extends StdSerializer<String> implement
             gen.writeNull();
             return;
         }
-        // 获取序列化字段
-        Field field = getField(gen);
-
-        // 自定义处理器
-        DesensitizeBy[] annotations = AnnotationUtil.getCombinationAnnotations(field, DesensitizeBy.class);
-        if (ArrayUtil.isEmpty(annotations)) {
+        // 未声明脱敏注解，直接输出
+        if (annotation == null) {
             gen.writeString(value);
             return;
         }
-        for (Annotation annotation : field.getAnnotations()) {
-            if (AnnotationUtil.hasAnnotation(annotation.annotationType(), DesensitizeBy.class)) {
-                value = this.desensitizationHandler.desensitize(value, annotation);
-                gen.writeString(value);
-                return;
-            }
-        }
-        gen.writeString(value);
+        gen.writeString(desensitizationHandler.desensitize(value, annotation));
     }
 
     /**
-     * 获取字段
+     * 获得字段上声明了 {@link DesensitizeBy} 的注解
      *
-     * @param generator JsonGenerator
-     * @return 字段
+     * 使用 Jackson 合并后的注解（包括字段、getter 方法上的注解），而不是通过反射获取字段
+     *
+     * @param member 字段或方法
+     * @return 脱敏注解
      */
-    private Field getField(JsonGenerator generator) {
-        String currentName = generator.getOutputContext().getCurrentName();
-        Object currentValue = generator.getCurrentValue();
-        Class<?> currentValueClass = currentValue.getClass();
-        return ReflectUtil.getField(currentValueClass, currentName);
+    private static Annotation findDesensitizeAnnotation(AnnotatedMember member) {
+        if (member == null) {
+            return null;
+        }
+        for (Annotation annotation : member.annotations()) {
+            if (AnnotationUtil.hasAnnotation(annotation.annotationType(), DesensitizeBy.class)) {
+                return annotation;
+            }
+        }
+        return null;
     }
 
 }
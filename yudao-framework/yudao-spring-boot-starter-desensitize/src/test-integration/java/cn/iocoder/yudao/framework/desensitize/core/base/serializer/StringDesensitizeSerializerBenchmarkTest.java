@@ -0,0 +1,157 @@
+package cn.iocoder.yudao.framework.desensitize.core.base.serializer;
+
+import cn.hutool.core.annotation.AnnotationUtil;
+import cn.hutool.core.lang.Singleton;
+import cn.hutool.core.util.ArrayUtil;
+import cn.hutool.core.util.ReflectUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.iocoder.yudao.framework.common.pojo.PageResult;
+import cn.iocoder.yudao.framework.desensitize.core.base.annotation.DesensitizeBy;
+import cn.iocoder.yudao.framework.desensitize.core.base.handler.DesensitizationHandler;
+import cn.iocoder.yudao.framework.desensitize.core.regex.annotation.EmailDesensitize;
+import cn.iocoder.yudao.framework.desensitize.core.slider.annotation.IdCardDesensitize;
+import cn.iocoder.yudao.framework.desensitize.core.slider.annotation.MobileDesensitize;
+import cn.iocoder.yudao.framework.desensitize.core.slider.annotation.SliderDesensitize;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link StringDesensitizeSerializer} 的基准测试，对比序列化 1 万行 {@link PageResult} 的耗时：
+ *
+ * 1. 按字段缓存的序列化器：脱敏注解在 createContextual 时解析一次
+ * 2. 每个值都反射的序列化器：即 {@link ReflectDesensitizeSerializer}，每次 serialize 都获取字段、查找注解
+ *
+ * 每种方式先预热，再取多轮的平均耗时。结果受 JIT、GC 影响，仅用于横向对比
+ */
+public class StringDesensitizeSerializerBenchmarkTest {
+
+    private static final int ROWS = 10000;
+
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int MEASURE_ROUNDS = 20;
+
+    @Test
+    public void testSerialize_benchmark() throws IOException {
+        PageResult<BenchmarkDemo> pageResult = buildPageResult();
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper reflectObjectMapper = new ObjectMapper().setAnnotationIntrospector(new JacksonAnnotationIntrospector() {
+
+            @Override
+            public Object findSerializer(Annotated a) {
+                Object serializer = super.findSerializer(a);
+                return serializer == StringDesensitizeSerializer.class ? ReflectDesensitizeSerializer.class : serializer;
+            }
+
+        });
+        // 断言：两种方式的脱敏结果一致
+        assertEquals(reflectObjectMapper.writeValueAsString(pageResult), objectMapper.writeValueAsString(pageResult));
+
+        System.out.printf("按字段缓存: %.2f ms/次%n", benchmark(objectMapper, pageResult));
+        System.out.printf("每个值都反射: %.2f ms/次%n", benchmark(reflectObjectMapper, pageResult));
+    }
+
+    private static double benchmark(ObjectMapper objectMapper, Object value) throws IOException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            objectMapper.writeValueAsString(value);
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            objectMapper.writeValueAsString(value);
+        }
+        return (System.nanoTime() - startTime) / 1e6 / MEASURE_ROUNDS;
+    }
+
+    private static PageResult<BenchmarkDemo> buildPageResult() {
+        List<BenchmarkDemo> list = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            BenchmarkDemo demo = new BenchmarkDemo();
+            demo.setMobile("1324876" + String.format("%04d", i));
+            demo.setIdCard("53011119900101" + String.format("%04d", i));
+            demo.setEmail("user" + i + "@iocoder.cn");
+            demo.setSlider("ABCDEFG" + i);
+            demo.setName("芋道源码" + i);
+            list.add(demo);
+        }
+        return new PageResult<>(list, (long) ROWS);
+    }
+
+    @Data
+    public static class BenchmarkDemo {
+
+        @MobileDesensitize
+        private String mobile;
+        @IdCardDesensitize
+        private String idCard;
+        @EmailDesensitize
+        private String email;
+        @SliderDesensitize(prefixKeep = 3, suffixKeep = 1)
+        private String slider;
+        private String name;
+
+    }
+
+    /**
+     * 每个值都反射的脱敏序列化器，作为基准测试的对照组
+     */
+    @SuppressWarnings("rawtypes")
+    public static class ReflectDesensitizeSerializer extends StdSerializer<String> implements ContextualSerializer {
+
+        private DesensitizationHandler desensitizationHandler;
+
+        public ReflectDesensitizeSerializer() {
+            super(String.class);
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider serializerProvider, BeanProperty beanProperty) {
+            DesensitizeBy annotation = beanProperty.getAnnotation(DesensitizeBy.class);
+            if (annotation == null) {
+                return this;
+            }
+            ReflectDesensitizeSerializer serializer = new ReflectDesensitizeSerializer();
+            serializer.desensitizationHandler = Singleton.get(annotation.handler());
+            return serializer;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void serialize(String value, JsonGenerator gen, SerializerProvider serializerProvider) throws IOException {
+            if (StrUtil.isBlank(value)) {
+                gen.writeNull();
+                return;
+            }
+            Field field = ReflectUtil.getField(gen.getCurrentValue().getClass(), gen.getOutputContext().getCurrentName());
+            DesensitizeBy[] annotations = AnnotationUtil.getCombinationAnnotations(field, DesensitizeBy.class);
+            if (ArrayUtil.isEmpty(annotations)) {
+                gen.writeString(value);
+                return;
+            }
+            for (Annotation annotation : field.getAnnotations()) {
+                if (AnnotationUtil.hasAnnotation(annotation.annotationType(), DesensitizeBy.class)) {
+                    gen.writeString(desensitizationHandler.desensitize(value, annotation));
+                    return;
+                }
+            }
+            gen.writeString(value);
+        }
+
+    }
+
+}
@@ -1,5 +1,6 @@
 package cn.iocoder.yudao.framework.desensitize.core;
 
+import cn.iocoder.yudao.framework.common.pojo.PageResult;
 import cn.iocoder.yudao.framework.common.util.json.JsonUtils;
 import cn.iocoder.yudao.framework.desensitize.core.regex.annotation.EmailDesensitize;
 import cn.iocoder.yudao.framework.desensitize.core.regex.annotation.RegexDesensitize;
@@ -13,9 +14,13 @@ import cn.iocoder.yudao.framework.desensitize.core.slider.annotation.PasswordDes
 import cn.iocoder.yudao.framework.desensitize.core.slider.annotation.MobileDesensitize;
 import cn.iocoder.yudao.framework.desensitize.core.slider.annotation.SliderDesensitize;
 import cn.iocoder.yudao.framework.test.core.ut.BaseMockitoUnitTest;
+import com.fasterxml.jackson.core.type.TypeReference;
 import lombok.Data;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -62,6 +67,32 @@ public class DesensitizeTest extends BaseMockitoUnitTest {
         assertEquals("芋道源码", d.getOrigin());
     }
 
+    @Test
+    public void testPageResult() {
+        // 准备参数：多行数据，同一字段的序列化器被复用
+        List<DesensitizeDemo> list = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            DesensitizeDemo desensitizeDemo = new DesensitizeDemo();
+            desensitizeDemo.setPhoneNumber("1324876" + String.format("%04d", i));
+            desensitizeDemo.setSlider1("ABCDEFG");
+            desensitizeDemo.setOrigin("芋道源码");
+            list.add(desensitizeDemo);
+        }
+        PageResult<DesensitizeDemo> pageResult = new PageResult<>(list, 100L);
+
+        // 调用
+        PageResult<DesensitizeDemo> result = JsonUtils.parseObject(JsonUtils.toJsonString(pageResult),
+                new TypeReference<PageResult<DesensitizeDemo>>() {});
+        // 断言
+        assertNotNull(result);
+        assertEquals(100, result.getList().size());
+        assertEquals("132****0000", result.getList().get(0).getPhoneNumber());
+        assertEquals("132****0099", result.getList().get(99).getPhoneNumber());
+        assertEquals("#######", result.getList().get(99).getSlider1());
+        assertEquals("芋道源码", result.getList().get(99).getOrigin());
+        assertNull(result.getList().get(99).getNickname());
+    }
+
     @Data
     public static class DesensitizeDemo {
 
@@ -11,14 +11,25 @@ import com.alibaba.excel.metadata.data.WriteCellData;
 import com.alibaba.excel.metadata.property.ExcelContentProperty;
 import lombok.extern.slf4j.Slf4j;
 
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Excel 数据字典转换器
  *
+ * 字典数据的转换，使用 {@link DictFrameworkUtils} 的本地缓存，所以导出大量数据时，只有不同的字典值才会调用远程接口
+ *
  * @author 芋道源码
  */
 @Slf4j
 public class DictConvert implements Converter<Object> {
 
+    /**
+     * 字段与字典类型的映射，避免每个单元格都反射获取 {@link DictFormat} 注解
+     */
+    private static final Map<Field, String> DICT_TYPES = new ConcurrentHashMap<>();
+
     @Override
     public Class<?> supportJavaTypeKey() {
         throw new UnsupportedOperationException("暂不支持，也不需要");
@@ -66,7 +77,8 @@ public class DictConvert implements Converter<Object> {
     }
 
     private static String getType(ExcelContentProperty contentProperty) {
-        return contentProperty.getField().getAnnotation(DictFormat.class).value();
+        return DICT_TYPES.computeIfAbsent(contentProperty.getField(),
+                field -> field.getAnnotation(DictFormat.class).value());
     }
 
 }
@@ -0,0 +1,63 @@
+package cn.iocoder.yudao.framework.excel.core.listener;
+
+import com.alibaba.excel.context.AnalysisContext;
+import com.alibaba.excel.event.AnalysisEventListener;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Excel 的分批读取监听器，适合导入大量数据
+ *
+ * 每读取 batchSize 行，回调一次 handler 进行处理，内存中只保留一批数据。
+ * 由于 EasyExcel 基于 SAX 同步解析，handler 处理完当前批次之前，不会继续读取后续的行，天然具备背压能力。
+ *
+ * @param <T> 行数据的类型
+ * @author 芋道源码
+ */
+@Slf4j
+public class ExcelBatchReadListener<T> extends AnalysisEventListener<T> {
+
+    private final int batchSize;
+    private final Consumer<List<T>> handler;
+
+    private List<T> batch;
+    /**
+     * 已处理的行数
+     */
+    @Getter
+    private int count;
+
+    public ExcelBatchReadListener(int batchSize, Consumer<List<T>> handler) {
+        this.batchSize = batchSize;
+        this.handler = handler;
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    @Override
+    public void invoke(T data, AnalysisContext context) {
+        batch.add(data);
+        if (batch.size() >= batchSize) {
+            flush(context);
+        }
+    }
+
+    @Override
+    public void doAfterAllAnalysed(AnalysisContext context) {
+        if (!batch.isEmpty()) {
+            flush(context);
+        }
+    }
+
+    private void flush(AnalysisContext context) {
+        handler.accept(batch);
+        count += batch.size();
+        log.info("[flush][sheet({}) 已处理 {} 行，预计共 {} 行]", context.readSheetHolder().getSheetName(),
+                count, context.readSheetHolder().getApproximateTotalRowNumber());
+        batch = new ArrayList<>(batchSize);
+    }
+
+}
@@ -0,0 +1,103 @@
+package cn.iocoder.yudao.framework.excel.core.util;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelWriter;
+import com.alibaba.excel.write.metadata.WriteSheet;
+import com.alibaba.excel.write.style.column.LongestMatchColumnWidthStyleStrategy;
+
+import java.io.Closeable;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Excel 的流式写入器，适合导出大量数据
+ *
+ * 调用方分批查询、分批 {@link #write(List)}，内存中只保留一批数据；EasyExcel 基于 SXSSF 写入 xlsx，超过窗口的行会刷到临时文件。
+ * 单个 sheet 超过 {@link #MAX_SHEET_ROWS} 行时，自动写入新的 sheet，避免超过 xlsx 的行数上限。
+ *
+ * 注意，使用完需要调用 {@link #close()} 方法，才会输出完整的 Excel；写入过程中失败时，需要调用 {@link #abort()} 方法，
+ * 放弃输出，避免调用方收到一个不完整、但是可以正常打开的 Excel。一般情况下，通过 {@link ExcelUtils} 的 write 方法使用即可
+ *
+ * @param <T> 泛型，保证 head 和 data 类型的一致性
+ * @author 芋道源码
+ */
+public class ExcelStreamWriter<T> implements Closeable {
+
+    /**
+     * 单个 sheet 的最大行数。xlsx 的上限为 1048576 行，预留表头等空间
+     */
+    public static final int MAX_SHEET_ROWS = 1000000;
+
+    private final ExcelWriter excelWriter;
+    private final String sheetName;
+
+    private WriteSheet sheet;
+    /**
+     * 当前 sheet 的编号
+     */
+    private int sheetNo;
+    /**
+     * 当前 sheet 已写入的行数
+     */
+    private int sheetRows;
+    /**
+     * 是否已经放弃输出
+     */
+    private boolean aborted;
+
+    public ExcelStreamWriter(OutputStream outputStream, String sheetName, Class<T> head) {
+        this.excelWriter = EasyExcel.write(outputStream, head)
+                .autoCloseStream(false) // 不要自动关闭，交给 Servlet 自己处理
+                .registerWriteHandler(new LongestMatchColumnWidthStyleStrategy()) // 基于 column 长度，自动适配。最大 255 宽度
+                .build();
+        this.sheetName = sheetName;
+        this.sheet = EasyExcel.writerSheet(sheetNo, sheetName).build();
+    }
+
+    /**
+     * 写入一批数据
+     *
+     * @param data 数据列表
+     */
+    public void write(List<T> data) {
+        int index = 0;
+        while (index < data.size()) {
+            // 当前 sheet 已满，写入新的 sheet
+            if (sheetRows >= MAX_SHEET_ROWS) {
+                sheetNo++;
+                sheetRows = 0;
+                sheet = EasyExcel.writerSheet(sheetNo, sheetName + "-" + (sheetNo + 1)).build();
+            }
+            int count = Math.min(data.size() - index, MAX_SHEET_ROWS - sheetRows);
+            excelWriter.write(index == 0 && count == data.size() ? data : data.subList(index, index + count), sheet);
+            index += count;
+            sheetRows += count;
+        }
+    }
+
+    /**
+     * 放弃输出，释放临时文件等资源。调用后，{@link #close()} 不会再输出 Excel
+     *
+     * 由于数据在 {@link #close()} 时才会写入 OutputStream，所以放弃输出后，响应尚未提交，可以正常返回错误结果
+     */
+    public void abort() {
+        if (aborted) {
+            return;
+        }
+        aborted = true;
+        excelWriter.writeContext().finish(true);
+    }
+
+    @Override
+    public void close() {
+        if (aborted) {
+            return;
+        }
+        // 没有写入过数据时，也需要输出表头
+        if (sheetNo == 0 && sheetRows == 0) {
+            excelWriter.write((List<T>) null, sheet);
+        }
+        excelWriter.finish();
+    }
+
+}
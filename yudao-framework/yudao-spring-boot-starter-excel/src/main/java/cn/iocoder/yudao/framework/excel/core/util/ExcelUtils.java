@@ -1,5 +1,6 @@
 package cn.iocoder.yudao.framework.excel.core.util;
 
+import cn.iocoder.yudao.framework.excel.core.listener.ExcelBatchReadListener;
 import com.alibaba.excel.EasyExcel;
 import com.alibaba.excel.write.style.column.LongestMatchColumnWidthStyleStrategy;
 import org.springframework.web.multipart.MultipartFile;
@@ -8,6 +9,7 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.net.URLEncoder;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Excel 工具类
@@ -39,10 +41,66 @@ public class ExcelUtils {
         response.setContentType("application/vnd.ms-excel;charset=UTF-8");
     }
 
+    /**
+     * 分批将数据以 Excel 响应给前端，适合导出大量数据
+     *
+     * 使用示例：
+     * <pre>
+     * ExcelUtils.write(response, "xxx.xls", "数据", XXXExcelVO.class,
+     *         writer -&gt; xxxService.getXXXList(exportReqVO, list -&gt; writer.write(XXXConvert.INSTANCE.convertList02(list))));
+     * </pre>
+     *
+     * 写入过程中失败时，放弃输出并抛出异常，由全局异常处理器返回错误结果，避免前端收到一个不完整的 Excel
+     *
+     * @param response 响应
+     * @param filename 文件名
+     * @param sheetName Excel sheet 名
+     * @param head Excel head 头
+     * @param consumer 分批写入数据的逻辑
+     * @param <T> 泛型，保证 head 和 data 类型的一致性
+     * @throws IOException 写入失败的情况
+     */
+    public static <T> void write(HttpServletResponse response, String filename, String sheetName,
+                                 Class<T> head, Consumer<ExcelStreamWriter<T>> consumer) throws IOException {
+        ExcelStreamWriter<T> writer = new ExcelStreamWriter<>(response.getOutputStream(), sheetName, head);
+        try {
+            consumer.accept(writer);
+        } catch (Throwable ex) {
+            writer.abort();
+            throw ex;
+        }
+        // 设置 header 和 contentType。数据在 close 时才会输出，所以写在最后，避免报错时，响应 contentType 已经被修改了
+        response.addHeader("Content-Disposition", "attachment;filename=" + URLEncoder.encode(filename, "UTF-8"));
+        response.setContentType("application/vnd.ms-excel;charset=UTF-8");
+        writer.close();
+    }
+
     public static <T> List<T> read(MultipartFile file, Class<T> head) throws IOException {
        return EasyExcel.read(file.getInputStream(), head, null)
                 .autoCloseStream(false)  // 不要自动关闭，交给 Servlet 自己处理
                 .doReadAllSync();
     }
 
+    /**
+     * 分批读取 Excel，每读取 batchSize 行回调一次 handler，适合导入大量数据
+     *
+     * 和 {@link #read(MultipartFile, Class)} 的区别是，不会一次性将整个 sheet 加载到内存中
+     *
+     * @param file Excel 文件
+     * @param head Excel head 头
+     * @param batchSize 每批的行数
+     * @param handler 每一批数据的处理逻辑
+     * @param <T> 泛型，保证 head 和 data 类型的一致性
+     * @return 读取的总行数
+     * @throws IOException 读取失败的情况
+     */
+    public static <T> int read(MultipartFile file, Class<T> head, int batchSize,
+                               Consumer<List<T>> handler) throws IOException {
+        ExcelBatchReadListener<T> listener = new ExcelBatchReadListener<>(batchSize, handler);
+        EasyExcel.read(file.getInputStream(), head, listener)
+                .autoCloseStream(false)  // 不要自动关闭，交给 Servlet 自己处理
+                .doReadAll();
+        return listener.getCount();
+    }
+
 }
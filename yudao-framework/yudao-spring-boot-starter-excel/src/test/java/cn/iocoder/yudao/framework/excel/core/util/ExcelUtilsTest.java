@@ -0,0 +1,85 @@
+package cn.iocoder.yudao.framework.excel.core.util;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.annotation.ExcelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExcelUtilsTest {
+
+    @Test
+    public void testWrite_stream() throws Exception {
+        // 准备参数
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // 调用：分两批写入
+        ExcelUtils.write(response, "demo.xls", "数据", DemoExcelVO.class, writer -> {
+            writer.write(Arrays.asList(new DemoExcelVO(1L, "芋艿"), new DemoExcelVO(2L, "芋道")));
+            writer.write(Collections.singletonList(new DemoExcelVO(3L, "源码")));
+        });
+        // 断言
+        assertEquals("attachment;filename=demo.xls", response.getHeader("Content-Disposition"));
+        assertEquals("application/vnd.ms-excel;charset=UTF-8", response.getContentType());
+        List<DemoExcelVO> list = EasyExcel.read(new ByteArrayInputStream(response.getContentAsByteArray()), DemoExcelVO.class, null)
+                .sheet().doReadSync();
+        assertEquals(3, list.size());
+        assertEquals(new DemoExcelVO(3L, "源码"), list.get(2));
+    }
+
+    @Test
+    public void testWrite_failure() {
+        // 准备参数
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // 调用：写入第一批后失败
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () ->
+                ExcelUtils.write(response, "demo.xls", "数据", DemoExcelVO.class, writer -> {
+                    writer.write(Collections.singletonList(new DemoExcelVO(1L, "芋艿")));
+                    throw new IllegalStateException("查询失败");
+                }));
+        // 断言：异常抛出，并且没有输出任何内容，交给全局异常处理器返回错误结果
+        assertEquals("查询失败", ex.getMessage());
+        assertFalse(response.isCommitted());
+        assertNull(response.getHeader("Content-Disposition"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void testAbort() {
+        // 准备参数
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ExcelStreamWriter<DemoExcelVO> writer = new ExcelStreamWriter<>(outputStream, "数据", DemoExcelVO.class);
+        writer.write(Collections.singletonList(new DemoExcelVO(1L, "芋艿")));
+
+        // 调用
+        writer.abort();
+        writer.close();
+        // 断言：放弃后，close 也不会输出
+        assertEquals(0, outputStream.size());
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DemoExcelVO {
+
+        @ExcelProperty("编号")
+        private Long id;
+
+        @ExcelProperty("名字")
+        private String name;
+
+    }
+
+}
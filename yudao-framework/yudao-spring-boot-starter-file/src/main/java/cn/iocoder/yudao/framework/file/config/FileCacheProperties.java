@@ -0,0 +1,69 @@
+package cn.iocoder.yudao.framework.file.config;
+
+import cn.iocoder.yudao.framework.file.core.enums.FileStorageEnum;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.io.File;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 文件缓存的配置
+ *
+ * @author 芋道源码
+ */
+@ConfigurationProperties(prefix = "yudao.file.cache")
+@Validated
+@Data
+public class FileCacheProperties {
+
+    /**
+     * 是否开启文件缓存
+     */
+    private Boolean enable = false;
+
+    /**
+     * 缓存的存储器。本地存储器本身就在磁盘上，无需缓存
+     */
+    @NotEmpty(message = "缓存的存储器不能为空")
+    private Set<FileStorageEnum> storages = EnumSet.of(FileStorageEnum.DB, FileStorageEnum.FTP,
+            FileStorageEnum.SFTP, FileStorageEnum.S3);
+
+    /**
+     * 磁盘缓存的目录
+     */
+    @NotEmpty(message = "磁盘缓存的目录不能为空")
+    private String dir = System.getProperty("java.io.tmpdir") + File.separator + "yudao-file-cache";
+    /**
+     * 磁盘缓存的最大容量，超过时按照 LRU 淘汰
+     */
+    @NotNull(message = "磁盘缓存的最大容量不能为空")
+    private DataSize maxSize = DataSize.ofGigabytes(1);
+    /**
+     * 磁盘缓存的单个文件最大大小，超过时不缓存
+     */
+    @NotNull(message = "磁盘缓存的单个文件最大大小不能为空")
+    private DataSize maxObjectSize = DataSize.ofMegabytes(16);
+    /**
+     * 基于内存映射读取的单个文件最大大小，超过时基于 FileChannel#transferTo 读取
+     */
+    @NotNull(message = "内存映射的单个文件最大大小不能为空")
+    private DataSize mmapMaxObjectSize = DataSize.ofKilobytes(256);
+
+    /**
+     * 内存缓存的最大容量，用于热点的小文件
+     */
+    @NotNull(message = "内存缓存的最大容量不能为空")
+    private DataSize memoryMaxSize = DataSize.ofMegabytes(64);
+    /**
+     * 内存缓存的单个文件最大大小，超过时只缓存在磁盘
+     */
+    @NotNull(message = "内存缓存的单个文件最大大小不能为空")
+    private DataSize memoryMaxObjectSize = DataSize.ofKilobytes(64);
+
+}
@@ -2,7 +2,9 @@ package cn.iocoder.yudao.framework.file.config;
 
 import cn.iocoder.yudao.framework.file.core.client.FileClientFactory;
 import cn.iocoder.yudao.framework.file.core.client.FileClientFactoryImpl;
+import cn.iocoder.yudao.framework.file.core.client.cache.FileCache;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 
 /**
@@ -11,11 +13,15 @@ import org.springframework.context.annotation.Bean;
  * @author 芋道源码
  */
 @AutoConfiguration
+@EnableConfigurationProperties(FileCacheProperties.class)
 public class YudaoFileAutoConfiguration {
 
     @Bean
-    public FileClientFactory fileClientFactory() {
-        return new FileClientFactoryImpl();
+    public FileClientFactory fileClientFactory(FileCacheProperties cacheProperties) {
+        if (!Boolean.TRUE.equals(cacheProperties.getEnable())) {
+            return new FileClientFactoryImpl();
+        }
+        return new FileClientFactoryImpl(new FileCache(cacheProperties), cacheProperties.getStorages());
     }
 
 }
@@ -0,0 +1,53 @@
+package cn.iocoder.yudao.framework.file.core.client;
+
+import cn.hutool.crypto.digest.DigestUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * 基于字节数组的 {@link FileObject} 实现类
+ *
+ * 用于不支持流式读取的客户端，适配 {@link FileClient#getContent(String)} 方法
+ *
+ * @author 芋道源码
+ */
+public class ByteArrayFileObject implements FileObject {
+
+    private final byte[] content;
+
+    private String etag;
+
+    public ByteArrayFileObject(byte[] content) {
+        this.content = content;
+    }
+
+    public ByteArrayFileObject(byte[] content, String etag) {
+        this.content = content;
+        this.etag = etag;
+    }
+
+    @Override
+    public long getSize() {
+        return content.length;
+    }
+
+    @Override
+    public String getETag() {
+        if (etag == null) {
+            etag = "\"" + DigestUtil.md5Hex(content) + "\"";
+        }
+        return etag;
+    }
+
+    @Override
+    public Long getLastModified() {
+        return null;
+    }
+
+    @Override
+    public InputStream getInputStream(long offset, long length) {
+        return new ByteArrayInputStream(content, (int) offset, (int) length);
+    }
+
+}
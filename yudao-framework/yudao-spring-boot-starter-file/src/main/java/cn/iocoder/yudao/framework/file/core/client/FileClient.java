@@ -1,5 +1,9 @@
 package cn.iocoder.yudao.framework.file.core.client;
 
+import cn.hutool.core.io.IoUtil;
+
+import java.io.InputStream;
+
 /**
  * 文件客户端
  *
@@ -24,6 +28,22 @@ public interface FileClient {
      */
     String upload(byte[] content, String path, String type) throws  Exception;
 
+    /**
+     * 上传文件，基于流式写入，避免将整个文件加载到内存中
+     *
+     * 默认读取成字节数组后，调用 {@link #upload(byte[], String, String)} 方法。支持流式写入的客户端，需要重写该方法
+     *
+     * @param content 文件流，由调用方负责关闭
+     * @param size 文件大小；未知时传递 -1
+     * @param path 相对路径
+     * @param type 文件类型
+     * @return 完整路径，即 HTTP 访问地址
+     * @throws Exception 上传文件时，抛出 Exception 异常
+     */
+    default String upload(InputStream content, long size, String path, String type) throws Exception {
+        return upload(IoUtil.readBytes(content, false), path, type);
+    }
+
     /**
      * 删除文件
      *
@@ -40,4 +60,17 @@ public interface FileClient {
      */
     byte[] getContent(String path) throws Exception;
 
+    /**
+     * 获得文件对象，用于流式、按范围读取文件内容
+     *
+     * 默认基于 {@link #getContent(String)} 方法适配。支持流式读取的客户端，需要重写该方法
+     *
+     * @param path 相对路径
+     * @return 文件对象；文件不存在时，返回 null
+     */
+    default FileObject getObject(String path) throws Exception {
+        byte[] content = getContent(path);
+        return content != null ? new ByteArrayFileObject(content) : null;
+    }
+
 }
@@ -2,9 +2,13 @@ package cn.iocoder.yudao.framework.file.core.client;
 
 import cn.hutool.core.lang.Assert;
 import cn.hutool.core.util.ReflectUtil;
+import cn.iocoder.yudao.framework.file.core.client.cache.CachedFileClient;
+import cn.iocoder.yudao.framework.file.core.client.cache.FileCache;
 import cn.iocoder.yudao.framework.file.core.enums.FileStorageEnum;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Collections;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -21,9 +25,36 @@ public class FileClientFactoryImpl implements FileClientFactory {
      * key：配置编号
      */
     private final ConcurrentMap<Long, AbstractFileClient<?>> clients = new ConcurrentHashMap<>();
+    /**
+     * 带有读缓存的文件客户端 Map
+     * key：配置编号
+     */
+    private final ConcurrentMap<Long, FileClient> cachedClients = new ConcurrentHashMap<>();
+
+    /**
+     * 文件缓存，为空时不开启
+     */
+    private final FileCache cache;
+    /**
+     * 需要缓存的存储器
+     */
+    private final Set<FileStorageEnum> cacheStorages;
+
+    public FileClientFactoryImpl() {
+        this(null, Collections.emptySet());
+    }
+
+    public FileClientFactoryImpl(FileCache cache, Set<FileStorageEnum> cacheStorages) {
+        this.cache = cache;
+        this.cacheStorages = cacheStorages;
+    }
 
     @Override
     public FileClient getFileClient(Long configId) {
+        FileClient cachedClient = cachedClients.get(configId);
+        if (cachedClient != null) {
+            return cachedClient;
+        }
         AbstractFileClient<?> client = clients.get(configId);
         if (client == null) {
             log.error("[getFileClient][配置编号({}) 找不到客户端]", configId);
@@ -39,6 +70,10 @@ public class FileClientFactoryImpl implements FileClientFactory {
             client = this.createFileClient(configId, storage, config);
             client.init();
             clients.put(client.getId(), client);
+            // 远程存储器，包装读缓存
+            if (cache != null && cacheStorages.contains(FileStorageEnum.getByStorage(storage))) {
+                cachedClients.put(client.getId(), new CachedFileClient(client, cache));
+            }
         } else {
             client.refresh(config);
         }
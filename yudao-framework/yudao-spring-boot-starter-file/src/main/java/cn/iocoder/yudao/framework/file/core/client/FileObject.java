@@ -0,0 +1,80 @@
+package cn.iocoder.yudao.framework.file.core.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * 文件对象，用于流式读取文件内容，避免将整个文件加载到内存中
+ *
+ * 支持按照字节范围读取，用于实现 HTTP Range 断点续传
+ *
+ * @author 芋道源码
+ */
+public interface FileObject {
+
+    /**
+     * 获得文件大小
+     *
+     * @return 文件大小，单位：字节
+     */
+    long getSize();
+
+    /**
+     * 获得文件的 ETag，用于 HTTP 缓存协商
+     *
+     * @return ETag，包含双引号，例如说 "abc" 或 W/"abc"
+     */
+    String getETag();
+
+    /**
+     * 获得文件的最后修改时间
+     *
+     * @return 最后修改时间，单位：毫秒；未知时返回 null
+     */
+    Long getLastModified();
+
+    /**
+     * 打开指定范围的文件流，调用方需要负责关闭
+     *
+     * @param offset 起始位置
+     * @param length 读取长度
+     * @return 文件流
+     */
+    InputStream getInputStream(long offset, long length) throws Exception;
+
+    /**
+     * 将指定范围的文件内容，写入到 target 中
+     *
+     * 默认基于 {@link #getInputStream(long, long)} 拷贝，子类可以重写，例如说本地文件使用 FileChannel 零拷贝
+     *
+     * @param offset 起始位置
+     * @param length 写入长度
+     * @param target 目标通道
+     * @return 实际写入的长度
+     */
+    default long transferTo(long offset, long length, WritableByteChannel target) throws Exception {
+        try (ReadableByteChannel source = Channels.newChannel(getInputStream(offset, length))) {
+            return copy(source, target);
+        }
+    }
+
+    static long copy(ReadableByteChannel source, WritableByteChannel target) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long count = 0;
+        int read;
+        while ((read = source.read(buffer)) != -1) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            buffer.clear();
+            count += read;
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,119 @@
+package cn.iocoder.yudao.framework.file.core.client.cache;
+
+import cn.hutool.core.io.IoUtil;
+import cn.iocoder.yudao.framework.file.core.client.FileClient;
+import cn.iocoder.yudao.framework.file.core.client.FileObject;
+import lombok.AllArgsConstructor;
+
+import java.io.InputStream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 带有读缓存的文件客户端，包装远程存储器（S3、FTP、SFTP、DB）的客户端，基于 {@link FileCache} 缓存读取的文件
+ *
+ * 只缓存形如 FileUtils#generatePath 生成的路径，即 sha256[.扩展名]，使用 sha256 作为缓存 key；其它路径，不进行缓存。
+ * 由于调用方也可以自定义形如 sha256 的路径，写入缓存时 {@link FileCache} 会校验内容的 sha256，不符时不缓存。
+ *
+ * 上传、删除时，只移除本节点的缓存。其它节点的缓存，需要调用方广播消息后，调用 {@link #evict(String)} 移除
+ *
+ * @author 芋道源码
+ */
+@AllArgsConstructor
+public class CachedFileClient implements FileClient {
+
+    /**
+     * 内容寻址的路径，即 FileUtils#generatePath 生成的路径
+     */
+    private static final Pattern CONTENT_HASH_PATH = Pattern.compile("^([0-9a-f]{64})(\\.[0-9A-Za-z]+)?$");
+
+    private final FileClient delegate;
+    private final FileCache cache;
+
+    @Override
+    public Long getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public String upload(byte[] content, String path, String type) throws Exception {
+        String url = delegate.upload(content, path, type);
+        evict(path);
+        return url;
+    }
+
+    @Override
+    public String upload(InputStream content, long size, String path, String type) throws Exception {
+        String url = delegate.upload(content, size, path, type);
+        evict(path);
+        return url;
+    }
+
+    @Override
+    public void delete(String path) throws Exception {
+        delegate.delete(path);
+        evict(path);
+    }
+
+    @Override
+    public byte[] getContent(String path) throws Exception {
+        String key = getCacheKey(path);
+        if (key == null) {
+            return delegate.getContent(path);
+        }
+        // 读取缓存
+        FileObject object = cache.get(key);
+        if (object != null) {
+            try (InputStream in = object.getInputStream(0, object.getSize())) {
+                return IoUtil.readBytes(in);
+            }
+        }
+        // 读取存储器，并写入缓存
+        byte[] content = delegate.getContent(path);
+        if (content != null) {
+            cache.put(key, content);
+        }
+        return content;
+    }
+
+    @Override
+    public FileObject getObject(String path) throws Exception {
+        String key = getCacheKey(path);
+        if (key == null) {
+            return delegate.getObject(path);
+        }
+        // 读取缓存
+        FileObject object = cache.get(key);
+        if (object != null) {
+            return object;
+        }
+        // 读取存储器，并写入缓存。文件过大、或者写入失败时，直接使用存储器的文件对象
+        object = delegate.getObject(path);
+        if (object == null) {
+            return null;
+        }
+        FileObject cachedObject = cache.put(key, object);
+        return cachedObject != null ? cachedObject : object;
+    }
+
+    /**
+     * 移除本节点的缓存
+     *
+     * @param path 相对路径
+     */
+    public void evict(String path) {
+        String key = getCacheKey(path);
+        if (key != null) {
+            cache.remove(key);
+        }
+    }
+
+    private static String getCacheKey(String path) {
+        if (path == null) {
+            return null;
+        }
+        Matcher matcher = CONTENT_HASH_PATH.matcher(path);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+}
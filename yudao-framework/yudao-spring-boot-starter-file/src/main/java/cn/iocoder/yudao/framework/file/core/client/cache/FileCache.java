@@ -0,0 +1,352 @@
+package cn.iocoder.yudao.framework.file.core.client.cache;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.HexUtil;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import cn.iocoder.yudao.framework.file.config.FileCacheProperties;
+import cn.iocoder.yudao.framework.file.core.client.ByteArrayFileObject;
+import cn.iocoder.yudao.framework.file.core.client.FileObject;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.io.ByteStreams;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 文件缓存，分为两层：
+ * 1. 内存层：基于 Caffeine 缓存热点的小文件
+ * 2. 磁盘层：基于 LRU 淘汰，限制总容量。较小的文件基于内存映射读取，较大的文件基于 FileChannel#transferTo 读取
+ *
+ * 缓存的 key 为文件内容的 sha256，即 FileUtils#generatePath 生成的路径。写入缓存时，会校验内容的 sha256 与 key 一致，
+ * 避免调用方自定义的、形如 sha256 的路径，缓存了与 key 不符的内容
+ *
+ * 提供如下监控指标：
+ * 1. yudao.file.cache.requests：请求次数，tag 为 result，包括 memory 内存命中、disk 磁盘命中、miss 未命中
+ * 2. yudao.file.cache.hit.ratio：命中率
+ * 3. yudao.file.cache.size：磁盘缓存的大小，单位：字节
+ * 4. cache.*：内存层的 Caffeine 指标，tag 为 cache=yudao.file.cache.memory
+ *
+ * @author 芋道源码
+ */
+@Slf4j
+public class FileCache {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final FileCacheProperties properties;
+    private final File dir;
+
+    /**
+     * 内存层
+     */
+    private final Cache<String, byte[]> memoryCache;
+
+    /**
+     * 磁盘层的索引，按照访问顺序排序，用于 LRU 淘汰
+     * key：缓存 key
+     * value：文件大小
+     */
+    private final LinkedHashMap<String, Long> diskEntries = new LinkedHashMap<>(16, 0.75F, true);
+    /**
+     * 磁盘层的总大小
+     */
+    private long diskSize;
+
+    private final LongAdder memoryHitCount = new LongAdder();
+    private final LongAdder diskHitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public FileCache(FileCacheProperties properties) {
+        this.properties = properties;
+        this.dir = FileUtil.mkdir(properties.getDir());
+        this.memoryCache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMemoryMaxSize().toBytes())
+                .weigher((String key, byte[] value) -> value.length)
+                .recordStats()
+                .build();
+        loadDiskEntries();
+        // 监控指标
+        registerRequestCounter("memory", memoryHitCount);
+        registerRequestCounter("disk", diskHitCount);
+        registerRequestCounter("miss", missCount);
+        Gauge.builder("yudao.file.cache.hit.ratio", this, FileCache::getHitRatio).register(Metrics.globalRegistry);
+        Gauge.builder("yudao.file.cache.size", this, FileCache::getDiskSize).register(Metrics.globalRegistry);
+        CaffeineCacheMetrics.monitor(Metrics.globalRegistry, memoryCache, "yudao.file.cache.memory");
+    }
+
+    private static void registerRequestCounter(String result, LongAdder count) {
+        FunctionCounter.builder("yudao.file.cache.requests", count, LongAdder::sum).tag("result", result)
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * 加载磁盘上已有的缓存文件，按照修改时间作为访问顺序
+     */
+    private void loadDiskEntries() {
+        File[] files = dir.listFiles(File::isFile);
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        synchronized (this) {
+            for (File file : files) {
+                // 删除上次未写完的临时文件
+                if (file.getName().endsWith(TEMP_SUFFIX)) {
+                    FileUtil.del(file);
+                    continue;
+                }
+                diskEntries.put(file.getName(), file.length());
+                diskSize += file.length();
+            }
+            evict();
+        }
+        log.info("[loadDiskEntries][加载磁盘缓存({}) 数量({}) 大小({})]", dir, diskEntries.size(), diskSize);
+    }
+
+    /**
+     * 获得缓存的文件对象
+     *
+     * @param key 缓存 key
+     * @return 文件对象；未命中时，返回 null
+     */
+    public FileObject get(String key) {
+        // 内存层
+        byte[] content = memoryCache.getIfPresent(key);
+        if (content != null) {
+            memoryHitCount.increment();
+            return new ByteArrayFileObject(content, buildETag(key));
+        }
+        // 磁盘层
+        File file = getDiskFile(key);
+        if (file != null && file.exists()) {
+            diskHitCount.increment();
+            return new DiskFileObject(key, file, file.length(), buildETag(key));
+        }
+        missCount.increment();
+        return null;
+    }
+
+    /**
+     * 缓存文件内容
+     *
+     * @param key 缓存 key，即文件内容的 sha256
+     * @param content 文件内容
+     */
+    public void put(String key, byte[] content) {
+        if (content.length > properties.getMaxObjectSize().toBytes()) {
+            return;
+        }
+        if (!key.equals(DigestUtil.sha256Hex(content))) {
+            log.warn("[put][缓存文件({}) 的内容与 sha256 不符，不进行缓存]", key);
+            return;
+        }
+        if (content.length <= properties.getMemoryMaxObjectSize().toBytes()) {
+            memoryCache.put(key, content);
+        }
+        try {
+            writeDiskFile(key, new ByteArrayInputStream(content));
+        } catch (IOException ex) {
+            log.error("[put][缓存文件({}) 写入磁盘失败]", key, ex);
+        }
+    }
+
+    /**
+     * 缓存文件对象，流式写入磁盘，同时计算 sha256 进行校验
+     *
+     * @param key 缓存 key，即文件内容的 sha256
+     * @param source 源文件对象
+     * @return 缓存后的文件对象；文件过大、内容与 sha256 不符、或者写入失败时，返回 null
+     */
+    public FileObject put(String key, FileObject source) {
+        long size = source.getSize();
+        if (size > properties.getMaxObjectSize().toBytes()) {
+            return null;
+        }
+        try (InputStream in = source.getInputStream(0, size)) {
+            File file = writeDiskFile(key, in);
+            if (file == null) {
+                log.warn("[put][缓存文件({}) 的内容与 sha256 不符，不进行缓存]", key);
+                return null;
+            }
+            if (size <= properties.getMemoryMaxObjectSize().toBytes()) {
+                memoryCache.put(key, FileUtil.readBytes(file));
+            }
+            return new DiskFileObject(key, file, size, buildETag(key));
+        } catch (Exception ex) {
+            log.error("[put][缓存文件({}) 写入磁盘失败]", key, ex);
+            return null;
+        }
+    }
+
+    /**
+     * 移除缓存
+     *
+     * @param key 缓存 key
+     */
+    public void remove(String key) {
+        memoryCache.invalidate(key);
+        synchronized (this) {
+            Long size = diskEntries.remove(key);
+            if (size != null) {
+                diskSize -= size;
+            }
+        }
+        FileUtil.del(new File(dir, key));
+    }
+
+    private synchronized File getDiskFile(String key) {
+        return diskEntries.get(key) != null ? new File(dir, key) : null;
+    }
+
+    /**
+     * 写入磁盘文件
+     *
+     * @return 磁盘文件；内容与 sha256 不符时，返回 null
+     */
+    private File writeDiskFile(String key, InputStream in) throws IOException {
+        // 先写入临时文件，再原子重命名，避免读取到未写完的文件
+        File file = new File(dir, key);
+        File tempFile = new File(dir, key + "." + IdUtil.fastSimpleUUID() + TEMP_SUFFIX);
+        try {
+            MessageDigest digest = DigestUtil.digester("SHA-256").getDigest();
+            Files.copy(new DigestInputStream(in, digest), tempFile.toPath());
+            if (!key.equals(HexUtil.encodeHexStr(digest.digest()))) {
+                return null;
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            FileUtil.del(tempFile);
+        }
+        synchronized (this) {
+            Long oldSize = diskEntries.put(key, file.length());
+            diskSize += file.length() - (oldSize != null ? oldSize : 0);
+            evict();
+        }
+        return file;
+    }
+
+    /**
+     * 淘汰最久未访问的文件，直到总大小不超过最大容量
+     */
+    private void evict() {
+        long maxSize = properties.getMaxSize().toBytes();
+        Iterator<Map.Entry<String, Long>> iterator = diskEntries.entrySet().iterator();
+        while (diskSize > maxSize && iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            iterator.remove();
+            diskSize -= entry.getValue();
+            memoryCache.invalidate(entry.getKey());
+            // 已经打开的文件，在 Linux 下删除后仍然可以继续读取
+            FileUtil.del(new File(dir, entry.getKey()));
+        }
+    }
+
+    private static String buildETag(String key) {
+        return "\"" + key + "\"";
+    }
+
+    public synchronized long getDiskSize() {
+        return diskSize;
+    }
+
+    public double getHitRatio() {
+        double hits = memoryHitCount.sum() + diskHitCount.sum();
+        double total = hits + missCount.sum();
+        return total > 0 ? hits / total : 0;
+    }
+
+    /**
+     * 磁盘缓存的 {@link FileObject} 实现类
+     */
+    @AllArgsConstructor
+    private class DiskFileObject implements FileObject {
+
+        private final String key;
+        private final File file;
+        private final long size;
+        private final String etag;
+
+        @Override
+        public long getSize() {
+            return size;
+        }
+
+        @Override
+        public String getETag() {
+            return etag;
+        }
+
+        @Override
+        public Long getLastModified() {
+            return file.lastModified();
+        }
+
+        @Override
+        public InputStream getInputStream(long offset, long length) throws IOException {
+            FileChannel channel = openChannel();
+            channel.position(offset);
+            return ByteStreams.limit(Channels.newInputStream(channel), length);
+        }
+
+        @Override
+        public long transferTo(long offset, long length, WritableByteChannel target) throws IOException {
+            try (FileChannel channel = openChannel()) {
+                // 情况一：小文件，基于内存映射读取
+                if (channel.size() <= properties.getMmapMaxObjectSize().toBytes()) {
+                    ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                    while (buffer.hasRemaining()) {
+                        target.write(buffer);
+                    }
+                    return length;
+                }
+                // 情况二：大文件，基于 transferTo 零拷贝
+                long count = 0;
+                while (count < length) {
+                    long transferred = channel.transferTo(offset + count, length - count, target);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    count += transferred;
+                }
+                return count;
+            }
+        }
+
+        private FileChannel openChannel() throws IOException {
+            try {
+                return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            } catch (IOException ex) {
+                // 文件可能已经被淘汰，移除索引，下次重新加载
+                remove(key);
+                throw ex;
+            }
+        }
+
+    }
+
+}
@@ -10,6 +10,7 @@ import cn.iocoder.yudao.framework.file.core.client.AbstractFileClient;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 
 /**
  * Ftp 文件客户端
@@ -39,12 +40,17 @@ public class FtpFileClient extends AbstractFileClient<FtpFileClientConfig> {
 
     @Override
     public String upload(byte[] content, String path, String type) {
+        return upload(new ByteArrayInputStream(content), content.length, path, type);
+    }
+
+    @Override
+    public String upload(InputStream content, long size, String path, String type) {
         // 执行写入
         String filePath = getFilePath(path);
         String fileName = FileUtil.getName(filePath);
         String dir = StrUtil.removeSuffix(filePath, fileName);
         ftp.reconnectIfTimeout();
-        boolean success = ftp.upload(dir, fileName, new ByteArrayInputStream(content));
+        boolean success = ftp.upload(dir, fileName, content);
         if (!success) {
             throw new FtpException(StrUtil.format("上传文件到目标目录 ({}) 失败", filePath));
         }
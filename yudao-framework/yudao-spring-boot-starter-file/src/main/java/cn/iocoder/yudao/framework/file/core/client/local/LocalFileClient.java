@@ -2,8 +2,17 @@ package cn.iocoder.yudao.framework.file.core.client.local;
 
 import cn.hutool.core.io.FileUtil;
 import cn.iocoder.yudao.framework.file.core.client.AbstractFileClient;
+import cn.iocoder.yudao.framework.file.core.client.FileObject;
+import com.google.common.io.ByteStreams;
+import lombok.AllArgsConstructor;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
 
 /**
  * 本地文件客户端
@@ -33,6 +42,15 @@ public class LocalFileClient extends AbstractFileClient<LocalFileClientConfig> {
         return super.formatFileUrl(config.getDomain(), path);
     }
 
+    @Override
+    public String upload(InputStream content, long size, String path, String type) {
+        // 执行写入
+        String filePath = getFilePath(path);
+        FileUtil.writeFromStream(content, FileUtil.file(filePath), false);
+        // 拼接返回路径
+        return super.formatFileUrl(config.getDomain(), path);
+    }
+
     @Override
     public void delete(String path) {
         String filePath = getFilePath(path);
@@ -45,8 +63,62 @@ public class LocalFileClient extends AbstractFileClient<LocalFileClientConfig> {
         return FileUtil.readBytes(filePath);
     }
 
+    @Override
+    public FileObject getObject(String path) {
+        File file = new File(getFilePath(path));
+        return file.isFile() ? new LocalFileObject(file) : null;
+    }
+
     private String getFilePath(String path) {
         return config.getBasePath() + path;
     }
 
+    /**
+     * 本地文件的 {@link FileObject} 实现类，基于 {@link FileChannel#transferTo(long, long, WritableByteChannel)} 零拷贝写入
+     */
+    @AllArgsConstructor
+    private static class LocalFileObject implements FileObject {
+
+        private final File file;
+
+        @Override
+        public long getSize() {
+            return file.length();
+        }
+
+        @Override
+        public String getETag() {
+            // 和 Nginx 一致，基于修改时间和大小生成 ETag，避免计算文件摘要
+            return "\"" + Long.toHexString(file.lastModified()) + "-" + Long.toHexString(file.length()) + "\"";
+        }
+
+        @Override
+        public Long getLastModified() {
+            return file.lastModified();
+        }
+
+        @Override
+        public InputStream getInputStream(long offset, long length) throws IOException {
+            FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            channel.position(offset);
+            return ByteStreams.limit(Channels.newInputStream(channel), length);
+        }
+
+        @Override
+        public long transferTo(long offset, long length, WritableByteChannel target) throws IOException {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                long count = 0;
+                while (count < length) {
+                    long transferred = channel.transferTo(offset + count, length - count, target);
+                    if (transferred <= 0) { // 文件已被截断
+                        break;
+                    }
+                    count += transferred;
+                }
+                return count;
+            }
+        }
+
+    }
+
 }
@@ -4,9 +4,13 @@ import cn.hutool.core.io.IoUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.http.HttpUtil;
 import cn.iocoder.yudao.framework.file.core.client.AbstractFileClient;
+import cn.iocoder.yudao.framework.file.core.client.FileObject;
 import io.minio.*;
+import io.minio.errors.ErrorResponseException;
+import lombok.AllArgsConstructor;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 
 import static cn.iocoder.yudao.framework.file.core.client.s3.S3FileClientConfig.ENDPOINT_ALIYUN;
 import static cn.iocoder.yudao.framework.file.core.client.s3.S3FileClientConfig.ENDPOINT_TENCENT;
@@ -20,6 +24,11 @@ import static cn.iocoder.yudao.framework.file.core.client.s3.S3FileClientConfig.
  */
 public class S3FileClient extends AbstractFileClient<S3FileClientConfig> {
 
+    /**
+     * 分片上传时，每个分片的大小。超过该大小的文件，会自动使用分片上传
+     */
+    private static final long UPLOAD_PART_SIZE = 10 * 1024 * 1024;
+
     private MinioClient client;
 
     public S3FileClient(Long id, S3FileClientConfig config) {
@@ -100,6 +109,19 @@ public class S3FileClient extends AbstractFileClient<S3FileClientConfig> {
         return config.getDomain() + "/" + path;
     }
 
+    @Override
+    public String upload(InputStream content, long size, String path, String type) throws Exception {
+        // 执行上传。文件较大或大小未知时，MinIO 会按照 partSize 分片上传，内存中只保留一个分片
+        client.putObject(PutObjectArgs.builder()
+                .bucket(config.getBucket()) // bucket 必须传递
+                .contentType(type)
+                .object(path) // 相对路径作为 key
+                .stream(content, size, UPLOAD_PART_SIZE) // 文件内容
+                .build());
+        // 拼接返回路径
+        return config.getDomain() + "/" + path;
+    }
+
     @Override
     public void delete(String path) throws Exception {
         client.removeObject(RemoveObjectArgs.builder()
@@ -117,4 +139,55 @@ public class S3FileClient extends AbstractFileClient<S3FileClientConfig> {
         return IoUtil.readBytes(response);
     }
 
+    @Override
+    public FileObject getObject(String path) throws Exception {
+        try {
+            StatObjectResponse stat = client.statObject(StatObjectArgs.builder()
+                    .bucket(config.getBucket()) // bucket 必须传递
+                    .object(path) // 相对路径作为 key
+                    .build());
+            return new S3FileObject(path, stat);
+        } catch (ErrorResponseException ex) {
+            if ("NoSuchKey".equals(ex.errorResponse().code())) {
+                return null;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * S3 的 {@link FileObject} 实现类，基于 Range 请求按需读取
+     */
+    @AllArgsConstructor
+    private class S3FileObject implements FileObject {
+
+        private final String path;
+        private final StatObjectResponse stat;
+
+        @Override
+        public long getSize() {
+            return stat.size();
+        }
+
+        @Override
+        public String getETag() {
+            return "\"" + stat.etag() + "\"";
+        }
+
+        @Override
+        public Long getLastModified() {
+            return stat.lastModified() != null ? stat.lastModified().toInstant().toEpochMilli() : null;
+        }
+
+        @Override
+        public InputStream getInputStream(long offset, long length) throws Exception {
+            return client.getObject(GetObjectArgs.builder()
+                    .bucket(config.getBucket()) // bucket 必须传递
+                    .object(path) // 相对路径作为 key
+                    .offset(offset).length(length)
+                    .build());
+        }
+
+    }
+
 }
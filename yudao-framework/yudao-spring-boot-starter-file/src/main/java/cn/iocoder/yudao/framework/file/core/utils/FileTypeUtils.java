@@ -4,6 +4,8 @@ import com.alibaba.ttl.TransmittableThreadLocal;
 import lombok.SneakyThrows;
 import org.apache.tika.Tika;
 
+import java.io.InputStream;
+
 /**
  * 文件类型 Utils
  *
@@ -45,4 +47,16 @@ public class FileTypeUtils {
         return TIKA.get().detect(data, name);
     }
 
+    /**
+     * 在拥有文件流和文件名的情况下，使用此方法，只会读取文件头部的数据
+     *
+     * @param data 文件流，由调用方负责关闭
+     * @param name 文件名
+     * @return mineType 无法识别时会返回“application/octet-stream”
+     */
+    @SneakyThrows
+    public static String getMineType(InputStream data, String name) {
+        return TIKA.get().detect(data, name);
+    }
+
 }
@@ -0,0 +1,132 @@
+package cn.iocoder.yudao.framework.file.core.client.cache;
+
+import cn.hutool.core.util.RandomUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import cn.iocoder.yudao.framework.file.config.FileCacheProperties;
+import cn.iocoder.yudao.framework.file.core.client.ByteArrayFileObject;
+import cn.iocoder.yudao.framework.file.core.client.FileObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link FileCache} 的单元测试
+ */
+public class FileCacheTest {
+
+    @TempDir
+    public File dir;
+
+    private FileCache buildCache() {
+        FileCacheProperties properties = new FileCacheProperties();
+        properties.setDir(dir.getAbsolutePath());
+        properties.setMaxSize(DataSize.ofBytes(3000));
+        properties.setMaxObjectSize(DataSize.ofBytes(2000));
+        properties.setMmapMaxObjectSize(DataSize.ofBytes(500));
+        properties.setMemoryMaxSize(DataSize.ofBytes(1000));
+        properties.setMemoryMaxObjectSize(DataSize.ofBytes(100));
+        return new FileCache(properties);
+    }
+
+    @Test
+    public void testPutAndGet() throws Exception {
+        FileCache cache = buildCache();
+        // 准备参数
+        byte[] content = RandomUtil.randomBytes(1000);
+        String key = DigestUtil.sha256Hex(content);
+
+        // 调用：写入
+        FileObject cached = cache.put(key, new ByteArrayFileObject(content));
+        assertNotNull(cached);
+        // 调用：读取
+        FileObject object = cache.get(key);
+        // 断言
+        assertEquals(1000, object.getSize());
+        assertEquals("\"" + key + "\"", object.getETag());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(200, object.transferTo(100, 200, Channels.newChannel(out)));
+        assertArrayEquals(Arrays.copyOfRange(content, 100, 300), out.toByteArray());
+        assertNull(cache.get(DigestUtil.sha256Hex("b")));
+        assertEquals(0.5, cache.getHitRatio(), 0.001);
+    }
+
+    @Test
+    public void testPut_tooLarge() {
+        FileCache cache = buildCache();
+        byte[] content = RandomUtil.randomBytes(2001);
+        String key = DigestUtil.sha256Hex(content);
+        // 调用
+        assertNull(cache.put(key, new ByteArrayFileObject(content)));
+        // 断言
+        assertNull(cache.get(key));
+        assertEquals(0, cache.getDiskSize());
+    }
+
+    @Test
+    public void testPut_hashMismatch() {
+        FileCache cache = buildCache();
+        // 准备参数：自定义的、形如 sha256 的路径，内容却不符
+        String key = DigestUtil.sha256Hex("other");
+
+        // 调用：流式写入
+        assertNull(cache.put(key, new ByteArrayFileObject(RandomUtil.randomBytes(1000))));
+        // 调用：字节数组写入
+        cache.put(key, RandomUtil.randomBytes(50));
+        // 断言：均不缓存，也不残留临时文件
+        assertNull(cache.get(key));
+        assertEquals(0, cache.getDiskSize());
+        assertArrayEquals(new String[0], dir.list());
+    }
+
+    @Test
+    public void testEvict() {
+        FileCache cache = buildCache();
+        // 调用：写入 a、b，访问 a，使 b 成为最久未访问
+        String a = put(cache, 1500);
+        String b = put(cache, 1000);
+        assertNotNull(cache.get(a));
+        String c = put(cache, 1000);
+        // 断言
+        assertNotNull(cache.get(a));
+        assertNull(cache.get(b));
+        assertNotNull(cache.get(c));
+        assertEquals(2500, cache.getDiskSize());
+        assertFalse(new File(dir, b).exists());
+    }
+
+    @Test
+    public void testRemove() {
+        FileCache cache = buildCache();
+        String key = put(cache, 50);
+        // 调用
+        cache.remove(key);
+        // 断言
+        assertNull(cache.get(key));
+        assertEquals(0, cache.getDiskSize());
+    }
+
+    @Test
+    public void testLoadDiskEntries() {
+        String key = put(buildCache(), 1000);
+        // 调用：重新创建，加载磁盘上已有的缓存
+        FileCache cache = buildCache();
+        // 断言
+        assertEquals(1000, cache.getDiskSize());
+        assertNotNull(cache.get(key));
+    }
+
+    private static String put(FileCache cache, int size) {
+        byte[] content = RandomUtil.randomBytes(size);
+        String key = DigestUtil.sha256Hex(content);
+        cache.put(key, content);
+        return key;
+    }
+
+}
@@ -1,9 +1,21 @@
 package cn.iocoder.yudao.framework.file.core.client.local;
 
+import cn.hutool.core.io.IoUtil;
 import cn.hutool.core.io.resource.ResourceUtil;
 import cn.hutool.core.util.IdUtil;
+import cn.iocoder.yudao.framework.file.core.client.FileObject;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class LocalFileClientTest {
 
@@ -24,4 +36,34 @@ public class LocalFileClientTest {
         client.delete(path);
     }
 
+    @Test
+    public void testGetObject_range(@TempDir File dir) throws Exception {
+        // 创建客户端
+        LocalFileClientConfig config = new LocalFileClientConfig();
+        config.setDomain("http://127.0.0.1:48080");
+        config.setBasePath(dir.getAbsolutePath());
+        LocalFileClient client = new LocalFileClient(0L, config);
+        client.init();
+        // 流式上传文件
+        String path = "test/" + IdUtil.fastSimpleUUID() + ".jpg";
+        byte[] content = ResourceUtil.readBytes("file/erweima.jpg");
+        client.upload(new ByteArrayInputStream(content), content.length, path, "image/jpeg");
+
+        // 调用
+        FileObject object = client.getObject(path);
+        // 断言：元数据
+        assertEquals(content.length, object.getSize());
+        assertNotNull(object.getETag());
+        assertNull(client.getObject("not_exists.jpg"));
+        // 断言：按范围写入
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = object.transferTo(10, 100, Channels.newChannel(out));
+        assertEquals(100, count);
+        assertArrayEquals(Arrays.copyOfRange(content, 10, 110), out.toByteArray());
+        // 断言：按范围读取
+        try (InputStream in = object.getInputStream(content.length - 20, 20)) {
+            assertArrayEquals(Arrays.copyOfRange(content, content.length - 20, content.length), IoUtil.readBytes(in));
+        }
+    }
+
 }
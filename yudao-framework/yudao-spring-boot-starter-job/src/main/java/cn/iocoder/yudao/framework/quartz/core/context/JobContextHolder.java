@@ -0,0 +1,87 @@
+package cn.iocoder.yudao.framework.quartz.core.context;
+
+import java.util.Set;
+
+/**
+ * Job 执行的上下文 Holder
+ *
+ * 由 {@link cn.iocoder.yudao.framework.quartz.core.handler.JobHandlerInvoker} 在调用 JobHandler 前设置，执行结束后清理
+ *
+ * 注意，JobHandler 使用其它线程执行时，需要自行传递，例如说 TenantJobHandlerDecorator
+ *
+ * @author 芋道源码
+ */
+public class JobContextHolder {
+
+    /**
+     * 重试时，需要重新执行的 key 集合
+     *
+     * 来自上一次执行抛出的 {@link cn.iocoder.yudao.framework.quartz.core.handler.JobPartialFailureException#getFailedKeys()}。
+     * 为 null 时，表示不是部分重试，需要全量执行
+     */
+    private static final ThreadLocal<Set<String>> RETRY_KEYS = new ThreadLocal<>();
+
+    /**
+     * 当前分片序号，从 0 开始
+     */
+    private static final ThreadLocal<Integer> SHARDING_INDEX = new ThreadLocal<>();
+    /**
+     * 分片总数
+     */
+    private static final ThreadLocal<Integer> SHARDING_TOTAL = new ThreadLocal<>();
+
+    /**
+     * 获得需要重新执行的 key 集合
+     *
+     * @return key 集合；为 null 时，需要全量执行
+     */
+    public static Set<String> getRetryKeys() {
+        return RETRY_KEYS.get();
+    }
+
+    public static void setRetryKeys(Set<String> retryKeys) {
+        RETRY_KEYS.set(retryKeys);
+    }
+
+    /**
+     * 获得当前分片序号，不分片时为 0
+     *
+     * @return 分片序号
+     */
+    public static int getShardingIndex() {
+        Integer index = SHARDING_INDEX.get();
+        return index != null ? index : 0;
+    }
+
+    /**
+     * 获得分片总数，不分片时为 1
+     *
+     * @return 分片总数
+     */
+    public static int getShardingTotal() {
+        Integer total = SHARDING_TOTAL.get();
+        return total != null ? total : 1;
+    }
+
+    public static void setSharding(Integer index, Integer total) {
+        SHARDING_INDEX.set(index);
+        SHARDING_TOTAL.set(total);
+    }
+
+    /**
+     * 判断编号是否属于当前分片，即 id % total == index
+     *
+     * @param id 编号，例如说数据的主键
+     * @return 是否属于
+     */
+    public static boolean isShardingOwner(long id) {
+        return Math.floorMod(id, getShardingTotal()) == getShardingIndex();
+    }
+
+    public static void clear() {
+        RETRY_KEYS.remove();
+        SHARDING_INDEX.remove();
+        SHARDING_TOTAL.remove();
+    }
+
+}
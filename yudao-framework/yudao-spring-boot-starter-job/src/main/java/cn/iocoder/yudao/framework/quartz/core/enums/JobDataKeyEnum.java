@@ -10,5 +10,9 @@ public enum JobDataKeyEnum {
     JOB_HANDLER_PARAM,
     JOB_RETRY_COUNT, // 最大重试次数
     JOB_RETRY_INTERVAL, // 每次重试间隔
+    JOB_RETRY_ATTEMPT, // 第几次重试，仅重试的 Trigger 有
+    JOB_RETRY_KEYS, // 重试时，需要重新执行的 key 集合，使用逗号分隔。参见 JobPartialFailureException
+    JOB_SHARDING_INDEX, // 分片序号，从 0 开始
+    JOB_SHARDING_TOTAL, // 分片总数
 
 }
@@ -2,20 +2,23 @@ package cn.iocoder.yudao.framework.quartz.core.handler;
 
 import cn.hutool.core.date.LocalDateTimeUtil;
 import cn.hutool.core.lang.Assert;
-import cn.hutool.core.thread.ThreadUtil;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.RandomUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.iocoder.yudao.framework.quartz.core.context.JobContextHolder;
 import cn.iocoder.yudao.framework.quartz.core.enums.JobDataKeyEnum;
 import cn.iocoder.yudao.framework.quartz.core.service.JobLogFrameworkService;
 import lombok.extern.slf4j.Slf4j;
-import org.quartz.DisallowConcurrentExecution;
-import org.quartz.JobExecutionContext;
-import org.quartz.JobExecutionException;
-import org.quartz.PersistJobDataAfterExecution;
+import org.quartz.*;
 import org.springframework.context.ApplicationContext;
 import org.springframework.scheduling.quartz.QuartzJobBean;
 
 import javax.annotation.Resource;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static cn.hutool.core.exceptions.ExceptionUtil.getRootCauseMessage;
 
@@ -29,6 +32,11 @@ import static cn.hutool.core.exceptions.ExceptionUtil.getRootCauseMessage;
 @Slf4j
 public class JobHandlerInvoker extends QuartzJobBean {
 
+    /**
+     * 重试基础间隔的上限，避免指数退避后间隔过长。加上随机抖动后，实际间隔最多为它的 1.5 倍
+     */
+    private static final long RETRY_MAX_INTERVAL = TimeUnit.HOURS.toMillis(1);
+
     @Resource
     private ApplicationContext applicationContext;
 
@@ -38,12 +46,15 @@ public class JobHandlerInvoker extends QuartzJobBean {
     @Override
     protected void executeInternal(JobExecutionContext executionContext) throws JobExecutionException {
         // 第一步，获得 Job 数据
-        Long jobId = executionContext.getMergedJobDataMap().getLong(JobDataKeyEnum.JOB_ID.name());
-        String jobHandlerName = executionContext.getMergedJobDataMap().getString(JobDataKeyEnum.JOB_HANDLER_NAME.name());
-        String jobHandlerParam = executionContext.getMergedJobDataMap().getString(JobDataKeyEnum.JOB_HANDLER_PARAM.name());
-        int refireCount  = executionContext.getRefireCount();
-        int retryCount = (Integer) executionContext.getMergedJobDataMap().getOrDefault(JobDataKeyEnum.JOB_RETRY_COUNT.name(), 0);
-        int retryInterval = (Integer) executionContext.getMergedJobDataMap().getOrDefault(JobDataKeyEnum.JOB_RETRY_INTERVAL.name(), 0);
+        JobDataMap jobDataMap = executionContext.getMergedJobDataMap();
+        Long jobId = jobDataMap.getLong(JobDataKeyEnum.JOB_ID.name());
+        String jobHandlerName = jobDataMap.getString(JobDataKeyEnum.JOB_HANDLER_NAME.name());
+        String jobHandlerParam = jobDataMap.getString(JobDataKeyEnum.JOB_HANDLER_PARAM.name());
+        int retryAttempt = (Integer) jobDataMap.getOrDefault(JobDataKeyEnum.JOB_RETRY_ATTEMPT.name(), 0);
+        int retryCount = (Integer) jobDataMap.getOrDefault(JobDataKeyEnum.JOB_RETRY_COUNT.name(), 0);
+        int retryInterval = (Integer) jobDataMap.getOrDefault(JobDataKeyEnum.JOB_RETRY_INTERVAL.name(), 0);
+        int shardingIndex = (Integer) jobDataMap.getOrDefault(JobDataKeyEnum.JOB_SHARDING_INDEX.name(), 0);
+        int shardingTotal = (Integer) jobDataMap.getOrDefault(JobDataKeyEnum.JOB_SHARDING_TOTAL.name(), 1);
 
         // 第二步，执行任务
         Long jobLogId = null;
@@ -52,18 +63,27 @@ public class JobHandlerInvoker extends QuartzJobBean {
         Throwable exception = null;
         try {
             // 记录 Job 日志（初始）
-            jobLogId = jobLogFrameworkService.createJobLog(jobId, startTime, jobHandlerName, jobHandlerParam, refireCount + 1);
+            jobLogId = jobLogFrameworkService.createJobLog(jobId, startTime, jobHandlerName, jobHandlerParam, retryAttempt + 1);
+            // 传递分片信息
+            JobContextHolder.setSharding(shardingIndex, shardingTotal);
+            // 重试时，传递上一次执行失败的 key 集合
+            String retryKeys = jobDataMap.getString(JobDataKeyEnum.JOB_RETRY_KEYS.name());
+            if (retryAttempt > 0 && retryKeys != null) {
+                JobContextHolder.setRetryKeys(StrUtil.splitTrim(retryKeys, StrUtil.COMMA).stream().collect(Collectors.toSet()));
+            }
             // 执行任务
             data = this.executeInternal(jobHandlerName, jobHandlerParam);
         } catch (Throwable ex) {
             exception = ex;
+        } finally {
+            JobContextHolder.clear();
         }
 
         // 第三步，记录执行日志
         this.updateJobLogResultAsync(jobLogId, startTime, data, exception, executionContext);
 
         // 第四步，处理有异常的情况
-        handleException(exception, refireCount, retryCount, retryInterval);
+        handleException(exception, executionContext, retryAttempt, retryCount, retryInterval);
     }
 
     private String executeInternal(String jobHandlerName, String jobHandlerParam) throws Exception {
@@ -79,36 +99,85 @@ public class JobHandlerInvoker extends QuartzJobBean {
         LocalDateTime endTime = LocalDateTime.now();
         // 处理是否成功
         boolean success = exception == null;
-        if (!success) {
+        Map<String, String> failures = null;
+        if (exception instanceof JobPartialFailureException) {
+            data = ((JobPartialFailureException) exception).getResult();
+            failures = ((JobPartialFailureException) exception).getFailures();
+        } else if (!success) {
             data = getRootCauseMessage(exception);
         }
         // 更新日志
         try {
-            jobLogFrameworkService.updateJobLogResultAsync(jobLogId, endTime, (int) LocalDateTimeUtil.between(startTime, endTime).toMillis(), success, data);
+            jobLogFrameworkService.updateJobLogResultAsync(jobLogId, endTime, (int) LocalDateTimeUtil.between(startTime, endTime).toMillis(),
+                    success, data, failures);
         } catch (Exception ex) {
             log.error("[executeInternal][Job({}) logId({}) 记录执行日志失败({}/{})]",
                     executionContext.getJobDetail().getKey(), jobLogId, success, data);
         }
     }
 
-    private void handleException(Throwable exception,
-                                 int refireCount, int retryCount, int retryInterval) throws JobExecutionException {
+    private void handleException(Throwable exception, JobExecutionContext executionContext,
+                                 int retryAttempt, int retryCount, int retryInterval) throws JobExecutionException {
         // 如果有异常，则进行重试
         if (exception == null) {
             return;
         }
         // 情况一：如果到达重试上限，则直接抛出异常即可
-        if (refireCount >= retryCount) {
+        if (retryAttempt >= retryCount) {
             throw new JobExecutionException(exception);
         }
 
-        // 情况二：如果未到达重试上限，则 sleep 一定间隔时间，然后重试
-        // 这里使用 sleep 来实现，主要还是希望实现比较简单。因为，同一时间，不会存在大量失败的 Job。
-        if (retryInterval > 0) {
-            ThreadUtil.sleep(retryInterval);
+        // 情况二：如果未到达重试上限，则添加一个一次性的 Trigger，在重试间隔后执行
+        // 不使用 sleep 等待，避免大量失败的 Job 占满 Quartz 的线程池，影响其它 Job 的执行
+        try {
+            scheduleRetry(exception, executionContext, retryAttempt + 1, retryInterval);
+        } catch (SchedulerException ex) {
+            log.error("[handleException][Job({}) 添加第 {} 次重试失败]", executionContext.getJobDetail().getKey(),
+                    retryAttempt + 1, ex);
+        }
+        throw new JobExecutionException(exception);
+    }
+
+    private void scheduleRetry(Throwable exception, JobExecutionContext executionContext,
+                               int retryAttempt, int retryInterval) throws SchedulerException {
+        // 重试的数据：沿用当前的参数，并记录第几次重试
+        JobDataMap retryData = new JobDataMap(executionContext.getTrigger().getJobDataMap());
+        retryData.put(JobDataKeyEnum.JOB_RETRY_ATTEMPT.name(), retryAttempt);
+        // 部分执行失败时，只重试失败的部分；否则，全量重试
+        if (exception instanceof JobPartialFailureException) {
+            retryData.put(JobDataKeyEnum.JOB_RETRY_KEYS.name(),
+                    StrUtil.join(StrUtil.COMMA, ((JobPartialFailureException) exception).getFailedKeys()));
+        } else {
+            retryData.remove(JobDataKeyEnum.JOB_RETRY_KEYS.name());
+        }
+        // 添加一次性的 Trigger
+        JobKey jobKey = executionContext.getJobDetail().getKey();
+        Date startTime = new Date(System.currentTimeMillis() + calculateRetryDelay(retryAttempt, retryInterval));
+        Trigger trigger = TriggerBuilder.newTrigger()
+                .withIdentity(jobKey.getName() + "#retry-" + IdUtil.fastSimpleUUID(), jobKey.getGroup())
+                .forJob(jobKey).usingJobData(retryData).startAt(startTime)
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+                .build();
+        executionContext.getScheduler().scheduleJob(trigger);
+    }
+
+    /**
+     * 计算重试的延迟：指数退避 + 随机抖动
+     *
+     * 第 n 次重试的基础间隔为 retryInterval * 2^(n-1)，最多 {@link #RETRY_MAX_INTERVAL}（不小于 retryInterval），
+     * 再加上 [0, 50%] 基础间隔的随机值，避免大量 Job 同时失败后同时重试。即，实际间隔不会小于配置的 retryInterval
+     *
+     * @param retryAttempt 第几次重试，从 1 开始
+     * @param retryInterval 重试间隔，单位：毫秒
+     * @return 延迟，单位：毫秒
+     */
+    static long calculateRetryDelay(int retryAttempt, int retryInterval) {
+        if (retryInterval <= 0) {
+            return 0;
         }
-        // 第二个参数，refireImmediately = true，表示立即重试
-        throw new JobExecutionException(exception, true);
+        long delay = Math.min((long) retryInterval << Math.min(retryAttempt - 1, 20), RETRY_MAX_INTERVAL);
+        delay = Math.max(delay, retryInterval);
+        return delay + RandomUtil.randomLong(delay / 2 + 1);
     }
 
 }
@@ -0,0 +1,49 @@
+package cn.iocoder.yudao.framework.quartz.core.handler;
+
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Job 部分执行失败的异常
+ *
+ * 适用于一次 Job 包含多个独立执行单元的场景，例如说多租户 Job 的每个租户。
+ * 重试时，{@link JobHandlerInvoker} 会通过 {@link cn.iocoder.yudao.framework.quartz.core.context.JobContextHolder#getRetryKeys()}
+ * 传递失败的 key 集合，JobHandler 可以只重新执行失败的部分
+ *
+ * @author 芋道源码
+ */
+@Getter
+public class JobPartialFailureException extends Exception {
+
+    /**
+     * 执行结果，会记录到 Job 日志中，例如说成功、失败的数量
+     *
+     * 注意，需要控制长度，不要超过 Job 日志的结果字段
+     */
+    private final String result;
+    /**
+     * 执行失败的明细，会逐条记录到 Job 日志中
+     *
+     * key：执行失败的 key
+     * value：失败原因
+     */
+    private final Map<String, String> failures;
+
+    public JobPartialFailureException(String result, Map<String, String> failures) {
+        super("部分执行失败：" + failures.keySet());
+        this.result = result;
+        this.failures = failures;
+    }
+
+    /**
+     * 获得执行失败的 key 集合
+     *
+     * @return key 集合
+     */
+    public Set<String> getFailedKeys() {
+        return failures.keySet();
+    }
+
+}
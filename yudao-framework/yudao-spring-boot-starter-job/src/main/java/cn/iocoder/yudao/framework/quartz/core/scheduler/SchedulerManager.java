@@ -3,6 +3,10 @@ package cn.iocoder.yudao.framework.quartz.core.scheduler;
 import cn.iocoder.yudao.framework.quartz.core.enums.JobDataKeyEnum;
 import cn.iocoder.yudao.framework.quartz.core.handler.JobHandlerInvoker;
 import org.quartz.*;
+import org.quartz.impl.matchers.GroupMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * {@link org.quartz.Scheduler} 的管理器，负责创建任务
@@ -13,6 +17,13 @@ import org.quartz.*;
  *
  * 另外，jobHandlerName 对应到 Spring Bean 的名字，直接调用
  *
+ * 分片任务（shardingTotal > 1）时，每个分片是一个独立的 Job，分组为 jobHandlerName，名字为分片序号。
+ * 各分片独立调度、独立重试，可以被不同的线程并发执行。
+ *
+ * 注意，分片只用于拆分大任务、并发执行，不负责把分片分配到集群的各个节点：
+ * 分片由哪个节点执行，完全取决于 Quartz 集群抢占 Trigger 的结果，可能出现某个节点执行了全部分片的情况。
+ * 如果需要按节点均衡，需要额外的节点感知的分配机制，目前不支持
+ *
  * @author 芋道源码
  */
 public class SchedulerManager {
@@ -32,20 +43,27 @@ public class SchedulerManager {
      * @param cronExpression CRON 表达式
      * @param retryCount 重试次数
      * @param retryInterval 重试间隔
+     * @param shardingTotal 分片总数。为空或者 1 时，表示不分片
      * @throws SchedulerException 添加异常
      */
     public void addJob(Long jobId, String jobHandlerName, String jobHandlerParam, String cronExpression,
-                       Integer retryCount, Integer retryInterval)
+                       Integer retryCount, Integer retryInterval, Integer shardingTotal)
             throws SchedulerException {
-        // 创建 JobDetail 对象
-        JobDetail jobDetail = JobBuilder.newJob(JobHandlerInvoker.class)
-                .usingJobData(JobDataKeyEnum.JOB_ID.name(), jobId)
-                .usingJobData(JobDataKeyEnum.JOB_HANDLER_NAME.name(), jobHandlerName)
-                .withIdentity(jobHandlerName).build();
-        // 创建 Trigger 对象
-        Trigger trigger = this.buildTrigger(jobHandlerName, jobHandlerParam, cronExpression, retryCount, retryInterval);
-        // 新增调度
-        scheduler.scheduleJob(jobDetail, trigger);
+        int total = getShardingTotal(shardingTotal);
+        for (int index = 0; index < total; index++) {
+            // 创建 JobDetail 对象
+            JobDetail jobDetail = JobBuilder.newJob(JobHandlerInvoker.class)
+                    .usingJobData(JobDataKeyEnum.JOB_ID.name(), jobId)
+                    .usingJobData(JobDataKeyEnum.JOB_HANDLER_NAME.name(), jobHandlerName)
+                    .usingJobData(JobDataKeyEnum.JOB_SHARDING_INDEX.name(), index)
+                    .usingJobData(JobDataKeyEnum.JOB_SHARDING_TOTAL.name(), total)
+                    .withIdentity(buildJobKey(jobHandlerName, index, total)).build();
+            // 创建 Trigger 对象
+            Trigger trigger = this.buildTrigger(buildTriggerKey(jobHandlerName, index, total),
+                    jobHandlerParam, cronExpression, retryCount, retryInterval);
+            // 新增调度
+            scheduler.scheduleJob(jobDetail, trigger);
+        }
     }
 
     /**
@@ -56,15 +74,29 @@ public class SchedulerManager {
      * @param cronExpression CRON 表达式
      * @param retryCount 重试次数
      * @param retryInterval 重试间隔
+     * @param shardingTotal 分片总数。为空或者 1 时，表示不分片
      * @throws SchedulerException 更新异常
      */
     public void updateJob(String jobHandlerName, String jobHandlerParam, String cronExpression,
-                          Integer retryCount, Integer retryInterval)
+                          Integer retryCount, Integer retryInterval, Integer shardingTotal)
             throws SchedulerException {
-        // 创建新 Trigger 对象
-        Trigger newTrigger = this.buildTrigger(jobHandlerName, jobHandlerParam, cronExpression, retryCount, retryInterval);
-        // 修改调度
-        scheduler.rescheduleJob(new TriggerKey(jobHandlerName), newTrigger);
+        int total = getShardingTotal(shardingTotal);
+        List<JobKey> jobKeys = getJobKeys(jobHandlerName);
+        // 情况一：分片数量变化，需要删除原有的 Job，重新添加
+        if (!jobKeys.isEmpty() && !isSameSharding(jobKeys, jobHandlerName, total)) {
+            Long jobId = scheduler.getJobDetail(jobKeys.get(0)).getJobDataMap().getLong(JobDataKeyEnum.JOB_ID.name());
+            scheduler.deleteJobs(jobKeys);
+            addJob(jobId, jobHandlerName, jobHandlerParam, cronExpression, retryCount, retryInterval, total);
+            return;
+        }
+        // 情况二：分片数量不变，修改每个分片的调度
+        for (int index = 0; index < total; index++) {
+            TriggerKey triggerKey = buildTriggerKey(jobHandlerName, index, total);
+            // 创建新 Trigger 对象
+            Trigger newTrigger = this.buildTrigger(triggerKey, jobHandlerParam, cronExpression, retryCount, retryInterval);
+            // 修改调度
+            scheduler.rescheduleJob(triggerKey, newTrigger);
+        }
     }
 
     /**
@@ -74,7 +106,7 @@ public class SchedulerManager {
      * @throws SchedulerException 删除异常
      */
     public void deleteJob(String jobHandlerName) throws SchedulerException {
-        scheduler.deleteJob(new JobKey(jobHandlerName));
+        scheduler.deleteJobs(getJobKeys(jobHandlerName));
     }
 
     /**
@@ -84,7 +116,9 @@ public class SchedulerManager {
      * @throws SchedulerException 暂停异常
      */
     public void pauseJob(String jobHandlerName) throws SchedulerException {
-        scheduler.pauseJob(new JobKey(jobHandlerName));
+        for (JobKey jobKey : getJobKeys(jobHandlerName)) {
+            scheduler.pauseJob(jobKey);
+        }
     }
 
     /**
@@ -94,13 +128,17 @@ public class SchedulerManager {
      * @throws SchedulerException 启动异常
      */
     public void resumeJob(String jobHandlerName) throws SchedulerException {
-        scheduler.resumeJob(new JobKey(jobHandlerName));
-        scheduler.resumeTrigger(new TriggerKey(jobHandlerName));
+        for (JobKey jobKey : getJobKeys(jobHandlerName)) {
+            scheduler.resumeJob(jobKey);
+            scheduler.resumeTrigger(new TriggerKey(jobKey.getName(), jobKey.getGroup()));
+        }
     }
 
     /**
      * 立即触发一次 Quartz 中的 Job
      *
+     * 分片任务时，会触发所有分片
+     *
      * @param jobId 任务编号
      * @param jobHandlerName 任务处理器的名字
      * @param jobHandlerParam 任务处理器的参数
@@ -108,18 +146,20 @@ public class SchedulerManager {
      */
     public void triggerJob(Long jobId, String jobHandlerName, String jobHandlerParam)
             throws SchedulerException {
-        JobDataMap data = new JobDataMap(); // 无需重试，所以不设置 retryCount 和 retryInterval
-        data.put(JobDataKeyEnum.JOB_ID.name(), jobId);
-        data.put(JobDataKeyEnum.JOB_HANDLER_NAME.name(), jobHandlerName);
-        data.put(JobDataKeyEnum.JOB_HANDLER_PARAM.name(), jobHandlerParam);
-        // 触发任务
-        scheduler.triggerJob(new JobKey(jobHandlerName), data);
+        for (JobKey jobKey : getJobKeys(jobHandlerName)) {
+            JobDataMap data = new JobDataMap(); // 无需重试，所以不设置 retryCount 和 retryInterval
+            data.put(JobDataKeyEnum.JOB_ID.name(), jobId);
+            data.put(JobDataKeyEnum.JOB_HANDLER_NAME.name(), jobHandlerName);
+            data.put(JobDataKeyEnum.JOB_HANDLER_PARAM.name(), jobHandlerParam);
+            // 触发任务
+            scheduler.triggerJob(jobKey, data);
+        }
     }
 
-    private Trigger buildTrigger(String jobHandlerName, String jobHandlerParam, String cronExpression,
+    private Trigger buildTrigger(TriggerKey triggerKey, String jobHandlerParam, String cronExpression,
                                  Integer retryCount, Integer retryInterval) {
         return TriggerBuilder.newTrigger()
-                .withIdentity(jobHandlerName)
+                .withIdentity(triggerKey)
                 .withSchedule(CronScheduleBuilder.cronSchedule(cronExpression))
                 .usingJobData(JobDataKeyEnum.JOB_HANDLER_PARAM.name(), jobHandlerParam)
                 .usingJobData(JobDataKeyEnum.JOB_RETRY_COUNT.name(), retryCount)
@@ -127,4 +167,35 @@ public class SchedulerManager {
                 .build();
     }
 
+    /**
+     * 获得 jobHandlerName 对应的所有 Job，包括不分片的 Job、分片的所有 Job
+     */
+    private List<JobKey> getJobKeys(String jobHandlerName) throws SchedulerException {
+        List<JobKey> jobKeys = new ArrayList<>(scheduler.getJobKeys(GroupMatcher.jobGroupEquals(jobHandlerName)));
+        JobKey jobKey = new JobKey(jobHandlerName);
+        if (scheduler.checkExists(jobKey)) {
+            jobKeys.add(0, jobKey);
+        }
+        return jobKeys;
+    }
+
+    private static boolean isSameSharding(List<JobKey> jobKeys, String jobHandlerName, int total) {
+        if (total == 1) {
+            return jobKeys.size() == 1 && jobKeys.get(0).equals(new JobKey(jobHandlerName));
+        }
+        return jobKeys.size() == total && jobKeys.stream().allMatch(jobKey -> jobHandlerName.equals(jobKey.getGroup()));
+    }
+
+    private static JobKey buildJobKey(String jobHandlerName, int index, int total) {
+        return total == 1 ? new JobKey(jobHandlerName) : new JobKey(String.valueOf(index), jobHandlerName);
+    }
+
+    private static TriggerKey buildTriggerKey(String jobHandlerName, int index, int total) {
+        return total == 1 ? new TriggerKey(jobHandlerName) : new TriggerKey(String.valueOf(index), jobHandlerName);
+    }
+
+    private static int getShardingTotal(Integer shardingTotal) {
+        return shardingTotal != null && shardingTotal > 1 ? shardingTotal : 1;
+    }
+
 }
@@ -3,6 +3,7 @@ package cn.iocoder.yudao.framework.quartz.core.service;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * Job 日志 Framework Service 接口
@@ -11,6 +12,13 @@ import java.time.LocalDateTime;
  */
 public interface JobLogFrameworkService {
 
+    /**
+     * 结果数据的最大长度，超过时会被截断
+     *
+     * JobHandler 返回 JSON 等结构化的结果时，需要自行控制长度，避免截断后格式不正确
+     */
+    int RESULT_MAX_LENGTH = 4000;
+
     /**
      * 创建 Job 日志
      *
@@ -35,10 +43,12 @@ public interface JobLogFrameworkService {
      * @param duration 运行时长，单位：毫秒
      * @param success  是否成功
      * @param result   成功数据
+     * @param failures 部分执行失败时，每个失败 key 的失败原因，参见 {@link cn.iocoder.yudao.framework.quartz.core.handler.JobPartialFailureException#getFailures()}；
+     *                 其它情况下为 null
      */
     void updateJobLogResultAsync(@NotNull(message = "日志编号不能为空") Long logId,
                                  @NotNull(message = "结束时间不能为空") LocalDateTime endTime,
                                  @NotNull(message = "运行时长不能为空") Integer duration,
-                                 boolean success, String result);
+                                 boolean success, String result, Map<String, String> failures);
 
 }
@@ -0,0 +1,63 @@
+package cn.iocoder.yudao.framework.quartz.core.handler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link JobHandlerInvoker} 的单元测试
+ */
+public class JobHandlerInvokerTest {
+
+    private static final long ONE_HOUR = TimeUnit.HOURS.toMillis(1);
+
+    @Test
+    public void testCalculateRetryDelay_noInterval() {
+        assertEquals(0, JobHandlerInvoker.calculateRetryDelay(1, 0));
+        assertEquals(0, JobHandlerInvoker.calculateRetryDelay(3, -1));
+    }
+
+    @Test
+    public void testCalculateRetryDelay_exponential() {
+        for (int i = 0; i < 1000; i++) {
+            // 第 1 次：[1000, 1500]
+            assertBetween(JobHandlerInvoker.calculateRetryDelay(1, 1000), 1000, 1500);
+            // 第 2 次：[2000, 3000]
+            assertBetween(JobHandlerInvoker.calculateRetryDelay(2, 1000), 2000, 3000);
+            // 第 4 次：[8000, 12000]
+            assertBetween(JobHandlerInvoker.calculateRetryDelay(4, 1000), 8000, 12000);
+        }
+    }
+
+    @Test
+    public void testCalculateRetryDelay_maxInterval() {
+        for (int i = 0; i < 1000; i++) {
+            // 基础间隔超过 1 小时，按照 1 小时计算；次数过大时，不溢出
+            assertBetween(JobHandlerInvoker.calculateRetryDelay(20, 1000), ONE_HOUR, ONE_HOUR * 3 / 2);
+            assertBetween(JobHandlerInvoker.calculateRetryDelay(100, 1000), ONE_HOUR, ONE_HOUR * 3 / 2);
+            // 配置的重试间隔本身超过 1 小时，不小于配置的重试间隔
+            int retryInterval = (int) (ONE_HOUR * 2);
+            assertBetween(JobHandlerInvoker.calculateRetryDelay(3, retryInterval), retryInterval, retryInterval * 3L / 2);
+        }
+    }
+
+    @Test
+    public void testCalculateRetryDelay_jitter() {
+        // 多次计算，结果不完全相同，并且覆盖到区间的上下两半
+        boolean lower = false, upper = false;
+        for (int i = 0; i < 1000; i++) {
+            long delay = JobHandlerInvoker.calculateRetryDelay(1, 1000);
+            lower |= delay < 1250;
+            upper |= delay > 1250;
+        }
+        assertTrue(lower && upper);
+    }
+
+    private static void assertBetween(long actual, long min, long max) {
+        assertTrue(actual >= min && actual <= max, String.format("%d 不在 [%d, %d] 范围内", actual, min, max));
+    }
+
+}
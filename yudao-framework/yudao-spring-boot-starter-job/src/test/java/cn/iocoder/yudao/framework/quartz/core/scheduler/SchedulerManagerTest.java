@@ -0,0 +1,151 @@
+package cn.iocoder.yudao.framework.quartz.core.scheduler;
+
+import cn.iocoder.yudao.framework.quartz.core.enums.JobDataKeyEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.*;
+import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.impl.matchers.GroupMatcher;
+
+import java.util.Properties;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link SchedulerManager} 的单元测试，基于内存的 Quartz Scheduler，不启动调度
+ */
+public class SchedulerManagerTest {
+
+    private static final String JOB_HANDLER_NAME = "demoJob";
+    private static final String CRON_EXPRESSION = "0 0 * * * ?";
+
+    private Scheduler scheduler;
+    private SchedulerManager schedulerManager;
+
+    @BeforeEach
+    public void setUp() throws SchedulerException {
+        Properties properties = new Properties();
+        properties.setProperty(StdSchedulerFactory.PROP_SCHED_INSTANCE_NAME, "schedulerManagerTest");
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        properties.setProperty("org.quartz.jobStore.class", "org.quartz.simpl.RAMJobStore");
+        scheduler = new StdSchedulerFactory(properties).getScheduler();
+        schedulerManager = new SchedulerManager(scheduler);
+    }
+
+    @AfterEach
+    public void tearDown() throws SchedulerException {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void testAddJob_notSharding() throws SchedulerException {
+        // 调用
+        schedulerManager.addJob(1L, JOB_HANDLER_NAME, "param", CRON_EXPRESSION, 3, 1000, null);
+        // 断言：Job 的名字为 jobHandlerName
+        JobDetail jobDetail = scheduler.getJobDetail(new JobKey(JOB_HANDLER_NAME));
+        assertNotNull(jobDetail);
+        assertEquals(1L, jobDetail.getJobDataMap().getLong(JobDataKeyEnum.JOB_ID.name()));
+        assertEquals(0, jobDetail.getJobDataMap().getInt(JobDataKeyEnum.JOB_SHARDING_INDEX.name()));
+        assertEquals(1, jobDetail.getJobDataMap().getInt(JobDataKeyEnum.JOB_SHARDING_TOTAL.name()));
+        Trigger trigger = scheduler.getTrigger(new TriggerKey(JOB_HANDLER_NAME));
+        assertEquals("param", trigger.getJobDataMap().getString(JobDataKeyEnum.JOB_HANDLER_PARAM.name()));
+        assertTrue(scheduler.getJobKeys(GroupMatcher.jobGroupEquals(JOB_HANDLER_NAME)).isEmpty());
+    }
+
+    @Test
+    public void testAddJob_sharding() throws SchedulerException {
+        // 调用
+        schedulerManager.addJob(1L, JOB_HANDLER_NAME, "param", CRON_EXPRESSION, 3, 1000, 3);
+        // 断言：每个分片一个 Job，分组为 jobHandlerName，名字为分片序号
+        assertFalse(scheduler.checkExists(new JobKey(JOB_HANDLER_NAME)));
+        assertEquals(3, getShardingJobKeys().size());
+        for (int index = 0; index < 3; index++) {
+            JobDetail jobDetail = scheduler.getJobDetail(new JobKey(String.valueOf(index), JOB_HANDLER_NAME));
+            assertEquals(1L, jobDetail.getJobDataMap().getLong(JobDataKeyEnum.JOB_ID.name()));
+            assertEquals(index, jobDetail.getJobDataMap().getInt(JobDataKeyEnum.JOB_SHARDING_INDEX.name()));
+            assertEquals(3, jobDetail.getJobDataMap().getInt(JobDataKeyEnum.JOB_SHARDING_TOTAL.name()));
+            Trigger trigger = scheduler.getTrigger(new TriggerKey(String.valueOf(index), JOB_HANDLER_NAME));
+            assertEquals(jobDetail.getKey(), trigger.getJobKey());
+            assertEquals("param", trigger.getJobDataMap().getString(JobDataKeyEnum.JOB_HANDLER_PARAM.name()));
+        }
+    }
+
+    @Test
+    public void testUpdateJob_shardingChanged() throws SchedulerException {
+        // mock 数据
+        schedulerManager.addJob(1L, JOB_HANDLER_NAME, "param", CRON_EXPRESSION, 3, 1000, 3);
+
+        // 调用：减少分片数量
+        schedulerManager.updateJob(JOB_HANDLER_NAME, "param2", CRON_EXPRESSION, 3, 1000, 2);
+        // 断言：原有分片被删除，重新添加，任务编号不变
+        Set<JobKey> jobKeys = getShardingJobKeys();
+        assertEquals(2, jobKeys.size());
+        for (JobKey jobKey : jobKeys) {
+            JobDetail jobDetail = scheduler.getJobDetail(jobKey);
+            assertEquals(1L, jobDetail.getJobDataMap().getLong(JobDataKeyEnum.JOB_ID.name()));
+            assertEquals(2, jobDetail.getJobDataMap().getInt(JobDataKeyEnum.JOB_SHARDING_TOTAL.name()));
+            Trigger trigger = scheduler.getTrigger(new TriggerKey(jobKey.getName(), jobKey.getGroup()));
+            assertEquals("param2", trigger.getJobDataMap().getString(JobDataKeyEnum.JOB_HANDLER_PARAM.name()));
+        }
+        assertNull(scheduler.getJobDetail(new JobKey("2", JOB_HANDLER_NAME)));
+    }
+
+    @Test
+    public void testUpdateJob_toNotSharding() throws SchedulerException {
+        // mock 数据
+        schedulerManager.addJob(1L, JOB_HANDLER_NAME, "param", CRON_EXPRESSION, 3, 1000, 3);
+
+        // 调用：取消分片
+        schedulerManager.updateJob(JOB_HANDLER_NAME, "param", CRON_EXPRESSION, 3, 1000, 1);
+        // 断言
+        assertTrue(getShardingJobKeys().isEmpty());
+        JobDetail jobDetail = scheduler.getJobDetail(new JobKey(JOB_HANDLER_NAME));
+        assertEquals(1L, jobDetail.getJobDataMap().getLong(JobDataKeyEnum.JOB_ID.name()));
+        assertEquals(1, jobDetail.getJobDataMap().getInt(JobDataKeyEnum.JOB_SHARDING_TOTAL.name()));
+    }
+
+    @Test
+    public void testUpdateJob_shardingNotChanged() throws SchedulerException {
+        // mock 数据
+        schedulerManager.addJob(1L, JOB_HANDLER_NAME, "param", CRON_EXPRESSION, 3, 1000, 2);
+
+        // 调用
+        schedulerManager.updateJob(JOB_HANDLER_NAME, "param", "0 30 * * * ?", 3, 1000, 2);
+        // 断言：每个分片的调度都被修改
+        for (JobKey jobKey : getShardingJobKeys()) {
+            CronTrigger trigger = (CronTrigger) scheduler.getTrigger(new TriggerKey(jobKey.getName(), jobKey.getGroup()));
+            assertEquals("0 30 * * * ?", trigger.getCronExpression());
+        }
+    }
+
+    @Test
+    public void testDeleteJob_sharding() throws SchedulerException {
+        // mock 数据
+        schedulerManager.addJob(1L, JOB_HANDLER_NAME, "param", CRON_EXPRESSION, 3, 1000, 3);
+
+        // 调用
+        schedulerManager.deleteJob(JOB_HANDLER_NAME);
+        // 断言：所有分片的 Job 和 Trigger 都被删除
+        assertTrue(getShardingJobKeys().isEmpty());
+        assertTrue(scheduler.getTriggerKeys(GroupMatcher.triggerGroupEquals(JOB_HANDLER_NAME)).isEmpty());
+    }
+
+    @Test
+    public void testDeleteJob_notSharding() throws SchedulerException {
+        // mock 数据
+        schedulerManager.addJob(1L, JOB_HANDLER_NAME, "param", CRON_EXPRESSION, 3, 1000, null);
+
+        // 调用
+        schedulerManager.deleteJob(JOB_HANDLER_NAME);
+        // 断言
+        assertFalse(scheduler.checkExists(new JobKey(JOB_HANDLER_NAME)));
+        assertFalse(scheduler.checkExists(new TriggerKey(JOB_HANDLER_NAME)));
+    }
+
+    private Set<JobKey> getShardingJobKeys() throws SchedulerException {
+        return scheduler.getJobKeys(GroupMatcher.jobGroupEquals(JOB_HANDLER_NAME));
+    }
+
+}
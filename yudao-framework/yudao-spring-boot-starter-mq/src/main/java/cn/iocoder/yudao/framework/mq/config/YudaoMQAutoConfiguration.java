@@ -7,13 +7,17 @@ import cn.iocoder.yudao.framework.common.enums.DocumentEnum;
 import cn.iocoder.yudao.framework.mq.core.RedisMQTemplate;
 import cn.iocoder.yudao.framework.mq.core.interceptor.RedisMessageInterceptor;
 import cn.iocoder.yudao.framework.mq.core.pubsub.AbstractChannelMessageListener;
+import cn.iocoder.yudao.framework.mq.core.stream.AbstractStreamBatchMessageListener;
 import cn.iocoder.yudao.framework.mq.core.stream.AbstractStreamMessageListener;
+import cn.iocoder.yudao.framework.mq.core.stream.RedisStreamBatchMessageListenerContainer;
 import cn.iocoder.yudao.framework.mq.job.RedisPendingMessageResendJob;
+import cn.iocoder.yudao.framework.mq.job.RedisStreamCompactJob;
 import cn.iocoder.yudao.framework.redis.config.YudaoRedisAutoConfiguration;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RedissonClient;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.redis.connection.RedisServerCommands;
 import org.springframework.data.redis.connection.stream.Consumer;
@@ -31,6 +35,8 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.util.List;
 import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * 消息队列配置类
@@ -38,14 +44,16 @@ import java.util.Properties;
  * @author 芋道源码
  */
 @Slf4j
-@EnableScheduling // 启用定时任务，用于 RedisPendingMessageResendJob 重发消息
+@EnableScheduling // 启用定时任务，用于 RedisPendingMessageResendJob 重发消息、RedisStreamCompactJob 压缩消息
 @AutoConfiguration(after = YudaoRedisAutoConfiguration.class)
+@EnableConfigurationProperties(YudaoMQProperties.class)
 public class YudaoMQAutoConfiguration {
 
     @Bean
     public RedisMQTemplate redisMQTemplate(StringRedisTemplate redisTemplate,
-                                           List<RedisMessageInterceptor> interceptors) {
-        RedisMQTemplate redisMQTemplate = new RedisMQTemplate(redisTemplate);
+                                           List<RedisMessageInterceptor> interceptors,
+                                           YudaoMQProperties mqProperties) {
+        RedisMQTemplate redisMQTemplate = new RedisMQTemplate(redisTemplate, mqProperties);
         // 添加拦截器
         interceptors.forEach(redisMQTemplate::addInterceptor);
         return redisMQTemplate;
@@ -77,11 +85,27 @@ public class YudaoMQAutoConfiguration {
      * 创建 Redis Stream 重新消费的任务
      */
     @Bean
-    public RedisPendingMessageResendJob redisPendingMessageResendJob(List<AbstractStreamMessageListener<?>> listeners,
+    public RedisPendingMessageResendJob redisPendingMessageResendJob(ObjectProvider<AbstractStreamMessageListener<?>> listeners,
+                                                                     ObjectProvider<AbstractStreamBatchMessageListener<?>> batchListeners,
                                                                      RedisMQTemplate redisTemplate,
-                                                                     @Value("${spring.application.name}") String groupName,
+                                                                     YudaoMQProperties mqProperties,
                                                                      RedissonClient redissonClient) {
-        return new RedisPendingMessageResendJob(listeners, redisTemplate, groupName, redissonClient);
+        return new RedisPendingMessageResendJob(listeners.orderedStream().collect(Collectors.toList()),
+                batchListeners.orderedStream().collect(Collectors.toList()),
+                redisTemplate, mqProperties, buildConsumerName(), redissonClient);
+    }
+
+    /**
+     * 创建 Redis Stream 压缩的任务
+     */
+    @Bean
+    public RedisStreamCompactJob redisStreamCompactJob(ObjectProvider<AbstractStreamMessageListener<?>> listeners,
+                                                       ObjectProvider<AbstractStreamBatchMessageListener<?>> batchListeners,
+                                                       RedisMQTemplate redisTemplate,
+                                                       YudaoMQProperties mqProperties) {
+        Set<String> streamKeys = listeners.stream().map(AbstractStreamMessageListener::getStreamKey).collect(Collectors.toSet());
+        batchListeners.forEach(listener -> streamKeys.add(listener.getStreamKey()));
+        return new RedisStreamCompactJob(streamKeys, redisTemplate, mqProperties);
     }
 
     /**
@@ -91,7 +115,8 @@ public class YudaoMQAutoConfiguration {
      */
     @Bean(initMethod = "start", destroyMethod = "stop")
     public StreamMessageListenerContainer<String, ObjectRecord<String, String>> redisStreamMessageListenerContainer(
-            RedisMQTemplate redisMQTemplate, List<AbstractStreamMessageListener<?>> listeners) {
+            RedisMQTemplate redisMQTemplate, ObjectProvider<AbstractStreamMessageListener<?>> listenerProvider) {
+        List<AbstractStreamMessageListener<?>> listeners = listenerProvider.orderedStream().collect(Collectors.toList());
         RedisTemplate<String, ?> redisTemplate = redisMQTemplate.getRedisTemplate();
         checkRedisVersion(redisTemplate);
         // 第一步，创建 StreamMessageListenerContainer 容器
@@ -134,6 +159,17 @@ public class YudaoMQAutoConfiguration {
         return container;
     }
 
+    /**
+     * 创建 Redis Stream 批量集群消费的容器
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public RedisStreamBatchMessageListenerContainer redisStreamBatchMessageListenerContainer(
+            RedisMQTemplate redisMQTemplate, ObjectProvider<AbstractStreamBatchMessageListener<?>> listeners,
+            YudaoMQProperties mqProperties) {
+        return new RedisStreamBatchMessageListenerContainer(redisMQTemplate,
+                listeners.orderedStream().collect(Collectors.toList()), mqProperties, buildConsumerName());
+    }
+
     /**
      * 构建消费者名字，使用本地 IP + 进程编号的方式。
      * 参考自 RocketMQ clientId 的实现
@@ -0,0 +1,111 @@
+package cn.iocoder.yudao.framework.mq.config;
+
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.bean.copier.CopyOptions;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 消息队列配置属性
+ *
+ * @author 芋道源码
+ */
+@ConfigurationProperties(prefix = "yudao.mq")
+@Validated
+@Data
+public class YudaoMQProperties {
+
+    /**
+     * Redis Stream 的默认配置
+     */
+    private Stream stream = new Stream()
+            .setBatchSize(100)
+            .setPollTimeout(Duration.ofSeconds(2))
+            .setConcurrency(1)
+            .setRetryMinIdleTime(Duration.ofMinutes(5))
+            .setRetryMaxIdleTime(Duration.ofHours(1))
+            .setMaxDeliveryCount(10)
+            .setCompactEnabled(true);
+    /**
+     * 每个 Redis Stream 的配置，未配置的项使用 {@link #stream} 默认配置
+     *
+     * key：Stream Key。因为 Stream Key 包含 . 字符，在 yaml 中需要使用 [] 包裹，例如说 "[system.sms.send]"
+     */
+    private Map<String, Stream> streams = new HashMap<>();
+
+    /**
+     * 获得 Stream Key 对应的配置，合并默认配置
+     *
+     * @param streamKey Stream Key
+     * @return 配置
+     */
+    public Stream getStream(String streamKey) {
+        Stream result = BeanUtil.copyProperties(stream, Stream.class);
+        Stream custom = streams.get(streamKey);
+        if (custom != null) {
+            BeanUtil.copyProperties(custom, result, CopyOptions.create().ignoreNullValue());
+        }
+        return result;
+    }
+
+    /**
+     * Redis Stream 配置
+     */
+    @Data
+    public static class Stream {
+
+        /**
+         * 批量消费时，一次性最多拉取多少条消息；同时，也是重试时，每次扫描 pending 消息的数量
+         */
+        private Integer batchSize;
+        /**
+         * 批量消费时，拉取消息的阻塞超时时间
+         */
+        private Duration pollTimeout;
+        /**
+         * 批量消费时，并发消费的线程数。每次拉取的消息，会被均分给这些线程
+         */
+        private Integer concurrency;
+
+        /**
+         * 消费失败重试时，消息未 ack 的最小空闲时间，即第 1 次重试的间隔
+         *
+         * 之后每次重试，间隔翻倍（指数退避），直到 {@link #retryMaxIdleTime}
+         */
+        private Duration retryMinIdleTime;
+        /**
+         * 消费失败重试时，消息未 ack 的最大空闲时间，即重试间隔的上限
+         */
+        private Duration retryMaxIdleTime;
+        /**
+         * 最大投递次数。超过时，消息会被转移到死信 Stream 中，即 Stream Key + ":dlq"
+         */
+        private Integer maxDeliveryCount;
+
+        /**
+         * 发送消息时，按照长度近似裁剪，即 XADD 后执行 XTRIM MAXLEN ~ maxLength。为空时，不裁剪
+         *
+         * 注意，裁剪不考虑消息是否已经 ack，需要设置足够大，避免未消费的消息被裁剪
+         */
+        private Long maxLength;
+        /**
+         * 发送消息时，按照时间近似裁剪，即 XADD 后执行 XTRIM MINID ~ (当前时间 - retention)，需要 Redis 6.2+。为空时，不裁剪
+         *
+         * 注意，裁剪不考虑消息是否已经 ack，需要设置足够长，避免未消费的消息被裁剪
+         */
+        private Duration retention;
+        /**
+         * 是否开启后台压缩，定时裁剪所有消费者分组都已经 ack 的消息
+         *
+         * 需要 Redis 6.2+，低于该版本时，启动后打印一次告警，不进行裁剪
+         */
+        private Boolean compactEnabled;
+
+    }
+
+}
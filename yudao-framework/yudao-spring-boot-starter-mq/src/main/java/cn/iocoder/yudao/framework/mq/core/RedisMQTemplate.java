@@ -1,18 +1,38 @@
 package cn.iocoder.yudao.framework.mq.core;
 
 import cn.iocoder.yudao.framework.common.util.json.JsonUtils;
+import cn.iocoder.yudao.framework.mq.config.YudaoMQProperties;
 import cn.iocoder.yudao.framework.mq.core.interceptor.RedisMessageInterceptor;
 import cn.iocoder.yudao.framework.mq.core.message.AbstractRedisMessage;
 import cn.iocoder.yudao.framework.mq.core.pubsub.AbstractChannelMessage;
 import cn.iocoder.yudao.framework.mq.core.stream.AbstractStreamMessage;
+import cn.hutool.core.collection.CollUtil;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
 import org.springframework.data.redis.connection.stream.RecordId;
 import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Redis MQ 操作模板类
@@ -22,8 +42,91 @@ import java.util.List;
 @AllArgsConstructor
 public class RedisMQTemplate {
 
+    /**
+     * 死信 Stream Key 的后缀
+     */
+    public static final String DEAD_LETTER_SUFFIX = ":dlq";
+    /**
+     * 死信消息的字段：原消息编号
+     */
+    public static final String DEAD_LETTER_FIELD_ORIGIN_ID = "dlq-origin-id";
+    /**
+     * 死信消息的字段：投递次数
+     */
+    public static final String DEAD_LETTER_FIELD_DELIVERY_COUNT = "dlq-delivery-count";
+    /**
+     * 死信消息的字段：进入死信的时间
+     */
+    public static final String DEAD_LETTER_FIELD_TIME = "dlq-time";
+
+    /**
+     * 近似裁剪 Stream 的脚本。参数：KEYS[1] 为 Stream Key，ARGV[1] 为裁剪策略 MAXLEN 或 MINID，ARGV[2] 为阈值
+     *
+     * 使用脚本的原因是，Spring Data Redis 未提供 MINID 的裁剪
+     */
+    private static final RedisScript<Long> TRIM_SCRIPT = new DefaultRedisScript<>(
+            "return redis.call('XTRIM', KEYS[1], ARGV[1], '~', ARGV[2])", Long.class);
+    /**
+     * 转移消息到死信 Stream 的脚本，保证 XADD 死信与 XACK 原消息的原子性，避免重复转移、或者丢失消息。
+     * 参数：KEYS[1] 为 Stream Key，KEYS[2] 为死信 Stream Key，ARGV[1] 为消费者分组，ARGV[2] 为原消息编号，ARGV[3...] 为死信消息的字段和值
+     *
+     * XADD 使用自动生成的编号，属于不确定的命令，所以需要 redis.replicate_commands() 按命令复制，兼容 Redis 5.0 版本
+     */
+    private static final RedisScript<String> DEAD_LETTER_SCRIPT = new DefaultRedisScript<>(
+            "redis.replicate_commands()\n" +
+            "local id = redis.call('XADD', KEYS[2], '*', unpack(ARGV, 3))\n" +
+            "redis.call('XACK', KEYS[1], ARGV[1], ARGV[2])\n" +
+            "return id", String.class);
+    /**
+     * 重新投递死信消息的脚本，保证 XADD 原 Stream 与 XDEL 死信的原子性。
+     * 参数：KEYS[1] 为死信 Stream Key，KEYS[2] 为 Stream Key，ARGV 为死信消息编号数组
+     *
+     * 重新投递时，移除 {@link #DEAD_LETTER_FIELD_ORIGIN_ID}、{@link #DEAD_LETTER_FIELD_DELIVERY_COUNT}、{@link #DEAD_LETTER_FIELD_TIME} 字段
+     */
+    private static final RedisScript<Long> REPLAY_DEAD_LETTER_SCRIPT = new DefaultRedisScript<>(
+            "redis.replicate_commands()\n" +
+            "local count = 0\n" +
+            "for i = 1, #ARGV do\n" +
+            "  local records = redis.call('XRANGE', KEYS[1], ARGV[i], ARGV[i])\n" +
+            "  if #records > 0 then\n" +
+            "    local fields = records[1][2]\n" +
+            "    local value = {}\n" +
+            "    for j = 1, #fields, 2 do\n" +
+            "      local field = fields[j]\n" +
+            "      if field ~= '" + DEAD_LETTER_FIELD_ORIGIN_ID + "' and field ~= '" + DEAD_LETTER_FIELD_DELIVERY_COUNT + "'" +
+            " and field ~= '" + DEAD_LETTER_FIELD_TIME + "' then\n" +
+            "        table.insert(value, field)\n" +
+            "        table.insert(value, fields[j + 1])\n" +
+            "      end\n" +
+            "    end\n" +
+            "    redis.call('XADD', KEYS[2], '*', unpack(value))\n" +
+            "    redis.call('XDEL', KEYS[1], ARGV[i])\n" +
+            "    count = count + 1\n" +
+            "  end\n" +
+            "end\n" +
+            "return count", Long.class);
+    /**
+     * 按照最小空闲时间，分页查询 pending 消息的脚本，只返回空闲时间达到要求的消息，需要 Redis 6.2+ 版本。
+     * 参数：KEYS[1] 为 Stream Key，ARGV[1] 为消费者分组，ARGV[2] 为最小空闲时间（毫秒），ARGV[3] 为起始消息编号，ARGV[4] 为数量
+     *
+     * 使用脚本的原因是，Spring Data Redis 未提供 XPENDING 的 IDLE 参数
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> PENDING_SCRIPT = new DefaultRedisScript<>(
+            "return redis.call('XPENDING', KEYS[1], ARGV[1], 'IDLE', ARGV[2], ARGV[3], '+', ARGV[4])", List.class);
+
     @Getter
     private final RedisTemplate<String, ?> redisTemplate;
+    /**
+     * 消息队列配置
+     */
+    private final YudaoMQProperties mqProperties;
+    /**
+     * Stream 配置的缓存，避免每次发送都合并默认配置
+     *
+     * key：Stream Key
+     */
+    private final Map<String, YudaoMQProperties.Stream> streamConfigs = new ConcurrentHashMap<>();
     /**
      * 拦截器数组
      */
@@ -54,15 +157,158 @@ public class RedisMQTemplate {
     public <T extends AbstractStreamMessage> RecordId send(T message) {
         try {
             sendMessageBefore(message);
-            // 发送消息
-            return redisTemplate.opsForStream().add(StreamRecords.newRecord()
+            ObjectRecord<String, String> record = StreamRecords.newRecord()
                     .ofObject(JsonUtils.toJsonString(message)) // 设置内容
-                    .withStreamKey(message.getStreamKey())); // 设置 stream key
+                    .withStreamKey(message.getStreamKey()); // 设置 stream key
+            YudaoMQProperties.Stream config = getStreamConfig(message.getStreamKey());
+            // 情况一：无需裁剪，直接发送消息
+            if (config.getMaxLength() == null && config.getRetention() == null) {
+                return redisTemplate.opsForStream().add(record);
+            }
+            // 情况二：发送消息，并裁剪。通过 pipeline 合并为一次网络请求
+            List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, ?> ops = (RedisOperations<String, ?>) operations;
+                    ops.opsForStream().add(record);
+                    if (config.getMaxLength() != null) {
+                        trim(ops, message.getStreamKey(), "MAXLEN", String.valueOf(config.getMaxLength()));
+                    }
+                    if (config.getRetention() != null) {
+                        trim(ops, message.getStreamKey(), "MINID",
+                                (System.currentTimeMillis() - config.getRetention().toMillis()) + "-0");
+                    }
+                    return null;
+                }
+
+            });
+            return (RecordId) results.get(0);
         } finally {
             sendMessageAfter(message);
         }
     }
 
+    /**
+     * 近似裁剪 Stream，删除编号小于 minId 的消息
+     *
+     * @param streamKey Stream Key
+     * @param minId 最小保留的消息编号
+     * @return 删除的消息数量
+     */
+    public Long trimByMinId(String streamKey, String minId) {
+        return trim(redisTemplate, streamKey, "MINID", minId);
+    }
+
+    private static Long trim(RedisOperations<String, ?> operations, String streamKey, String strategy, String threshold) {
+        return operations.execute(TRIM_SCRIPT, Collections.singletonList(streamKey), strategy, threshold);
+    }
+
+    private YudaoMQProperties.Stream getStreamConfig(String streamKey) {
+        return streamConfigs.computeIfAbsent(streamKey, mqProperties::getStream);
+    }
+
+    // ========== 死信相关 ==========
+
+    /**
+     * 获得 Stream Key 对应的死信 Stream Key
+     *
+     * @param streamKey Stream Key
+     * @return 死信 Stream Key
+     */
+    public static String getDeadLetterStreamKey(String streamKey) {
+        return streamKey + DEAD_LETTER_SUFFIX;
+    }
+
+    /**
+     * 将消息转移到死信 Stream 中，并 ack 原消息。两者在 Lua 脚本中原子执行
+     *
+     * 注意，Redis Cluster 模式下，Stream Key 需要使用 hash tag，例如说 {order}.create，保证与死信 Stream Key 在同一个 slot 中
+     *
+     * @param group 消费者分组
+     * @param record 消息记录
+     * @param deliveryCount 投递次数
+     * @return 死信消息记录的编号对象
+     */
+    public RecordId sendDeadLetter(String group, MapRecord<String, Object, Object> record, long deliveryCount) {
+        List<String> args = new ArrayList<>(record.getValue().size() * 2 + 8);
+        args.add(group);
+        args.add(record.getId().getValue());
+        record.getValue().forEach((field, value) -> {
+            args.add(String.valueOf(field));
+            args.add(String.valueOf(value));
+        });
+        args.add(DEAD_LETTER_FIELD_ORIGIN_ID);
+        args.add(record.getId().getValue());
+        args.add(DEAD_LETTER_FIELD_DELIVERY_COUNT);
+        args.add(String.valueOf(deliveryCount));
+        args.add(DEAD_LETTER_FIELD_TIME);
+        args.add(LocalDateTime.now().toString());
+        String id = redisTemplate.execute(DEAD_LETTER_SCRIPT,
+                Arrays.asList(record.getStream(), getDeadLetterStreamKey(record.getStream())), args.toArray());
+        return RecordId.of(id);
+    }
+
+    /**
+     * 获得死信消息列表，按照进入死信的时间正序
+     *
+     * @param streamKey Stream Key
+     * @param count 数量
+     * @return 死信消息列表
+     */
+    public List<MapRecord<String, Object, Object>> getDeadLetterList(String streamKey, int count) {
+        return getStreamOperations().range(getDeadLetterStreamKey(streamKey), Range.unbounded(),
+                Limit.limit().count(count));
+    }
+
+    /**
+     * 重新投递死信消息到原 Stream 中，并从死信 Stream 中删除。每条消息的投递、删除在 Lua 脚本中原子执行
+     *
+     * @param streamKey Stream Key
+     * @param ids 死信消息编号
+     * @return 重新投递的数量
+     */
+    public int replayDeadLetters(String streamKey, Collection<String> ids) {
+        if (CollUtil.isEmpty(ids)) {
+            return 0;
+        }
+        Long count = redisTemplate.execute(REPLAY_DEAD_LETTER_SCRIPT,
+                Arrays.asList(getDeadLetterStreamKey(streamKey), streamKey), ids.toArray());
+        return count != null ? count.intValue() : 0;
+    }
+
+    // ========== pending 相关 ==========
+
+    /**
+     * 分页获得空闲时间达到 minIdleTime 的 pending 消息，由 Redis 过滤，避免扫描整个 pending 列表。需要 Redis 6.2+ 版本
+     *
+     * @param streamKey Stream Key
+     * @param group 消费者分组
+     * @param minIdleTime 最小空闲时间
+     * @param startId 起始消息编号（包含）
+     * @param count 数量
+     * @return pending 消息列表
+     */
+    @SuppressWarnings("unchecked")
+    public List<PendingMessage> getPendingList(String streamKey, String group, Duration minIdleTime,
+                                               String startId, int count) {
+        List<List<Object>> entries = redisTemplate.execute(PENDING_SCRIPT, Collections.singletonList(streamKey),
+                group, String.valueOf(minIdleTime.toMillis()), startId, String.valueOf(count));
+        if (CollUtil.isEmpty(entries)) {
+            return Collections.emptyList();
+        }
+        // 每条记录的格式为：[消息编号, 消费者, 空闲时间（毫秒）, 投递次数]
+        List<PendingMessage> pendingMessages = new ArrayList<>(entries.size());
+        entries.forEach(entry -> pendingMessages.add(new PendingMessage(RecordId.of((String) entry.get(0)),
+                Consumer.from(group, (String) entry.get(1)), Duration.ofMillis((Long) entry.get(2)), (Long) entry.get(3))));
+        return pendingMessages;
+    }
+
+    private StreamOperations<String, Object, Object> getStreamOperations() {
+        return redisTemplate.opsForStream();
+    }
+
     /**
      * 添加拦截器
      *
@@ -0,0 +1,179 @@
+package cn.iocoder.yudao.framework.mq.core.stream;
+
+import cn.hutool.core.util.TypeUtil;
+import cn.iocoder.yudao.framework.common.util.json.JsonUtils;
+import cn.iocoder.yudao.framework.mq.core.RedisMQTemplate;
+import cn.iocoder.yudao.framework.mq.core.interceptor.RedisMessageInterceptor;
+import cn.iocoder.yudao.framework.mq.core.message.AbstractRedisMessage;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Redis Stream 批量监听器抽象类，用于实现集群消费
+ *
+ * 相比 {@link AbstractStreamMessageListener} 逐条消费、逐条 ack，它一次性拉取一批消息，交给线程池并发消费，
+ * 最终将消费成功的消息，通过一次 xack 命令批量 ack，适合消息量大的场景。
+ *
+ * {@link #onMessage(List)} 返回消费失败的消息，只有它们不会被 ack，后续会被重新投递；
+ * 如果直接抛出异常，这一组消息都不会被 ack。因此，有副作用的消费（例如说，发送短信），建议使用 {@link #consumeEach(List, Consumer)} 逐条消费，
+ * 避免一条消息失败，导致已经消费成功的消息被重新投递。无论哪种方式，都需要保证消费的幂等性。
+ * 拉取数量、阻塞超时、并发数，通过 yudao.mq.streams 按照 Stream Key 配置。
+ *
+ * @param <T> 消息类型。一定要填写噢，不然会报错
+ *
+ * @author 芋道源码
+ */
+@Slf4j
+public abstract class AbstractStreamBatchMessageListener<T extends AbstractStreamMessage> {
+
+    /**
+     * 消息类型
+     */
+    private final Class<T> messageType;
+    /**
+     * Redis Channel
+     */
+    @Getter
+    private final String streamKey;
+
+    /**
+     * Redis 消费者分组，默认使用 spring.application.name 名字
+     */
+    @Value("${spring.application.name}")
+    @Getter
+    private String group;
+    /**
+     * RedisMQTemplate
+     */
+    @Setter
+    private RedisMQTemplate redisMQTemplate;
+
+    @SneakyThrows
+    protected AbstractStreamBatchMessageListener() {
+        this.messageType = getMessageClass();
+        this.streamKey = messageType.getDeclaredConstructor().newInstance().getStreamKey();
+    }
+
+    /**
+     * 消费一批消息记录，由 {@link RedisStreamBatchMessageListenerContainer} 拉取、或者重试任务转移的消息调用
+     *
+     * @param records 消息记录
+     * @return 消费成功的消息编号，用于 ack
+     */
+    public List<RecordId> consume(List<ObjectRecord<String, String>> records) {
+        // 解析消息，并按照 headers 分组。相同 headers 的消息（例如说，同一租户）共享同一个消费上下文
+        Map<Map<String, String>, List<T>> messageGroups = new LinkedHashMap<>();
+        Map<T, RecordId> recordIds = new IdentityHashMap<>();
+        for (ObjectRecord<String, String> record : records) {
+            T messageObj;
+            try {
+                messageObj = JsonUtils.parseObject(record.getValue(), messageType);
+            } catch (Exception ex) {
+                log.error("[consume][StreamKey({}) 消息({}) 解析失败]", streamKey, record.getId(), ex);
+                continue;
+            }
+            messageGroups.computeIfAbsent(messageObj.getHeaders(), key -> new ArrayList<>()).add(messageObj);
+            recordIds.put(messageObj, record.getId());
+        }
+
+        // 按组消费，记录消费成功的消息编号
+        List<RecordId> successIds = new ArrayList<>(records.size());
+        messageGroups.forEach((headers, messages) -> {
+            T first = messages.get(0);
+            try {
+                consumeMessageBefore(first);
+                // 消费消息，只 ack 消费成功的消息
+                Collection<T> failedMessages = this.onMessage(messages);
+                Set<T> failedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+                if (failedMessages != null) {
+                    failedSet.addAll(failedMessages);
+                }
+                messages.forEach(message -> {
+                    if (!failedSet.contains(message)) {
+                        successIds.add(recordIds.get(message));
+                    }
+                });
+            } catch (Exception ex) {
+                log.error("[consume][StreamKey({}) 批量消费({}) 条消息失败]", streamKey, messages.size(), ex);
+            } finally {
+                consumeMessageAfter(first);
+            }
+        });
+        return successIds;
+    }
+
+    /**
+     * 批量处理消息
+     *
+     * @param messages 消息列表
+     * @return 消费失败的消息，它们不会被 ack，后续会被重新投递；全部成功时，返回空列表
+     */
+    public abstract Collection<T> onMessage(List<T> messages);
+
+    /**
+     * 逐条消费消息，单条消息失败时记录日志，不影响其它消息
+     *
+     * @param messages 消息列表
+     * @param consumer 单条消息的消费逻辑
+     * @return 消费失败的消息
+     */
+    protected List<T> consumeEach(List<T> messages, Consumer<T> consumer) {
+        List<T> failedMessages = new ArrayList<>();
+        for (T message : messages) {
+            try {
+                consumer.accept(message);
+            } catch (Exception ex) {
+                log.error("[consumeEach][StreamKey({}) 消息({}) 消费失败]", streamKey, message, ex);
+                failedMessages.add(message);
+            }
+        }
+        return failedMessages;
+    }
+
+    /**
+     * 通过解析类上的泛型，获得消息类型
+     *
+     * @return 消息类型
+     */
+    @SuppressWarnings("unchecked")
+    private Class<T> getMessageClass() {
+        Type type = TypeUtil.getTypeArgument(getClass(), 0);
+        if (type == null) {
+            throw new IllegalStateException(String.format("类型(%s) 需要设置消息类型", getClass().getName()));
+        }
+        return (Class<T>) type;
+    }
+
+    private void consumeMessageBefore(AbstractRedisMessage message) {
+        assert redisMQTemplate != null;
+        List<RedisMessageInterceptor> interceptors = redisMQTemplate.getInterceptors();
+        // 正序
+        interceptors.forEach(interceptor -> interceptor.consumeMessageBefore(message));
+    }
+
+    private void consumeMessageAfter(AbstractRedisMessage message) {
+        assert redisMQTemplate != null;
+        List<RedisMessageInterceptor> interceptors = redisMQTemplate.getInterceptors();
+        // 倒序
+        for (int i = interceptors.size() - 1; i >= 0; i--) {
+            interceptors.get(i).consumeMessageAfter(message);
+        }
+    }
+
+}
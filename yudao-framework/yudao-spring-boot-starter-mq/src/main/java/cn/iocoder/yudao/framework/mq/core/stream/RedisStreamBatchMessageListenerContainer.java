@@ -0,0 +1,183 @@
+package cn.iocoder.yudao.framework.mq.core.stream;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.thread.NamedThreadFactory;
+import cn.hutool.core.thread.ThreadUtil;
+import cn.iocoder.yudao.framework.mq.config.YudaoMQProperties;
+import cn.iocoder.yudao.framework.mq.core.RedisMQTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StreamOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis Stream 批量消费的容器，负责驱动 {@link AbstractStreamBatchMessageListener}
+ *
+ * 每个监听器使用一个拉取线程，通过 xreadgroup 一次性拉取一批消息，均分给监听器的线程池并发消费，
+ * 全部消费完成后，再通过一次 xack 命令 ack 消费成功的消息，然后进行下一次拉取。
+ *
+ * @author 芋道源码
+ */
+@Slf4j
+public class RedisStreamBatchMessageListenerContainer {
+
+    private final RedisMQTemplate redisMQTemplate;
+    private final List<AbstractStreamBatchMessageListener<?>> listeners;
+    private final YudaoMQProperties mqProperties;
+    private final String consumerName;
+
+    private final List<PollTask> tasks = new ArrayList<>();
+    private volatile boolean running;
+
+    public RedisStreamBatchMessageListenerContainer(RedisMQTemplate redisMQTemplate,
+                                                    List<AbstractStreamBatchMessageListener<?>> listeners,
+                                                    YudaoMQProperties mqProperties, String consumerName) {
+        this.redisMQTemplate = redisMQTemplate;
+        this.listeners = listeners;
+        this.mqProperties = mqProperties;
+        this.consumerName = consumerName;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        StreamOperations<String, Object, Object> ops = redisMQTemplate.getRedisTemplate().opsForStream();
+        listeners.forEach(listener -> {
+            log.info("[start][开始注册 StreamKey({}) 对应的批量监听器({})]",
+                    listener.getStreamKey(), listener.getClass().getName());
+            // 创建 listener 对应的消费者分组
+            try {
+                ops.createGroup(listener.getStreamKey(), listener.getGroup());
+            } catch (Exception ignore) {
+            }
+            // 设置 listener 对应的 redisTemplate
+            listener.setRedisMQTemplate(redisMQTemplate);
+            // 启动拉取线程
+            PollTask task = new PollTask(listener, mqProperties.getStream(listener.getStreamKey()));
+            tasks.add(task);
+            task.start();
+            log.info("[start][完成注册 StreamKey({}) 对应的批量监听器({})]",
+                    listener.getStreamKey(), listener.getClass().getName());
+        });
+    }
+
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        tasks.forEach(PollTask::stop);
+        tasks.clear();
+    }
+
+    /**
+     * 单个监听器的拉取任务
+     */
+    private class PollTask implements Runnable {
+
+        private final AbstractStreamBatchMessageListener<?> listener;
+        private final YudaoMQProperties.Stream config;
+        private final Consumer consumer;
+        private final StreamReadOptions readOptions;
+        /**
+         * 消费线程池。并发数为 1 时为 null，直接在拉取线程中消费
+         */
+        private final ExecutorService executor;
+        private final Thread thread;
+
+        private PollTask(AbstractStreamBatchMessageListener<?> listener, YudaoMQProperties.Stream config) {
+            this.listener = listener;
+            this.config = config;
+            this.consumer = Consumer.from(listener.getGroup(), consumerName);
+            this.readOptions = StreamReadOptions.empty().count(config.getBatchSize()).block(config.getPollTimeout());
+            this.executor = config.getConcurrency() > 1 ? Executors.newFixedThreadPool(config.getConcurrency(),
+                    new NamedThreadFactory("redis-stream-" + listener.getStreamKey() + "-", true)) : null;
+            this.thread = new Thread(this, "redis-stream-poll-" + listener.getStreamKey());
+            this.thread.setDaemon(true);
+        }
+
+        private void start() {
+            thread.start();
+        }
+
+        private void stop() {
+            // 拉取线程在 pollTimeout 内会结束阻塞，检查到 running 为 false 后退出
+            if (executor != null) {
+                executor.shutdown();
+                try {
+                    executor.awaitTermination(config.getPollTimeout().toMillis() * 2, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                try {
+                    poll();
+                } catch (Exception ex) {
+                    log.error("[run][StreamKey({}) 拉取消息失败]", listener.getStreamKey(), ex);
+                    // 避免 Redis 异常时，空转刷屏
+                    ThreadUtil.sleep(config.getPollTimeout().toMillis());
+                }
+            }
+        }
+
+        private void poll() {
+            // 1. 拉取消息
+            StreamOperations<String, Object, Object> ops = redisMQTemplate.getRedisTemplate().opsForStream();
+            List<ObjectRecord<String, String>> records = ops.read(String.class, consumer, readOptions,
+                    StreamOffset.create(listener.getStreamKey(), ReadOffset.lastConsumed()));
+            // 注意，Redisson 获得不到数据时，返回 null 而不是空 List
+            if (CollUtil.isEmpty(records)) {
+                return;
+            }
+
+            // 2. 消费消息
+            List<RecordId> successIds = consume(records);
+
+            // 3. 批量 ack 消费成功的消息
+            if (CollUtil.isNotEmpty(successIds)) {
+                ops.acknowledge(listener.getStreamKey(), listener.getGroup(), successIds.toArray(new RecordId[0]));
+            }
+        }
+
+        private List<RecordId> consume(List<ObjectRecord<String, String>> records) {
+            if (executor == null || records.size() == 1) {
+                return listener.consume(records);
+            }
+            // 均分给线程池，并发消费
+            int chunkSize = (records.size() + config.getConcurrency() - 1) / config.getConcurrency();
+            List<CompletableFuture<List<RecordId>>> futures = new ArrayList<>();
+            CollUtil.split(records, chunkSize).forEach(chunk ->
+                    futures.add(CompletableFuture.supplyAsync(() -> listener.consume(chunk), executor)));
+            // 等待全部消费完成，合并消费成功的消息编号
+            List<RecordId> successIds = new ArrayList<>(records.size());
+            futures.forEach(future -> {
+                try {
+                    successIds.addAll(future.join());
+                } catch (Exception ex) {
+                    log.error("[consume][StreamKey({}) 并发消费失败]", listener.getStreamKey(), ex);
+                }
+            });
+            return successIds;
+        }
+
+    }
+
+}
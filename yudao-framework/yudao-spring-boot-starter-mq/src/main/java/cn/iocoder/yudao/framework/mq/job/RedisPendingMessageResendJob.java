@@ -1,80 +1,236 @@
 package cn.iocoder.yudao.framework.mq.job;
 
 import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.map.MapUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.iocoder.yudao.framework.mq.config.YudaoMQProperties;
 import cn.iocoder.yudao.framework.mq.core.RedisMQTemplate;
+import cn.iocoder.yudao.framework.mq.core.stream.AbstractStreamBatchMessageListener;
 import cn.iocoder.yudao.framework.mq.core.stream.AbstractStreamMessageListener;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
-import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisServerCommands;
 import org.springframework.data.redis.connection.stream.MapRecord;
-import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
-import org.springframework.data.redis.connection.stream.ReadOffset;
-import org.springframework.data.redis.connection.stream.StreamOffset;
-import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StreamOperations;
 import org.springframework.scheduling.annotation.Scheduled;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.function.Function;
 
 /**
- * 这个任务用于处理，crash 之后的消费者未消费完的消息
+ * 这个任务用于处理，消费失败、或者 crash 之后的消费者未消费完的消息
+ *
+ * 1. 通过 xpending 的 IDLE 参数，分页获取空闲时间达到 retryMinIdleTime 的 pending 消息，由 Redis 过滤未达到的消息；
+ *    再根据空闲时间和投递次数，按照指数退避判断是否需要重试。Redis 6.2 以下版本不支持 IDLE 参数，退化为扫描全部 pending 消息
+ * 2. 通过 xclaim 将消息转移给当前消费者，直接重新消费，而不是复制一条新消息
+ * 3. 投递次数超过上限时，将消息转移到死信 Stream 中，避免毒消息无限重试
+ *
+ * 通过分布式锁，保证同一时刻只有一个节点在扫描，避免每个节点都重复扫描 pending 消息
  */
 @Slf4j
-@AllArgsConstructor
 public class RedisPendingMessageResendJob {
 
-    private static final String LOCK_KEY = "redis:pending:msg:lock";
+    /**
+     * 分布式锁的 Key
+     */
+    private static final String LOCK_KEY = "redis:stream:pending-message-resend:lock";
+
+    /**
+     * XPENDING IDLE 参数的最低 Redis 版本
+     */
+    private static final String PENDING_IDLE_MIN_VERSION = "6.2.0";
 
     private final List<AbstractStreamMessageListener<?>> listeners;
+    private final List<AbstractStreamBatchMessageListener<?>> batchListeners;
     private final RedisMQTemplate redisTemplate;
-    private final String groupName;
+    private final YudaoMQProperties mqProperties;
+    /**
+     * 当前消费者的名字，转移的消息由它重新消费
+     */
+    private final String consumerName;
     private final RedissonClient redissonClient;
 
     /**
-     * 一分钟执行一次,这里选择每分钟的35秒执行，是为了避免整点任务过多的问题
+     * Redis 版本是否支持 XPENDING IDLE 参数。为 null 时，表示还未获取 Redis 版本
      */
-    @Scheduled(cron = "35 * * * * ?")
+    private Boolean pendingIdleSupported;
+
+    public RedisPendingMessageResendJob(List<AbstractStreamMessageListener<?>> listeners,
+                                        List<AbstractStreamBatchMessageListener<?>> batchListeners,
+                                        RedisMQTemplate redisTemplate, YudaoMQProperties mqProperties,
+                                        String consumerName, RedissonClient redissonClient) {
+        this.listeners = listeners;
+        this.batchListeners = batchListeners;
+        this.redisTemplate = redisTemplate;
+        this.mqProperties = mqProperties;
+        this.consumerName = consumerName;
+        this.redissonClient = redissonClient;
+    }
+
+    /**
+     * 每 10 秒执行一次。是否重试，由每条消息的空闲时间决定
+     */
+    @Scheduled(initialDelay = 30 * 1000, fixedDelay = 10 * 1000)
     public void messageResend() {
-        RLock lock = redissonClient.getLock(LOCK_KEY);
-        // 尝试加锁
-        if (lock.tryLock()) {
+        if (pendingIdleSupported == null) {
             try {
-                execute();
+                pendingIdleSupported = isPendingIdleSupported();
             } catch (Exception ex) {
-                log.error("[messageResend][执行异常]", ex);
-            } finally {
-                lock.unlock();
+                log.error("[messageResend][获取 Redis 版本异常，下次重试]", ex);
+                return;
             }
         }
+        // 其它节点正在扫描，则跳过本次
+        RLock lock = redissonClient.getLock(LOCK_KEY);
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            listeners.forEach(listener -> execute(listener.getStreamKey(), listener.getGroup(),
+                    records -> consume(listener, records)));
+            batchListeners.forEach(listener -> execute(listener.getStreamKey(), listener.getGroup(),
+                    records -> consume(listener, records)));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    private void execute() {
-        StreamOperations<String, Object, Object> ops = redisTemplate.getRedisTemplate().opsForStream();
-        listeners.forEach(listener -> {
-            PendingMessagesSummary pendingMessagesSummary = ops.pending(listener.getStreamKey(), groupName);
-            // 每个消费者的 pending 队列消息数量
-            Map<String, Long> pendingMessagesPerConsumer = pendingMessagesSummary.getPendingMessagesPerConsumer();
-            pendingMessagesPerConsumer.forEach((consumerName, pendingMessageCount) -> {
-                log.info("[processPendingMessage][消费者({}) 消息数量({})]", consumerName, pendingMessageCount);
-
-                // 从消费者的 pending 队列中读取消息
-                List<MapRecord<String, Object, Object>> records = ops.read(Consumer.from(groupName, consumerName), StreamOffset.create(listener.getStreamKey(), ReadOffset.from("0")));
-                if (CollUtil.isEmpty(records)) {
+    private boolean isPendingIdleSupported() {
+        Properties info = redisTemplate.getRedisTemplate().execute((RedisCallback<Properties>) RedisServerCommands::info);
+        String version = MapUtil.getStr(info, "redis_version");
+        return StrUtil.compareVersion(version, PENDING_IDLE_MIN_VERSION) >= 0;
+    }
+
+    private void execute(String streamKey, String group,
+                         Function<List<MapRecord<String, Object, Object>>, List<RecordId>> consumer) {
+        try {
+            StreamOperations<String, Object, Object> ops = redisTemplate.getRedisTemplate().opsForStream();
+            YudaoMQProperties.Stream config = mqProperties.getStream(streamKey);
+            String startId = "-";
+            while (true) {
+                // 1. 分页获取 pending 消息
+                List<PendingMessage> pendingMessages = getPendingList(ops, streamKey, group, config, startId);
+                if (pendingMessages.isEmpty()) {
                     return;
                 }
-                for (MapRecord<String, Object, Object> record : records) {
-                    // 重新投递消息
-                    redisTemplate.getRedisTemplate().opsForStream().add(StreamRecords.newRecord()
-                            .ofObject(record.getValue()) // 设置内容
-                            .withStreamKey(listener.getStreamKey()));
-
-                    // ack 消息消费完成
-                    redisTemplate.getRedisTemplate().opsForStream().acknowledge(groupName, record);
+
+                // 2. 判断每条消息，是否需要重试、或者转移到死信
+                List<RecordId> retryIds = new ArrayList<>();
+                Map<RecordId, Long> deadLetterIds = new HashMap<>();
+                for (PendingMessage pendingMessage : pendingMessages) {
+                    if (pendingMessage.getTotalDeliveryCount() >= config.getMaxDeliveryCount()) {
+                        deadLetterIds.put(pendingMessage.getId(), pendingMessage.getTotalDeliveryCount());
+                    } else if (pendingMessage.getElapsedTimeSinceLastDelivery().compareTo(
+                            getRetryIdleTime(config, pendingMessage.getTotalDeliveryCount())) >= 0) {
+                        retryIds.add(pendingMessage.getId());
+                    }
+                }
+                if (CollUtil.isNotEmpty(deadLetterIds)) {
+                    processDeadLetters(ops, streamKey, group, config, deadLetterIds);
                 }
-            });
+                if (CollUtil.isNotEmpty(retryIds)) {
+                    processRetries(ops, streamKey, group, config, retryIds, consumer);
+                }
+
+                // 3. 下一页
+                if (pendingMessages.size() < config.getBatchSize()) {
+                    return;
+                }
+                startId = nextRecordId(pendingMessages.get(pendingMessages.size() - 1).getId());
+            }
+        } catch (Exception ex) {
+            log.error("[execute][StreamKey({}) 处理 pending 消息异常]", streamKey, ex);
+        }
+    }
+
+    private List<PendingMessage> getPendingList(StreamOperations<String, Object, Object> ops, String streamKey, String group,
+                                                YudaoMQProperties.Stream config, String startId) {
+        // 情况一：由 Redis 过滤空闲时间未达到 retryMinIdleTime 的消息
+        if (pendingIdleSupported) {
+            return redisTemplate.getPendingList(streamKey, group, config.getRetryMinIdleTime(), startId, config.getBatchSize());
+        }
+        // 情况二：Redis 6.2 以下版本，扫描全部 pending 消息
+        PendingMessages pendingMessages = ops.pending(streamKey, group,
+                Range.rightUnbounded(Range.Bound.inclusive(startId)), config.getBatchSize());
+        return pendingMessages != null ? pendingMessages.toList() : Collections.emptyList();
+    }
+
+    private void processRetries(StreamOperations<String, Object, Object> ops, String streamKey, String group,
+                                YudaoMQProperties.Stream config, List<RecordId> retryIds,
+                                Function<List<MapRecord<String, Object, Object>>, List<RecordId>> consumer) {
+        // 转移给当前消费者。如果已经被其它节点转移，空闲时间会被重置，xclaim 不会返回
+        List<MapRecord<String, Object, Object>> records = ops.claim(streamKey, group, consumerName,
+                config.getRetryMinIdleTime(), retryIds.toArray(new RecordId[0]));
+        if (CollUtil.isEmpty(records)) {
+            return;
+        }
+        log.info("[processRetries][StreamKey({}) 重新消费 {} 条消息]", streamKey, records.size());
+        List<RecordId> successIds = consumer.apply(records);
+        if (CollUtil.isNotEmpty(successIds)) {
+            ops.acknowledge(streamKey, group, successIds.toArray(new RecordId[0]));
+        }
+    }
+
+    private void processDeadLetters(StreamOperations<String, Object, Object> ops, String streamKey, String group,
+                                    YudaoMQProperties.Stream config, Map<RecordId, Long> deadLetterIds) {
+        List<MapRecord<String, Object, Object>> records = ops.claim(streamKey, group, consumerName,
+                config.getRetryMinIdleTime(), deadLetterIds.keySet().toArray(new RecordId[0]));
+        if (CollUtil.isEmpty(records)) {
+            return;
+        }
+        records.forEach(record -> {
+            redisTemplate.sendDeadLetter(group, record, deadLetterIds.get(record.getId()));
+            log.warn("[processDeadLetters][StreamKey({}) 消息({}) 超过最大投递次数，转移到死信]", streamKey, record.getId());
+        });
+    }
+
+    private List<RecordId> consume(AbstractStreamMessageListener<?> listener, List<MapRecord<String, Object, Object>> records) {
+        StreamOperations<String, Object, Object> ops = redisTemplate.getRedisTemplate().opsForStream();
+        // 逐条消费，消费成功时，由 listener 自己 ack
+        records.forEach(record -> {
+            try {
+                listener.onMessage(ops.map(record, String.class));
+            } catch (Exception ex) {
+                log.error("[consume][StreamKey({}) 消息({}) 重新消费失败]", listener.getStreamKey(), record.getId(), ex);
+            }
         });
+        return new ArrayList<>();
+    }
+
+    private List<RecordId> consume(AbstractStreamBatchMessageListener<?> listener, List<MapRecord<String, Object, Object>> records) {
+        StreamOperations<String, Object, Object> ops = redisTemplate.getRedisTemplate().opsForStream();
+        List<ObjectRecord<String, String>> objectRecords = new ArrayList<>(records.size());
+        records.forEach(record -> objectRecords.add(ops.map(record, String.class)));
+        return listener.consume(objectRecords);
+    }
+
+    /**
+     * 计算第 deliveryCount 次投递后，需要的空闲时间，即指数退避：min * 2^(deliveryCount - 1)，不超过 max
+     */
+    private static Duration getRetryIdleTime(YudaoMQProperties.Stream config, long deliveryCount) {
+        long shift = Math.min(Math.max(deliveryCount - 1, 0), 30);
+        Duration idleTime = config.getRetryMinIdleTime().multipliedBy(1L << shift);
+        return idleTime.compareTo(config.getRetryMaxIdleTime()) > 0 ? config.getRetryMaxIdleTime() : idleTime;
     }
+
+    /**
+     * 获得下一个消息编号，用于分页。消息编号的格式为 毫秒时间戳-序号
+     */
+    private static String nextRecordId(RecordId id) {
+        return id.getTimestamp() + "-" + (id.getSequence() + 1);
+    }
+
 }
@@ -0,0 +1,174 @@
+package cn.iocoder.yudao.framework.mq.job;
+
+import cn.hutool.core.map.MapUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.iocoder.yudao.framework.mq.config.YudaoMQProperties;
+import cn.iocoder.yudao.framework.mq.core.RedisMQTemplate;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisServerCommands;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 这个任务用于压缩 Redis Stream，避免 Stream 无限增长，导致 Redis 内存上涨
+ *
+ * 1. 计算所有消费者分组都已经 ack 的位置，通过 XTRIM MINID 裁剪在它之前的消息，不会裁剪未消费的消息
+ * 2. 同时，采集每个 Stream 的长度、每个消费者分组的积压数量，作为监控指标
+ *
+ * 由于 XTRIM MINID 需要 Redis 6.2+，首次执行时会校验 Redis 版本，低于该版本时不进行裁剪，只采集监控指标
+ */
+@Slf4j
+public class RedisStreamCompactJob {
+
+    /**
+     * 统计未投递消息数量时，最多扫描的消息数量，避免积压过多时，扫描过慢
+     */
+    private static final int UNDELIVERED_SCAN_MAX = 1000;
+
+    /**
+     * 支持 XTRIM MINID 的最低 Redis 版本
+     */
+    private static final String TRIM_BY_MIN_ID_MIN_VERSION = "6.2.0";
+
+    private final Set<String> streamKeys;
+    private final RedisMQTemplate redisMQTemplate;
+    private final YudaoMQProperties mqProperties;
+
+    /**
+     * Stream 长度的指标
+     *
+     * key：Stream Key
+     */
+    private final Map<String, AtomicLong> lengthGauges = new ConcurrentHashMap<>();
+    /**
+     * 消费者分组积压的指标
+     *
+     * key：Stream Key + 消费者分组
+     */
+    private final Map<String, AtomicLong> lagGauges = new ConcurrentHashMap<>();
+
+    /**
+     * Redis 是否支持 XTRIM MINID。为空时，表示还未校验
+     */
+    private Boolean trimByMinIdSupported;
+
+    public RedisStreamCompactJob(Set<String> streamKeys, RedisMQTemplate redisMQTemplate, YudaoMQProperties mqProperties) {
+        this.streamKeys = streamKeys;
+        this.redisMQTemplate = redisMQTemplate;
+        this.mqProperties = mqProperties;
+    }
+
+    /**
+     * 每分钟执行一次
+     */
+    @Scheduled(initialDelay = 60 * 1000, fixedDelay = 60 * 1000)
+    public void compact() {
+        if (trimByMinIdSupported == null) {
+            try {
+                trimByMinIdSupported = isTrimByMinIdSupported();
+            } catch (Exception ex) {
+                log.error("[compact][获取 Redis 版本异常，下次重试]", ex);
+                return;
+            }
+        }
+        streamKeys.forEach(this::execute);
+    }
+
+    /**
+     * 校验 Redis 版本是否支持 XTRIM MINID。不支持，并且开启了压缩时，打印一次告警
+     */
+    private boolean isTrimByMinIdSupported() {
+        Properties info = redisMQTemplate.getRedisTemplate().execute((RedisCallback<Properties>) RedisServerCommands::info);
+        String version = MapUtil.getStr(info, "redis_version");
+        if (StrUtil.compareVersion(version, TRIM_BY_MIN_ID_MIN_VERSION) >= 0) {
+            return true;
+        }
+        if (streamKeys.stream().anyMatch(streamKey -> Boolean.TRUE.equals(mqProperties.getStream(streamKey).getCompactEnabled()))) {
+            log.warn("[isTrimByMinIdSupported][当前 Redis 版本为 {}，XTRIM MINID 需要 {}+ 版本，不进行 Stream 压缩，" +
+                    "可以设置 yudao.mq.stream.compact-enabled 为 false 关闭]", version, TRIM_BY_MIN_ID_MIN_VERSION);
+        }
+        return false;
+    }
+
+    private void execute(String streamKey) {
+        try {
+            StreamOperations<String, Object, Object> ops = redisMQTemplate.getRedisTemplate().opsForStream();
+            // 1. 遍历消费者分组，计算所有分组都已经 ack 的位置，以及积压数量
+            RecordId ackedId = null;
+            for (StreamInfo.XInfoGroup group : ops.groups(streamKey)) {
+                RecordId lastDeliveredId = RecordId.of(group.lastDeliveredId());
+                RecordId groupAckedId;
+                if (group.pendingCount() > 0) {
+                    // 有未 ack 的消息，则最小的未 ack 消息之前，都已经 ack
+                    PendingMessagesSummary summary = ops.pending(streamKey, group.groupName());
+                    groupAckedId = RecordId.of(summary.minMessageId());
+                } else {
+                    // 没有未 ack 的消息，则最后投递的消息及之前，都已经 ack
+                    groupAckedId = nextRecordId(lastDeliveredId);
+                }
+                ackedId = ackedId == null || compare(groupAckedId, ackedId) < 0 ? groupAckedId : ackedId;
+                // 积压数量 = 已投递未 ack 的数量 + 未投递的数量
+                long lag = group.pendingCount() + countUndelivered(ops, streamKey, lastDeliveredId);
+                getGauge(lagGauges, streamKey + ":" + group.groupName(), "yudao.mq.stream.lag",
+                        "stream", streamKey, "group", group.groupName()).set(lag);
+            }
+
+            // 2. 裁剪已经 ack 的消息
+            if (ackedId != null && trimByMinIdSupported
+                    && Boolean.TRUE.equals(mqProperties.getStream(streamKey).getCompactEnabled())) {
+                Long count = redisMQTemplate.trimByMinId(streamKey, ackedId.getValue());
+                if (count != null && count > 0) {
+                    log.info("[execute][StreamKey({}) 裁剪 {} 条已经 ack 的消息]", streamKey, count);
+                }
+            }
+
+            // 3. 记录 Stream 长度
+            Long length = ops.size(streamKey);
+            getGauge(lengthGauges, streamKey, "yudao.mq.stream.length", "stream", streamKey)
+                    .set(length != null ? length : 0);
+        } catch (Exception ex) {
+            log.error("[execute][StreamKey({}) 压缩异常]", streamKey, ex);
+        }
+    }
+
+    private long countUndelivered(StreamOperations<String, Object, Object> ops, String streamKey, RecordId lastDeliveredId) {
+        List<MapRecord<String, Object, Object>> records = ops.range(streamKey,
+                Range.rightUnbounded(Range.Bound.inclusive(nextRecordId(lastDeliveredId).getValue())),
+                Limit.limit().count(UNDELIVERED_SCAN_MAX));
+        return records != null ? records.size() : 0;
+    }
+
+    private static AtomicLong getGauge(Map<String, AtomicLong> gauges, String key, String name, String... tags) {
+        return gauges.computeIfAbsent(key, k -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder(name, value, AtomicLong::get).tags(tags).register(Metrics.globalRegistry);
+            return value;
+        });
+    }
+
+    private static RecordId nextRecordId(RecordId id) {
+        return RecordId.of(StrUtil.format("{}-{}", id.getTimestamp(), id.getSequence() + 1));
+    }
+
+    private static int compare(RecordId a, RecordId b) {
+        int result = Long.compare(a.getTimestamp(), b.getTimestamp());
+        return result != 0 ? result : Long.compare(a.getSequence(), b.getSequence());
+    }
+
+}
@@ -0,0 +1,126 @@
+package cn.iocoder.yudao.framework.mybatis.core.injector;
+
+import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlScriptUtils;
+import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
+import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+
+/**
+ * 批量插入的方法，生成一条 INSERT INTO ... VALUES (...), (...) 语句
+ *
+ * 和 Db.saveBatch 逐条 INSERT 的区别是：一次网络往返插入多条记录，并且无需驱动开启 rewriteBatchedStatements。
+ * 为了和逐条 INSERT 时忽略 null 字段的行为保持一致：
+ * 1. 所有记录都为 null 的字段，不插入，从而使用数据库的默认值，或者由多租户等拦截器补充
+ * 2. 部分记录为 null 的字段，插入 DEFAULT，即数据库的默认值
+ *
+ * 对应 {@link cn.iocoder.yudao.framework.mybatis.core.mapper.BaseMapperX#insertBatchValues(java.util.List, java.util.Set)} 方法
+ *
+ * @author 芋道源码
+ */
+public class InsertBatchMethod extends AbstractMethod {
+
+    public static final String METHOD = "insertBatchValues";
+
+    /**
+     * 记录的参数名
+     */
+    public static final String PARAM_LIST = "list";
+    /**
+     * 非 null 字段的参数名
+     */
+    public static final String PARAM_PROPERTIES = "props";
+
+    private static final String ITEM = "et";
+
+    public InsertBatchMethod() {
+        this(METHOD);
+    }
+
+    protected InsertBatchMethod(String methodName) {
+        super(methodName);
+    }
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        StringBuilder columns = new StringBuilder();
+        StringBuilder values = new StringBuilder();
+        // 主键：自增主键由数据库生成，并回填到记录中
+        KeyGenerator keyGenerator = NoKeyGenerator.INSTANCE;
+        String keyProperty = null;
+        String keyColumn = null;
+        if (tableInfo.havePK()) {
+            if (tableInfo.getIdType() != IdType.AUTO || isAutoKeyIncluded()) {
+                columns.append(tableInfo.getKeyColumn()).append(COMMA);
+                values.append(buildValue(tableInfo.getKeyProperty(), tableInfo.getKeyProperty())).append(COMMA);
+            } else {
+                keyGenerator = Jdbc3KeyGenerator.INSTANCE;
+                keyProperty = PARAM_LIST + DOT + tableInfo.getKeyProperty();
+                keyColumn = tableInfo.getKeyColumn();
+            }
+        }
+        // 字段：自动填充的字段，在执行时才会填充，所以始终插入
+        for (TableFieldInfo field : tableInfo.getFieldList()) {
+            if (isFilled(field)) {
+                columns.append(field.getColumn()).append(COMMA);
+                values.append(buildValue(field.getProperty(), field.getEl())).append(COMMA);
+                continue;
+            }
+            columns.append(convertIfProperty(field.getProperty(), field.getColumn() + COMMA));
+            values.append(convertIfProperty(field.getProperty(), buildValue(field.getProperty(), field.getEl()) + COMMA));
+        }
+
+        String sql = String.format("<script>\nINSERT INTO %s %s VALUES %s%s\n</script>", tableInfo.getTableName(),
+                SqlScriptUtils.convertTrim(columns.toString(), LEFT_BRACKET, RIGHT_BRACKET, null, COMMA),
+                SqlScriptUtils.convertForeach(SqlScriptUtils.convertTrim(values.toString(), LEFT_BRACKET, RIGHT_BRACKET,
+                        null, COMMA), PARAM_LIST, null, ITEM, COMMA),
+                buildSuffix(tableInfo));
+        SqlSource sqlSource = languageDriver.createSqlSource(configuration, sql, modelClass);
+        return addInsertMappedStatement(mapperClass, modelClass, methodName, sqlSource, keyGenerator, keyProperty, keyColumn);
+    }
+
+    /**
+     * 是否插入自增主键
+     *
+     * @return 是否插入。如果是，则主键为 null 的记录插入 DEFAULT，由数据库生成
+     */
+    protected boolean isAutoKeyIncluded() {
+        return false;
+    }
+
+    /**
+     * 构建 VALUES 之后的 SQL 片段
+     *
+     * @param tableInfo 表信息
+     * @return SQL 片段
+     */
+    protected String buildSuffix(TableInfo tableInfo) {
+        return "";
+    }
+
+    protected static boolean isFilled(TableFieldInfo field) {
+        return field.getFieldFill() != FieldFill.DEFAULT;
+    }
+
+    /**
+     * 构建字段的值，为 null 时插入 DEFAULT
+     */
+    private static String buildValue(String property, String el) {
+        return SqlScriptUtils.convertChoose(String.format("%s.%s != null", ITEM, property),
+                SqlScriptUtils.safeParam(ITEM + DOT + el), "DEFAULT");
+    }
+
+    /**
+     * 构建仅在字段非 null 时才生效的 SQL 片段
+     */
+    protected static String convertIfProperty(String property, String sqlScript) {
+        return SqlScriptUtils.convertIf(sqlScript, String.format("%s.contains('%s')", PARAM_PROPERTIES, property), false);
+    }
+
+}
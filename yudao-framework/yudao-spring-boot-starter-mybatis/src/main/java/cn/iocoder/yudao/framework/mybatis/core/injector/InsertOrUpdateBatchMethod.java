@@ -0,0 +1,47 @@
+package cn.iocoder.yudao.framework.mybatis.core.injector;
+
+import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlScriptUtils;
+
+/**
+ * 批量插入或更新的方法，生成一条 INSERT INTO ... VALUES (...), (...) ON DUPLICATE KEY UPDATE ... 语句
+ *
+ * 主键或唯一索引冲突时，更新非 null 的字段；创建时间、创建者等仅插入时填充的字段，以及逻辑删除字段，不会被更新。
+ * 由于部分记录为 null 的字段会插入 DEFAULT，调用方需要保证同一条语句的记录，非 null 的字段完全相同，
+ * 参见 {@link cn.iocoder.yudao.framework.mybatis.core.util.MyBatisUtils#groupByNonNullProperties(Class, java.util.Collection)}
+ * 目前仅支持 MySQL 语法，H2 的 MySQL 模式也支持。
+ *
+ * 对应 {@link cn.iocoder.yudao.framework.mybatis.core.mapper.BaseMapperX#insertOrUpdateBatchValues(java.util.List, java.util.Set)} 方法
+ *
+ * @author 芋道源码
+ */
+public class InsertOrUpdateBatchMethod extends InsertBatchMethod {
+
+    public static final String METHOD = "insertOrUpdateBatchValues";
+
+    public InsertOrUpdateBatchMethod() {
+        super(METHOD);
+    }
+
+    @Override
+    protected boolean isAutoKeyIncluded() {
+        // 需要传入主键，才能基于主键冲突进行更新。另外，因为存在更新的记录，所以不回填自增主键
+        return true;
+    }
+
+    @Override
+    protected String buildSuffix(TableInfo tableInfo) {
+        StringBuilder updates = new StringBuilder();
+        for (TableFieldInfo field : tableInfo.getFieldList()) {
+            if (field.isLogicDelete() || field.getFieldFill() == FieldFill.INSERT) {
+                continue;
+            }
+            String update = String.format("%s = VALUES(%s),", field.getColumn(), field.getColumn());
+            updates.append(isFilled(field) ? update : convertIfProperty(field.getProperty(), update));
+        }
+        return " ON DUPLICATE KEY UPDATE " + SqlScriptUtils.convertTrim(updates.toString(), null, null, null, COMMA);
+    }
+
+}
@@ -0,0 +1,60 @@
+package cn.iocoder.yudao.framework.mybatis.core.injector;
+
+import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlScriptUtils;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+
+import static cn.iocoder.yudao.framework.mybatis.core.injector.InsertBatchMethod.PARAM_LIST;
+import static cn.iocoder.yudao.framework.mybatis.core.injector.InsertBatchMethod.PARAM_PROPERTIES;
+
+/**
+ * 批量更新的方法，按照主键生成一条 UPDATE ... SET column = CASE id WHEN ... THEN ... END WHERE id IN (...) 语句
+ *
+ * 和 Db.updateBatchById 逐条 UPDATE 的区别是：一次网络往返更新多条记录，并且无需驱动开启 rewriteBatchedStatements。
+ * 和 updateById 一样，只更新非 null 的字段，以及更新时自动填充的字段；逻辑删除的记录不会被更新。
+ * 调用方需要保证同一条语句的记录，非 null 的字段完全相同，
+ * 参见 {@link cn.iocoder.yudao.framework.mybatis.core.util.MyBatisUtils#groupByNonNullProperties(Class, java.util.Collection)}
+ *
+ * 对应 {@link cn.iocoder.yudao.framework.mybatis.core.mapper.BaseMapperX#updateBatchValues(java.util.List, java.util.Set)} 方法
+ *
+ * @author 芋道源码
+ */
+public class UpdateBatchMethod extends AbstractMethod {
+
+    public static final String METHOD = "updateBatchValues";
+
+    private static final String ITEM = "et";
+
+    public UpdateBatchMethod() {
+        super(METHOD);
+    }
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        String keyParam = SqlScriptUtils.safeParam(ITEM + DOT + tableInfo.getKeyProperty());
+        // 字段：自动填充的字段，在执行时才会填充，所以始终更新
+        StringBuilder sets = new StringBuilder();
+        for (TableFieldInfo field : tableInfo.getFieldList()) {
+            if (field.isLogicDelete() || field.getFieldFill() == FieldFill.INSERT) {
+                continue;
+            }
+            String set = String.format("%s = CASE %s %s END,", field.getColumn(), tableInfo.getKeyColumn(),
+                    SqlScriptUtils.convertForeach(String.format("WHEN %s THEN %s", keyParam,
+                            SqlScriptUtils.safeParam(ITEM + DOT + field.getEl())), PARAM_LIST, null, ITEM, " "));
+            sets.append(field.getFieldFill() != FieldFill.DEFAULT ? set : SqlScriptUtils.convertIf(set,
+                    String.format("%s.contains('%s')", PARAM_PROPERTIES, field.getProperty()), false));
+        }
+
+        String sql = String.format("<script>\nUPDATE %s %s WHERE %s IN (%s)%s\n</script>", tableInfo.getTableName(),
+                SqlScriptUtils.convertTrim(sets.toString(), "SET", null, null, COMMA),
+                tableInfo.getKeyColumn(), SqlScriptUtils.convertForeach(keyParam, PARAM_LIST, null, ITEM, COMMA),
+                tableInfo.getLogicDeleteSql(true, true));
+        SqlSource sqlSource = languageDriver.createSqlSource(configuration, sql, modelClass);
+        return addUpdateMappedStatement(mapperClass, modelClass, sqlSource);
+    }
+
+}
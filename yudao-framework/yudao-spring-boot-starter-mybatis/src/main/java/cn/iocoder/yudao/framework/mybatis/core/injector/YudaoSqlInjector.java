@@ -0,0 +1,66 @@
+package cn.iocoder.yudao.framework.mybatis.core.injector;
+
+import cn.iocoder.yudao.framework.common.util.collection.SetUtils;
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.injector.DefaultSqlInjector;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 拓展 MyBatis Plus 的 SQL 注入器，额外注入 {@link InsertBatchMethod}、{@link InsertOrUpdateBatchMethod}、{@link UpdateBatchMethod} 批量方法
+ *
+ * 不支持的数据库、或者使用序列生成主键的表（仅批量插入），不注入这些方法，由 BaseMapperX 降级为 Db.saveBatch 等逐条执行
+ *
+ * @author 芋道源码
+ */
+@AllArgsConstructor
+public class YudaoSqlInjector extends DefaultSqlInjector {
+
+    /**
+     * 支持 INSERT INTO ... VALUES (...), (...) 多行插入、DEFAULT 关键字的数据库
+     */
+    private static final Set<DbType> INSERT_BATCH_DB_TYPES = SetUtils.asSet(DbType.MYSQL, DbType.MARIADB,
+            DbType.POSTGRE_SQL, DbType.H2);
+    /**
+     * 支持 ON DUPLICATE KEY UPDATE 的数据库
+     */
+    private static final Set<DbType> INSERT_OR_UPDATE_BATCH_DB_TYPES = SetUtils.asSet(DbType.MYSQL, DbType.MARIADB,
+            DbType.H2);
+    /**
+     * 支持 UPDATE ... SET column = CASE ... END 批量更新的数据库，与多行插入保持一致
+     */
+    private static final Set<DbType> UPDATE_BATCH_DB_TYPES = SetUtils.asSet(DbType.MYSQL, DbType.MARIADB,
+            DbType.POSTGRE_SQL, DbType.H2);
+
+    /**
+     * 数据库类型。为空时，按照 MySQL 处理
+     */
+    private final DbType dbType;
+
+    @Override
+    public List<AbstractMethod> getMethodList(Class<?> mapperClass, TableInfo tableInfo) {
+        List<AbstractMethod> methods = super.getMethodList(mapperClass, tableInfo);
+        DbType dbType = this.dbType != null ? this.dbType : DbType.MYSQL;
+        // 批量更新需要按照主键匹配；存在乐观锁字段时，需要逐条校验版本号，无法批量更新
+        if (UPDATE_BATCH_DB_TYPES.contains(dbType) && tableInfo.havePK() && !tableInfo.isWithVersion()) {
+            methods.add(new UpdateBatchMethod());
+        }
+        // 使用序列生成主键时，需要逐条获取序列，无法批量插入
+        if (tableInfo.getIdType() == IdType.INPUT && tableInfo.getKeySequence() != null) {
+            return methods;
+        }
+        if (INSERT_BATCH_DB_TYPES.contains(dbType)) {
+            methods.add(new InsertBatchMethod());
+        }
+        if (INSERT_OR_UPDATE_BATCH_DB_TYPES.contains(dbType)) {
+            methods.add(new InsertOrUpdateBatchMethod());
+        }
+        return methods;
+    }
+
+}
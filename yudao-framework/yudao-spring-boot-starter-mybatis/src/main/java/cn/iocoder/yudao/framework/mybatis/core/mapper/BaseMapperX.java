@@ -1,26 +1,47 @@
 package cn.iocoder.yudao.framework.mybatis.core.mapper;
 
+import cn.hutool.core.collection.CollUtil;
 import cn.iocoder.yudao.framework.common.pojo.PageParam;
 import cn.iocoder.yudao.framework.common.pojo.PageResult;
+import cn.iocoder.yudao.framework.mybatis.core.injector.InsertBatchMethod;
+import cn.iocoder.yudao.framework.mybatis.core.injector.InsertOrUpdateBatchMethod;
+import cn.iocoder.yudao.framework.mybatis.core.injector.UpdateBatchMethod;
 import cn.iocoder.yudao.framework.mybatis.core.util.MyBatisUtils;
 import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.toolkit.Db;
 import org.apache.ibatis.annotations.Param;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * 在 MyBatis Plus 的 BaseMapper 的基础上拓展，提供更多的能力
  */
 public interface BaseMapperX<T> extends BaseMapper<T> {
 
+    /**
+     * 批量操作时，每批的默认数量
+     */
+    int DEFAULT_BATCH_SIZE = 1000;
+
     default PageResult<T> selectPage(PageParam pageParam, @Param("ew") Wrapper<T> queryWrapper) {
+        // 跳过查询总数
+        if (Boolean.TRUE.equals(pageParam.getSkipCount())) {
+            long offset = (long) (pageParam.getPageNo() - 1) * pageParam.getPageSize();
+            IPage<T> mpPage = MyBatisUtils.buildPageWithoutCount(offset, pageParam.getPageSize());
+            selectPage(mpPage, queryWrapper);
+            return MyBatisUtils.buildPageResultWithoutCount(pageParam, mpPage.getRecords(), null, null);
+        }
         // MyBatis Plus 查询
         IPage<T> mpPage = MyBatisUtils.buildPage(pageParam);
         selectPage(mpPage, queryWrapper);
@@ -28,6 +49,71 @@ public interface BaseMapperX<T> extends BaseMapper<T> {
         return new PageResult<>(mpPage.getRecords(), mpPage.getTotal());
     }
 
+    /**
+     * 游标分页（Keyset Pagination），按照 cursorField 倒序
+     *
+     * 1. 传递 {@link PageParam#getCursor()} 时，使用 cursorField < 游标 代替 LIMIT offset，深分页也可以走索引，无需扫描前面的记录
+     * 2. 未传递时，使用 pageNo 分页，兼容原有的前端
+     *
+     * 返回的 {@link PageResult#getNextCursor()} 为下一页的游标。另外，可以通过 {@link PageParam#getSkipCount()} 跳过 COUNT 查询
+     *
+     * @param pageParam 分页参数
+     * @param cursorField 游标字段，需要唯一、并且有索引，一般是 id 主键
+     * @param queryWrapper 查询条件，无需设置 cursorField 的排序
+     * @return 分页结果
+     */
+    default PageResult<T> selectCursorPage(PageParam pageParam, SFunction<T, Long> cursorField,
+                                           LambdaQueryWrapper<T> queryWrapper) {
+        // 1. 查询总数，需要在添加游标条件之前
+        Long total = null;
+        if (!Boolean.TRUE.equals(pageParam.getSkipCount())) {
+            total = selectCount(queryWrapper);
+            if (total == 0) {
+                return PageResult.empty(total);
+            }
+        }
+
+        // 2. 查询数据：多查询一条记录，用于判断是否有下一页
+        Long cursor = MyBatisUtils.decodeCursor(pageParam.getCursor());
+        queryWrapper.lt(cursor != null, cursorField, cursor).orderByDesc(cursorField);
+        long offset = cursor != null ? 0 : (long) (pageParam.getPageNo() - 1) * pageParam.getPageSize();
+        IPage<T> mpPage = MyBatisUtils.buildPageWithoutCount(offset, pageParam.getPageSize());
+        selectPage(mpPage, queryWrapper);
+        return MyBatisUtils.buildPageResultWithoutCount(pageParam, mpPage.getRecords(), total, cursorField);
+    }
+
+    /**
+     * 分批查询，适合导出等遍历大量数据的场景，内存中最多只有一批数据
+     *
+     * 按照 idField 倒序，使用 idField < 上一批的最小值 代替 LIMIT offset，每一批都可以走索引
+     *
+     * @param queryWrapperSupplier 查询条件的创建器，每一批都会创建新的查询条件，无需设置 idField 的排序
+     * @param idField 编号字段，需要唯一、并且有索引，一般是 id 主键
+     * @param consumer 每一批数据的处理逻辑
+     */
+    default void selectBatches(Supplier<? extends LambdaQueryWrapper<T>> queryWrapperSupplier,
+                               SFunction<T, Long> idField, Consumer<List<T>> consumer) {
+        selectBatches(queryWrapperSupplier, idField, DEFAULT_BATCH_SIZE, consumer);
+    }
+
+    default void selectBatches(Supplier<? extends LambdaQueryWrapper<T>> queryWrapperSupplier,
+                               SFunction<T, Long> idField, int batchSize, Consumer<List<T>> consumer) {
+        Long lastId = null;
+        while (true) {
+            LambdaQueryWrapper<T> queryWrapper = queryWrapperSupplier.get();
+            queryWrapper.lt(lastId != null, idField, lastId).orderByDesc(idField);
+            List<T> list = selectPage(new Page<>(1, batchSize, false), queryWrapper).getRecords();
+            if (list.isEmpty()) {
+                return;
+            }
+            consumer.accept(list);
+            if (list.size() < batchSize) {
+                return;
+            }
+            lastId = idField.apply(list.get(list.size() - 1));
+        }
+    }
+
     default T selectOne(String field, Object value) {
         return selectOne(new QueryWrapper<T>().eq(field, value));
     }
@@ -86,25 +172,137 @@ public interface BaseMapperX<T> extends BaseMapper<T> {
      * @param entities 实体们
      */
     default void insertBatch(Collection<T> entities) {
-        Db.saveBatch(entities);
+        insertBatch(entities, DEFAULT_BATCH_SIZE);
     }
 
     /**
      * 批量插入，适合大量数据插入
      *
+     * 每 size 条记录，生成一条 INSERT INTO ... VALUES (...), (...) 语句；
+     * 如果数据库或表不支持（参见 {@link cn.iocoder.yudao.framework.mybatis.core.injector.YudaoSqlInjector}），则降级为 Db.saveBatch
+     *
      * @param entities 实体们
-     * @param size     插入数量 Db.saveBatch 默认为 1000
+     * @param size     每批插入的数量
      */
     default void insertBatch(Collection<T> entities, int size) {
-        Db.saveBatch(entities, size);
+        if (CollUtil.isEmpty(entities)) {
+            return;
+        }
+        Class<?> entityClass = CollUtil.getFirst(entities).getClass();
+        if (!MyBatisUtils.hasStatement(entityClass, InsertBatchMethod.METHOD)) {
+            Db.saveBatch(entities, size);
+            return;
+        }
+        for (List<T> list : CollUtil.split(entities, size)) {
+            insertBatchValues(list, MyBatisUtils.getNonNullProperties(entityClass, list));
+        }
+    }
+
+    /**
+     * 批量插入或更新，适合大量数据同步。主键或唯一索引冲突时，更新非 null 的字段
+     *
+     * @param entities 实体们
+     */
+    default void insertOrUpdateBatch(Collection<T> entities) {
+        insertOrUpdateBatch(entities, DEFAULT_BATCH_SIZE);
     }
 
+    /**
+     * 批量插入或更新，适合大量数据同步
+     *
+     * 每 size 条记录，生成一条 INSERT INTO ... ON DUPLICATE KEY UPDATE 语句；
+     * 如果数据库或表不支持，则降级为 Db.saveOrUpdateBatch，即根据主键是否存在，逐条插入或更新
+     *
+     * @param entities 实体们
+     * @param size     每批的数量
+     */
+    default void insertOrUpdateBatch(Collection<T> entities, int size) {
+        if (CollUtil.isEmpty(entities)) {
+            return;
+        }
+        Class<?> entityClass = CollUtil.getFirst(entities).getClass();
+        if (!MyBatisUtils.hasStatement(entityClass, InsertOrUpdateBatchMethod.METHOD)) {
+            Db.saveOrUpdateBatch(entities, size);
+            return;
+        }
+        for (List<T> list : CollUtil.split(entities, size)) {
+            // 按照非 null 字段分组执行，保证每条记录只更新自己非 null 的字段，和 updateById 的行为一致。
+            // 否则，部分记录为 null 的字段会插入 DEFAULT，冲突时被更新为默认值，覆盖数据库中已有的值
+            MyBatisUtils.groupByNonNullProperties(entityClass, list).forEach(
+                    (properties, group) -> insertOrUpdateBatchValues(group, properties));
+        }
+    }
+
+    /**
+     * 执行一条多行插入的 SQL，由 {@link InsertBatchMethod} 注入
+     *
+     * 一般情况下，使用 {@link #insertBatch(Collection, int)} 即可，它会分批调用该方法
+     *
+     * @param entities 实体们
+     * @param properties 至少一个实体非 null 的字段属性名，其它字段不插入
+     * @return 插入的数量
+     */
+    int insertBatchValues(@Param(InsertBatchMethod.PARAM_LIST) List<T> entities,
+                          @Param(InsertBatchMethod.PARAM_PROPERTIES) Set<String> properties);
+
+    /**
+     * 执行一条多行插入或更新的 SQL，由 {@link InsertOrUpdateBatchMethod} 注入
+     *
+     * 注意，实体们非 null 的字段需要完全相同，否则部分实体为 null 的字段会被更新为 DEFAULT；
+     * 一般情况下，使用 {@link #insertOrUpdateBatch(Collection, int)} 即可，它会按照非 null 字段分组调用该方法
+     *
+     * @param entities 实体们
+     * @param properties 实体们非 null 的字段属性名，其它字段不插入、也不更新
+     * @return 影响的数量
+     */
+    int insertOrUpdateBatchValues(@Param(InsertBatchMethod.PARAM_LIST) List<T> entities,
+                                  @Param(InsertBatchMethod.PARAM_PROPERTIES) Set<String> properties);
+
     default void updateBatch(T update) {
         update(update, new QueryWrapper<>());
     }
 
+    /**
+     * 根据主键批量更新，和 updateById 一样，只更新非 null 的字段
+     *
+     * 每 size 条记录，按照非 null 字段分组，每组生成一条 UPDATE ... SET column = CASE id WHEN ... END 语句；
+     * 如果数据库或表不支持（例如说，存在乐观锁字段），则降级为 Db.updateBatchById，即逐条 UPDATE
+     *
+     * @param entities 实体们
+     * @param size     每批的数量
+     */
     default void updateBatch(Collection<T> entities, int size) {
-        Db.updateBatchById(entities, size);
+        if (CollUtil.isEmpty(entities)) {
+            return;
+        }
+        Class<?> entityClass = CollUtil.getFirst(entities).getClass();
+        if (!MyBatisUtils.hasStatement(entityClass, UpdateBatchMethod.METHOD)) {
+            Db.updateBatchById(entities, size);
+            return;
+        }
+        boolean withUpdateFill = TableInfoHelper.getTableInfo(entityClass).isWithUpdateFill();
+        for (List<T> list : CollUtil.split(entities, size)) {
+            MyBatisUtils.groupByNonNullProperties(entityClass, list).forEach((properties, group) -> {
+                // 没有需要更新的字段，跳过
+                if (properties.isEmpty() && !withUpdateFill) {
+                    return;
+                }
+                updateBatchValues(group, properties);
+            });
+        }
     }
 
+    /**
+     * 执行一条多行更新的 SQL，由 {@link UpdateBatchMethod} 注入
+     *
+     * 注意，实体们非 null 的字段需要完全相同，否则部分实体为 null 的字段会被更新为 null；
+     * 一般情况下，使用 {@link #updateBatch(Collection, int)} 即可，它会按照非 null 字段分组调用该方法
+     *
+     * @param entities 实体们
+     * @param properties 实体们非 null 的字段属性名，其它字段不更新
+     * @return 更新的数量
+     */
+    int updateBatchValues(@Param(InsertBatchMethod.PARAM_LIST) List<T> entities,
+                          @Param(InsertBatchMethod.PARAM_PROPERTIES) Set<String> properties);
+
 }
@@ -1,10 +1,19 @@
 package cn.iocoder.yudao.framework.mybatis.core.util;
 
+import cn.hutool.core.codec.Base64;
 import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.util.NumberUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.iocoder.yudao.framework.common.exception.enums.GlobalErrorCodeConstants;
 import cn.iocoder.yudao.framework.common.pojo.PageParam;
+import cn.iocoder.yudao.framework.common.pojo.PageResult;
 import cn.iocoder.yudao.framework.common.pojo.SortingField;
 import com.baomidou.mybatisplus.core.metadata.OrderItem;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
@@ -14,9 +23,15 @@ import net.sf.jsqlparser.schema.Table;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import static cn.iocoder.yudao.framework.common.exception.util.ServiceExceptionUtil.exception;
+
 /**
  * MyBatis 工具类
  */
@@ -40,6 +55,135 @@ public class MyBatisUtils {
         return page;
     }
 
+    /**
+     * 构建不查询总数的分页对象
+     *
+     * 会多查询一条记录，用于判断是否有下一页，所以 size 为 pageSize + 1
+     *
+     * @param offset 偏移量
+     * @param pageSize 每页条数
+     * @return 分页对象
+     */
+    @SuppressWarnings("serial")
+    public static <T> Page<T> buildPageWithoutCount(long offset, int pageSize) {
+        return new Page<T>(1, pageSize + 1, false) {
+
+            @Override
+            public long offset() {
+                return offset;
+            }
+
+        };
+    }
+
+    /**
+     * 基于多查询一条的记录，构建分页结果
+     *
+     * @param pageParam 分页参数
+     * @param records 记录，最多 pageSize + 1 条
+     * @param total 总数。为空时，估算为 (pageNo - 1) * pageSize + 本页条数，有下一页时再 + 1
+     * @param cursorField 游标字段。非空时，有下一页时会返回下一页的游标
+     * @return 分页结果
+     */
+    public static <T> PageResult<T> buildPageResultWithoutCount(PageParam pageParam, List<T> records, Long total,
+                                                                SFunction<T, Long> cursorField) {
+        boolean hasNext = records.size() > pageParam.getPageSize();
+        List<T> list = hasNext ? new ArrayList<>(records.subList(0, pageParam.getPageSize())) : records;
+        if (total == null) {
+            total = (long) (pageParam.getPageNo() - 1) * pageParam.getPageSize() + list.size() + (hasNext ? 1 : 0);
+        }
+        PageResult<T> pageResult = new PageResult<>(list, total);
+        if (hasNext && cursorField != null) {
+            pageResult.setNextCursor(encodeCursor(cursorField.apply(list.get(list.size() - 1))));
+        }
+        return pageResult;
+    }
+
+    /**
+     * 编码游标，返回给前端的是不透明的字符串，避免前端依赖游标的格式
+     *
+     * @param value 游标字段的值
+     * @return 游标
+     */
+    public static String encodeCursor(Long value) {
+        return value != null ? Base64.encodeUrlSafe(String.valueOf(value)) : null;
+    }
+
+    /**
+     * 解码游标
+     *
+     * @param cursor 游标
+     * @return 游标字段的值；游标为空时，返回 null
+     */
+    public static Long decodeCursor(String cursor) {
+        if (StrUtil.isEmpty(cursor)) {
+            return null;
+        }
+        String value = Base64.decodeStr(cursor);
+        if (!NumberUtil.isLong(value)) {
+            throw exception(GlobalErrorCodeConstants.BAD_REQUEST);
+        }
+        return Long.valueOf(value);
+    }
+
+    /**
+     * 判断实体对应的 Mapper 是否注入了指定方法
+     *
+     * 例如说，{@link cn.iocoder.yudao.framework.mybatis.core.injector.YudaoSqlInjector} 不会为部分数据库注入批量方法
+     *
+     * @param entityClass 实体类
+     * @param method 方法名
+     * @return 是否注入
+     */
+    public static boolean hasStatement(Class<?> entityClass, String method) {
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(entityClass);
+        return tableInfo != null && tableInfo.getConfiguration()
+                .hasStatement(tableInfo.getCurrentNamespace() + StringPool.DOT + method, false);
+    }
+
+    /**
+     * 获得实体们中，至少一个实体非 null 的字段属性名
+     *
+     * @param entityClass 实体类
+     * @param entities 实体们
+     * @return 属性名的集合
+     */
+    public static Set<String> getNonNullProperties(Class<?> entityClass, Collection<?> entities) {
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(entityClass);
+        Set<String> properties = new HashSet<>();
+        for (TableFieldInfo field : tableInfo.getFieldList()) {
+            for (Object entity : entities) {
+                if (tableInfo.getPropertyValue(entity, field.getProperty()) != null) {
+                    properties.add(field.getProperty());
+                    break;
+                }
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * 按照每个实体非 null 的字段属性名进行分组，同一分组的实体，非 null 的字段完全相同
+     *
+     * @param entityClass 实体类
+     * @param entities 实体们
+     * @return 分组。key：非 null 的字段属性名的集合；value：实体们，保持原有顺序
+     */
+    public static <T> Map<Set<String>, List<T>> groupByNonNullProperties(Class<?> entityClass, Collection<T> entities) {
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(entityClass);
+        Map<Set<String>, List<T>> groups = new LinkedHashMap<>();
+        for (T entity : entities) {
+            Set<String> properties = new HashSet<>();
+            for (TableFieldInfo field : tableInfo.getFieldList()) {
+                if (tableInfo.getPropertyValue(entity, field.getProperty()) != null) {
+                    properties.add(field.getProperty());
+                }
+            }
+            groups.computeIfAbsent(properties, key -> new ArrayList<>()).add(entity);
+        }
+        return groups;
+    }
+
     /**
      * 将拦截器添加到链中
      * 由于 MybatisPlusInterceptor 不支持添加拦截器，所以只能全量设置
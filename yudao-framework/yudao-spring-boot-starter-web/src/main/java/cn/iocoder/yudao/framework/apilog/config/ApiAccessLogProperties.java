@@ -0,0 +1,66 @@
+package cn.iocoder.yudao.framework.apilog.config;
+
+import cn.iocoder.yudao.framework.web.core.buffer.LogBufferProperties;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import org.springframework.util.unit.DataSize;
+
+import javax.validation.Valid;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotNull;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * API 访问日志的配置
+ *
+ * @author 芋道源码
+ */
+@ConfigurationProperties(prefix = "yudao.access-log")
+@Validated
+@Data
+public class ApiAccessLogProperties {
+
+    /**
+     * 是否开启访问日志
+     */
+    private Boolean enable = true;
+
+    /**
+     * 不记录访问日志的 URL，支持 Ant 风格，例如说文件上传、下载等二进制、multipart 的接口
+     */
+    private Set<String> excludeUrls = Collections.emptySet();
+
+    /**
+     * 最多记录的请求内容大小，超过时只记录前缀
+     */
+    @NotNull(message = "最多记录的请求内容大小不能为空")
+    private DataSize bodyMaxSize = DataSize.ofKilobytes(4);
+    /**
+     * 记录请求内容的采样率，范围为 [0, 1]
+     */
+    @NotNull(message = "记录请求内容的采样率不能为空")
+    @DecimalMin(value = "0", message = "记录请求内容的采样率不能小于 0")
+    @DecimalMax(value = "1", message = "记录请求内容的采样率不能大于 1")
+    private Double bodySampleRate = 1.0;
+    /**
+     * 按照 URL 覆盖记录请求内容的采样率，支持 Ant 风格，按照配置顺序匹配
+     *
+     * key：URL
+     * value：采样率，范围为 [0, 1]
+     */
+    private Map<String, Double> bodySampleRates = new LinkedHashMap<>();
+
+    /**
+     * 访问日志的批量写入缓冲区
+     */
+    @NotNull(message = "缓冲区配置不能为空")
+    @Valid
+    private LogBufferProperties buffer = new LogBufferProperties();
+
+}
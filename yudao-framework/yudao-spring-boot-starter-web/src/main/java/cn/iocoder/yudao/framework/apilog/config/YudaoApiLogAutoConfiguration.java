@@ -13,17 +13,20 @@ import cn.iocoder.yudao.module.infra.api.logger.ApiErrorLogApi;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 
 import javax.servlet.Filter;
 
 @AutoConfiguration(after = YudaoWebAutoConfiguration.class)
+@EnableConfigurationProperties(ApiAccessLogProperties.class)
 public class YudaoApiLogAutoConfiguration {
 
     @Bean
-    public ApiAccessLogFrameworkService apiAccessLogFrameworkService(ApiAccessLogApi apiAccessLogApi) {
-        return new ApiAccessLogFrameworkServiceImpl(apiAccessLogApi);
+    public ApiAccessLogFrameworkService apiAccessLogFrameworkService(ApiAccessLogApi apiAccessLogApi,
+                                                                     ApiAccessLogProperties apiAccessLogProperties) {
+        return new ApiAccessLogFrameworkServiceImpl(apiAccessLogApi, apiAccessLogProperties.getBuffer());
     }
 
     @Bean
@@ -38,8 +41,10 @@ public class YudaoApiLogAutoConfiguration {
     @ConditionalOnProperty(prefix = "yudao.access-log", value = "enable", matchIfMissing = true) // 允许使用 yudao.access-log.enable=false 禁用访问日志
     public FilterRegistrationBean<ApiAccessLogFilter> apiAccessLogFilter(WebProperties webProperties,
                                                                          @Value("${spring.application.name}") String applicationName,
-                                                                         ApiAccessLogFrameworkService apiAccessLogFrameworkService) {
-        ApiAccessLogFilter filter = new ApiAccessLogFilter(webProperties, applicationName, apiAccessLogFrameworkService);
+                                                                         ApiAccessLogFrameworkService apiAccessLogFrameworkService,
+                                                                         ApiAccessLogProperties apiAccessLogProperties) {
+        ApiAccessLogFilter filter = new ApiAccessLogFilter(webProperties, applicationName,
+                apiAccessLogFrameworkService, apiAccessLogProperties);
         return createFilterBean(filter, WebFilterOrderEnum.API_ACCESS_LOG_FILTER);
     }
 
@@ -4,6 +4,7 @@ import cn.hutool.core.date.LocalDateTimeUtil;
 import cn.hutool.core.exceptions.ExceptionUtil;
 import cn.hutool.core.map.MapUtil;
 import cn.hutool.extra.servlet.ServletUtil;
+import cn.iocoder.yudao.framework.apilog.config.ApiAccessLogProperties;
 import cn.iocoder.yudao.framework.apilog.core.service.ApiAccessLog;
 import cn.iocoder.yudao.framework.apilog.core.service.ApiAccessLogFrameworkService;
 import cn.iocoder.yudao.framework.common.exception.enums.GlobalErrorCodeConstants;
@@ -14,6 +15,7 @@ import cn.iocoder.yudao.framework.web.config.WebProperties;
 import cn.iocoder.yudao.framework.web.core.filter.ApiRequestFilter;
 import cn.iocoder.yudao.framework.web.core.util.WebFrameworkUtils;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.AntPathMatcher;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -23,12 +25,16 @@ import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static cn.iocoder.yudao.framework.common.util.json.JsonUtils.toJsonString;
 
 /**
  * API 访问日志 Filter
  *
+ * 请求内容不提前读取，而是通过 {@link ApiAccessLogRequestWrapper} 在 Controller 读取时同步记录，
+ * 并且支持按照 URL 采样、限制记录的大小、排除指定 URL，避免大请求（例如说批量导入）占用过多内存。
+ *
  * @author 芋道源码
  */
 @Slf4j
@@ -38,10 +44,27 @@ public class ApiAccessLogFilter extends ApiRequestFilter {
 
     private final ApiAccessLogFrameworkService apiAccessLogFrameworkService;
 
-    public ApiAccessLogFilter(WebProperties webProperties, String applicationName, ApiAccessLogFrameworkService apiAccessLogFrameworkService) {
+    private final ApiAccessLogProperties apiAccessLogProperties;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public ApiAccessLogFilter(WebProperties webProperties, String applicationName,
+                              ApiAccessLogFrameworkService apiAccessLogFrameworkService,
+                              ApiAccessLogProperties apiAccessLogProperties) {
         super(webProperties);
         this.applicationName = applicationName;
         this.apiAccessLogFrameworkService = apiAccessLogFrameworkService;
+        this.apiAccessLogProperties = apiAccessLogProperties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (super.shouldNotFilter(request)) {
+            return true;
+        }
+        // 排除的 URL，例如说文件上传、下载等接口
+        String uri = request.getRequestURI();
+        return apiAccessLogProperties.getExcludeUrls().stream().anyMatch(url -> pathMatcher.match(url, uri));
     }
 
     @Override
@@ -51,25 +74,45 @@ public class ApiAccessLogFilter extends ApiRequestFilter {
         LocalDateTime beginTime = LocalDateTime.now();
         // 提前获得参数，避免 XssFilter 过滤处理
         Map<String, String> queryString = ServletUtil.getParamMap(request);
-        String requestBody = ServletUtils.isJsonRequest(request) ? ServletUtil.getBody(request) : null;
+        // 采样命中时，包装请求，在 Controller 读取请求内容时同步记录。由于在 XssFilter 之前包装，记录的是原始内容
+        ApiAccessLogRequestWrapper requestWrapper = null;
+        if (ServletUtils.isJsonRequest(request) && isBodySampled(request)) {
+            requestWrapper = new ApiAccessLogRequestWrapper(request,
+                    (int) apiAccessLogProperties.getBodyMaxSize().toBytes());
+            request = requestWrapper;
+        }
 
         try {
             // 继续过滤器
             filterChain.doFilter(request, response);
             // 正常执行，记录日志
-            createApiAccessLog(request, beginTime, queryString, requestBody, null);
+            createApiAccessLog(request, beginTime, queryString, requestWrapper, null);
         } catch (Exception ex) {
             // 异常执行，记录日志
-            createApiAccessLog(request, beginTime, queryString, requestBody, ex);
+            createApiAccessLog(request, beginTime, queryString, requestWrapper, ex);
             throw ex;
         }
     }
 
-    private void createApiAccessLog(HttpServletRequest request, LocalDateTime beginTime,
-                                    Map<String, String> queryString, String requestBody, Exception ex) {
+    /**
+     * 判断是否记录请求内容
+     *
+     * 优先使用 URL 匹配的采样率，否则使用默认的采样率
+     */
+    private boolean isBodySampled(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        double sampleRate = apiAccessLogProperties.getBodySampleRates().entrySet().stream()
+                .filter(entry -> pathMatcher.match(entry.getKey(), uri))
+                .map(Map.Entry::getValue).findFirst()
+                .orElse(apiAccessLogProperties.getBodySampleRate());
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private void createApiAccessLog(HttpServletRequest request, LocalDateTime beginTime, Map<String, String> queryString,
+                                    ApiAccessLogRequestWrapper requestWrapper, Exception ex) {
         ApiAccessLog accessLog = new ApiAccessLog();
         try {
-            this.buildApiAccessLogDTO(accessLog, request, beginTime, queryString, requestBody, ex);
+            this.buildApiAccessLogDTO(accessLog, request, beginTime, queryString, requestWrapper, ex);
             apiAccessLogFrameworkService.createApiAccessLog(accessLog);
         } catch (Throwable th) {
             log.error("[createApiAccessLog][url({}) log({}) 发生异常]", request.getRequestURI(), toJsonString(accessLog), th);
@@ -77,8 +120,10 @@ public class ApiAccessLogFilter extends ApiRequestFilter {
     }
 
     private void buildApiAccessLogDTO(ApiAccessLog accessLog, HttpServletRequest request, LocalDateTime beginTime,
-                                      Map<String, String> queryString, String requestBody, Exception ex) {
+                                      Map<String, String> queryString, ApiAccessLogRequestWrapper requestWrapper,
+                                      Exception ex) {
         // 处理用户信息
+        accessLog.setTenantId(WebFrameworkUtils.getTenantId(request));
         accessLog.setUserId(WebFrameworkUtils.getLoginUserId(request));
         accessLog.setUserType(WebFrameworkUtils.getLoginUserType(request));
         // 设置访问结果
@@ -97,7 +142,11 @@ public class ApiAccessLogFilter extends ApiRequestFilter {
         accessLog.setTraceId(TracerUtils.getTraceId());
         accessLog.setApplicationName(applicationName);
         accessLog.setRequestUrl(request.getRequestURI());
-        Map<String, Object> requestParams = MapUtil.<String, Object>builder().put("query", queryString).put("body", requestBody).build();
+        Map<String, Object> requestParams = MapUtil.<String, Object>builder().put("query", queryString)
+                .put("body", requestWrapper != null ? requestWrapper.getBody() : null).build();
+        if (requestWrapper != null && requestWrapper.isTruncated()) {
+            requestParams.put("bodyTruncated", true);
+        }
         accessLog.setRequestParams(toJsonString(requestParams));
         accessLog.setRequestMethod(request.getMethod());
         accessLog.setUserAgent(ServletUtils.getUserAgent(request));
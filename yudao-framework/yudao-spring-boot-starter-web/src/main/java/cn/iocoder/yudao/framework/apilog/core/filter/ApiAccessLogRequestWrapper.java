@@ -0,0 +1,160 @@
+package cn.iocoder.yudao.framework.apilog.core.filter;
+
+import cn.hutool.core.util.CharsetUtil;
+import cn.hutool.core.util.StrUtil;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+
+/**
+ * API 访问日志的 Request Wrapper，边读边记录请求内容
+ *
+ * 相比 {@link cn.iocoder.yudao.framework.web.core.filter.CacheRequestBodyWrapper} 提前读取整个请求内容，
+ * 这里在 Controller 读取请求内容时，同步记录最多 maxBodySize 个字节，不会额外缓存整个请求内容。
+ *
+ * @author 芋道源码
+ */
+public class ApiAccessLogRequestWrapper extends HttpServletRequestWrapper {
+
+    /**
+     * 最多记录的字节数
+     */
+    private final int maxBodySize;
+    /**
+     * 记录的请求内容
+     */
+    private final ByteArrayOutputStream captured;
+    /**
+     * 请求内容是否超过 maxBodySize，被截断
+     */
+    private boolean truncated;
+
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    public ApiAccessLogRequestWrapper(HttpServletRequest request, int maxBodySize) {
+        super(request);
+        this.maxBodySize = maxBodySize;
+        this.captured = new ByteArrayOutputStream(Math.min(Math.max(request.getContentLength(), 32), maxBodySize));
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new TeeServletInputStream(super.getInputStream());
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), getBodyCharset()));
+        }
+        return reader;
+    }
+
+    /**
+     * 获得已经读取的请求内容
+     *
+     * @return 请求内容；未读取时，返回 null
+     */
+    public String getBody() {
+        if (inputStream == null) {
+            return null;
+        }
+        return new String(captured.toByteArray(), getBodyCharset());
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    private Charset getBodyCharset() {
+        String encoding = getCharacterEncoding();
+        return StrUtil.isNotEmpty(encoding) ? CharsetUtil.charset(encoding) : CharsetUtil.CHARSET_UTF_8;
+    }
+
+    private void capture(byte[] bytes, int offset, int length) {
+        int remaining = maxBodySize - captured.size();
+        if (length > remaining) {
+            truncated = true;
+            length = remaining;
+        }
+        if (length > 0) {
+            captured.write(bytes, offset, length);
+        }
+    }
+
+    private void capture(int b) {
+        if (captured.size() < maxBodySize) {
+            captured.write(b);
+        } else {
+            truncated = true;
+        }
+    }
+
+    /**
+     * 读取时，同步记录内容的 ServletInputStream
+     */
+    private class TeeServletInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+
+        private TeeServletInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b != -1) {
+                capture(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = delegate.read(b, off, len);
+            if (count > 0) {
+                capture(b, off, count);
+            }
+            return count;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return delegate.available();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+    }
+
+}
@@ -17,6 +17,12 @@ public class ApiAccessLog {
      * 链路追踪编号
      */
     private String traceId;
+    /**
+     * 租户编号
+     *
+     * 日志由后台线程批量写入，无法使用请求的租户上下文，所以需要记录
+     */
+    private Long tenantId;
     /**
      * 用户编号
      */
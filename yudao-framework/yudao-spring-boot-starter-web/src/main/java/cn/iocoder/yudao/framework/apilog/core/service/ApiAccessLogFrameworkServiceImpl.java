@@ -1,28 +1,49 @@
 package cn.iocoder.yudao.framework.apilog.core.service;
 
 import cn.hutool.core.bean.BeanUtil;
+import cn.iocoder.yudao.framework.common.util.collection.CollectionUtils;
+import cn.iocoder.yudao.framework.web.core.buffer.LogBatchBuffer;
+import cn.iocoder.yudao.framework.web.core.buffer.LogBufferProperties;
 import cn.iocoder.yudao.module.infra.api.logger.ApiAccessLogApi;
 import cn.iocoder.yudao.module.infra.api.logger.dto.ApiAccessLogCreateReqDTO;
-import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.List;
 
 /**
  * API 访问日志 Framework Service 实现类
  *
  * 基于 {@link ApiAccessLogApi} 服务，记录访问日志
+ * 日志先写入 {@link LogBatchBuffer} 缓冲区，再由后台线程批量写入
  *
  * @author 芋道源码
  */
-@RequiredArgsConstructor
-public class ApiAccessLogFrameworkServiceImpl implements ApiAccessLogFrameworkService {
+public class ApiAccessLogFrameworkServiceImpl implements ApiAccessLogFrameworkService, DisposableBean {
 
     private final ApiAccessLogApi apiAccessLogApi;
 
+    private final LogBatchBuffer<ApiAccessLog> buffer;
+
+    public ApiAccessLogFrameworkServiceImpl(ApiAccessLogApi apiAccessLogApi, LogBufferProperties bufferProperties) {
+        this.apiAccessLogApi = apiAccessLogApi;
+        this.buffer = new LogBatchBuffer<>("api-access-log", bufferProperties, this::createApiAccessLogList);
+        this.buffer.start();
+    }
+
     @Override
-    @Async
     public void createApiAccessLog(ApiAccessLog apiAccessLog) {
-        ApiAccessLogCreateReqDTO reqDTO = BeanUtil.copyProperties(apiAccessLog, ApiAccessLogCreateReqDTO.class);
-        apiAccessLogApi.createApiAccessLog(reqDTO);
+        buffer.offer(apiAccessLog);
+    }
+
+    private void createApiAccessLogList(List<ApiAccessLog> apiAccessLogs) {
+        List<ApiAccessLogCreateReqDTO> reqDTOs = CollectionUtils.convertList(apiAccessLogs,
+                apiAccessLog -> BeanUtil.copyProperties(apiAccessLog, ApiAccessLogCreateReqDTO.class));
+        apiAccessLogApi.createApiAccessLogList(reqDTOs);
+    }
+
+    @Override
+    public void destroy() {
+        buffer.stop();
     }
 
 }
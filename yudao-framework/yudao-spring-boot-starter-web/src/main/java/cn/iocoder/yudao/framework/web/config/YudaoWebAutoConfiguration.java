@@ -92,8 +92,11 @@ public class YudaoWebAutoConfiguration implements WebMvcConfigurer {
 
     /**
      * 创建 RequestBodyCacheFilter Bean，可重复读取请求内容
+     *
+     * 会额外缓存整个请求内容，默认关闭。API 访问日志已经改为读取时同步记录，不再依赖它
      */
     @Bean
+    @ConditionalOnProperty(prefix = "yudao.web", value = "cache-request-body", havingValue = "true")
     public FilterRegistrationBean<CacheRequestBodyFilter> requestBodyCacheFilter() {
         return createFilterBean(new CacheRequestBodyFilter(), WebFilterOrderEnum.REQUEST_BODY_CACHE_FILTER);
     }
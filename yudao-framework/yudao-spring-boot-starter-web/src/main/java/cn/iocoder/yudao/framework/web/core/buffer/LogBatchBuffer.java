@@ -0,0 +1,195 @@
+package cn.iocoder.yudao.framework.web.core.buffer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 日志的批量写入缓冲区
+ *
+ * 请求线程只需要将日志写入 {@link LogRingBuffer} 无锁缓冲区，由后台线程按照数量或时间批量写入，
+ * 避免每条日志占用一个异步线程、一次数据库连接。缓冲区积压时，按照 {@link LogBufferProperties.OverflowPolicy} 丢弃、采样或同步写入。
+ *
+ * 提供如下监控指标，tag 为 name：
+ * 1. yudao.log.buffer.size：缓冲区积压数量
+ * 2. yudao.log.buffer.flush：批量写入的耗时，额外 tag 为 mode，包括 batch 后台批量写入、sync 缓冲区满时同步写入
+ * 3. yudao.log.buffer.dropped：丢弃的日志数量，额外 tag 为 reason，包括 full 缓冲区满、sample 采样、error 写入失败
+ *
+ * @param <T> 日志类型
+ * @author 芋道源码
+ */
+@Slf4j
+public class LogBatchBuffer<T> {
+
+    private final String name;
+    private final LogBufferProperties properties;
+    /**
+     * 批量写入的逻辑
+     */
+    private final Consumer<List<T>> flusher;
+
+    private final LogRingBuffer<T> ringBuffer;
+    private final Thread thread;
+    private volatile boolean running;
+
+    private final Timer flushTimer;
+    private final Timer syncFlushTimer;
+    private final Counter fullDroppedCounter;
+    private final Counter sampleDroppedCounter;
+    private final Counter errorDroppedCounter;
+
+    public LogBatchBuffer(String name, LogBufferProperties properties, Consumer<List<T>> flusher) {
+        this.name = name;
+        this.properties = properties;
+        this.flusher = flusher;
+        this.ringBuffer = new LogRingBuffer<>(properties.getCapacity());
+        this.thread = new Thread(this::run, "log-buffer-" + name);
+        this.thread.setDaemon(true);
+        // 监控指标
+        Gauge.builder("yudao.log.buffer.size", ringBuffer, LogRingBuffer::size).tag("name", name)
+                .register(Metrics.globalRegistry);
+        this.flushTimer = buildFlushTimer(name, "batch");
+        this.syncFlushTimer = buildFlushTimer(name, "sync");
+        this.fullDroppedCounter = buildDroppedCounter(name, "full");
+        this.sampleDroppedCounter = buildDroppedCounter(name, "sample");
+        this.errorDroppedCounter = buildDroppedCounter(name, "error");
+    }
+
+    private static Timer buildFlushTimer(String name, String mode) {
+        return Timer.builder("yudao.log.buffer.flush").tag("name", name).tag("mode", mode)
+                .register(Metrics.globalRegistry);
+    }
+
+    private static Counter buildDroppedCounter(String name, String reason) {
+        return Counter.builder("yudao.log.buffer.dropped").tag("name", name).tag("reason", reason)
+                .register(Metrics.globalRegistry);
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * 停止，并写入缓冲区中剩余的日志
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(properties.getFlushInterval().toMillis() * 5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 添加日志。除 {@link LogBufferProperties.OverflowPolicy#SYNC} 缓冲区满时同步写入外，不会阻塞
+     *
+     * @param element 日志
+     * @return 是否添加成功。缓冲区积压时，可能会被丢弃
+     */
+    public boolean offer(T element) {
+        // 采样：缓冲区使用率超过阈值时，只保留部分日志
+        if (properties.getOverflowPolicy() == LogBufferProperties.OverflowPolicy.SAMPLE
+                && ringBuffer.size() >= ringBuffer.capacity() * properties.getSampleThreshold()
+                && ThreadLocalRandom.current().nextInt(properties.getSampleRate()) != 0) {
+            sampleDroppedCounter.increment();
+            return false;
+        }
+        // 写入缓冲区
+        if (!ringBuffer.offer(element)) {
+            // 同步写入：缓冲区满时，由调用线程直接写入
+            if (properties.getOverflowPolicy() == LogBufferProperties.OverflowPolicy.SYNC) {
+                return flush(Collections.singletonList(element), syncFlushTimer);
+            }
+            fullDroppedCounter.increment();
+            return false;
+        }
+        // 达到批量大小时，唤醒后台线程立即写入
+        if (ringBuffer.size() >= properties.getBatchSize()) {
+            LockSupport.unpark(thread);
+        }
+        return true;
+    }
+
+    private void run() {
+        int batchSize = properties.getBatchSize();
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        List<T> batch = new ArrayList<>(batchSize);
+        long firstElementTime = 0;
+        while (running || !ringBuffer.isEmpty()) {
+            // 1. 从缓冲区拉取日志
+            T element;
+            while (batch.size() < batchSize && (element = ringBuffer.poll()) != null) {
+                if (batch.isEmpty()) {
+                    firstElementTime = System.nanoTime();
+                }
+                batch.add(element);
+            }
+
+            // 2. 达到批量大小、或者超过写入间隔、或者停止时，进行写入
+            long waitNanos = batch.isEmpty() ? flushIntervalNanos
+                    : flushIntervalNanos - (System.nanoTime() - firstElementTime);
+            if (batch.size() >= batchSize || (!batch.isEmpty() && (waitNanos <= 0 || !running))) {
+                flush(batch, flushTimer);
+                batch = new ArrayList<>(batchSize);
+                continue;
+            }
+
+            // 3. 等待新的日志
+            if (running) {
+                LockSupport.parkNanos(this, waitNanos);
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch, flushTimer);
+        }
+    }
+
+    /**
+     * 写入日志
+     *
+     * @return 是否全部写入成功
+     */
+    private boolean flush(List<T> batch, Timer timer) {
+        long startTime = System.nanoTime();
+        try {
+            flusher.accept(batch);
+            return true;
+        } catch (Throwable ex) {
+            // 批量写入失败时，逐条写入，避免一条异常的日志导致整批丢失
+            log.error("[flush][{} 批量写入 {} 条日志失败，逐条重试]", name, batch.size(), ex);
+            boolean success = true;
+            for (T element : batch) {
+                try {
+                    flusher.accept(Collections.singletonList(element));
+                } catch (Throwable ex2) {
+                    success = false;
+                    errorDroppedCounter.increment();
+                    log.error("[flush][{} 写入日志({}) 失败]", name, element, ex2);
+                }
+            }
+            return success;
+        } finally {
+            timer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+}
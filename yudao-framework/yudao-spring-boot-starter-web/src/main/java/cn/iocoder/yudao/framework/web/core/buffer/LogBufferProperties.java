@@ -0,0 +1,68 @@
+package cn.iocoder.yudao.framework.web.core.buffer;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+
+/**
+ * 日志缓冲区的配置，参见 {@link LogBatchBuffer}
+ *
+ * @author 芋道源码
+ */
+@Data
+public class LogBufferProperties {
+
+    /**
+     * 缓冲区容量，会向上取整为 2 的幂
+     */
+    @NotNull(message = "缓冲区容量不能为空")
+    private Integer capacity = 8192;
+    /**
+     * 每批写入的最大数量，达到时立即写入
+     */
+    @NotNull(message = "每批写入的最大数量不能为空")
+    private Integer batchSize = 200;
+    /**
+     * 写入的最大间隔，即日志最多在缓冲区中停留的时间
+     */
+    @NotNull(message = "写入的最大间隔不能为空")
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * 缓冲区积压时的处理策略
+     *
+     * 访问日志默认 {@link OverflowPolicy#DISCARD}；操作日志属于审计记录，默认 {@link OverflowPolicy#SYNC}
+     */
+    @NotNull(message = "缓冲区积压时的处理策略不能为空")
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DISCARD;
+    /**
+     * 开始采样的缓冲区使用率，仅 {@link OverflowPolicy#SAMPLE} 时有效
+     */
+    private Double sampleThreshold = 0.8;
+    /**
+     * 采样率，即每 sampleRate 条日志保留 1 条，仅 {@link OverflowPolicy#SAMPLE} 时有效
+     */
+    private Integer sampleRate = 10;
+
+    /**
+     * 缓冲区积压时的处理策略
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * 缓冲区满时，丢弃新的日志
+         */
+        DISCARD,
+        /**
+         * 缓冲区使用率超过 sampleThreshold 时，按照 sampleRate 采样；缓冲区满时，丢弃新的日志
+         */
+        SAMPLE,
+        /**
+         * 缓冲区满时，在调用线程同步写入，不丢弃日志
+         */
+        SYNC
+
+    }
+
+}
@@ -0,0 +1,109 @@
+package cn.iocoder.yudao.framework.web.core.buffer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界、无锁的环形缓冲区，支持多个生产者、单个消费者
+ *
+ * 基于 Dmitry Vyukov 的 bounded MPMC queue 实现：每个槽位记录一个序号，
+ * 生产者通过 CAS 抢占写入位置，消费者通过序号判断槽位是否已经写入，全程没有锁。
+ *
+ * @param <T> 元素类型
+ * @author 芋道源码
+ */
+public class LogRingBuffer<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> elements;
+    /**
+     * 每个槽位的序号
+     *
+     * 1. 等于写入位置时，表示槽位空闲，可以写入
+     * 2. 等于写入位置 + 1 时，表示槽位已写入，可以读取
+     */
+    private final AtomicLongArray sequences;
+    /**
+     * 下一个写入位置
+     */
+    private final AtomicLong writePosition = new AtomicLong();
+    /**
+     * 下一个读取位置，只有消费者线程修改
+     */
+    private volatile long readPosition;
+
+    /**
+     * @param capacity 容量，会向上取整为 2 的幂
+     */
+    public LogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 写入元素，可多线程调用
+     *
+     * @param element 元素
+     * @return 是否写入成功。缓冲区已满时，返回 false
+     */
+    public boolean offer(T element) {
+        long position = writePosition.get();
+        while (true) {
+            int index = (int) position & mask;
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                // 槽位空闲，抢占写入位置
+                if (writePosition.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = writePosition.get();
+            } else if (diff < 0) {
+                // 槽位还未被消费，说明缓冲区已满
+                return false;
+            } else {
+                // 被其它生产者抢占，重新获取写入位置
+                position = writePosition.get();
+            }
+        }
+    }
+
+    /**
+     * 读取元素，只能由单个消费者线程调用
+     *
+     * @return 元素；缓冲区为空时，返回 null
+     */
+    public T poll() {
+        long position = readPosition;
+        int index = (int) position & mask;
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        T element = elements.get(index);
+        elements.lazySet(index, null);
+        // 槽位可以被下一轮写入
+        sequences.lazySet(index, position + mask + 1);
+        readPosition = position + 1;
+        return element;
+    }
+
+    public int size() {
+        return (int) Math.max(0, writePosition.get() - readPosition);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+}
@@ -3,6 +3,7 @@ package cn.iocoder.yudao.framework.web.core.handler;
 import cn.hutool.core.exceptions.ExceptionUtil;
 import cn.hutool.core.map.MapUtil;
 import cn.hutool.extra.servlet.ServletUtil;
+import cn.iocoder.yudao.framework.apilog.core.filter.ApiAccessLogRequestWrapper;
 import cn.iocoder.yudao.framework.apilog.core.service.ApiErrorLog;
 import cn.iocoder.yudao.framework.apilog.core.service.ApiErrorLogFrameworkService;
 import cn.iocoder.yudao.framework.common.exception.ServiceException;
@@ -10,6 +11,7 @@ import cn.iocoder.yudao.framework.common.pojo.CommonResult;
 import cn.iocoder.yudao.framework.common.util.json.JsonUtils;
 import cn.iocoder.yudao.framework.common.util.monitor.TracerUtils;
 import cn.iocoder.yudao.framework.common.util.servlet.ServletUtils;
+import cn.iocoder.yudao.framework.web.core.filter.CacheRequestBodyWrapper;
 import cn.iocoder.yudao.framework.web.core.util.WebFrameworkUtils;
 import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 import lombok.AllArgsConstructor;
@@ -26,6 +28,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.NoHandlerFoundException;
+import org.springframework.web.util.WebUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.ConstraintViolation;
@@ -262,7 +265,7 @@ public class GlobalExceptionHandler {
         errorLog.setRequestUrl(request.getRequestURI());
         Map<String, Object> requestParams = MapUtil.<String, Object>builder()
                 .put("query", ServletUtil.getParamMap(request))
-                .put("body", ServletUtil.getBody(request)).build();
+                .put("body", getRequestBody(request)).build();
         errorLog.setRequestParams(JsonUtils.toJsonString(requestParams));
         errorLog.setRequestMethod(request.getMethod());
         errorLog.setUserAgent(ServletUtils.getUserAgent(request));
@@ -270,4 +273,24 @@ public class GlobalExceptionHandler {
         errorLog.setExceptionTime(LocalDateTime.now());
     }
 
+    /**
+     * 获得请求内容。此时 Controller 可能已经读取过请求内容，无法再次读取，所以只从可重复读取的 Wrapper 中获取
+     *
+     * @param request 请求
+     * @return 请求内容；无法获取时，返回 null
+     */
+    private static String getRequestBody(HttpServletRequest request) {
+        // 情况一：ApiAccessLogFilter 包装的请求，使用读取时同步记录的请求内容
+        ApiAccessLogRequestWrapper accessLogRequest = WebUtils.getNativeRequest(request, ApiAccessLogRequestWrapper.class);
+        if (accessLogRequest != null) {
+            return accessLogRequest.getBody();
+        }
+        // 情况二：CacheRequestBodyFilter 缓存的请求，可以重复读取
+        if (WebUtils.getNativeRequest(request, CacheRequestBodyWrapper.class) != null) {
+            return ServletUtil.getBody(request);
+        }
+        // 情况三：未包装的请求，跳过请求内容。否则 getInputStream 后再 getReader 会抛出 IllegalStateException
+        return null;
+    }
+
 }
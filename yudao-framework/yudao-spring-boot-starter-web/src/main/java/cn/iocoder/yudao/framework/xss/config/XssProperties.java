@@ -1,9 +1,11 @@
 package cn.iocoder.yudao.framework.xss.config;
 
+import cn.iocoder.yudao.framework.xss.core.clean.JsoupXssCleaner;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import javax.validation.constraints.Min;
 import java.util.Collections;
 import java.util.List;
 
@@ -25,5 +27,15 @@ public class XssProperties {
      * 需要排除的 URL，默认为空
      */
     private List<String> excludeUrls = Collections.emptyList();
+    /**
+     * 缓存的清理结果数量，为 0 时不缓存
+     */
+    @Min(0)
+    private int cacheSize = JsoupXssCleaner.DEFAULT_CACHE_SIZE;
+    /**
+     * 缓存的文本最大长度，超过的不缓存
+     */
+    @Min(0)
+    private int cacheMaxLength = JsoupXssCleaner.DEFAULT_CACHE_MAX_LENGTH;
 
 }
@@ -30,8 +30,8 @@ public class YudaoXssAutoConfiguration implements WebMvcConfigurer {
      */
     @Bean
     @ConditionalOnMissingBean(XssCleaner.class)
-    public XssCleaner xssCleaner() {
-        return new JsoupXssCleaner();
+    public XssCleaner xssCleaner(XssProperties properties) {
+        return new JsoupXssCleaner(properties.getCacheSize(), properties.getCacheMaxLength());
     }
 
     /**
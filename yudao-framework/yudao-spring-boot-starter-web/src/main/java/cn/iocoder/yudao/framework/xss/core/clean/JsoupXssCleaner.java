@@ -1,14 +1,29 @@
 package cn.iocoder.yudao.framework.xss.core.clean;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.safety.Safelist;
 
 /**
  * 基于 JSONP 实现 XSS 过滤字符串
+ *
+ * 绝大多数参数（例如说，手机号、编号）不包含 HTML 标记，Jsoup 解析再输出后与原文完全一致，因此：
+ * 1. 先进行字符预扫描，不包含 {@link #isUnsafeChar(char)} 的字符时，直接返回原文，跳过 Jsoup
+ * 2. 需要 Jsoup 清理的较短文本，缓存清理结果，避免重复的值（例如说，相同的请求头）反复解析
  */
 public class JsoupXssCleaner implements XssCleaner {
 
+    /**
+     * 默认缓存的清理结果数量
+     */
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+    /**
+     * 默认缓存的文本最大长度，超过的不缓存，避免富文本等大文本占用内存
+     */
+    public static final int DEFAULT_CACHE_MAX_LENGTH = 1024;
+
     private final Safelist safelist;
 
     /**
@@ -16,12 +31,36 @@ public class JsoupXssCleaner implements XssCleaner {
      */
     private final String baseUri;
 
+    /**
+     * 清理结果的缓存
+     *
+     * key：原文
+     * value：清理后的文本
+     */
+    private final Cache<String, String> cache;
+    /**
+     * 缓存的文本最大长度
+     */
+    private final int cacheMaxLength;
+
     /**
      * 无参构造，默认使用 {@link JsoupXssCleaner#buildSafelist} 方法构建一个安全列表
      */
     public JsoupXssCleaner() {
+        this(DEFAULT_CACHE_SIZE, DEFAULT_CACHE_MAX_LENGTH);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param cacheSize 缓存的清理结果数量，为 0 时不缓存
+     * @param cacheMaxLength 缓存的文本最大长度
+     */
+    public JsoupXssCleaner(int cacheSize, int cacheMaxLength) {
         this.safelist = buildSafelist();
         this.baseUri = "";
+        this.cache = CacheBuilder.newBuilder().maximumSize(cacheSize).build();
+        this.cacheMaxLength = cacheMaxLength;
     }
 
     /**
@@ -57,8 +96,50 @@ public class JsoupXssCleaner implements XssCleaner {
 
     @Override
     public String clean(String html) {
+        // 预扫描：不包含需要处理的字符，Jsoup 清理后与原文一致，直接返回
+        if (!containsUnsafeChar(html)) {
+            return html;
+        }
+        // 较短的文本，读取缓存
+        if (html.length() > cacheMaxLength) {
+            return doClean(html);
+        }
+        String result = cache.getIfPresent(html);
+        if (result == null) {
+            result = doClean(html);
+            cache.put(html, result);
+        }
+        return result;
+    }
+
+    private String doClean(String html) {
         return Jsoup.clean(html, baseUri, safelist, new Document.OutputSettings().prettyPrint(false));
     }
 
+    private static boolean containsUnsafeChar(String text) {
+        for (int i = 0, length = text.length(); i < length; i++) {
+            if (isUnsafeChar(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 判断字符是否会被 Jsoup 清理或转义：
+     * 1. 标签、实体相关的 {@code < > &}
+     * 2. 不换行空格 U+00A0
+     * 3. 除 \t \r \n 以外的控制字符
+     *
+     * @param c 字符
+     * @return 是否
+     */
+    private static boolean isUnsafeChar(char c) {
+        if (c < ' ') {
+            return c != '\t' && c != '\r' && c != '\n';
+        }
+        return c == '<' || c == '>' || c == '&' || c == '\u00A0';
+    }
+
 }
 
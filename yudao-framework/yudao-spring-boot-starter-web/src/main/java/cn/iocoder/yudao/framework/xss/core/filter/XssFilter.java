@@ -2,7 +2,6 @@ package cn.iocoder.yudao.framework.xss.core.filter;
 
 import cn.iocoder.yudao.framework.xss.config.XssProperties;
 import cn.iocoder.yudao.framework.xss.core.clean.XssCleaner;
-import lombok.AllArgsConstructor;
 import org.springframework.util.PathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -11,15 +10,23 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Xss 过滤器
  *
  * @author 芋道源码
  */
-@AllArgsConstructor
 public class XssFilter extends OncePerRequestFilter {
 
+    /**
+     * 前缀匹配的后缀，例如说 /admin-api/infra/file/**
+     */
+    private static final String PREFIX_PATTERN_SUFFIX = "/**";
+
     /**
      * 属性
      */
@@ -31,6 +38,38 @@ public class XssFilter extends OncePerRequestFilter {
 
     private final XssCleaner xssCleaner;
 
+    /**
+     * 预编译的排除 URL，按照匹配代价分为三类，避免每个请求都使用 pathMatcher 匹配所有 URL：
+     * 1. excludeExactUrls：不包含通配符的 URL，精确匹配
+     * 2. excludePrefixUrls：以 /** 结尾、且前缀不包含通配符的 URL，前缀匹配
+     * 3. excludePatternUrls：其它 URL，使用 pathMatcher 匹配
+     *
+     * 其中 1、2 两类，URL 会先合并连续的 /，与 pathMatcher 忽略空路径段的行为保持一致，例如说 /a//b 匹配 /a/b
+     */
+    private final Set<String> excludeExactUrls = new HashSet<>();
+    private final List<String> excludePrefixUrls = new ArrayList<>();
+    private final List<String> excludePatternUrls = new ArrayList<>();
+
+    public XssFilter(XssProperties properties, PathMatcher pathMatcher, XssCleaner xssCleaner) {
+        this.properties = properties;
+        this.pathMatcher = pathMatcher;
+        this.xssCleaner = xssCleaner;
+        for (String excludeUrl : properties.getExcludeUrls()) {
+            if (!pathMatcher.isPattern(excludeUrl)) {
+                excludeExactUrls.add(normalizeUrl(excludeUrl));
+                continue;
+            }
+            if (excludeUrl.endsWith(PREFIX_PATTERN_SUFFIX)) {
+                String prefix = excludeUrl.substring(0, excludeUrl.length() - PREFIX_PATTERN_SUFFIX.length());
+                if (!pathMatcher.isPattern(prefix)) {
+                    excludePrefixUrls.add(normalizeUrl(prefix));
+                    continue;
+                }
+            }
+            excludePatternUrls.add(excludeUrl);
+        }
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws IOException, ServletException {
@@ -46,7 +85,47 @@ public class XssFilter extends OncePerRequestFilter {
 
         // 如果匹配到无需过滤，则不过滤
         String uri = request.getRequestURI();
-        return properties.getExcludeUrls().stream().anyMatch(excludeUrl -> pathMatcher.match(excludeUrl, uri));
+        return isExcludeUrl(uri);
+    }
+
+    private boolean isExcludeUrl(String uri) {
+        String normalizedUri = normalizeUrl(uri);
+        if (excludeExactUrls.contains(normalizedUri)) {
+            return true;
+        }
+        for (String prefix : excludePrefixUrls) {
+            // 与 pathMatcher 一致，/a/** 同时匹配 /a 和 /a/ 开头的 URL
+            if (normalizedUri.startsWith(prefix) && (normalizedUri.length() == prefix.length()
+                    || normalizedUri.charAt(prefix.length()) == '/')) {
+                return true;
+            }
+        }
+        for (String excludeUrl : excludePatternUrls) {
+            if (pathMatcher.match(excludeUrl, uri)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 合并 URL 中连续的 /
+     *
+     * @param url URL
+     * @return 合并后的 URL；不包含连续的 / 时，返回原 URL
+     */
+    private static String normalizeUrl(String url) {
+        if (!url.contains("//")) {
+            return url;
+        }
+        StringBuilder builder = new StringBuilder(url.length());
+        for (int i = 0; i < url.length(); i++) {
+            char c = url.charAt(i);
+            if (c != '/' || builder.length() == 0 || builder.charAt(builder.length() - 1) != '/') {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
     }
 
 }
@@ -0,0 +1,117 @@
+package cn.iocoder.yudao.framework.xss.core.filter;
+
+import cn.iocoder.yudao.framework.xss.config.XssProperties;
+import cn.iocoder.yudao.framework.xss.core.clean.JsoupXssCleaner;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.safety.Safelist;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link XssFilter}、{@link JsoupXssCleaner} 的基准测试，基于典型的请求参数和 URL：
+ *
+ * 1. 清理参数：对比每个值都使用 Jsoup 清理，与 {@link JsoupXssCleaner} 预扫描 + 缓存的耗时
+ * 2. 排除 URL：对比每个请求都使用 AntPathMatcher 匹配所有 URL，与 {@link XssFilter} 预编译后匹配的耗时
+ *
+ * 每种方式先预热，再取多轮的平均耗时。结果受 JIT、GC 影响，仅用于横向对比
+ */
+public class XssFilterBenchmarkTest {
+
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int MEASURE_ROUNDS = 50;
+
+    /**
+     * 典型的请求参数：绝大多数是手机号、编号、名字、日期等不包含 HTML 的值，少量是富文本
+     */
+    private static final List<String> VALUES = Arrays.asList("13800138000", "1024", "芋道源码", "admin",
+            "2023-01-01 00:00:00", "zh-CN", "true", "ZhangSan@iocoder.cn", "/system/user/page", "0",
+            "a & b", "<p>商品详情：<b>限时折扣</b><img src=\"https://www.iocoder.cn/1.png\"></p>",
+            "<script>alert('xss')</script>");
+
+    /**
+     * 典型的排除 URL
+     */
+    private static final List<String> EXCLUDE_URLS = Arrays.asList("/admin-api/infra/file/upload",
+            "/admin-api/infra/codegen/**", "/admin-api/mp/**", "/app-api/pay/notify/**",
+            "/admin-api/system/notice/create", "/admin-api/system/notice/update", "/admin-api/bpm/model/*/bpmn");
+    /**
+     * 典型的请求 URL，大部分不在排除列表中
+     */
+    private static final List<String> URIS = Arrays.asList("/admin-api/system/user/page", "/admin-api/system/dept/list",
+            "/admin-api/infra/file/upload", "/admin-api/infra/codegen/table/list", "/app-api/trade/order/page",
+            "/admin-api/system/notice/update", "/admin-api/bpm/model/1/bpmn", "/admin-api/system/auth/get-permission-info");
+
+    @Test
+    public void testClean_benchmark() {
+        List<String> values = buildValues(10000);
+        Safelist safelist = Safelist.relaxed().addAttributes(":all", "style", "class")
+                .addAttributes("a", "target").addProtocols("img", "src", "data");
+        Document.OutputSettings outputSettings = new Document.OutputSettings().prettyPrint(false);
+        JsoupXssCleaner cleaner = new JsoupXssCleaner();
+        // 断言：两种方式的清理结果一致
+        for (String value : VALUES) {
+            assertEquals(Jsoup.clean(value, "", safelist, outputSettings), cleaner.clean(value));
+        }
+
+        System.out.printf("每个值都使用 Jsoup: %.2f ms/次%n", benchmark(values,
+                value -> Jsoup.clean(value, "", safelist, outputSettings)));
+        System.out.printf("JsoupXssCleaner: %.2f ms/次%n", benchmark(values, cleaner::clean));
+    }
+
+    @Test
+    public void testShouldNotFilter_benchmark() {
+        List<String> uris = buildUris(10000);
+        AntPathMatcher pathMatcher = new AntPathMatcher();
+        XssProperties properties = new XssProperties();
+        properties.setExcludeUrls(EXCLUDE_URLS);
+        XssFilter filter = new XssFilter(properties, pathMatcher, new JsoupXssCleaner());
+        List<MockHttpServletRequest> requests = new ArrayList<>(uris.size());
+        uris.forEach(uri -> requests.add(new MockHttpServletRequest("GET", uri)));
+        // 断言：两种方式的匹配结果一致
+        for (String uri : URIS) {
+            assertEquals(EXCLUDE_URLS.stream().anyMatch(excludeUrl -> pathMatcher.match(excludeUrl, uri)),
+                    filter.shouldNotFilter(new MockHttpServletRequest("GET", uri)));
+        }
+
+        System.out.printf("每个请求都使用 AntPathMatcher: %.2f ms/次%n", benchmark(uris,
+                uri -> EXCLUDE_URLS.stream().anyMatch(excludeUrl -> pathMatcher.match(excludeUrl, uri))));
+        System.out.printf("XssFilter: %.2f ms/次%n", benchmark(requests, filter::shouldNotFilter));
+    }
+
+    private static <T> double benchmark(List<T> inputs, Consumer<T> consumer) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            inputs.forEach(consumer);
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            inputs.forEach(consumer);
+        }
+        return (System.nanoTime() - startTime) / 1e6 / MEASURE_ROUNDS;
+    }
+
+    private static List<String> buildValues(int count) {
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(VALUES.get(i % VALUES.size()));
+        }
+        return values;
+    }
+
+    private static List<String> buildUris(int count) {
+        List<String> uris = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            uris.add(URIS.get(i % URIS.size()));
+        }
+        return uris;
+    }
+
+}
@@ -0,0 +1,82 @@
+package cn.iocoder.yudao.framework.apilog.core.filter;
+
+import cn.hutool.core.io.IoUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link ApiAccessLogRequestWrapper} 的单元测试
+ */
+public class ApiAccessLogRequestWrapperTest {
+
+    @Test
+    public void testGetBody_inputStream() throws Exception {
+        // 准备参数
+        ApiAccessLogRequestWrapper wrapper = new ApiAccessLogRequestWrapper(buildRequest("{\"id\":1}"), 1024);
+
+        // 调用：Controller 读取请求内容
+        String content = IoUtil.read(wrapper.getInputStream(), StandardCharsets.UTF_8);
+        // 断言
+        assertEquals("{\"id\":1}", content);
+        assertEquals("{\"id\":1}", wrapper.getBody());
+        assertFalse(wrapper.isTruncated());
+    }
+
+    @Test
+    public void testGetBody_reader() throws Exception {
+        // 准备参数
+        ApiAccessLogRequestWrapper wrapper = new ApiAccessLogRequestWrapper(buildRequest("{\"name\":\"芋道\"}"), 1024);
+
+        // 调用：逐个字符读取
+        BufferedReader reader = wrapper.getReader();
+        StringBuilder content = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1) {
+            content.append((char) c);
+        }
+        // 断言
+        assertEquals("{\"name\":\"芋道\"}", content.toString());
+        assertEquals("{\"name\":\"芋道\"}", wrapper.getBody());
+        assertSame(reader, wrapper.getReader());
+    }
+
+    @Test
+    public void testGetBody_truncated() throws Exception {
+        // 准备参数
+        ApiAccessLogRequestWrapper wrapper = new ApiAccessLogRequestWrapper(buildRequest("0123456789"), 4);
+
+        // 调用：先单字节读取，再批量读取
+        InputStream inputStream = wrapper.getInputStream();
+        assertEquals('0', inputStream.read());
+        byte[] rest = IoUtil.readBytes(inputStream);
+        // 断言：Controller 读取到完整的内容，记录的内容被截断
+        assertEquals("123456789", new String(rest, StandardCharsets.UTF_8));
+        assertEquals("0123", wrapper.getBody());
+        assertTrue(wrapper.isTruncated());
+    }
+
+    @Test
+    public void testGetBody_notRead() {
+        // 准备参数
+        ApiAccessLogRequestWrapper wrapper = new ApiAccessLogRequestWrapper(buildRequest("{}"), 1024);
+
+        // 调用，并断言：未读取时，不记录
+        assertNull(wrapper.getBody());
+        assertFalse(wrapper.isTruncated());
+    }
+
+    private static MockHttpServletRequest buildRequest(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/admin-api/test");
+        request.setContentType("application/json");
+        request.setCharacterEncoding("UTF-8");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+}
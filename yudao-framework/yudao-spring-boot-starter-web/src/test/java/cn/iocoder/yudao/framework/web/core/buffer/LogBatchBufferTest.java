@@ -0,0 +1,209 @@
+package cn.iocoder.yudao.framework.web.core.buffer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link LogBatchBuffer} 的单元测试
+ */
+public class LogBatchBufferTest {
+
+    @Test
+    public void testFlush_batchSize() throws Exception {
+        // 准备参数：写入间隔足够长，只能按照数量触发
+        LogBufferProperties properties = buildProperties(64, 10, Duration.ofMinutes(1));
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        LogBatchBuffer<Integer> buffer = new LogBatchBuffer<>("test", properties, batch -> {
+            batches.add(new ArrayList<>(batch));
+            latch.countDown();
+        });
+        buffer.start();
+        try {
+            // 调用
+            for (int i = 0; i < 10; i++) {
+                assertTrue(buffer.offer(i));
+            }
+            // 断言
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), batches.get(0));
+        } finally {
+            buffer.stop();
+        }
+    }
+
+    @Test
+    public void testFlush_interval() throws Exception {
+        // 准备参数：批量大小足够大，只能按照时间触发
+        LogBufferProperties properties = buildProperties(64, 100, Duration.ofMillis(100));
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        LogBatchBuffer<Integer> buffer = new LogBatchBuffer<>("test", properties, batch -> {
+            batches.add(new ArrayList<>(batch));
+            latch.countDown();
+        });
+        buffer.start();
+        try {
+            // 调用
+            buffer.offer(1);
+            buffer.offer(2);
+            buffer.offer(3);
+            // 断言
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList(1, 2, 3), batches.get(0));
+        } finally {
+            buffer.stop();
+        }
+    }
+
+    @Test
+    public void testStop() {
+        // 准备参数
+        LogBufferProperties properties = buildProperties(64, 100, Duration.ofMinutes(1));
+        Queue<Integer> flushed = new ConcurrentLinkedQueue<>();
+        LogBatchBuffer<Integer> buffer = new LogBatchBuffer<>("test", properties, flushed::addAll);
+        buffer.start();
+        for (int i = 0; i < 5; i++) {
+            buffer.offer(i);
+        }
+
+        // 调用
+        buffer.stop();
+        // 断言：停止时，写入缓冲区中剩余的日志
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), new ArrayList<>(flushed));
+    }
+
+    @Test
+    public void testFlush_retryOneByOne() {
+        // 准备参数：包含 -1 的批次写入失败
+        LogBufferProperties properties = buildProperties(64, 100, Duration.ofMinutes(1));
+        Queue<Integer> flushed = new ConcurrentLinkedQueue<>();
+        LogBatchBuffer<Integer> buffer = new LogBatchBuffer<>("test", properties, batch -> {
+            if (batch.contains(-1)) {
+                throw new IllegalArgumentException("bad log");
+            }
+            flushed.addAll(batch);
+        });
+        buffer.start();
+        buffer.offer(1);
+        buffer.offer(-1);
+        buffer.offer(2);
+
+        // 调用
+        buffer.stop();
+        // 断言：逐条重试，只丢弃异常的日志
+        assertEquals(Arrays.asList(1, 2), new ArrayList<>(flushed));
+    }
+
+    @Test
+    public void testOffer_discard() {
+        // 准备参数：不启动后台线程，缓冲区不会被消费
+        LogBufferProperties properties = buildProperties(2, 100, Duration.ofMinutes(1));
+        properties.setOverflowPolicy(LogBufferProperties.OverflowPolicy.DISCARD);
+        Queue<Integer> flushed = new ConcurrentLinkedQueue<>();
+        LogBatchBuffer<Integer> buffer = new LogBatchBuffer<>("test", properties, flushed::addAll);
+
+        // 调用，并断言：缓冲区满时，丢弃
+        assertTrue(buffer.offer(1));
+        assertTrue(buffer.offer(2));
+        assertFalse(buffer.offer(3));
+        assertTrue(flushed.isEmpty());
+    }
+
+    @Test
+    public void testOffer_sync() {
+        // 准备参数：不启动后台线程，缓冲区不会被消费
+        LogBufferProperties properties = buildProperties(2, 100, Duration.ofMinutes(1));
+        properties.setOverflowPolicy(LogBufferProperties.OverflowPolicy.SYNC);
+        List<Thread> flushThreads = new CopyOnWriteArrayList<>();
+        Queue<Integer> flushed = new ConcurrentLinkedQueue<>();
+        LogBatchBuffer<Integer> buffer = new LogBatchBuffer<>("test", properties, batch -> {
+            flushThreads.add(Thread.currentThread());
+            flushed.addAll(batch);
+        });
+
+        // 调用，并断言：缓冲区满时，在调用线程同步写入
+        assertTrue(buffer.offer(1));
+        assertTrue(buffer.offer(2));
+        assertTrue(buffer.offer(3));
+        assertEquals(Collections.singletonList(3), new ArrayList<>(flushed));
+        assertEquals(Collections.singletonList(Thread.currentThread()), flushThreads);
+    }
+
+    @Test
+    public void testOffer_syncFailed() {
+        // 准备参数
+        LogBufferProperties properties = buildProperties(2, 100, Duration.ofMinutes(1));
+        properties.setOverflowPolicy(LogBufferProperties.OverflowPolicy.SYNC);
+        LogBatchBuffer<Integer> buffer = new LogBatchBuffer<>("test", properties, batch -> {
+            throw new IllegalStateException("db down");
+        });
+        buffer.offer(1);
+        buffer.offer(2);
+
+        // 调用，并断言：同步写入失败时，返回 false，不抛出异常
+        assertFalse(buffer.offer(3));
+    }
+
+    @Test
+    public void testConcurrentProducers_sync() throws Exception {
+        // 准备参数：缓冲区较小，保证会触发同步写入
+        int producerCount = 4;
+        int countPerProducer = 20_000;
+        LogBufferProperties properties = buildProperties(64, 16, Duration.ofMillis(100));
+        properties.setOverflowPolicy(LogBufferProperties.OverflowPolicy.SYNC);
+        Queue<Integer> flushed = new ConcurrentLinkedQueue<>();
+        LogBatchBuffer<Integer> buffer = new LogBatchBuffer<>("test", properties, flushed::addAll);
+        buffer.start();
+        ExecutorService executor = Executors.newFixedThreadPool(producerCount);
+        try {
+            // 调用：多个生产者并发写入
+            CountDownLatch latch = new CountDownLatch(producerCount);
+            for (int producer = 0; producer < producerCount; producer++) {
+                int base = producer * countPerProducer;
+                executor.execute(() -> {
+                    for (int i = 0; i < countPerProducer; i++) {
+                        assertTrue(buffer.offer(base + i));
+                    }
+                    latch.countDown();
+                });
+            }
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+            buffer.stop();
+        }
+
+        // 断言：不丢失、不重复
+        int total = producerCount * countPerProducer;
+        assertEquals(total, flushed.size());
+        boolean[] seen = new boolean[total];
+        for (Integer element : flushed) {
+            assertFalse(seen[element]);
+            seen[element] = true;
+        }
+    }
+
+    private static LogBufferProperties buildProperties(int capacity, int batchSize, Duration flushInterval) {
+        LogBufferProperties properties = new LogBufferProperties();
+        properties.setCapacity(capacity);
+        properties.setBatchSize(batchSize);
+        properties.setFlushInterval(flushInterval);
+        return properties;
+    }
+
+}
@@ -0,0 +1,123 @@
+package cn.iocoder.yudao.framework.web.core.buffer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link LogRingBuffer} 的单元测试
+ */
+public class LogRingBufferTest {
+
+    @Test
+    public void testCapacity() {
+        assertEquals(2, new LogRingBuffer<>(1).capacity());
+        assertEquals(4, new LogRingBuffer<>(4).capacity());
+        assertEquals(8, new LogRingBuffer<>(5).capacity());
+    }
+
+    @Test
+    public void testOfferAndPoll() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(4);
+        assertTrue(buffer.isEmpty());
+        assertNull(buffer.poll());
+
+        // 多轮写满、读空，覆盖槽位的复用
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(buffer.offer(round * 10 + i));
+            }
+            // 断言：已满，写入失败
+            assertFalse(buffer.offer(-1));
+            assertEquals(4, buffer.size());
+            // 断言：先进先出
+            for (int i = 0; i < 4; i++) {
+                assertEquals(round * 10 + i, buffer.poll());
+            }
+            assertNull(buffer.poll());
+            assertTrue(buffer.isEmpty());
+        }
+    }
+
+    @Test
+    public void testOfferAndPoll_interleaved() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(2);
+        // 调用：读取一个后，空出的槽位可以继续写入
+        assertTrue(buffer.offer(1));
+        assertTrue(buffer.offer(2));
+        assertFalse(buffer.offer(3));
+        assertEquals(1, buffer.poll());
+        assertTrue(buffer.offer(3));
+        // 断言
+        assertEquals(2, buffer.poll());
+        assertEquals(3, buffer.poll());
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    public void testConcurrentProducers() throws Exception {
+        int producerCount = 4;
+        int countPerProducer = 100_000;
+        LogRingBuffer<Long> buffer = new LogRingBuffer<>(256);
+        ExecutorService executor = Executors.newFixedThreadPool(producerCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        try {
+            // 多个生产者并发写入，缓冲区满时自旋重试
+            for (int producer = 0; producer < producerCount; producer++) {
+                long base = (long) producer * countPerProducer;
+                executor.execute(() -> {
+                    try {
+                        startLatch.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < countPerProducer; i++) {
+                        while (!buffer.offer(base + i)) {
+                            Thread.yield();
+                        }
+                    }
+                });
+            }
+            startLatch.countDown();
+
+            // 单个消费者读取
+            List<List<Long>> received = new ArrayList<>();
+            for (int producer = 0; producer < producerCount; producer++) {
+                received.add(new ArrayList<>(countPerProducer));
+            }
+            int total = producerCount * countPerProducer;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            for (int count = 0; count < total; ) {
+                Long element = buffer.poll();
+                if (element == null) {
+                    assertTrue(System.nanoTime() < deadline, "消费超时，已读取 " + count + " 条");
+                    Thread.yield();
+                    continue;
+                }
+                received.get((int) (element / countPerProducer)).add(element % countPerProducer);
+                count++;
+            }
+
+            // 断言：不丢失、不重复，并且每个生产者内部保持顺序
+            for (List<Long> elements : received) {
+                assertEquals(countPerProducer, elements.size());
+                for (int i = 0; i < countPerProducer; i++) {
+                    assertEquals(i, elements.get(i));
+                }
+            }
+            assertNull(buffer.poll());
+            assertEquals(0, buffer.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
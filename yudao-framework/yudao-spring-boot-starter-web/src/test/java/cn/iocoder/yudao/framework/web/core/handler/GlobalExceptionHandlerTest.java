@@ -0,0 +1,81 @@
+package cn.iocoder.yudao.framework.web.core.handler;
+
+import cn.hutool.core.io.IoUtil;
+import cn.iocoder.yudao.framework.apilog.core.filter.ApiAccessLogRequestWrapper;
+import cn.iocoder.yudao.framework.apilog.core.service.ApiErrorLog;
+import cn.iocoder.yudao.framework.apilog.core.service.ApiErrorLogFrameworkService;
+import cn.iocoder.yudao.framework.common.util.json.JsonUtils;
+import cn.iocoder.yudao.framework.web.core.filter.CacheRequestBodyWrapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link GlobalExceptionHandler} 的单元测试，主要覆盖异常日志的请求内容
+ */
+public class GlobalExceptionHandlerTest {
+
+    private final ApiErrorLogFrameworkService apiErrorLogFrameworkService = mock(ApiErrorLogFrameworkService.class);
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler("yudao-test", apiErrorLogFrameworkService);
+
+    @Test
+    public void testDefaultExceptionHandler_apiAccessLogWrapper() throws Exception {
+        // 准备参数：ApiAccessLogRequestWrapper 外层，还有其它 Wrapper（例如说，XssRequestWrapper）
+        ApiAccessLogRequestWrapper wrapper = new ApiAccessLogRequestWrapper(buildRequest("{\"id\":1}"), 1024);
+        HttpServletRequest request = new HttpServletRequestWrapper(wrapper);
+        IoUtil.read(request.getInputStream(), StandardCharsets.UTF_8); // 模拟 Controller 已经读取
+
+        // 调用
+        handler.defaultExceptionHandler(request, new RuntimeException("test"));
+        // 断言
+        assertEquals("{\"id\":1}", getRequestParams().get("body").asText());
+    }
+
+    @Test
+    public void testDefaultExceptionHandler_cacheRequestBodyWrapper() {
+        // 准备参数
+        HttpServletRequest request = new CacheRequestBodyWrapper(buildRequest("{\"id\":2}"));
+
+        // 调用
+        handler.defaultExceptionHandler(request, new RuntimeException("test"));
+        // 断言
+        assertEquals("{\"id\":2}", getRequestParams().get("body").asText());
+    }
+
+    @Test
+    public void testDefaultExceptionHandler_notWrapped() throws Exception {
+        // 准备参数：Controller 已经通过 getInputStream 读取，再 getReader 会抛出 IllegalStateException
+        MockHttpServletRequest request = buildRequest("{\"id\":3}");
+        IoUtil.read(request.getInputStream(), StandardCharsets.UTF_8);
+
+        // 调用
+        handler.defaultExceptionHandler(request, new RuntimeException("test"));
+        // 断言：异常日志仍然记录，只是没有请求内容
+        assertTrue(getRequestParams().get("body").isNull());
+    }
+
+    private JsonNode getRequestParams() {
+        ArgumentCaptor<ApiErrorLog> captor = ArgumentCaptor.forClass(ApiErrorLog.class);
+        verify(apiErrorLogFrameworkService).createApiErrorLog(captor.capture());
+        return JsonUtils.parseTree(captor.getValue().getRequestParams());
+    }
+
+    private static MockHttpServletRequest buildRequest(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/admin-api/test");
+        request.setContentType("application/json");
+        request.setCharacterEncoding("UTF-8");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+}
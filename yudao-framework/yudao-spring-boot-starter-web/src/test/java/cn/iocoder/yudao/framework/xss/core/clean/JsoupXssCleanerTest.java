@@ -0,0 +1,98 @@
+package cn.iocoder.yudao.framework.xss.core.clean;
+
+import cn.hutool.core.util.StrUtil;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.safety.Safelist;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link JsoupXssCleaner} 的单元测试
+ */
+public class JsoupXssCleanerTest {
+
+    @Test
+    public void testClean_plainText() {
+        // 准备参数
+        JsoupXssCleaner cleaner = new JsoupXssCleaner();
+        String text = "13800138000";
+
+        // 调用
+        String result = cleaner.clean(text);
+        // 断言：跳过 Jsoup，直接返回原文
+        assertSame(text, result);
+    }
+
+    @Test
+    public void testClean_html() {
+        // 准备参数
+        JsoupXssCleaner cleaner = new JsoupXssCleaner();
+
+        // 调用，并断言
+        assertEquals("<p>芋道</p>", cleaner.clean("<p>芋道</p><script>alert('xss')</script>"));
+        assertEquals("<img>", cleaner.clean("<img src=\"javascript:alert('xss')\">"));
+        assertEquals("a &amp; b", cleaner.clean("a & b"));
+        assertEquals("1 &lt; 2", cleaner.clean("1 < 2"));
+    }
+
+    @Test
+    public void testClean_sameAsJsoup() {
+        // 准备参数：遍历 BMP 的所有字符，分别单独出现、以及夹在普通文本中间
+        JsoupXssCleaner cleaner = new JsoupXssCleaner(0, 0);
+        Safelist safelist = Safelist.relaxed().addAttributes(":all", "style", "class")
+                .addAttributes("a", "target").addProtocols("img", "src", "data");
+        Document.OutputSettings outputSettings = new Document.OutputSettings().prettyPrint(false);
+
+        for (char c = 0; c < Character.MAX_VALUE; c++) {
+            String text = "a" + c + "b";
+            // 调用，并断言：预扫描跳过 Jsoup 的结果，与 Jsoup 清理的结果一致
+            String expected = Jsoup.clean(text, "", safelist, outputSettings);
+            assertEquals(expected, cleaner.clean(text), StrUtil.format("字符 U+{}", Integer.toHexString(c)));
+        }
+    }
+
+    @Test
+    public void testClean_cache() {
+        // 准备参数
+        JsoupXssCleaner cleaner = new JsoupXssCleaner(16, 64);
+        String html = "<b>芋道</b><script>alert(1)</script>";
+
+        // 调用
+        String result1 = cleaner.clean(html);
+        String result2 = cleaner.clean(html);
+        // 断言：第二次命中缓存，返回同一个对象
+        assertEquals("<b>芋道</b>", result1);
+        assertSame(result1, result2);
+    }
+
+    @Test
+    public void testClean_cacheMaxLength() {
+        // 准备参数：超过缓存的最大长度
+        JsoupXssCleaner cleaner = new JsoupXssCleaner(16, 8);
+        String html = "<b>芋道源码</b><script>alert(1)</script>";
+
+        // 调用
+        String result1 = cleaner.clean(html);
+        String result2 = cleaner.clean(html);
+        // 断言：不缓存，每次都使用 Jsoup 清理
+        assertEquals(result1, result2);
+        assertNotSame(result1, result2);
+    }
+
+    @Test
+    public void testClean_cacheDisabled() {
+        // 准备参数：缓存数量为 0
+        JsoupXssCleaner cleaner = new JsoupXssCleaner(0, 1024);
+        String html = "<b>芋道</b>";
+
+        // 调用
+        String result1 = cleaner.clean(html);
+        String result2 = cleaner.clean(html);
+        // 断言
+        assertEquals("<b>芋道</b>", result1);
+        assertNotSame(result1, result2);
+    }
+
+}
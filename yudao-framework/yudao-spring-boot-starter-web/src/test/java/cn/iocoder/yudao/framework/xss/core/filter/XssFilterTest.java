@@ -0,0 +1,94 @@
+package cn.iocoder.yudao.framework.xss.core.filter;
+
+import cn.iocoder.yudao.framework.xss.config.XssProperties;
+import cn.iocoder.yudao.framework.xss.core.clean.JsoupXssCleaner;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link XssFilter} 的单元测试
+ */
+public class XssFilterTest {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Test
+    public void testShouldNotFilter_disable() {
+        // 准备参数
+        XssProperties properties = new XssProperties();
+        properties.setEnable(false);
+        XssFilter filter = new XssFilter(properties, pathMatcher, new JsoupXssCleaner());
+
+        // 调用，并断言
+        assertTrue(filter.shouldNotFilter(buildRequest("/admin-api/system/user/page")));
+    }
+
+    @Test
+    public void testShouldNotFilter_exact() {
+        // 准备参数
+        XssFilter filter = buildFilter(Collections.singletonList("/admin-api/infra/file/upload"));
+
+        // 调用，并断言
+        assertTrue(filter.shouldNotFilter(buildRequest("/admin-api/infra/file/upload")));
+        assertTrue(filter.shouldNotFilter(buildRequest("/admin-api//infra/file/upload")));
+        assertFalse(filter.shouldNotFilter(buildRequest("/admin-api/infra/file/upload/")));
+        assertFalse(filter.shouldNotFilter(buildRequest("/admin-api/infra/file/upload2")));
+    }
+
+    @Test
+    public void testShouldNotFilter_prefix() {
+        // 准备参数
+        XssFilter filter = buildFilter(Collections.singletonList("/admin-api/infra/file/**"));
+
+        // 调用，并断言
+        assertTrue(filter.shouldNotFilter(buildRequest("/admin-api/infra/file")));
+        assertTrue(filter.shouldNotFilter(buildRequest("/admin-api/infra/file/")));
+        assertTrue(filter.shouldNotFilter(buildRequest("/admin-api/infra/file/upload")));
+        assertTrue(filter.shouldNotFilter(buildRequest("/admin-api//infra/file/upload")));
+        assertFalse(filter.shouldNotFilter(buildRequest("/admin-api/infra/file-config/page")));
+    }
+
+    @Test
+    public void testShouldNotFilter_pattern() {
+        // 准备参数
+        XssFilter filter = buildFilter(Collections.singletonList("/admin-api/*/file/*.html"));
+
+        // 调用，并断言
+        assertTrue(filter.shouldNotFilter(buildRequest("/admin-api/infra/file/a.html")));
+        assertFalse(filter.shouldNotFilter(buildRequest("/admin-api/infra/file/a.json")));
+    }
+
+    @Test
+    public void testShouldNotFilter_sameAsPathMatcher() {
+        // 准备参数：精确、前缀、通配符三类 URL
+        List<String> excludeUrls = Arrays.asList("/a/b", "/c/**", "/d/*/e", "/f/**/g", "/h/{id}", "/**/i.html");
+        List<String> uris = Arrays.asList("/a/b", "/a//b", "//a/b", "/a/b/", "/a/bc", "/a", "/ab",
+                "/c", "/c/", "/c/x", "/c//x", "//c/x/y", "/cx", "/d/x/e", "/d//x/e", "/d/x/y/e",
+                "/f/g", "/f/x/y/g", "/h/1", "/h/1/2", "/x/y/i.html", "/i.html", "/j");
+        XssFilter filter = buildFilter(excludeUrls);
+
+        // 调用，并断言：与逐个使用 AntPathMatcher 匹配的结果一致
+        for (String uri : uris) {
+            boolean expected = excludeUrls.stream().anyMatch(excludeUrl -> pathMatcher.match(excludeUrl, uri));
+            assertEquals(expected, filter.shouldNotFilter(buildRequest(uri)), uri);
+        }
+    }
+
+    private XssFilter buildFilter(List<String> excludeUrls) {
+        XssProperties properties = new XssProperties();
+        properties.setExcludeUrls(excludeUrls);
+        return new XssFilter(properties, pathMatcher, new JsoupXssCleaner());
+    }
+
+    private static MockHttpServletRequest buildRequest(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+}
@@ -4,6 +4,10 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+
 /**
  * WebSocket 配置项
  *
@@ -26,4 +30,28 @@ public class WebSocketProperties {
      * 是否保存session
      */
     private boolean sessionMap = true;
+
+    /**
+     * 发送消息的线程数
+     */
+    @Min(1)
+    private int sendThreads = Runtime.getRuntime().availableProcessors();
+    /**
+     * 单个 Session 待发送消息队列的容量
+     *
+     * 客户端消费过慢，队列满时，丢弃最早的消息
+     */
+    @Min(1)
+    private int sendQueueCapacity = 256;
+    /**
+     * 单个 Session 一次最多连续发送的消息数量，发送完后让出线程，避免个别 Session 长期占用发送线程
+     */
+    @Min(1)
+    private int sendBatchSize = 32;
+    /**
+     * 单条消息的发送超时时间，超时后关闭 Session，避免慢客户端长期阻塞发送线程
+     */
+    @NotNull
+    private Duration sendTimeLimit = Duration.ofSeconds(10);
+
 }
@@ -1,5 +1,12 @@
 package cn.iocoder.yudao.framework.websocket.config;
 
+import cn.iocoder.yudao.framework.mq.core.RedisMQTemplate;
+import cn.iocoder.yudao.framework.websocket.core.WebSocketUtils;
+import cn.iocoder.yudao.framework.websocket.core.YudaoWebSocketHandlerDecorator;
+import cn.iocoder.yudao.framework.websocket.core.sender.WebSocketBroadcastConsumer;
+import cn.iocoder.yudao.framework.websocket.core.sender.WebSocketMessageSender;
+import cn.iocoder.yudao.framework.websocket.core.session.WebSocketSessionManager;
+import cn.iocoder.yudao.module.system.api.permission.PermissionApi;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -25,10 +32,34 @@ public class YudaoWebSocketAutoConfiguration {
     @ConditionalOnMissingBean
     public WebSocketConfigurer webSocketConfigurer(List<HandshakeInterceptor> handshakeInterceptor,
                                                    WebSocketHandler webSocketHandler,
-                                                   WebSocketProperties webSocketProperties) {
+                                                   WebSocketProperties webSocketProperties,
+                                                   WebSocketSessionManager webSocketSessionManager) {
 
         return registry -> registry
-                .addHandler(webSocketHandler, webSocketProperties.getPath())
+                .addHandler(new YudaoWebSocketHandlerDecorator(webSocketHandler, webSocketSessionManager),
+                        webSocketProperties.getPath())
                 .addInterceptors(handshakeInterceptor.toArray(new HandshakeInterceptor[0]));
     }
+
+    @Bean
+    public WebSocketSessionManager webSocketSessionManager(WebSocketProperties webSocketProperties) {
+        return new WebSocketSessionManager(webSocketProperties);
+    }
+
+    @Bean
+    @SuppressWarnings("InstantiationOfUtilityClass")
+    public WebSocketUtils webSocketUtils(WebSocketSessionManager webSocketSessionManager) {
+        WebSocketUtils.init(webSocketSessionManager);
+        return new WebSocketUtils();
+    }
+
+    @Bean
+    public WebSocketBroadcastConsumer webSocketBroadcastConsumer(WebSocketSessionManager webSocketSessionManager) {
+        return new WebSocketBroadcastConsumer(webSocketSessionManager);
+    }
+
+    @Bean
+    public WebSocketMessageSender webSocketMessageSender(RedisMQTemplate redisMQTemplate, PermissionApi permissionApi) {
+        return new WebSocketMessageSender(redisMQTemplate, permissionApi);
+    }
 }
@@ -1,18 +1,43 @@
 package cn.iocoder.yudao.framework.websocket.core;
 
+import cn.iocoder.yudao.framework.websocket.core.session.WebSocketSessionManager;
+import cn.iocoder.yudao.framework.websocket.core.session.WebSocketSessionSender;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 
 import java.io.IOException;
 
+/**
+ * WebSocket 工具类，发送消息给当前节点的 Session
+ *
+ * 已经注册到 {@link WebSocketSessionManager} 的 Session，通过它的 {@link WebSocketSessionSender} 异步发送，
+ * 避免和发送线程并发调用 {@link WebSocketSession#sendMessage}，导致 Tomcat 抛出 TEXT_FULL_WRITING 异常
+ *
+ * 发送给指定用户、租户等，并且支持集群时，使用 {@link cn.iocoder.yudao.framework.websocket.core.sender.WebSocketMessageSender}
+ */
 @Slf4j
 public class WebSocketUtils {
+
+    private static WebSocketSessionManager sessionManager;
+
+    public static void init(WebSocketSessionManager sessionManager) {
+        WebSocketUtils.sessionManager = sessionManager;
+        log.info("[init][初始化 WebSocketUtils 成功]");
+    }
+
     public static boolean sendMessage(WebSocketSession seesion, String message) {
         if (seesion == null) {
             log.error("seesion 不存在");
             return false;
         }
+        // 情况一：已注册的 Session，异步发送
+        WebSocketSessionSender sender = sessionManager != null ? sessionManager.getSession(seesion.getId()) : null;
+        if (sender != null) {
+            sender.send(message);
+            return true;
+        }
+        // 情况二：未注册的 Session（例如说，afterConnectionEstablished 之前），此时没有发送线程，同步发送
         if (seesion.isOpen()) {
             try {
                 seesion.sendMessage(new TextMessage(message));
@@ -24,8 +49,4 @@ public class WebSocketUtils {
         return true;
     }
 
-    public static boolean sendMessage(Object sessionKey, String message) {
-        WebSocketSession session = WebSocketSessionHandler.getSession(sessionKey);
-        return sendMessage(session, message);
-    }
 }
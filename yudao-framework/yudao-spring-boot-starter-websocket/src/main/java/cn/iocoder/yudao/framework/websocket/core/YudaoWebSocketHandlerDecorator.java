@@ -1,14 +1,18 @@
 package cn.iocoder.yudao.framework.websocket.core;
 
-import cn.iocoder.yudao.framework.security.core.LoginUser;
+import cn.iocoder.yudao.framework.websocket.core.session.WebSocketSessionManager;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
 
 public class YudaoWebSocketHandlerDecorator extends WebSocketHandlerDecorator {
-    public YudaoWebSocketHandlerDecorator(WebSocketHandler delegate) {
+
+    private final WebSocketSessionManager sessionManager;
+
+    public YudaoWebSocketHandlerDecorator(WebSocketHandler delegate, WebSocketSessionManager sessionManager) {
         super(delegate);
+        this.sessionManager = sessionManager;
     }
 
     /**
@@ -18,8 +22,9 @@ public class YudaoWebSocketHandlerDecorator extends WebSocketHandlerDecorator {
      */
     @Override
     public void afterConnectionEstablished(final WebSocketSession session) throws Exception {
-        Object sessionKey = sessionKeyGen(session);
-        WebSocketSessionHandler.addSession(sessionKey, session);
+        // 同一个用户的多个 Session（例如说，多个标签页）都会保存，不会相互覆盖
+        sessionManager.addSession(session);
+        super.afterConnectionEstablished(session);
     }
 
     /**
@@ -30,20 +35,8 @@ public class YudaoWebSocketHandlerDecorator extends WebSocketHandlerDecorator {
      */
     @Override
     public void afterConnectionClosed(final WebSocketSession session, CloseStatus closeStatus) throws Exception {
-        Object sessionKey = sessionKeyGen(session);
-        WebSocketSessionHandler.removeSession(sessionKey);
+        sessionManager.removeSession(session);
+        super.afterConnectionClosed(session, closeStatus);
     }
 
-    public Object sessionKeyGen(WebSocketSession webSocketSession) {
-
-        Object obj = webSocketSession.getAttributes().get(WebSocketKeyDefine.LOGIN_USER);
-
-        if (obj instanceof LoginUser) {
-            LoginUser loginUser = (LoginUser) obj;
-            // userId 作为唯一区分
-            return String.valueOf(loginUser.getId());
-        }
-
-        return null;
-    }
 }
@@ -0,0 +1,26 @@
+package cn.iocoder.yudao.framework.websocket.core.sender;
+
+import cn.iocoder.yudao.framework.mq.core.pubsub.AbstractChannelMessageListener;
+import cn.iocoder.yudao.framework.websocket.core.session.WebSocketSessionManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 针对 {@link WebSocketBroadcastMessage} 的消费者，发送给当前节点符合条件的 Session
+ *
+ * @author 芋道源码
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class WebSocketBroadcastConsumer extends AbstractChannelMessageListener<WebSocketBroadcastMessage> {
+
+    private final WebSocketSessionManager sessionManager;
+
+    @Override
+    public void onMessage(WebSocketBroadcastMessage message) {
+        // 只入队，不阻塞 Redis 的消费线程
+        int count = sessionManager.send(message.getUserType(), message.getUserIds(), message.getTenantId(), message.getText());
+        log.debug("[onMessage][发送给当前节点 {} 个 Session]", count);
+    }
+
+}
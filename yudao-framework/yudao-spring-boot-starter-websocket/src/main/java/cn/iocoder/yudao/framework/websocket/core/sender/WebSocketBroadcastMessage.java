@@ -0,0 +1,46 @@
+package cn.iocoder.yudao.framework.websocket.core.sender;
+
+import cn.iocoder.yudao.framework.mq.core.pubsub.AbstractChannelMessage;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.Collection;
+
+/**
+ * WebSocket 广播 Message，发送给集群的所有节点，由各节点发送给本地符合条件的 Session
+ *
+ * @author 芋道源码
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class WebSocketBroadcastMessage extends AbstractChannelMessage {
+
+    /**
+     * 用户类型
+     *
+     * 为空时，不过滤
+     */
+    private Integer userType;
+    /**
+     * 用户编号集合
+     *
+     * 为空时，不过滤
+     */
+    private Collection<Long> userIds;
+    /**
+     * 租户编号
+     *
+     * 为空时，不过滤
+     */
+    private Long tenantId;
+    /**
+     * 消息内容
+     */
+    private String text;
+
+    @Override
+    public String getChannel() {
+        return "websocket.broadcast";
+    }
+
+}
@@ -0,0 +1,92 @@
+package cn.iocoder.yudao.framework.websocket.core.sender;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.iocoder.yudao.framework.common.enums.UserTypeEnum;
+import cn.iocoder.yudao.framework.mq.core.RedisMQTemplate;
+import cn.iocoder.yudao.module.system.api.permission.PermissionApi;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * WebSocket 消息发送器，支持集群
+ *
+ * 基于 Redis Pub/Sub 广播 {@link WebSocketBroadcastMessage} 到所有节点（包括当前节点），
+ * 由各节点的 {@link WebSocketBroadcastConsumer} 发送给本地符合条件的 Session，因此任一节点都可以发送给任一用户
+ *
+ * @author 芋道源码
+ */
+@RequiredArgsConstructor
+public class WebSocketMessageSender {
+
+    private final RedisMQTemplate redisMQTemplate;
+    private final PermissionApi permissionApi;
+
+    /**
+     * 发送消息给指定用户的所有 Session
+     *
+     * @param userType 用户类型
+     * @param userId 用户编号
+     * @param text 消息内容
+     */
+    public void sendToUser(Integer userType, Long userId, String text) {
+        sendToUsers(userType, Collections.singleton(userId), text);
+    }
+
+    /**
+     * 发送消息给多个用户的所有 Session
+     *
+     * @param userType 用户类型
+     * @param userIds 用户编号集合
+     * @param text 消息内容
+     */
+    public void sendToUsers(Integer userType, Collection<Long> userIds, String text) {
+        if (CollUtil.isEmpty(userIds)) {
+            return;
+        }
+        send(userType, userIds, null, text);
+    }
+
+    /**
+     * 发送消息给拥有指定角色的管理员
+     *
+     * @param roleIds 角色编号集合
+     * @param text 消息内容
+     */
+    public void sendToRoles(Collection<Long> roleIds, String text) {
+        // 角色在发送时解析为用户编号，避免每个节点重复查询
+        Set<Long> userIds = permissionApi.getUserRoleIdListByRoleIds(roleIds);
+        sendToUsers(UserTypeEnum.ADMIN.getValue(), userIds, text);
+    }
+
+    /**
+     * 发送消息给指定租户的所有 Session
+     *
+     * @param tenantId 租户编号
+     * @param text 消息内容
+     */
+    public void sendToTenant(Long tenantId, String text) {
+        send(null, null, tenantId, text);
+    }
+
+    /**
+     * 发送消息给所有 Session
+     *
+     * @param text 消息内容
+     */
+    public void sendToAll(String text) {
+        send(null, null, null, text);
+    }
+
+    private void send(Integer userType, Collection<Long> userIds, Long tenantId, String text) {
+        WebSocketBroadcastMessage message = new WebSocketBroadcastMessage();
+        message.setUserType(userType);
+        message.setUserIds(userIds);
+        message.setTenantId(tenantId);
+        message.setText(text);
+        redisMQTemplate.send(message);
+    }
+
+}
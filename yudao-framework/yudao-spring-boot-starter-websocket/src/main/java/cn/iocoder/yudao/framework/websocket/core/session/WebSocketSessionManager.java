@@ -0,0 +1,204 @@
+package cn.iocoder.yudao.framework.websocket.core.session;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.thread.NamedThreadFactory;
+import cn.iocoder.yudao.framework.security.core.LoginUser;
+import cn.iocoder.yudao.framework.websocket.config.WebSocketProperties;
+import cn.iocoder.yudao.framework.websocket.core.WebSocketKeyDefine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+
+import javax.websocket.Session;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * WebSocket Session 管理器，管理当前节点的 Session
+ *
+ * 1. 同一个用户可以有多个 Session，例如说，打开多个浏览器标签页
+ * 2. 每个 Session 通过 {@link WebSocketSessionSender} 异步发送消息，避免慢客户端阻塞调用方
+ *
+ * 提供如下监控指标：
+ * 1. yudao.websocket.sessions：当前节点的在线 Session 数量
+ * 2. yudao.websocket.users：当前节点的在线用户数量
+ * 3. yudao.websocket.frames.dropped：丢弃的消息数量，包括队列满、Session 已关闭、发送失败
+ *
+ * @author 芋道源码
+ */
+@Slf4j
+public class WebSocketSessionManager implements DisposableBean {
+
+    /**
+     * Tomcat 阻塞发送的超时时间，单位：毫秒
+     */
+    private static final String TOMCAT_BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    private final WebSocketProperties properties;
+
+    private final ExecutorService executor;
+
+    /**
+     * Session 映射
+     *
+     * key：Session 编号
+     */
+    private final Map<String, WebSocketSessionSender> sessions = new ConcurrentHashMap<>();
+    /**
+     * 用户的 Session 映射
+     *
+     * key：用户编号
+     * value：该用户的 Session 集合
+     */
+    private final Map<Long, Set<WebSocketSessionSender>> userSessions = new ConcurrentHashMap<>();
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    public WebSocketSessionManager(WebSocketProperties properties) {
+        this.properties = properties;
+        this.executor = Executors.newFixedThreadPool(properties.getSendThreads(),
+                new NamedThreadFactory("websocket-send-", true));
+        // 监控指标
+        Gauge.builder("yudao.websocket.sessions", sessions, Map::size).register(Metrics.globalRegistry);
+        Gauge.builder("yudao.websocket.users", userSessions, Map::size).register(Metrics.globalRegistry);
+        FunctionCounter.builder("yudao.websocket.frames.dropped", droppedCount, LongAdder::sum)
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * 添加 Session
+     *
+     * @param session Session
+     */
+    public void addSession(WebSocketSession session) {
+        LoginUser loginUser = getLoginUser(session);
+        setSendTimeLimit(session);
+        WebSocketSessionSender sender = new WebSocketSessionSender(session, loginUser,
+                properties.getSendQueueCapacity(), properties.getSendBatchSize(), executor, droppedCount);
+        sessions.put(session.getId(), sender);
+        if (loginUser != null) {
+            userSessions.computeIfAbsent(loginUser.getId(), key -> ConcurrentHashMap.newKeySet()).add(sender);
+        }
+    }
+
+    /**
+     * 移除 Session
+     *
+     * @param session Session
+     */
+    public void removeSession(WebSocketSession session) {
+        WebSocketSessionSender sender = sessions.remove(session.getId());
+        if (sender == null || sender.getLoginUser() == null) {
+            return;
+        }
+        userSessions.computeIfPresent(sender.getLoginUser().getId(), (key, senders) -> {
+            senders.remove(sender);
+            return senders.isEmpty() ? null : senders;
+        });
+    }
+
+    /**
+     * 获得 Session 的发送器
+     *
+     * @param sessionId Session 编号
+     * @return 发送器；Session 未注册或者已移除时，返回 null
+     */
+    public WebSocketSessionSender getSession(String sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    /**
+     * 获得用户的 Session 集合
+     *
+     * @param userId 用户编号
+     * @return Session 集合
+     */
+    public Collection<WebSocketSessionSender> getSessions(Long userId) {
+        return userSessions.getOrDefault(userId, Collections.emptySet());
+    }
+
+    /**
+     * 获得当前节点的所有 Session
+     *
+     * @return Session 集合
+     */
+    public Collection<WebSocketSessionSender> getSessions() {
+        return sessions.values();
+    }
+
+    /**
+     * 异步发送消息给当前节点，符合条件的 Session
+     *
+     * @param userType 用户类型；为空时，不过滤
+     * @param userIds 用户编号集合；为空时，不过滤
+     * @param tenantId 租户编号；为空时，不过滤
+     * @param text 消息内容
+     * @return 发送的 Session 数量
+     */
+    public int send(Integer userType, Collection<Long> userIds, Long tenantId, String text) {
+        Predicate<LoginUser> filter = loginUser -> loginUser != null
+                && (userType == null || Objects.equals(userType, loginUser.getUserType()))
+                && (tenantId == null || Objects.equals(tenantId, loginUser.getTenantId()));
+        int count = 0;
+        // 情况一：指定用户，通过用户索引查找
+        if (CollUtil.isNotEmpty(userIds)) {
+            for (Long userId : userIds) {
+                for (WebSocketSessionSender sender : getSessions(userId)) {
+                    if (filter.test(sender.getLoginUser())) {
+                        sender.send(text);
+                        count++;
+                    }
+                }
+            }
+            return count;
+        }
+        // 情况二：未指定用户，遍历所有 Session
+        for (WebSocketSessionSender sender : sessions.values()) {
+            if ((userType == null && tenantId == null) || filter.test(sender.getLoginUser())) {
+                sender.send(text);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    private static LoginUser getLoginUser(WebSocketSession session) {
+        Object obj = session.getAttributes().get(WebSocketKeyDefine.LOGIN_USER);
+        return obj instanceof LoginUser ? (LoginUser) obj : null;
+    }
+
+    /**
+     * 设置发送超时时间。目前仅支持 Tomcat，其它容器使用各自的默认超时
+     */
+    private void setSendTimeLimit(WebSocketSession session) {
+        if (!(session instanceof NativeWebSocketSession)) {
+            return;
+        }
+        Session nativeSession = ((NativeWebSocketSession) session).getNativeSession(Session.class);
+        if (nativeSession != null) {
+            nativeSession.getUserProperties().put(TOMCAT_BLOCKING_SEND_TIMEOUT, properties.getSendTimeLimit().toMillis());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+}
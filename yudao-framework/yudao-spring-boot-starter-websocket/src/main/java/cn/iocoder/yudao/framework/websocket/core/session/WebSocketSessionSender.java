@@ -0,0 +1,135 @@
+package cn.iocoder.yudao.framework.websocket.core.session;
+
+import cn.iocoder.yudao.framework.security.core.LoginUser;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * WebSocket Session 的异步发送器
+ *
+ * 1. 每个 Session 一个有界的待发送队列，调用 {@link #send(String)} 只入队，不阻塞调用方（例如说，Redis 消费线程）
+ * 2. 同一时刻，最多一个线程在发送该 Session 的消息，保证 {@link WebSocketSession#sendMessage} 不会被并发调用
+ * 3. 每次最多连续发送 batchSize 条消息，之后重新提交任务，让出发送线程给其它 Session
+ * 4. 客户端消费过慢，队列满时，丢弃最早的消息，并记录到 droppedCount 中
+ *
+ * @author 芋道源码
+ */
+@Slf4j
+public class WebSocketSessionSender {
+
+    @Getter
+    private final WebSocketSession session;
+    @Getter
+    private final LoginUser loginUser;
+
+    private final BlockingQueue<String> queue;
+    private final int batchSize;
+    private final Executor executor;
+    /**
+     * 丢弃的消息数量，所有 Session 共享
+     */
+    private final LongAdder droppedCount;
+
+    /**
+     * 是否已经提交发送任务
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    public WebSocketSessionSender(WebSocketSession session, LoginUser loginUser,
+                                  int queueCapacity, int batchSize, Executor executor, LongAdder droppedCount) {
+        this.session = session;
+        this.loginUser = loginUser;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.executor = executor;
+        this.droppedCount = droppedCount;
+    }
+
+    /**
+     * 异步发送消息
+     *
+     * @param text 消息内容
+     */
+    public void send(String text) {
+        if (!session.isOpen()) {
+            droppedCount.increment();
+            return;
+        }
+        // 队列满时，丢弃最早的消息，保证客户端尽量收到最新的消息
+        while (!queue.offer(text)) {
+            if (queue.poll() != null) {
+                droppedCount.increment();
+            }
+        }
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::flush);
+        }
+    }
+
+    private void flush() {
+        try {
+            for (int i = 0; i < batchSize; i++) {
+                String text = queue.poll();
+                if (text == null) {
+                    break;
+                }
+                if (!doSend(text)) {
+                    // 发送失败，Session 已经不可用，丢弃剩余的消息
+                    discard();
+                    return;
+                }
+            }
+        } finally {
+            scheduled.set(false);
+        }
+        // 仍有消息未发送（包括 flush 期间新入队的），重新提交任务
+        if (!queue.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private boolean doSend(String text) {
+        if (!session.isOpen()) {
+            droppedCount.increment();
+            return false;
+        }
+        try {
+            session.sendMessage(new TextMessage(text));
+            return true;
+        } catch (Exception ex) {
+            // 发送超时或异常，说明客户端不可靠，关闭 Session，由 afterConnectionClosed 移除
+            log.warn("[doSend][Session({}) 发送消息失败，关闭连接]", session.getId(), ex);
+            droppedCount.increment();
+            close();
+            return false;
+        }
+    }
+
+    private void discard() {
+        int count = queue.size();
+        queue.clear();
+        droppedCount.add(count);
+    }
+
+    private void close() {
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (Exception ex) {
+            log.warn("[close][Session({}) 关闭失败]", session.getId(), ex);
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+package cn.iocoder.yudao.framework.websocket.core.session;
+
+import cn.iocoder.yudao.framework.security.core.LoginUser;
+import cn.iocoder.yudao.framework.websocket.config.WebSocketProperties;
+import cn.iocoder.yudao.framework.websocket.core.WebSocketKeyDefine;
+import cn.iocoder.yudao.framework.websocket.core.WebSocketUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class WebSocketSessionManagerTest {
+
+    private WebSocketSessionManager sessionManager;
+
+    @BeforeEach
+    public void setUp() {
+        sessionManager = new WebSocketSessionManager(new WebSocketProperties());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sessionManager.destroy();
+        WebSocketUtils.init(null);
+    }
+
+    @Test
+    public void testAddAndRemoveSession() {
+        // 准备参数：同一个用户的两个 Session
+        WebSocketSession session01 = mockSession("1", buildLoginUser(10L, 2, 1L));
+        WebSocketSession session02 = mockSession("2", buildLoginUser(10L, 2, 1L));
+
+        // 调用
+        sessionManager.addSession(session01);
+        sessionManager.addSession(session02);
+        // 断言
+        assertEquals(2, sessionManager.getSessions(10L).size());
+        assertSame(session01, sessionManager.getSession("1").getSession());
+
+        // 调用
+        sessionManager.removeSession(session01);
+        sessionManager.removeSession(session02);
+        // 断言
+        assertNull(sessionManager.getSession("1"));
+        assertTrue(sessionManager.getSessions(10L).isEmpty());
+        assertTrue(sessionManager.getSessions().isEmpty());
+    }
+
+    @Test
+    public void testSend_filter() throws Exception {
+        // 准备参数
+        WebSocketSession session01 = mockSession("1", buildLoginUser(10L, 2, 1L));
+        WebSocketSession session02 = mockSession("2", buildLoginUser(20L, 1, 1L)); // userType 不匹配
+        WebSocketSession session03 = mockSession("3", buildLoginUser(30L, 2, 2L)); // tenantId 不匹配
+        WebSocketSession session04 = mockSession("4", null); // 未登录
+        Arrays.asList(session01, session02, session03, session04).forEach(sessionManager::addSession);
+
+        // 调用 + 断言：指定用户
+        assertEquals(1, sessionManager.send(2, Arrays.asList(10L, 20L, 30L), 1L, "user"));
+        verify(session01, timeout(1000)).sendMessage(new TextMessage("user"));
+        // 调用 + 断言：指定用户类型
+        assertEquals(2, sessionManager.send(2, null, null, "userType"));
+        verify(session01, timeout(1000)).sendMessage(new TextMessage("userType"));
+        verify(session03, timeout(1000)).sendMessage(new TextMessage("userType"));
+        // 调用 + 断言：不过滤，包括未登录的 Session
+        assertEquals(4, sessionManager.send(null, null, null, "all"));
+        verify(session04, timeout(1000)).sendMessage(new TextMessage("all"));
+        verify(session02, never()).sendMessage(new TextMessage("user"));
+    }
+
+    @Test
+    public void testSend_droppedCount() {
+        // 准备参数
+        WebSocketSession session = mockSession("1", buildLoginUser(10L, 2, 1L));
+        sessionManager.addSession(session);
+        when(session.isOpen()).thenReturn(false);
+
+        // 调用
+        sessionManager.send(null, Collections.singleton(10L), null, "closed");
+        // 断言
+        assertEquals(1, sessionManager.getDroppedCount());
+    }
+
+    @Test
+    public void testWebSocketUtilsSendMessage() throws Exception {
+        WebSocketUtils.init(sessionManager);
+        // 准备参数
+        WebSocketSession registered = mockSession("1", null);
+        sessionManager.addSession(registered);
+        WebSocketSession unregistered = mockSession("2", null);
+
+        // 调用
+        assertTrue(WebSocketUtils.sendMessage(registered, "registered"));
+        assertTrue(WebSocketUtils.sendMessage(unregistered, "unregistered"));
+        // 断言：已注册的 Session 通过发送线程发送，未注册的 Session 直接发送
+        verify(registered, timeout(1000)).sendMessage(new TextMessage("registered"));
+        verify(unregistered).sendMessage(new TextMessage("unregistered"));
+        assertFalse(WebSocketUtils.sendMessage(null, "null"));
+    }
+
+    private static WebSocketSession mockSession(String id, LoginUser loginUser) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        Map<String, Object> attributes = new HashMap<>();
+        if (loginUser != null) {
+            attributes.put(WebSocketKeyDefine.LOGIN_USER, loginUser);
+        }
+        when(session.getAttributes()).thenReturn(attributes);
+        return session;
+    }
+
+    private static LoginUser buildLoginUser(Long id, Integer userType, Long tenantId) {
+        LoginUser loginUser = new LoginUser();
+        loginUser.setId(id);
+        loginUser.setUserType(userType);
+        loginUser.setTenantId(tenantId);
+        return loginUser;
+    }
+
+}
@@ -0,0 +1,155 @@
+package cn.iocoder.yudao.framework.websocket.core.session;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class WebSocketSessionSenderTest {
+
+    private WebSocketSession session;
+    private LongAdder droppedCount;
+    /**
+     * 手动执行的 Executor，用于控制发送任务的执行时机
+     */
+    private List<Runnable> tasks;
+
+    @BeforeEach
+    public void setUp() {
+        session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("1");
+        when(session.isOpen()).thenReturn(true);
+        droppedCount = new LongAdder();
+        tasks = new ArrayList<>();
+    }
+
+    @Test
+    public void testSend_queueFullDropOldest() throws Exception {
+        WebSocketSessionSender sender = new WebSocketSessionSender(session, null, 2, 10, tasks::add, droppedCount);
+
+        // 调用
+        sender.send("1");
+        sender.send("2");
+        sender.send("3");
+        runTasks();
+        // 断言：丢弃最早的消息
+        assertEquals(1, droppedCount.sum());
+        verify(session, never()).sendMessage(new TextMessage("1"));
+        verify(session).sendMessage(new TextMessage("2"));
+        verify(session).sendMessage(new TextMessage("3"));
+    }
+
+    @Test
+    public void testSend_sessionClosed() throws Exception {
+        when(session.isOpen()).thenReturn(false);
+        WebSocketSessionSender sender = new WebSocketSessionSender(session, null, 2, 10, tasks::add, droppedCount);
+
+        // 调用
+        sender.send("1");
+        // 断言
+        assertEquals(1, droppedCount.sum());
+        assertTrue(tasks.isEmpty());
+        verify(session, never()).sendMessage(any());
+    }
+
+    @Test
+    public void testSend_scheduleOnce() throws Exception {
+        WebSocketSessionSender sender = new WebSocketSessionSender(session, null, 10, 2, tasks::add, droppedCount);
+
+        // 调用
+        for (int i = 0; i < 5; i++) {
+            sender.send(String.valueOf(i));
+        }
+        // 断言：未执行前，只提交一次发送任务
+        assertEquals(1, tasks.size());
+        // 断言：每次最多发送 batchSize 条，之后重新提交任务
+        tasks.remove(0).run();
+        verify(session, times(2)).sendMessage(any());
+        assertEquals(1, tasks.size());
+        runTasks();
+        verify(session, times(5)).sendMessage(any());
+        assertEquals(0, droppedCount.sum());
+    }
+
+    @Test
+    public void testSend_singleDrainer() throws Exception {
+        // 准备参数：记录 sendMessage 的并发数
+        AtomicInteger sending = new AtomicInteger();
+        AtomicInteger maxSending = new AtomicInteger();
+        AtomicInteger sent = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxSending.accumulateAndGet(sending.incrementAndGet(), Math::max);
+            Thread.sleep(1);
+            sending.decrementAndGet();
+            sent.incrementAndGet();
+            return null;
+        }).when(session).sendMessage(any());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        WebSocketSessionSender sender = new WebSocketSessionSender(session, null, 1000, 4, executor, droppedCount);
+
+        try {
+            // 调用：多个线程并发发送
+            CountDownLatch latch = new CountDownLatch(4);
+            for (int i = 0; i < 4; i++) {
+                producers.execute(() -> {
+                    for (int j = 0; j < 50; j++) {
+                        sender.send("message");
+                    }
+                    latch.countDown();
+                });
+            }
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            // 断言：所有消息都发送，并且同一时刻最多一个线程在发送
+            long deadline = System.currentTimeMillis() + 10000;
+            while (sent.get() < 200 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(200, sent.get());
+            assertEquals(1, maxSending.get());
+            assertEquals(0, droppedCount.sum());
+        } finally {
+            producers.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSend_failureCloseSession() throws Exception {
+        doThrow(new IOException("发送超时")).when(session).sendMessage(new TextMessage("1"));
+        WebSocketSessionSender sender = new WebSocketSessionSender(session, null, 10, 10, tasks::add, droppedCount);
+
+        // 调用
+        sender.send("1");
+        sender.send("2");
+        sender.send("3");
+        runTasks();
+        // 断言：关闭 Session，失败的消息和剩余的消息都计入丢弃
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+        verify(session, never()).sendMessage(new TextMessage("2"));
+        assertEquals(3, droppedCount.sum());
+        assertTrue(tasks.isEmpty());
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+
+}
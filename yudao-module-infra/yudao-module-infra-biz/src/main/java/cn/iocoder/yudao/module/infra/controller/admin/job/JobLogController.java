@@ -72,10 +72,9 @@ public class JobLogController {
     @OperateLog(type = EXPORT)
     public void exportJobLogExcel(@Valid JobLogExportReqVO exportReqVO,
                                   HttpServletResponse response) throws IOException {
-        List<JobLogDO> list = jobLogService.getJobLogList(exportReqVO);
-        // 导出 Excel
-        List<JobLogExcelVO> datas = JobLogConvert.INSTANCE.convertList02(list);
-        ExcelUtils.write(response, "任务日志.xls", "数据", JobLogExcelVO.class, datas);
+        // 导出 Excel：分批查询、分批写入，避免数据量大时内存溢出
+        ExcelUtils.write(response, "任务日志.xls", "数据", JobLogExcelVO.class,
+                writer -> jobLogService.getJobLogList(exportReqVO, list -> writer.write(JobLogConvert.INSTANCE.convertList02(list))));
     }
 
 }
@@ -3,6 +3,7 @@ package cn.iocoder.yudao.module.infra.controller.admin.job.vo.job;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.Data;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
 /**
@@ -31,6 +32,10 @@ public class JobBaseVO {
     @NotNull(message = "重试间隔不能为空")
     private Integer retryInterval;
 
+    @ApiModelProperty(value = "分片总数", example = "1", notes = "大于 1 时，拆分成多个分片并发执行，不保证分配到不同的节点")
+    @Min(value = 1, message = "分片总数不能小于 1")
+    private Integer shardingTotal;
+
     @ApiModelProperty(value = "监控超时时间", example = "1000")
     private Integer monitorTimeout;
 
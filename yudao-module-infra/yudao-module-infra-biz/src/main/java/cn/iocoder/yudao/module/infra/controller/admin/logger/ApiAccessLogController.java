@@ -23,7 +23,6 @@ import javax.annotation.Resource;
 import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.io.IOException;
-import java.util.List;
 
 import static cn.iocoder.yudao.framework.common.pojo.CommonResult.success;
 import static cn.iocoder.yudao.framework.operatelog.core.enums.OperateTypeEnum.EXPORT;
@@ -51,10 +50,10 @@ public class ApiAccessLogController {
     @OperateLog(type = EXPORT)
     public void exportApiAccessLogExcel(@Valid ApiAccessLogExportReqVO exportReqVO,
                                         HttpServletResponse response) throws IOException {
-        List<ApiAccessLogDO> list = apiAccessLogService.getApiAccessLogList(exportReqVO);
-        // 导出 Excel
-        List<ApiAccessLogExcelVO> datas = ApiAccessLogConvert.INSTANCE.convertList02(list);
-        ExcelUtils.write(response, "API 访问日志.xls", "数据", ApiAccessLogExcelVO.class, datas);
+        // 导出 Excel：分批查询、分批写入，避免数据量大时内存溢出
+        ExcelUtils.write(response, "API 访问日志.xls", "数据", ApiAccessLogExcelVO.class,
+                writer -> apiAccessLogService.getApiAccessLogList(exportReqVO,
+                        list -> writer.write(ApiAccessLogConvert.INSTANCE.convertList02(list))));
     }
 
 }
@@ -23,7 +23,6 @@ import javax.annotation.Resource;
 import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.io.IOException;
-import java.util.List;
 
 import static cn.iocoder.yudao.framework.common.pojo.CommonResult.success;
 import static cn.iocoder.yudao.framework.operatelog.core.enums.OperateTypeEnum.EXPORT;
@@ -65,10 +64,10 @@ public class ApiErrorLogController {
     @OperateLog(type = EXPORT)
     public void exportApiErrorLogExcel(@Valid ApiErrorLogExportReqVO exportReqVO,
               HttpServletResponse response) throws IOException {
-        List<ApiErrorLogDO> list = apiErrorLogService.getApiErrorLogList(exportReqVO);
-        // 导出 Excel
-        List<ApiErrorLogExcelVO> datas = ApiErrorLogConvert.INSTANCE.convertList02(list);
-        ExcelUtils.write(response, "API 错误日志.xls", "数据", ApiErrorLogExcelVO.class, datas);
+        // 导出 Excel：分批查询、分批写入，避免数据量大时内存溢出
+        ExcelUtils.write(response, "API 错误日志.xls", "数据", ApiErrorLogExcelVO.class,
+                writer -> apiErrorLogService.getApiErrorLogList(exportReqVO,
+                        list -> writer.write(ApiErrorLogConvert.INSTANCE.convertList02(list))));
     }
 
 }
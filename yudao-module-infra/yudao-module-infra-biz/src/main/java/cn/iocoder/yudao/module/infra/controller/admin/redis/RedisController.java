@@ -3,14 +3,17 @@ package cn.iocoder.yudao.module.infra.controller.admin.redis;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.iocoder.yudao.framework.common.pojo.CommonResult;
+import cn.iocoder.yudao.framework.mq.core.RedisMQTemplate;
 import cn.iocoder.yudao.framework.redis.core.RedisKeyDefine;
 import cn.iocoder.yudao.framework.redis.core.RedisKeyRegistry;
+import cn.iocoder.yudao.module.infra.controller.admin.redis.vo.RedisDeadLetterRespVO;
 import cn.iocoder.yudao.module.infra.controller.admin.redis.vo.RedisKeyDefineRespVO;
 import cn.iocoder.yudao.module.infra.controller.admin.redis.vo.RedisKeyValueRespVO;
 import cn.iocoder.yudao.module.infra.controller.admin.redis.vo.RedisMonitorRespVO;
 import cn.iocoder.yudao.module.infra.convert.redis.RedisConvert;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.data.redis.connection.RedisServerCommands;
 import org.springframework.data.redis.core.Cursor;
@@ -32,6 +35,8 @@ public class RedisController {
 
     @Resource
     private StringRedisTemplate stringRedisTemplate;
+    @Resource
+    private RedisMQTemplate redisMQTemplate;
 
     @GetMapping("/get-monitor-info")
     @ApiOperation("获得 Redis 监控信息")
@@ -109,4 +114,28 @@ public class RedisController {
         return success(Boolean.TRUE);
     }
 
+    @GetMapping("/get-dead-letter-list")
+    @ApiOperation("获得 Redis Stream 死信消息列表")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "streamKey", value = "Stream Key", required = true, example = "system.sms.send", dataTypeClass = String.class),
+            @ApiImplicitParam(name = "count", value = "数量", example = "100", dataTypeClass = Integer.class)
+    })
+    @PreAuthorize("@ss.hasPermission('infra:redis:get-key-list')")
+    public CommonResult<List<RedisDeadLetterRespVO>> getDeadLetterList(@RequestParam("streamKey") String streamKey,
+                                                                       @RequestParam(value = "count", defaultValue = "100") Integer count) {
+        return success(RedisConvert.INSTANCE.convertList02(redisMQTemplate.getDeadLetterList(streamKey, count)));
+    }
+
+    @PostMapping("/replay-dead-letter")
+    @ApiOperation("重新投递 Redis Stream 死信消息")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "streamKey", value = "Stream Key", required = true, example = "system.sms.send", dataTypeClass = String.class),
+            @ApiImplicitParam(name = "ids", value = "死信消息编号数组", required = true, example = "1667381234567-0", dataTypeClass = List.class)
+    })
+    @PreAuthorize("@ss.hasPermission('infra:redis:replay-dead-letter')")
+    public CommonResult<Integer> replayDeadLetter(@RequestParam("streamKey") String streamKey,
+                                                  @RequestParam("ids") List<String> ids) {
+        return success(redisMQTemplate.replayDeadLetters(streamKey, ids));
+    }
+
 }
@@ -0,0 +1,28 @@
+package cn.iocoder.yudao.module.infra.controller.admin.redis.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.util.Map;
+
+@ApiModel("管理后台 - Redis Stream 死信消息 Response VO")
+@Data
+public class RedisDeadLetterRespVO {
+
+    @ApiModelProperty(value = "死信消息编号", required = true, example = "1667381234567-0")
+    private String id;
+
+    @ApiModelProperty(value = "原消息编号", required = true, example = "1667380000000-0")
+    private String originId;
+
+    @ApiModelProperty(value = "投递次数", required = true, example = "10")
+    private Long deliveryCount;
+
+    @ApiModelProperty(value = "进入死信的时间", required = true, example = "2022-11-02T10:00:00")
+    private String deadTime;
+
+    @ApiModelProperty(value = "消息内容", required = true)
+    private Map<Object, Object> value;
+
+}
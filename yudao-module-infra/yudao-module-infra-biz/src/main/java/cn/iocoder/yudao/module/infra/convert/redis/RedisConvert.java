@@ -1,14 +1,20 @@
 package cn.iocoder.yudao.module.infra.convert.redis;
 
+import cn.hutool.core.convert.Convert;
 import cn.hutool.core.util.StrUtil;
+import cn.iocoder.yudao.framework.mq.core.RedisMQTemplate;
 import cn.iocoder.yudao.framework.redis.core.RedisKeyDefine;
+import cn.iocoder.yudao.module.infra.controller.admin.redis.vo.RedisDeadLetterRespVO;
 import cn.iocoder.yudao.module.infra.controller.admin.redis.vo.RedisKeyDefineRespVO;
 import cn.iocoder.yudao.module.infra.controller.admin.redis.vo.RedisMonitorRespVO;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
+import org.springframework.data.redis.connection.stream.MapRecord;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 @Mapper
@@ -31,4 +37,17 @@ public interface RedisConvert {
 
     List<RedisKeyDefineRespVO> convertList(List<RedisKeyDefine> list);
 
+    default RedisDeadLetterRespVO convert(MapRecord<String, Object, Object> record) {
+        Map<Object, Object> value = new HashMap<>(record.getValue());
+        RedisDeadLetterRespVO respVO = new RedisDeadLetterRespVO();
+        respVO.setId(record.getId().getValue());
+        respVO.setOriginId((String) value.remove(RedisMQTemplate.DEAD_LETTER_FIELD_ORIGIN_ID));
+        respVO.setDeliveryCount(Convert.toLong(value.remove(RedisMQTemplate.DEAD_LETTER_FIELD_DELIVERY_COUNT)));
+        respVO.setDeadTime((String) value.remove(RedisMQTemplate.DEAD_LETTER_FIELD_TIME));
+        respVO.setValue(value);
+        return respVO;
+    }
+
+    List<RedisDeadLetterRespVO> convertList02(List<MapRecord<String, Object, Object>> list);
+
 }
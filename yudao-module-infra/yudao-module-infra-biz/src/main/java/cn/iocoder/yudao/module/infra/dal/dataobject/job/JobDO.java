@@ -61,6 +61,14 @@ public class JobDO extends BaseDO {
      * 如果没有间隔，则设置为 0
      */
     private Integer retryInterval;
+    /**
+     * 分片总数
+     *
+     * 大于 1 时，会拆分成多个分片，各分片独立调度、并发执行。
+     * 集群模式下，分片由 Quartz 抢占 Trigger 的节点执行，不会按节点均衡分配，可能全部在同一个节点执行
+     * JobHandler 通过 {@link cn.iocoder.yudao.framework.quartz.core.context.JobContextHolder} 获得当前分片
+     */
+    private Integer shardingTotal;
 
     // ========== 监控相关字段 ==========
     /**
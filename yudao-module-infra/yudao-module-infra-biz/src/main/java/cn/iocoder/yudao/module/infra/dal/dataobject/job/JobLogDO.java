@@ -76,6 +76,8 @@ public class JobLogDO extends BaseDO {
      *
      * 成功时，使用 {@link JobHandler#execute(String)} 的结果
      * 失败时，使用 {@link JobHandler#execute(String)} 的异常堆栈
+     * 多租户 Job 时，使用执行结果的摘要，格式为 {"successCount": 成功数, "failureCount": 失败数, "failedTenantIds": [失败的租户编号]}，
+     * 每个失败租户的原因，记录在 {@link JobLogFailureDO} 中
      */
     private String result;
 
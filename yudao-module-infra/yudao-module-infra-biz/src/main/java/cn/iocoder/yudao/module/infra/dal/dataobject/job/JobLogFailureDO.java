@@ -0,0 +1,45 @@
+package cn.iocoder.yudao.module.infra.dal.dataobject.job;
+
+import cn.iocoder.yudao.framework.mybatis.core.dataobject.BaseDO;
+import com.baomidou.mybatisplus.annotation.KeySequence;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.*;
+
+/**
+ * 定时任务的执行日志的失败明细
+ *
+ * 部分执行失败时（例如说多租户 Job 的部分租户失败），每个失败的 key 一条记录，
+ * 参见 {@link cn.iocoder.yudao.framework.quartz.core.handler.JobPartialFailureException}
+ *
+ * @author 芋道源码
+ */
+@TableName("infra_job_log_failure")
+@KeySequence("infra_job_log_failure_seq") // 用于 Oracle、PostgreSQL、Kingbase、DB2、H2 数据库的主键自增。如果是 MySQL 等数据库，可不写。
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLogFailureDO extends BaseDO {
+
+    /**
+     * 编号
+     */
+    private Long id;
+    /**
+     * 日志编号
+     *
+     * 关联 {@link JobLogDO#getId()}
+     */
+    private Long logId;
+    /**
+     * 失败的 key，例如说多租户 Job 的租户编号
+     */
+    private String failedKey;
+    /**
+     * 失败原因
+     */
+    private String reason;
+
+}
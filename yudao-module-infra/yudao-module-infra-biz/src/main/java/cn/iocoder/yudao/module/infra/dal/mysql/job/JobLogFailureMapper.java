@@ -0,0 +1,21 @@
+package cn.iocoder.yudao.module.infra.dal.mysql.job;
+
+import cn.iocoder.yudao.framework.mybatis.core.mapper.BaseMapperX;
+import cn.iocoder.yudao.module.infra.dal.dataobject.job.JobLogFailureDO;
+import org.apache.ibatis.annotations.Mapper;
+
+import java.util.List;
+
+/**
+ * 任务日志的失败明细 Mapper
+ *
+ * @author 芋道源码
+ */
+@Mapper
+public interface JobLogFailureMapper extends BaseMapperX<JobLogFailureDO> {
+
+    default List<JobLogFailureDO> selectListByLogId(Long logId) {
+        return selectList(JobLogFailureDO::getLogId, logId);
+    }
+
+}
@@ -2,6 +2,7 @@ package cn.iocoder.yudao.module.infra.dal.mysql.job;
 
 import cn.iocoder.yudao.framework.common.pojo.PageResult;
 import cn.iocoder.yudao.framework.mybatis.core.mapper.BaseMapperX;
+import cn.iocoder.yudao.framework.mybatis.core.query.LambdaQueryWrapperX;
 import cn.iocoder.yudao.framework.mybatis.core.query.QueryWrapperX;
 import cn.iocoder.yudao.module.infra.controller.admin.job.vo.log.JobLogExportReqVO;
 import cn.iocoder.yudao.module.infra.controller.admin.job.vo.log.JobLogPageReqVO;
@@ -9,6 +10,7 @@ import cn.iocoder.yudao.module.infra.dal.dataobject.job.JobLogDO;
 import org.apache.ibatis.annotations.Mapper;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 任务日志 Mapper
@@ -29,15 +31,13 @@ public interface JobLogMapper extends BaseMapperX<JobLogDO> {
         );
     }
 
-    default List<JobLogDO> selectList(JobLogExportReqVO reqVO) {
-        return selectList(new QueryWrapperX<JobLogDO>()
-                .eqIfPresent("job_id", reqVO.getJobId())
-                .likeIfPresent("handler_name", reqVO.getHandlerName())
-                .geIfPresent("begin_time", reqVO.getBeginTime())
-                .leIfPresent("end_time", reqVO.getEndTime())
-                .eqIfPresent("status", reqVO.getStatus())
-                .orderByDesc("id") // ID 倒序
-        );
+    default void selectList(JobLogExportReqVO reqVO, Consumer<List<JobLogDO>> consumer) {
+        selectBatches(() -> new LambdaQueryWrapperX<JobLogDO>()
+                .eqIfPresent(JobLogDO::getJobId, reqVO.getJobId())
+                .likeIfPresent(JobLogDO::getHandlerName, reqVO.getHandlerName())
+                .geIfPresent(JobLogDO::getBeginTime, reqVO.getBeginTime())
+                .leIfPresent(JobLogDO::getEndTime, reqVO.getEndTime())
+                .eqIfPresent(JobLogDO::getStatus, reqVO.getStatus()), JobLogDO::getId, consumer); // ID 倒序
     }
 
 }
@@ -9,6 +9,7 @@ import cn.iocoder.yudao.module.infra.dal.dataobject.logger.ApiAccessLogDO;
 import org.apache.ibatis.annotations.Mapper;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * API 访问日志 Mapper
@@ -19,7 +20,7 @@ import java.util.List;
 public interface ApiAccessLogMapper extends BaseMapperX<ApiAccessLogDO> {
 
     default PageResult<ApiAccessLogDO> selectPage(ApiAccessLogPageReqVO reqVO) {
-        return selectPage(reqVO, new LambdaQueryWrapperX<ApiAccessLogDO>()
+        return selectCursorPage(reqVO, ApiAccessLogDO::getId, new LambdaQueryWrapperX<ApiAccessLogDO>()
                 .eqIfPresent(ApiAccessLogDO::getUserId, reqVO.getUserId())
                 .eqIfPresent(ApiAccessLogDO::getUserType, reqVO.getUserType())
                 .eqIfPresent(ApiAccessLogDO::getApplicationName, reqVO.getApplicationName())
@@ -27,21 +28,22 @@ public interface ApiAccessLogMapper extends BaseMapperX<ApiAccessLogDO> {
                 .betweenIfPresent(ApiAccessLogDO::getBeginTime, reqVO.getBeginTime())
                 .geIfPresent(ApiAccessLogDO::getDuration, reqVO.getDuration())
                 .eqIfPresent(ApiAccessLogDO::getResultCode, reqVO.getResultCode())
-                .orderByDesc(ApiAccessLogDO::getId)
         );
     }
 
-    default List<ApiAccessLogDO> selectList(ApiAccessLogExportReqVO reqVO) {
-        return selectList(new LambdaQueryWrapperX<ApiAccessLogDO>()
+    default void selectList(ApiAccessLogExportReqVO reqVO, Consumer<List<ApiAccessLogDO>> consumer) {
+        selectBatches(() -> buildQueryWrapper(reqVO), ApiAccessLogDO::getId, consumer);
+    }
+
+    default LambdaQueryWrapperX<ApiAccessLogDO> buildQueryWrapper(ApiAccessLogExportReqVO reqVO) {
+        return new LambdaQueryWrapperX<ApiAccessLogDO>()
                 .eqIfPresent(ApiAccessLogDO::getUserId, reqVO.getUserId())
                 .eqIfPresent(ApiAccessLogDO::getUserType, reqVO.getUserType())
                 .eqIfPresent(ApiAccessLogDO::getApplicationName, reqVO.getApplicationName())
                 .likeIfPresent(ApiAccessLogDO::getRequestUrl, reqVO.getRequestUrl())
                 .betweenIfPresent(ApiAccessLogDO::getBeginTime, reqVO.getBeginTime())
                 .geIfPresent(ApiAccessLogDO::getDuration, reqVO.getDuration())
-                .eqIfPresent(ApiAccessLogDO::getResultCode, reqVO.getResultCode())
-                .orderByDesc(ApiAccessLogDO::getId)
-        );
+                .eqIfPresent(ApiAccessLogDO::getResultCode, reqVO.getResultCode());
     }
 
 }
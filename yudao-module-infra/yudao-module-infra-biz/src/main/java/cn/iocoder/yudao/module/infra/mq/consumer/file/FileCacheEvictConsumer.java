@@ -0,0 +1,36 @@
+package cn.iocoder.yudao.module.infra.mq.consumer.file;
+
+import cn.iocoder.yudao.framework.file.core.client.FileClient;
+import cn.iocoder.yudao.framework.file.core.client.cache.CachedFileClient;
+import cn.iocoder.yudao.framework.mq.core.pubsub.AbstractChannelMessageListener;
+import cn.iocoder.yudao.module.infra.mq.message.file.FileCacheEvictMessage;
+import cn.iocoder.yudao.module.infra.service.file.FileConfigService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+
+/**
+ * 针对 {@link FileCacheEvictMessage} 的消费者
+ *
+ * @author 芋道源码
+ */
+@Component
+@Slf4j
+public class FileCacheEvictConsumer extends AbstractChannelMessageListener<FileCacheEvictMessage> {
+
+    @Resource
+    private FileConfigService fileConfigService;
+
+    @Override
+    public void onMessage(FileCacheEvictMessage message) {
+        // 未开启读缓存的存储器，无需处理
+        FileClient client = fileConfigService.getFileClient(message.getConfigId());
+        if (!(client instanceof CachedFileClient)) {
+            return;
+        }
+        log.info("[onMessage][收到文件({}) 读缓存移除消息]", message.getPath());
+        ((CachedFileClient) client).evict(message.getPath());
+    }
+
+}
@@ -0,0 +1,28 @@
+package cn.iocoder.yudao.module.infra.mq.message.file;
+
+import cn.iocoder.yudao.framework.mq.core.pubsub.AbstractChannelMessage;
+import lombok.Data;
+
+/**
+ * 文件读缓存移除 Message
+ *
+ * 文件被覆盖、或者删除时，广播给所有节点，移除各自的本地读缓存
+ */
+@Data
+public class FileCacheEvictMessage extends AbstractChannelMessage {
+
+    /**
+     * 配置编号
+     */
+    private Long configId;
+    /**
+     * 相对路径
+     */
+    private String path;
+
+    @Override
+    public String getChannel() {
+        return "infra.file-cache.evict";
+    }
+
+}
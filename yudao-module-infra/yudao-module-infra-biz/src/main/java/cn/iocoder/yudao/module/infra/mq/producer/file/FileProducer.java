@@ -0,0 +1,31 @@
+package cn.iocoder.yudao.module.infra.mq.producer.file;
+
+import cn.iocoder.yudao.framework.mq.core.RedisMQTemplate;
+import cn.iocoder.yudao.module.infra.mq.message.file.FileCacheEvictMessage;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+
+/**
+ * 文件相关消息的 Producer
+ */
+@Component
+public class FileProducer {
+
+    @Resource
+    private RedisMQTemplate redisMQTemplate;
+
+    /**
+     * 发送 {@link FileCacheEvictMessage} 消息
+     *
+     * @param configId 配置编号
+     * @param path 相对路径
+     */
+    public void sendFileCacheEvictMessage(Long configId, String path) {
+        FileCacheEvictMessage message = new FileCacheEvictMessage();
+        message.setConfigId(configId);
+        message.setPath(path);
+        redisMQTemplate.send(message);
+    }
+
+}
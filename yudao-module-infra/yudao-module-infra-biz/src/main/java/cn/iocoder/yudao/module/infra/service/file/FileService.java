@@ -1,8 +1,10 @@
 package cn.iocoder.yudao.module.infra.service.file;
 
+import cn.iocoder.yudao.framework.file.core.client.FileObject;
 import cn.iocoder.yudao.module.infra.controller.admin.file.vo.file.FilePageReqVO;
 import cn.iocoder.yudao.framework.common.pojo.PageResult;
 import cn.iocoder.yudao.module.infra.dal.dataobject.file.FileDO;
+import org.springframework.core.io.InputStreamSource;
 
 /**
  * 文件 Service 接口
@@ -29,6 +31,17 @@ public interface FileService {
      */
     String createFile(String name, String path, byte[] content);
 
+    /**
+     * 保存文件，并返回文件的访问路径。基于流式上传，避免将整个文件加载到内存中
+     *
+     * @param name 文件名称
+     * @param path 文件路径
+     * @param content 文件内容，会被多次打开读取，例如说 MultipartFile
+     * @param size 文件大小
+     * @return 文件路径
+     */
+    String createFile(String name, String path, InputStreamSource content, long size);
+
     /**
      * 删除文件
      *
@@ -45,4 +58,13 @@ public interface FileService {
      */
     byte[] getFileContent(Long configId, String path) throws Exception;
 
+    /**
+     * 获得文件对象，用于流式、按范围下载
+     *
+     * @param configId 配置编号
+     * @param path 文件路径
+     * @return 文件对象；文件不存在时，返回 null
+     */
+    FileObject getFileObject(Long configId, String path) throws Exception;
+
 }
@@ -5,14 +5,18 @@ import cn.hutool.core.util.StrUtil;
 import cn.iocoder.yudao.framework.common.pojo.PageResult;
 import cn.iocoder.yudao.framework.common.util.io.FileUtils;
 import cn.iocoder.yudao.framework.file.core.client.FileClient;
+import cn.iocoder.yudao.framework.file.core.client.FileObject;
 import cn.iocoder.yudao.framework.file.core.utils.FileTypeUtils;
 import cn.iocoder.yudao.module.infra.controller.admin.file.vo.file.FilePageReqVO;
 import cn.iocoder.yudao.module.infra.dal.dataobject.file.FileDO;
 import cn.iocoder.yudao.module.infra.dal.mysql.file.FileMapper;
+import cn.iocoder.yudao.module.infra.mq.producer.file.FileProducer;
 import lombok.SneakyThrows;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.Resource;
+import java.io.InputStream;
 
 import static cn.iocoder.yudao.framework.common.exception.util.ServiceExceptionUtil.exception;
 import static cn.iocoder.yudao.module.infra.enums.ErrorCodeConstants.FILE_NOT_EXISTS;
@@ -31,6 +35,9 @@ public class FileServiceImpl implements FileService {
     @Resource
     private FileMapper fileMapper;
 
+    @Resource
+    private FileProducer fileProducer;
+
     @Override
     public PageResult<FileDO> getFilePage(FilePageReqVO pageReqVO) {
         return fileMapper.selectPage(pageReqVO);
@@ -41,7 +48,8 @@ public class FileServiceImpl implements FileService {
     public String createFile(String name, String path, byte[] content) {
         // 计算默认的 path 名
         String type = FileTypeUtils.getMineType(content, name);
-        if (StrUtil.isEmpty(path)) {
+        boolean customPath = StrUtil.isNotEmpty(path);
+        if (!customPath) {
             path = FileUtils.generatePath(content, name);
         }
         // 如果 name 为空，则使用 path 填充
@@ -53,17 +61,59 @@ public class FileServiceImpl implements FileService {
         FileClient client = fileConfigService.getMasterFileClient();
         Assert.notNull(client, "客户端(master) 不能为空");
         String url = client.upload(content, path, type);
+        if (customPath) {
+            // 自定义的路径，内容可能被覆盖，需要移除其它节点的读缓存
+            fileProducer.sendFileCacheEvictMessage(client.getId(), path);
+        }
+
+        // 保存到数据库
+        createFileRecord(client, name, path, url, type, content.length);
+        return url;
+    }
+
+    @Override
+    @SneakyThrows
+    public String createFile(String name, String path, InputStreamSource content, long size) {
+        // 计算默认的 path 名。多次打开文件流读取，避免将整个文件加载到内存中
+        String type;
+        try (InputStream in = content.getInputStream()) {
+            type = FileTypeUtils.getMineType(in, name);
+        }
+        boolean customPath = StrUtil.isNotEmpty(path);
+        if (!customPath) {
+            path = FileUtils.generatePath(content, name);
+        }
+        // 如果 name 为空，则使用 path 填充
+        if (StrUtil.isEmpty(name)) {
+            name = path;
+        }
+
+        // 上传到文件存储器
+        FileClient client = fileConfigService.getMasterFileClient();
+        Assert.notNull(client, "客户端(master) 不能为空");
+        String url;
+        try (InputStream in = content.getInputStream()) {
+            url = client.upload(in, size, path, type);
+        }
+        if (customPath) {
+            // 自定义的路径，内容可能被覆盖，需要移除其它节点的读缓存
+            fileProducer.sendFileCacheEvictMessage(client.getId(), path);
+        }
 
         // 保存到数据库
+        createFileRecord(client, name, path, url, type, (int) size);
+        return url;
+    }
+
+    private void createFileRecord(FileClient client, String name, String path, String url, String type, int size) {
         FileDO file = new FileDO();
         file.setConfigId(client.getId());
         file.setName(name);
         file.setPath(path);
         file.setUrl(url);
         file.setType(type);
-        file.setSize(content.length);
+        file.setSize(size);
         fileMapper.insert(file);
-        return url;
     }
 
     @Override
@@ -75,6 +125,8 @@ public class FileServiceImpl implements FileService {
         FileClient client = fileConfigService.getFileClient(file.getConfigId());
         Assert.notNull(client, "客户端({}) 不能为空", file.getConfigId());
         client.delete(file.getPath());
+        // 移除其它节点的读缓存
+        fileProducer.sendFileCacheEvictMessage(file.getConfigId(), file.getPath());
 
         // 删除记录
         fileMapper.deleteById(id);
@@ -95,4 +147,11 @@ public class FileServiceImpl implements FileService {
         return client.getContent(path);
     }
 
+    @Override
+    public FileObject getFileObject(Long configId, String path) throws Exception {
+        FileClient client = fileConfigService.getFileClient(configId);
+        Assert.notNull(client, "客户端({}) 不能为空", configId);
+        return client.getObject(path);
+    }
+
 }
@@ -8,6 +8,7 @@ import cn.iocoder.yudao.module.infra.dal.dataobject.job.JobLogDO;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Job 日志 Service 接口
@@ -41,11 +42,11 @@ public interface JobLogService extends JobLogFrameworkService {
     PageResult<JobLogDO> getJobLogPage(JobLogPageReqVO pageReqVO);
 
     /**
-     * 获得定时任务列表, 用于 Excel 导出
+     * 分批获得定时任务日志列表, 用于 Excel 导出大量数据
      *
      * @param exportReqVO 查询条件
-     * @return 定时任务分页
+     * @param consumer 每一批定时任务日志的处理逻辑
      */
-    List<JobLogDO> getJobLogList(JobLogExportReqVO exportReqVO);
+    void getJobLogList(JobLogExportReqVO exportReqVO, Consumer<List<JobLogDO>> consumer);
 
 }
@@ -1,9 +1,14 @@
 package cn.iocoder.yudao.module.infra.service.job;
 
+import cn.hutool.core.collection.CollUtil;
 import cn.iocoder.yudao.framework.common.pojo.PageResult;
+import cn.iocoder.yudao.framework.common.util.collection.CollectionUtils;
+import cn.iocoder.yudao.framework.common.util.string.StrUtils;
 import cn.iocoder.yudao.module.infra.controller.admin.job.vo.log.JobLogExportReqVO;
 import cn.iocoder.yudao.module.infra.controller.admin.job.vo.log.JobLogPageReqVO;
 import cn.iocoder.yudao.module.infra.dal.dataobject.job.JobLogDO;
+import cn.iocoder.yudao.module.infra.dal.dataobject.job.JobLogFailureDO;
+import cn.iocoder.yudao.module.infra.dal.mysql.job.JobLogFailureMapper;
 import cn.iocoder.yudao.module.infra.dal.mysql.job.JobLogMapper;
 import cn.iocoder.yudao.module.infra.enums.job.JobLogStatusEnum;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +20,8 @@ import javax.annotation.Resource;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Job 日志 Service 实现类
@@ -26,8 +33,15 @@ import java.util.List;
 @Slf4j
 public class JobLogServiceImpl implements JobLogService {
 
+    /**
+     * 失败原因的最大长度，和 infra_job_log_failure.reason 字段一致
+     */
+    private static final int FAILURE_REASON_MAX_LENGTH = 500;
+
     @Resource
     private JobLogMapper jobLogMapper;
+    @Resource
+    private JobLogFailureMapper jobLogFailureMapper;
 
     @Override
     public Long createJobLog(Long jobId, LocalDateTime beginTime, String jobHandlerName, String jobHandlerParam, Integer executeIndex) {
@@ -39,11 +53,19 @@ public class JobLogServiceImpl implements JobLogService {
 
     @Override
     @Async
-    public void updateJobLogResultAsync(Long logId, LocalDateTime endTime, Integer duration, boolean success, String result) {
+    public void updateJobLogResultAsync(Long logId, LocalDateTime endTime, Integer duration, boolean success, String result,
+                                        Map<String, String> failures) {
         try {
             JobLogDO updateObj = JobLogDO.builder().id(logId).endTime(endTime).duration(duration)
-                    .status(success ? JobLogStatusEnum.SUCCESS.getStatus() : JobLogStatusEnum.FAILURE.getStatus()).result(result).build();
+                    .status(success ? JobLogStatusEnum.SUCCESS.getStatus() : JobLogStatusEnum.FAILURE.getStatus())
+                    .result(StrUtils.maxLength(result, RESULT_MAX_LENGTH)).build();
             jobLogMapper.updateById(updateObj);
+            // 记录失败明细
+            if (CollUtil.isNotEmpty(failures)) {
+                jobLogFailureMapper.insertBatch(CollectionUtils.convertList(failures.entrySet(),
+                        entry -> JobLogFailureDO.builder().logId(logId).failedKey(entry.getKey())
+                                .reason(StrUtils.maxLength(entry.getValue(), FAILURE_REASON_MAX_LENGTH)).build()));
+            }
         } catch (Exception ex) {
             log.error("[updateJobLogResultAsync][logId({}) endTime({}) duration({}) success({}) result({})]",
                     logId, endTime, duration, success, result);
@@ -66,8 +88,8 @@ public class JobLogServiceImpl implements JobLogService {
     }
 
     @Override
-    public List<JobLogDO> getJobLogList(JobLogExportReqVO exportReqVO) {
-        return jobLogMapper.selectList(exportReqVO);
+    public void getJobLogList(JobLogExportReqVO exportReqVO, Consumer<List<JobLogDO>> consumer) {
+        jobLogMapper.selectList(exportReqVO, consumer);
     }
 
 }
@@ -51,11 +51,12 @@ public class JobServiceImpl implements JobService {
         JobDO job = JobConvert.INSTANCE.convert(createReqVO);
         job.setStatus(JobStatusEnum.INIT.getStatus());
         fillJobMonitorTimeoutEmpty(job);
+        fillJobShardingTotalEmpty(job);
         jobMapper.insert(job);
 
         // 添加 Job 到 Quartz 中
         schedulerManager.addJob(job.getId(), job.getHandlerName(), job.getHandlerParam(), job.getCronExpression(),
-                createReqVO.getRetryCount(), createReqVO.getRetryInterval());
+                createReqVO.getRetryCount(), createReqVO.getRetryInterval(), job.getShardingTotal());
         // 更新
         JobDO updateObj = JobDO.builder().id(job.getId()).status(JobStatusEnum.NORMAL.getStatus()).build();
         jobMapper.updateById(updateObj);
@@ -77,11 +78,12 @@ public class JobServiceImpl implements JobService {
         // 更新
         JobDO updateObj = JobConvert.INSTANCE.convert(updateReqVO);
         fillJobMonitorTimeoutEmpty(updateObj);
+        fillJobShardingTotalEmpty(updateObj);
         jobMapper.updateById(updateObj);
 
         // 更新 Job 到 Quartz 中
         schedulerManager.updateJob(job.getHandlerName(), updateReqVO.getHandlerParam(), updateReqVO.getCronExpression(),
-                updateReqVO.getRetryCount(), updateReqVO.getRetryInterval());
+                updateReqVO.getRetryCount(), updateReqVO.getRetryInterval(), updateObj.getShardingTotal());
     }
 
     @Override
@@ -170,4 +172,10 @@ public class JobServiceImpl implements JobService {
         }
     }
 
+    private static void fillJobShardingTotalEmpty(JobDO job) {
+        if (job.getShardingTotal() == null) {
+            job.setShardingTotal(1);
+        }
+    }
+
 }
@@ -7,6 +7,7 @@ import cn.iocoder.yudao.module.infra.controller.admin.logger.vo.apiaccesslog.Api
 import cn.iocoder.yudao.module.infra.dal.dataobject.logger.ApiAccessLogDO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * API 访问日志 Service 接口
@@ -22,6 +23,13 @@ public interface ApiAccessLogService {
      */
     void createApiAccessLog(ApiAccessLogCreateReqDTO createReqDTO);
 
+    /**
+     * 批量创建 API 访问日志
+     *
+     * @param createReqDTOs API 访问日志数组
+     */
+    void createApiAccessLogList(List<ApiAccessLogCreateReqDTO> createReqDTOs);
+
     /**
      * 获得 API 访问日志分页
      *
@@ -31,11 +39,11 @@ public interface ApiAccessLogService {
     PageResult<ApiAccessLogDO> getApiAccessLogPage(ApiAccessLogPageReqVO pageReqVO);
 
     /**
-     * 获得 API 访问日志列表, 用于 Excel 导出
+     * 分批获得 API 访问日志列表, 用于 Excel 导出大量数据
      *
      * @param exportReqVO 查询条件
-     * @return API 访问日志分页
+     * @param consumer 每一批 API 访问日志的处理逻辑
      */
-    List<ApiAccessLogDO> getApiAccessLogList(ApiAccessLogExportReqVO exportReqVO);
+    void getApiAccessLogList(ApiAccessLogExportReqVO exportReqVO, Consumer<List<ApiAccessLogDO>> consumer);
 
 }
@@ -1,6 +1,8 @@
 package cn.iocoder.yudao.module.infra.service.logger;
 
 import cn.iocoder.yudao.framework.common.pojo.PageResult;
+import cn.iocoder.yudao.framework.common.util.collection.CollectionUtils;
+import cn.iocoder.yudao.framework.tenant.core.util.TenantUtils;
 import cn.iocoder.yudao.module.infra.api.logger.dto.ApiAccessLogCreateReqDTO;
 import cn.iocoder.yudao.module.infra.controller.admin.logger.vo.apiaccesslog.ApiAccessLogExportReqVO;
 import cn.iocoder.yudao.module.infra.controller.admin.logger.vo.apiaccesslog.ApiAccessLogPageReqVO;
@@ -12,6 +14,7 @@ import org.springframework.validation.annotation.Validated;
 
 import javax.annotation.Resource;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * API 访问日志 Service 实现类
@@ -31,14 +34,21 @@ public class ApiAccessLogServiceImpl implements ApiAccessLogService {
         apiAccessLogMapper.insert(apiAccessLog);
     }
 
+    @Override
+    public void createApiAccessLogList(List<ApiAccessLogCreateReqDTO> createReqDTOs) {
+        // 日志由后台线程批量写入，没有租户上下文，所以按照日志的租户编号分组写入
+        TenantUtils.executeByTenant(createReqDTOs, ApiAccessLogCreateReqDTO::getTenantId, list ->
+                apiAccessLogMapper.insertBatch(CollectionUtils.convertList(list, ApiAccessLogConvert.INSTANCE::convert)));
+    }
+
     @Override
     public PageResult<ApiAccessLogDO> getApiAccessLogPage(ApiAccessLogPageReqVO pageReqVO) {
         return apiAccessLogMapper.selectPage(pageReqVO);
     }
 
     @Override
-    public List<ApiAccessLogDO> getApiAccessLogList(ApiAccessLogExportReqVO exportReqVO) {
-        return apiAccessLogMapper.selectList(exportReqVO);
+    public void getApiAccessLogList(ApiAccessLogExportReqVO exportReqVO, Consumer<List<ApiAccessLogDO>> consumer) {
+        apiAccessLogMapper.selectList(exportReqVO, consumer);
     }
 
 }
@@ -7,6 +7,7 @@ import cn.iocoder.yudao.module.infra.controller.admin.logger.vo.apierrorlog.ApiE
 import cn.iocoder.yudao.module.infra.dal.dataobject.logger.ApiErrorLogDO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * API 错误日志 Service 接口
@@ -31,12 +32,12 @@ public interface ApiErrorLogService {
     PageResult<ApiErrorLogDO> getApiErrorLogPage(ApiErrorLogPageReqVO pageReqVO);
 
     /**
-     * 获得 API 错误日志列表, 用于 Excel 导出
+     * 分批获得 API 错误日志列表, 用于 Excel 导出大量数据
      *
      * @param exportReqVO 查询条件
-     * @return API 错误日志分页
+     * @param consumer 每一批 API 错误日志的处理逻辑
      */
-    List<ApiErrorLogDO> getApiErrorLogList(ApiErrorLogExportReqVO exportReqVO);
+    void getApiErrorLogList(ApiErrorLogExportReqVO exportReqVO, Consumer<List<ApiErrorLogDO>> consumer);
 
     /**
      * 更新 API 错误日志已处理
@@ -16,6 +16,7 @@ import org.springframework.validation.annotation.Validated;
 import javax.annotation.Resource;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * API 错误日志 Service 实现类
@@ -42,8 +43,8 @@ public class ApiErrorLogServiceImpl implements ApiErrorLogService {
     }
 
     @Override
-    public List<ApiErrorLogDO> getApiErrorLogList(ApiErrorLogExportReqVO exportReqVO) {
-        return apiErrorLogMapper.selectList(exportReqVO);
+    public void getApiErrorLogList(ApiErrorLogExportReqVO exportReqVO, Consumer<List<ApiErrorLogDO>> consumer) {
+        apiErrorLogMapper.selectList(exportReqVO, consumer);
     }
 
     @Override
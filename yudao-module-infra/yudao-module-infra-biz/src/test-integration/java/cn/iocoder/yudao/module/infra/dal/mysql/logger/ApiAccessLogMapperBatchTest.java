@@ -0,0 +1,82 @@
+package cn.iocoder.yudao.module.infra.dal.mysql.logger;
+
+import cn.iocoder.yudao.module.infra.dal.dataobject.logger.ApiAccessLogDO;
+import cn.iocoder.yudao.module.infra.test.BaseDbAndRedisIntegrationTest;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.toolkit.Db;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Resource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link ApiAccessLogMapper} 批量插入的基准测试，对比 Db.saveBatch 与 BaseMapperX#insertBatch 插入 10 万条记录的耗时
+ *
+ * 注意，Db.saveBatch 的耗时，和 JDBC URL 是否开启 rewriteBatchedStatements 有关，建议分别测试
+ */
+public class ApiAccessLogMapperBatchTest extends BaseDbAndRedisIntegrationTest {
+
+    private static final int COUNT = 100000;
+
+    private static final String APPLICATION_NAME = "batch-benchmark";
+
+    @Resource
+    private ApiAccessLogMapper apiAccessLogMapper;
+
+    @AfterEach
+    public void tearDown() {
+        apiAccessLogMapper.delete(new LambdaQueryWrapper<ApiAccessLogDO>()
+                .eq(ApiAccessLogDO::getApplicationName, APPLICATION_NAME));
+    }
+
+    @Test
+    public void testInsertBatch_benchmark() {
+        // Db.saveBatch
+        long startTime = System.currentTimeMillis();
+        Db.saveBatch(buildLogs(COUNT), 1000);
+        System.out.printf("Db.saveBatch: %d ms%n", System.currentTimeMillis() - startTime);
+
+        // BaseMapperX#insertBatch
+        startTime = System.currentTimeMillis();
+        List<ApiAccessLogDO> logs = buildLogs(COUNT);
+        apiAccessLogMapper.insertBatch(logs, 1000);
+        System.out.printf("BaseMapperX#insertBatch: %d ms%n", System.currentTimeMillis() - startTime);
+
+        // 断言
+        assertEquals(COUNT * 2L, apiAccessLogMapper.selectCount(ApiAccessLogDO::getApplicationName, APPLICATION_NAME));
+        logs.forEach(log -> assertNotNull(log.getId()));
+    }
+
+    @Test
+    public void testInsertOrUpdateBatch() {
+        // mock 数据
+        List<ApiAccessLogDO> logs = buildLogs(10);
+        apiAccessLogMapper.insertBatch(logs);
+
+        // 调用：更新已有的 10 条，新增 10 条
+        logs.forEach(log -> log.setResultMsg("updated"));
+        logs.addAll(buildLogs(10));
+        apiAccessLogMapper.insertOrUpdateBatch(logs);
+        // 断言
+        assertEquals(20L, apiAccessLogMapper.selectCount(ApiAccessLogDO::getApplicationName, APPLICATION_NAME));
+        assertEquals(10L, apiAccessLogMapper.selectCount(ApiAccessLogDO::getResultMsg, "updated"));
+    }
+
+    private static List<ApiAccessLogDO> buildLogs(int count) {
+        List<ApiAccessLogDO> logs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            logs.add(new ApiAccessLogDO().setTraceId(String.valueOf(i)).setUserId(1L).setUserType(1)
+                    .setApplicationName(APPLICATION_NAME).setRequestMethod("GET").setRequestUrl("/benchmark")
+                    .setRequestParams("{}").setUserIp("127.0.0.1").setUserAgent("benchmark")
+                    .setBeginTime(LocalDateTime.now()).setEndTime(LocalDateTime.now()).setDuration(1)
+                    .setResultCode(0).setResultMsg(""));
+        }
+        return logs;
+    }
+
+}
@@ -0,0 +1,84 @@
+package cn.iocoder.yudao.module.infra.dal.mysql.logger;
+
+import cn.iocoder.yudao.framework.test.core.ut.BaseDbUnitTest;
+import cn.iocoder.yudao.module.infra.dal.dataobject.logger.ApiAccessLogDO;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Resource;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * {@link ApiAccessLogMapper} 的单元测试，覆盖 BaseMapperX#insertOrUpdateBatch 的批量插入或更新、BaseMapperX#updateBatch 的批量更新
+ */
+public class ApiAccessLogMapperTest extends BaseDbUnitTest {
+
+    @Resource
+    private ApiAccessLogMapper apiAccessLogMapper;
+
+    @Test
+    public void testInsertOrUpdateBatch_mixedNull() {
+        // mock 数据
+        ApiAccessLogDO dbLog = buildLog("1").setResultMsg("keep");
+        apiAccessLogMapper.insert(dbLog);
+
+        // 准备参数：已有的记录，resultMsg 为 null；新增的记录，resultMsg 非 null，两者在同一批
+        ApiAccessLogDO updateLog = buildLog("1").setResultMsg(null).setRequestUrl("/updated");
+        updateLog.setId(dbLog.getId());
+        ApiAccessLogDO newLog = buildLog("2").setResultMsg("new");
+        // 调用
+        apiAccessLogMapper.insertOrUpdateBatch(Arrays.asList(updateLog, newLog));
+
+        // 断言：已有的记录，null 的字段保持原值，非 null 的字段被更新
+        ApiAccessLogDO log = apiAccessLogMapper.selectById(dbLog.getId());
+        assertEquals("keep", log.getResultMsg());
+        assertEquals("/updated", log.getRequestUrl());
+        // 断言：新增的记录
+        assertNotNull(newLog.getId());
+        assertEquals(2L, apiAccessLogMapper.selectCount());
+        assertEquals("new", apiAccessLogMapper.selectOne(ApiAccessLogDO::getTraceId, "2").getResultMsg());
+    }
+
+    @Test
+    public void testUpdateBatch_mixedNull() {
+        // mock 数据
+        ApiAccessLogDO dbLog01 = buildLog("1").setResultMsg("keep");
+        apiAccessLogMapper.insert(dbLog01);
+        ApiAccessLogDO dbLog02 = buildLog("2").setResultMsg("old");
+        apiAccessLogMapper.insert(dbLog02);
+        ApiAccessLogDO dbLog03 = buildLog("3").setResultMsg("other");
+        apiAccessLogMapper.insert(dbLog03);
+
+        // 准备参数：第一条记录，resultMsg 为 null；第二条记录，resultMsg 非 null，两者在同一批
+        ApiAccessLogDO updateLog01 = new ApiAccessLogDO().setId(dbLog01.getId()).setRequestUrl("/updated-1");
+        ApiAccessLogDO updateLog02 = new ApiAccessLogDO().setId(dbLog02.getId()).setRequestUrl("/updated-2")
+                .setResultMsg("new");
+        // 调用
+        apiAccessLogMapper.updateBatch(Arrays.asList(updateLog01, updateLog02), 1000);
+
+        // 断言：null 的字段保持原值，非 null 的字段被更新
+        ApiAccessLogDO log01 = apiAccessLogMapper.selectById(dbLog01.getId());
+        assertEquals("keep", log01.getResultMsg());
+        assertEquals("/updated-1", log01.getRequestUrl());
+        assertEquals("1", log01.getTraceId());
+        ApiAccessLogDO log02 = apiAccessLogMapper.selectById(dbLog02.getId());
+        assertEquals("new", log02.getResultMsg());
+        assertEquals("/updated-2", log02.getRequestUrl());
+        // 断言：不在批次中的记录，不被更新
+        ApiAccessLogDO log03 = apiAccessLogMapper.selectById(dbLog03.getId());
+        assertEquals("other", log03.getResultMsg());
+        assertEquals("/test", log03.getRequestUrl());
+    }
+
+    private static ApiAccessLogDO buildLog(String traceId) {
+        return new ApiAccessLogDO().setTraceId(traceId).setUserId(1L).setUserType(1)
+                .setApplicationName("yudao-test").setRequestMethod("GET").setRequestUrl("/test")
+                .setRequestParams("{}").setUserIp("127.0.0.1").setUserAgent("test")
+                .setBeginTime(LocalDateTime.now()).setEndTime(LocalDateTime.now()).setDuration(1)
+                .setResultCode(0);
+    }
+
+}
@@ -2,6 +2,7 @@ package cn.iocoder.yudao.module.infra.service.file;
 
 import cn.hutool.core.io.resource.ResourceUtil;
 import cn.iocoder.yudao.framework.common.pojo.PageResult;
+import cn.iocoder.yudao.framework.common.util.io.FileUtils;
 import cn.iocoder.yudao.framework.common.util.object.ObjectUtils;
 import cn.iocoder.yudao.framework.file.core.client.FileClient;
 import cn.iocoder.yudao.framework.test.core.ut.BaseDbUnitTest;
@@ -9,12 +10,15 @@ import cn.iocoder.yudao.framework.test.core.util.AssertUtils;
 import cn.iocoder.yudao.module.infra.controller.admin.file.vo.file.FilePageReqVO;
 import cn.iocoder.yudao.module.infra.dal.dataobject.file.FileDO;
 import cn.iocoder.yudao.module.infra.dal.mysql.file.FileMapper;
+import cn.iocoder.yudao.module.infra.mq.producer.file.FileProducer;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
 
 import javax.annotation.Resource;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 
 import static cn.iocoder.yudao.framework.common.util.date.LocalDateTimeUtils.buildTime;
@@ -22,7 +26,7 @@ import static cn.iocoder.yudao.framework.test.core.util.AssertUtils.assertServic
 import static cn.iocoder.yudao.framework.test.core.util.RandomUtils.*;
 import static cn.iocoder.yudao.module.infra.enums.ErrorCodeConstants.FILE_NOT_EXISTS;
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @Import({FileServiceImpl.class})
@@ -36,6 +40,8 @@ public class FileServiceTest extends BaseDbUnitTest {
 
     @MockBean
     private FileConfigService fileConfigService;
+    @MockBean
+    private FileProducer fileProducer;
 
     @Test
     public void testGetFilePage() {
@@ -93,6 +99,35 @@ public class FileServiceTest extends BaseDbUnitTest {
         assertEquals(url, file.getUrl());
         assertEquals("image/jpeg", file.getType());
         assertEquals(content.length, file.getSize());
+        // 校验调用：自定义路径，移除其它节点的读缓存
+        verify(fileProducer).sendFileCacheEvictMessage(eq(10L), eq(path));
+    }
+
+    @Test
+    public void testCreateFile_stream() throws Exception {
+        // 准备参数
+        byte[] content = ResourceUtil.readBytes("file/erweima.jpg");
+        // mock Master 文件客户端
+        FileClient client = mock(FileClient.class);
+        when(fileConfigService.getMasterFileClient()).thenReturn(client);
+        String url = randomString();
+        when(client.upload(any(InputStream.class), eq((long) content.length), anyString(), eq("image/jpeg"))).thenReturn(url);
+        when(client.getId()).thenReturn(10L);
+        String name = "单测文件名.jpg";
+        // 调用
+        String result = fileService.createFile(name, null, new ByteArrayResource(content), content.length);
+        // 断言
+        assertEquals(result, url);
+        // 校验数据
+        String path = FileUtils.generatePath(content, name);
+        FileDO file = fileMapper.selectOne(FileDO::getPath, path);
+        assertEquals(10L, file.getConfigId());
+        assertEquals(name, file.getName());
+        assertEquals(url, file.getUrl());
+        assertEquals("image/jpeg", file.getType());
+        assertEquals(content.length, file.getSize());
+        verify(client).upload(any(InputStream.class), eq((long) content.length), eq(path), eq("image/jpeg"));
+        verify(fileProducer, never()).sendFileCacheEvictMessage(anyLong(), anyString());
     }
 
     @Test
@@ -112,6 +147,7 @@ public class FileServiceTest extends BaseDbUnitTest {
         assertNull(fileMapper.selectById(id));
         // 校验调用
         verify(client).delete(eq("tudou.jpg"));
+        verify(fileProducer).sendFileCacheEvictMessage(eq(10L), eq("tudou.jpg"));
     }
 
     @Test
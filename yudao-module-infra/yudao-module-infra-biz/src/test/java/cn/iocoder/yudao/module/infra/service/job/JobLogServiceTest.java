@@ -1,19 +1,22 @@
 package cn.iocoder.yudao.module.infra.service.job;
 
+import cn.hutool.core.util.StrUtil;
 import cn.iocoder.yudao.framework.common.pojo.PageResult;
 import cn.iocoder.yudao.framework.common.util.object.ObjectUtils;
 import cn.iocoder.yudao.framework.test.core.ut.BaseDbUnitTest;
 import cn.iocoder.yudao.module.infra.controller.admin.job.vo.log.JobLogExportReqVO;
 import cn.iocoder.yudao.module.infra.controller.admin.job.vo.log.JobLogPageReqVO;
 import cn.iocoder.yudao.module.infra.dal.dataobject.job.JobLogDO;
+import cn.iocoder.yudao.module.infra.dal.dataobject.job.JobLogFailureDO;
+import cn.iocoder.yudao.module.infra.dal.mysql.job.JobLogFailureMapper;
 import cn.iocoder.yudao.module.infra.dal.mysql.job.JobLogMapper;
 import cn.iocoder.yudao.module.infra.enums.job.JobLogStatusEnum;
 import org.junit.jupiter.api.Test;
 import org.springframework.context.annotation.Import;
 
 import javax.annotation.Resource;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.*;
 
 import static cn.hutool.core.util.RandomUtil.randomEle;
 import static cn.iocoder.yudao.framework.common.util.date.LocalDateTimeUtils.buildTime;
@@ -29,6 +32,8 @@ public class JobLogServiceTest extends BaseDbUnitTest {
     private JobLogServiceImpl jobLogService;
     @Resource
     private JobLogMapper jobLogMapper;
+    @Resource
+    private JobLogFailureMapper jobLogFailureMapper;
 
     @Test
     public void testCreateJobLog_success() {
@@ -55,18 +60,45 @@ public class JobLogServiceTest extends BaseDbUnitTest {
                 .beginTime(reqVO.getBeginTime()).status(JobLogStatusEnum.RUNNING.getStatus()).build();
         jobLogMapper.insert(log);
         // 调用
-        jobLogService.updateJobLogResultAsync(log.getId(), reqVO.getBeginTime(), reqVO.getDuration(), true,reqVO.getResult());
+        jobLogService.updateJobLogResultAsync(log.getId(), reqVO.getBeginTime(), reqVO.getDuration(), true,reqVO.getResult(), null);
         // 校验记录的属性是否正确
         JobLogDO job = jobLogMapper.selectById(log.getId());
         assertEquals(JobLogStatusEnum.SUCCESS.getStatus(), job.getStatus());
 
         // 调用
-        jobLogService.updateJobLogResultAsync(log.getId(), reqVO.getBeginTime(), reqVO.getDuration(), false,reqVO.getResult());
+        jobLogService.updateJobLogResultAsync(log.getId(), reqVO.getBeginTime(), reqVO.getDuration(), false,reqVO.getResult(), null);
         // 校验记录的属性是否正确
         JobLogDO job2 = jobLogMapper.selectById(log.getId());
         assertEquals(JobLogStatusEnum.FAILURE.getStatus(), job2.getStatus());
     }
 
+    @Test
+    public void testUpdateJobLogResultAsync_failures() {
+        // mock 数据
+        JobLogDO log = randomPojo(JobLogDO.class, o -> {
+            o.setExecuteIndex(1);
+            o.setStatus(JobLogStatusEnum.RUNNING.getStatus());
+        });
+        jobLogMapper.insert(log);
+        // 准备参数
+        Map<String, String> failures = new LinkedHashMap<>();
+        failures.put("1", "租户 1 失败");
+        failures.put("2", StrUtil.repeat('x', 600));
+        String result = "{\"successCount\":1,\"failureCount\":2,\"failedTenantIds\":[1,2]}";
+
+        // 调用
+        jobLogService.updateJobLogResultAsync(log.getId(), LocalDateTime.now(), 100, false, result, failures);
+        // 断言：结果为摘要，失败明细逐条记录
+        JobLogDO job = jobLogMapper.selectById(log.getId());
+        assertEquals(JobLogStatusEnum.FAILURE.getStatus(), job.getStatus());
+        assertEquals(result, job.getResult());
+        List<JobLogFailureDO> jobLogFailures = jobLogFailureMapper.selectListByLogId(log.getId());
+        assertEquals(2, jobLogFailures.size());
+        jobLogFailures.sort(Comparator.comparing(JobLogFailureDO::getFailedKey));
+        assertEquals("租户 1 失败", jobLogFailures.get(0).getReason());
+        assertEquals(500, jobLogFailures.get(1).getReason().length());
+    }
+
     @Test
     public void testGetJobLogListByIds_success() {
         // mock 数据
@@ -154,7 +186,8 @@ public class JobLogServiceTest extends BaseDbUnitTest {
         reqVo.setEndTime(dbJobLog.getEndTime());
         reqVo.setStatus(JobLogStatusEnum.SUCCESS.getStatus());
         // 调用
-        List<JobLogDO> list = jobLogService.getJobLogList(reqVo);
+        List<JobLogDO> list = new ArrayList<>();
+        jobLogService.getJobLogList(reqVo, list::addAll);
         // 断言
         assertEquals(1, list.size());
         assertPojoEquals(dbJobLog, list.get(0));
@@ -74,7 +74,7 @@ public class JobServiceTest extends BaseDbUnitTest {
         assertEquals(JobStatusEnum.NORMAL.getStatus(), job.getStatus());
         // 校验调用
         verify(schedulerManager, times(1)).addJob(eq(job.getId()), eq(job.getHandlerName()), eq(job.getHandlerParam()), eq(job.getCronExpression()),
-                eq(reqVO.getRetryCount()), eq(reqVO.getRetryInterval()));
+                eq(reqVO.getRetryCount()), eq(reqVO.getRetryInterval()), eq(job.getShardingTotal()));
     }
 
     @Test
@@ -124,7 +124,7 @@ public class JobServiceTest extends BaseDbUnitTest {
         assertPojoEquals(updateReqVO, updateJob);
         // 校验调用
         verify(schedulerManager, times(1)).updateJob(eq(job.getHandlerName()), eq(updateReqVO.getHandlerParam()), eq(updateReqVO.getCronExpression()),
-                eq(updateReqVO.getRetryCount()), eq(updateReqVO.getRetryInterval()));
+                eq(updateReqVO.getRetryCount()), eq(updateReqVO.getRetryInterval()), eq(updateReqVO.getShardingTotal()));
     }
 
     @Test
@@ -17,6 +17,7 @@ import org.springframework.context.annotation.Import;
 
 import javax.annotation.Resource;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static cn.iocoder.yudao.framework.common.util.date.LocalDateTimeUtils.buildTime;
@@ -139,7 +140,8 @@ public class ApiAccessLogServiceImplTest extends BaseDbUnitTest {
         reqVO.setResultCode(resultCode);
 
         // 调用service方法
-        List<ApiAccessLogDO> list = apiAccessLogService.getApiAccessLogList(reqVO);
+        List<ApiAccessLogDO> list = new ArrayList<>();
+        apiAccessLogService.getApiAccessLogList(reqVO, list::addAll);
 
         // 断言，只查到了一条符合条件的
         assertEquals(1, list.size());
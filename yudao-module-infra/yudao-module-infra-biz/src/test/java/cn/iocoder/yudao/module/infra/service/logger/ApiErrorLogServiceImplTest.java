@@ -18,6 +18,7 @@ import org.springframework.context.annotation.Import;
 
 import javax.annotation.Resource;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static cn.iocoder.yudao.framework.common.util.date.LocalDateTimeUtils.buildTime;
@@ -133,7 +134,8 @@ public class ApiErrorLogServiceImplTest extends BaseDbUnitTest {
         reqVO.setProcessStatus(progressStatus);
 
         // 调用service方法
-        List<ApiErrorLogDO> list = apiErrorLogService.getApiErrorLogList(reqVO);
+        List<ApiErrorLogDO> list = new ArrayList<>();
+        apiErrorLogService.getApiErrorLogList(reqVO, list::addAll);
 
         // 断言，只查到了一条符合条件的
         assertEquals(1, list.size());
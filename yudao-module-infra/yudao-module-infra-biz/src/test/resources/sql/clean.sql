@@ -2,6 +2,7 @@ DELETE FROM "infra_config";
 DELETE FROM "infra_file";
 DELETE FROM "infra_job";
 DELETE FROM "infra_job_log";
+DELETE FROM "infra_job_log_failure";
 DELETE FROM "infra_api_access_log";
 DELETE FROM "infra_api_error_log";
 DELETE FROM "infra_api_access_log";
@@ -57,6 +57,7 @@ CREATE TABLE IF NOT EXISTS "infra_job" (
     "cron_expression" varchar(32) NOT NULL COMMENT 'CRON 表达式',
     "retry_count" int(11) NOT NULL DEFAULT '0' COMMENT '重试次数',
     "retry_interval" int(11) NOT NULL DEFAULT '0' COMMENT '重试间隔',
+    "sharding_total" int(11) NOT NULL DEFAULT '1' COMMENT '分片总数',
     "monitor_timeout" int(11) NOT NULL DEFAULT '0' COMMENT '监控超时时间',
     "creator" varchar(64) DEFAULT '' COMMENT '创建者',
     "create_time" datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
@@ -85,6 +86,19 @@ CREATE TABLE IF NOT EXISTS "infra_job_log" (
     PRIMARY KEY ("id")
 )COMMENT='定时任务日志表';
 
+CREATE TABLE IF NOT EXISTS "infra_job_log_failure" (
+    "id" bigint(20) NOT NULL GENERATED BY DEFAULT AS IDENTITY COMMENT '编号',
+    "log_id" bigint(20) NOT NULL COMMENT '日志编号',
+    "failed_key" varchar(64) NOT NULL COMMENT '失败的 key',
+    "reason" varchar(500) DEFAULT '' COMMENT '失败原因',
+    "creator" varchar(64) DEFAULT '' COMMENT '创建者',
+    "create_time" datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    "updater" varchar(64) DEFAULT '' COMMENT '更新者',
+    "update_time" datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    "deleted" bit(1) NOT NULL DEFAULT FALSE COMMENT '是否删除',
+    PRIMARY KEY ("id")
+)COMMENT='定时任务日志的失败明细表';
+
 CREATE TABLE IF NOT EXISTS "inf_file" (
     "id" varchar(188) NOT NULL,
     "type" varchar(63) DEFAULT NULL,
@@ -142,7 +142,7 @@ public interface TradeOrderConvert {
             orderVO.setReceiverAreaName(AreaUtils.format(order.getReceiverAreaId()));
             return orderVO;
         });
-        return new PageResult<>(orderVOs, pageResult.getTotal());
+        return new PageResult<>(orderVOs, pageResult.getTotal()).setNextCursor(pageResult.getNextCursor());
     }
     TradeOrderPageItemRespVO convert(TradeOrderDO order, List<TradeOrderItemDO> items);
     ProductPropertyValueDetailRespVO convert(ProductPropertyValueDetailRespDTO bean);
@@ -206,7 +206,7 @@ public interface TradeOrderConvert {
             }
             return orderVO;
         });
-        return new PageResult<>(orderVOs, pageResult.getTotal());
+        return new PageResult<>(orderVOs, pageResult.getTotal()).setNextCursor(pageResult.getNextCursor());
     }
     AppTradeOrderPageItemRespVO convert02(TradeOrderDO order, List<TradeOrderItemDO> items);
     AppProductPropertyValueDetailRespVO convert02(ProductPropertyValueDetailRespDTO bean);
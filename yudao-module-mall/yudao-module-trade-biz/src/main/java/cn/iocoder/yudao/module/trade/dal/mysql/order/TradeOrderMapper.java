@@ -24,7 +24,7 @@ public interface TradeOrderMapper extends BaseMapperX<TradeOrderDO> {
     }
 
     default PageResult<TradeOrderDO> selectPage(TradeOrderPageReqVO reqVO, Set<Long> userIds) {
-        return selectPage(reqVO, new LambdaQueryWrapperX<TradeOrderDO>()
+        return selectCursorPage(reqVO, TradeOrderDO::getId, new LambdaQueryWrapperX<TradeOrderDO>()
                 .likeIfPresent(TradeOrderDO::getNo, reqVO.getNo())
                 .eqIfPresent(TradeOrderDO::getUserId, reqVO.getUserId())
                 .inIfPresent(TradeOrderDO::getUserId, userIds)
@@ -37,10 +37,10 @@ public interface TradeOrderMapper extends BaseMapperX<TradeOrderDO> {
     }
 
     default PageResult<TradeOrderDO> selectPage(AppTradeOrderPageReqVO reqVO, Long userId) {
-        return selectPage(reqVO, new LambdaQueryWrapperX<TradeOrderDO>()
+        // TODO 芋艿：未来不同的 status，不同的排序
+        return selectCursorPage(reqVO, TradeOrderDO::getId, new LambdaQueryWrapperX<TradeOrderDO>()
                 .eq(TradeOrderDO::getUserId, userId)
-                .eqIfPresent(TradeOrderDO::getStatus, reqVO.getStatus())
-                .orderByDesc(TradeOrderDO::getId)); // TODO 芋艿：未来不同的 status，不同的排序
+                .eqIfPresent(TradeOrderDO::getStatus, reqVO.getStatus()));
     }
 
 }
@@ -0,0 +1,29 @@
+package cn.iocoder.yudao.module.mp.mq.consumer;
+
+import cn.iocoder.yudao.framework.mq.core.pubsub.AbstractChannelMessageListener;
+import cn.iocoder.yudao.module.mp.mq.message.MpAutoReplyRefreshMessage;
+import cn.iocoder.yudao.module.mp.service.message.MpAutoReplyService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+
+/**
+ * 针对 {@link MpAutoReplyRefreshMessage} 的消费者
+ *
+ * @author 芋道源码
+ */
+@Component
+@Slf4j
+public class MpAutoReplyRefreshConsumer extends AbstractChannelMessageListener<MpAutoReplyRefreshMessage> {
+
+    @Resource
+    private MpAutoReplyService mpAutoReplyService;
+
+    @Override
+    public void onMessage(MpAutoReplyRefreshMessage message) {
+        log.info("[onMessage][收到 AutoReply 刷新消息]");
+        mpAutoReplyService.initLocalCache();
+    }
+
+}
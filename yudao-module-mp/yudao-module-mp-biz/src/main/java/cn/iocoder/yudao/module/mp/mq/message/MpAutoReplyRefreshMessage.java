@@ -0,0 +1,21 @@
+package cn.iocoder.yudao.module.mp.mq.message;
+
+import cn.iocoder.yudao.framework.mq.core.pubsub.AbstractChannelMessage;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 公众号自动回复刷新 Message
+ *
+ * @author 芋道源码
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class MpAutoReplyRefreshMessage extends AbstractChannelMessage {
+
+    @Override
+    public String getChannel() {
+        return "mp.auto-reply.refresh";
+    }
+
+}
@@ -0,0 +1,28 @@
+package cn.iocoder.yudao.module.mp.mq.producer;
+
+import cn.iocoder.yudao.framework.mq.core.RedisMQTemplate;
+import cn.iocoder.yudao.module.mp.mq.message.MpAutoReplyRefreshMessage;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+
+/**
+ * 公众号自动回复 Producer
+ *
+ * @author 芋道源码
+ */
+@Component
+public class MpAutoReplyProducer {
+
+    @Resource
+    private RedisMQTemplate redisMQTemplate;
+
+    /**
+     * 发送 {@link MpAutoReplyRefreshMessage} 消息
+     */
+    public void sendAutoReplyRefreshMessage() {
+        MpAutoReplyRefreshMessage message = new MpAutoReplyRefreshMessage();
+        redisMQTemplate.send(message);
+    }
+
+}
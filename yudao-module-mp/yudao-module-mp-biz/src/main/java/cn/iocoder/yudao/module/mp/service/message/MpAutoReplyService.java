@@ -15,6 +15,11 @@ import me.chanjar.weixin.mp.bean.message.WxMpXmlOutMessage;
  */
 public interface MpAutoReplyService {
 
+    /**
+     * 初始化缓存
+     */
+    void initLocalCache();
+
     /**
      * 获得公众号自动回复分页
      *
@@ -1,10 +1,11 @@
 package cn.iocoder.yudao.module.mp.service.message;
 
-import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.lang.Assert;
 import cn.hutool.core.util.ObjUtil;
 import cn.iocoder.yudao.framework.common.exception.ErrorCode;
 import cn.iocoder.yudao.framework.common.pojo.PageResult;
+import cn.iocoder.yudao.framework.common.util.collection.CollectionUtils;
+import cn.iocoder.yudao.framework.tenant.core.util.TenantUtils;
 import cn.iocoder.yudao.module.mp.controller.admin.message.vo.autoreply.MpAutoReplyCreateReqVO;
 import cn.iocoder.yudao.module.mp.controller.admin.message.vo.autoreply.MpAutoReplyUpdateReqVO;
 import cn.iocoder.yudao.module.mp.controller.admin.message.vo.message.MpMessagePageReqVO;
@@ -12,10 +13,14 @@ import cn.iocoder.yudao.module.mp.convert.message.MpAutoReplyConvert;
 import cn.iocoder.yudao.module.mp.dal.dataobject.account.MpAccountDO;
 import cn.iocoder.yudao.module.mp.dal.dataobject.message.MpAutoReplyDO;
 import cn.iocoder.yudao.module.mp.dal.mysql.message.MpAutoReplyMapper;
+import cn.iocoder.yudao.module.mp.enums.message.MpAutoReplyMatchEnum;
 import cn.iocoder.yudao.module.mp.enums.message.MpAutoReplyTypeEnum;
 import cn.iocoder.yudao.module.mp.framework.mp.core.util.MpUtils;
+import cn.iocoder.yudao.module.mp.mq.producer.MpAutoReplyProducer;
 import cn.iocoder.yudao.module.mp.service.account.MpAccountService;
 import cn.iocoder.yudao.module.mp.service.message.bo.MpMessageSendOutReqBO;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 import me.chanjar.weixin.common.api.WxConsts;
 import me.chanjar.weixin.mp.bean.message.WxMpXmlMessage;
 import me.chanjar.weixin.mp.bean.message.WxMpXmlOutMessage;
@@ -23,9 +28,10 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
+import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
 import javax.validation.Validator;
-import java.util.List;
+import java.util.*;
 
 import static cn.iocoder.yudao.framework.common.exception.util.ServiceExceptionUtil.exception;
 import static cn.iocoder.yudao.module.mp.enums.ErrorCodeConstants.*;
@@ -35,10 +41,20 @@ import static cn.iocoder.yudao.module.mp.enums.ErrorCodeConstants.*;
  *
  * @author 芋道源码
  */
+@Slf4j
 @Service
 @Validated
 public class MpAutoReplyServiceImpl implements MpAutoReplyService {
 
+    /**
+     * 自动回复缓存
+     * key：公众号的 appId {@link MpAutoReplyDO#getAppId()}
+     *
+     * 这里声明 volatile 修饰的原因是，每次刷新时，直接修改指向
+     */
+    @Getter
+    private volatile Map<String, AutoReplyIndex> autoReplyCache;
+
     @Resource
     private MpMessageService mpMessageService;
     @Resource
@@ -51,6 +67,26 @@ public class MpAutoReplyServiceImpl implements MpAutoReplyService {
     @Resource
     private MpAutoReplyMapper mpAutoReplyMapper;
 
+    @Resource
+    private MpAutoReplyProducer mpAutoReplyProducer;
+
+    @Override
+    @PostConstruct
+    public void initLocalCache() {
+        // 注意：忽略自动多租户，因为要全局初始化缓存
+        TenantUtils.executeIgnore(() -> {
+            // 第一步：查询数据
+            List<MpAutoReplyDO> autoReplies = mpAutoReplyMapper.selectList();
+            log.info("[initLocalCache][缓存自动回复，数量为:{}]", autoReplies.size());
+
+            // 第二步：构建缓存。按照公众号分组，构建关键字索引
+            Map<String, AutoReplyIndex> cache = new HashMap<>();
+            CollectionUtils.convertMultiMap(autoReplies, MpAutoReplyDO::getAppId)
+                    .forEach((appId, list) -> cache.put(appId, new AutoReplyIndex(list)));
+            autoReplyCache = cache;
+        });
+    }
+
     @Override
     public PageResult<MpAutoReplyDO> getAutoReplyPage(MpMessagePageReqVO pageVO) {
         return mpAutoReplyMapper.selectPage(pageVO);
@@ -75,6 +111,9 @@ public class MpAutoReplyServiceImpl implements MpAutoReplyService {
         MpAutoReplyDO autoReply = MpAutoReplyConvert.INSTANCE.convert(createReqVO)
                 .setAppId(account.getAppId());
         mpAutoReplyMapper.insert(autoReply);
+
+        // 发送刷新消息
+        mpAutoReplyProducer.sendAutoReplyRefreshMessage();
         return autoReply.getId();
     }
 
@@ -92,6 +131,9 @@ public class MpAutoReplyServiceImpl implements MpAutoReplyService {
         MpAutoReplyDO updateObj = MpAutoReplyConvert.INSTANCE.convert(updateReqVO)
                 .setAccountId(null).setAppId(null); // 避免前端传递，更新着两个字段
         mpAutoReplyMapper.updateById(updateObj);
+
+        // 发送刷新消息
+        mpAutoReplyProducer.sendAutoReplyRefreshMessage();
     }
 
     /**
@@ -141,6 +183,9 @@ public class MpAutoReplyServiceImpl implements MpAutoReplyService {
 
         // 删除自动回复
         mpAutoReplyMapper.deleteById(id);
+
+        // 发送刷新消息
+        mpAutoReplyProducer.sendAutoReplyRefreshMessage();
     }
 
     private MpAutoReplyDO validateAutoReplyExists(Long id) {
@@ -153,25 +198,23 @@ public class MpAutoReplyServiceImpl implements MpAutoReplyService {
 
     @Override
     public WxMpXmlOutMessage replyForMessage(String appId, WxMpXmlMessage wxMessage) {
-        // 第一步，匹配自动回复
-        List<MpAutoReplyDO> replies = null;
+        // 第一步，匹配自动回复。基于本地缓存，避免每条消息都查询数据库
+        AutoReplyIndex index = autoReplyCache.get(appId);
+        if (index == null) {
+            return null;
+        }
+        MpAutoReplyDO reply = null;
         // 1.1 关键字
         if (wxMessage.getMsgType().equals(WxConsts.XmlMsgType.TEXT)) {
-            // 完全匹配
-            replies = mpAutoReplyMapper.selectListByAppIdAndKeywordAll(appId, wxMessage.getContent());
-            if (CollUtil.isEmpty(replies)) {
-                // 模糊匹配
-                replies = mpAutoReplyMapper.selectListByAppIdAndKeywordLike(appId, wxMessage.getContent());
-            }
+            reply = index.matchKeyword(wxMessage.getContent());
         }
         // 1.2 消息类型
-        if (CollUtil.isEmpty(replies)) {
-            replies = mpAutoReplyMapper.selectListByAppIdAndMessage(appId, wxMessage.getMsgType());
+        if (reply == null) {
+            reply = index.getMessageReplies().get(wxMessage.getMsgType());
         }
-        if (CollUtil.isEmpty(replies)) {
+        if (reply == null) {
             return null;
         }
-        MpAutoReplyDO reply = CollUtil.getFirst(replies);
 
         // 第二步，基于自动回复，创建消息
         MpMessageSendOutReqBO sendReqBO = MpAutoReplyConvert.INSTANCE.convert(wxMessage.getFromUser(), reply);
@@ -181,8 +224,8 @@ public class MpAutoReplyServiceImpl implements MpAutoReplyService {
     @Override
     public WxMpXmlOutMessage replyForSubscribe(String appId, WxMpXmlMessage wxMessage) {
         // 第一步，匹配自动回复
-        List<MpAutoReplyDO> replies = mpAutoReplyMapper.selectListByAppIdAndSubscribe(appId);
-        MpAutoReplyDO reply = CollUtil.isNotEmpty(replies) ? CollUtil.getFirst(replies)
+        AutoReplyIndex index = autoReplyCache.get(appId);
+        MpAutoReplyDO reply = index != null && index.getSubscribeReply() != null ? index.getSubscribeReply()
                 : buildDefaultSubscribeAutoReply(appId); // 如果不存在，提供一个默认末班
 
         // 第二步，基于自动回复，创建消息
@@ -199,4 +242,88 @@ public class MpAutoReplyServiceImpl implements MpAutoReplyService {
                 .setResponseMessageType(WxConsts.XmlMsgType.TEXT).setResponseContent("感谢关注");
     }
 
+    /**
+     * 单个公众号的自动回复索引
+     *
+     * 1. 完全匹配的关键字，基于 Map 进行 O(1) 查找
+     * 2. 半匹配的关键字，和原 LIKE '%content%' 查询的语义一致，即关键字包含消息内容，一次遍历所有规则
+     * 3. 关键字忽略大小写，和 MySQL 默认排序规则的比较方式一致
+     *
+     * 同一个 key 存在多条规则时，和数据库查询一致，使用编号最小的
+     */
+    @Getter
+    private static class AutoReplyIndex {
+
+        /**
+         * 完全匹配的关键字回复
+         * key：小写的关键字
+         */
+        private final Map<String, MpAutoReplyDO> keywordAllReplies = new HashMap<>();
+        /**
+         * 半匹配的关键字回复，按照编号升序
+         */
+        private final List<MpAutoReplyDO> keywordLikeReplies = new ArrayList<>();
+        /**
+         * 半匹配的关键字，与 {@link #keywordLikeReplies} 一一对应，已转为小写
+         */
+        private final List<String> keywordLikes = new ArrayList<>();
+        /**
+         * 消息类型回复
+         * key：请求的消息类型
+         */
+        private final Map<String, MpAutoReplyDO> messageReplies = new HashMap<>();
+        /**
+         * 关注回复
+         */
+        private MpAutoReplyDO subscribeReply;
+
+        AutoReplyIndex(List<MpAutoReplyDO> autoReplies) {
+            autoReplies.sort(Comparator.comparing(MpAutoReplyDO::getId));
+            for (MpAutoReplyDO autoReply : autoReplies) {
+                if (MpAutoReplyTypeEnum.KEYWORD.getType().equals(autoReply.getType())) {
+                    if (autoReply.getRequestKeyword() == null) {
+                        continue;
+                    }
+                    String keyword = autoReply.getRequestKeyword().toLowerCase();
+                    if (MpAutoReplyMatchEnum.ALL.getMatch().equals(autoReply.getRequestMatch())) {
+                        keywordAllReplies.putIfAbsent(keyword, autoReply);
+                    } else if (MpAutoReplyMatchEnum.LIKE.getMatch().equals(autoReply.getRequestMatch())) {
+                        keywordLikeReplies.add(autoReply);
+                        keywordLikes.add(keyword);
+                    }
+                } else if (MpAutoReplyTypeEnum.MESSAGE.getType().equals(autoReply.getType())) {
+                    messageReplies.putIfAbsent(autoReply.getRequestMessageType(), autoReply);
+                } else if (MpAutoReplyTypeEnum.SUBSCRIBE.getType().equals(autoReply.getType())) {
+                    if (subscribeReply == null) {
+                        subscribeReply = autoReply;
+                    }
+                }
+            }
+        }
+
+        /**
+         * 匹配关键字回复：优先完全匹配，其次半匹配
+         *
+         * @param content 消息内容
+         * @return 自动回复；不存在时返回 null
+         */
+        MpAutoReplyDO matchKeyword(String content) {
+            if (content == null) {
+                return null;
+            }
+            String keyword = content.toLowerCase();
+            MpAutoReplyDO reply = keywordAllReplies.get(keyword);
+            if (reply != null) {
+                return reply;
+            }
+            for (int i = 0; i < keywordLikes.size(); i++) {
+                if (keywordLikes.get(i).contains(keyword)) {
+                    return keywordLikeReplies.get(i);
+                }
+            }
+            return null;
+        }
+
+    }
+
 }
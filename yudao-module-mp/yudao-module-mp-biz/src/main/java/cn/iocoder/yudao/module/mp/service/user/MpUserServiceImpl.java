@@ -25,7 +25,6 @@ import org.springframework.validation.annotation.Validated;
 
 import javax.annotation.Resource;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -142,22 +141,15 @@ public class MpUserServiceImpl implements MpUserService {
                 CollectionUtils.convertList(wxUsers, WxMpUser::getOpenId));
         Map<String, MpUserDO> openId2Users = CollectionUtils.convertMap(dbUsers, MpUserDO::getOpenid);
 
-        // 2.1 根据情况，插入或更新
+        // 2. 批量插入或更新：已保存的粉丝，使用原有的编号进行更新
         List<MpUserDO> users = MpUserConvert.INSTANCE.convertList(account, wxUsers);
-        List<MpUserDO> newUsers = new ArrayList<>();
-        for (MpUserDO user : users) {
+        users.forEach(user -> {
             MpUserDO dbUser = openId2Users.get(user.getOpenid());
-            if (dbUser == null) { // 新增：稍后批量插入
-                newUsers.add(user);
-            } else { // 更新：直接执行更新
+            if (dbUser != null) {
                 user.setId(dbUser.getId());
-                mpUserMapper.updateById(user);
             }
-        }
-        // 2.2 批量插入
-        if (CollUtil.isNotEmpty(newUsers)) {
-            mpUserMapper.insertBatch(newUsers);
-        }
+        });
+        mpUserMapper.insertOrUpdateBatch(users);
     }
 
     @Override
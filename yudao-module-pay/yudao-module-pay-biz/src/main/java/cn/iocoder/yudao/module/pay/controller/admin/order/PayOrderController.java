@@ -119,13 +119,12 @@ public class PayOrderController {
     @OperateLog(type = EXPORT)
     public void exportOrderExcel(@Valid PayOrderExportReqVO exportReqVO,
             HttpServletResponse response) throws IOException {
+        // 导出 Excel：分批查询、分批写入，避免数据量大时内存溢出
+        ExcelUtils.write(response, "支付订单.xls", "数据", PayOrderExcelVO.class,
+                writer -> orderService.getOrderList(exportReqVO, list -> writer.write(buildOrderExcelList(list))));
+    }
 
-        List<PayOrderDO> list = orderService.getOrderList(exportReqVO);
-        if (CollectionUtil.isEmpty(list)) {
-            ExcelUtils.write(response, "支付订单.xls", "数据",
-                    PayOrderExcelVO.class, new ArrayList<>());
-        }
-
+    private List<PayOrderExcelVO> buildOrderExcelList(List<PayOrderDO> list) {
         // 处理商户ID数据
         Map<Long, PayMerchantDO> merchantMap = merchantService.getMerchantMap(
                 CollectionUtils.convertList(list, PayOrderDO::getMerchantId));
@@ -151,8 +150,7 @@ public class PayOrderController {
             excelDatum.add(excelItem);
         });
 
-        // 导出 Excel
-        ExcelUtils.write(response, "支付订单.xls", "数据", PayOrderExcelVO.class, excelDatum);
+        return excelDatum;
     }
 
 }
@@ -17,14 +17,18 @@ public interface PayNotifyTaskCoreMapper extends BaseMapperX<PayNotifyTaskDO> {
      *
      * 1. status 非成功
      * 2. nextNotifyTime 小于当前时间
+     * 3. 分片时，id % shardingTotal 等于 shardingIndex
      *
+     * @param shardingIndex 分片序号
+     * @param shardingTotal 分片总数
      * @return PayTransactionNotifyTaskDO 数组
      */
-    default List<PayNotifyTaskDO> selectListByNotify() {
+    default List<PayNotifyTaskDO> selectListByNotify(int shardingIndex, int shardingTotal) {
         return selectList(new QueryWrapper<PayNotifyTaskDO>()
                 .in("status", PayNotifyStatusEnum.WAITING.getStatus(), PayNotifyStatusEnum.REQUEST_SUCCESS.getStatus(),
                         PayNotifyStatusEnum.REQUEST_FAILURE.getStatus())
-                .le("next_notify_time", LocalDateTime.now()));
+                .le("next_notify_time", LocalDateTime.now())
+                .apply(shardingTotal > 1, "id % {0} = {1}", shardingTotal, shardingIndex));
     }
 
 }
@@ -4,6 +4,7 @@ import cn.iocoder.yudao.module.pay.controller.admin.order.vo.PayOrderExportReqVO
 import cn.iocoder.yudao.module.pay.controller.admin.order.vo.PayOrderPageReqVO;
 import cn.iocoder.yudao.framework.common.pojo.PageResult;
 import cn.iocoder.yudao.framework.mybatis.core.mapper.BaseMapperX;
+import cn.iocoder.yudao.framework.mybatis.core.query.LambdaQueryWrapperX;
 import cn.iocoder.yudao.framework.mybatis.core.query.QueryWrapperX;
 import cn.iocoder.yudao.module.pay.dal.dataobject.order.PayOrderDO;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
@@ -12,6 +13,7 @@ import org.apache.ibatis.annotations.Mapper;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Mapper
 public interface PayOrderMapper extends BaseMapperX<PayOrderDO> {
@@ -31,19 +33,18 @@ public interface PayOrderMapper extends BaseMapperX<PayOrderDO> {
                 .orderByDesc("id"));
     }
 
-    default List<PayOrderDO> selectList(PayOrderExportReqVO reqVO) {
-        return selectList(new QueryWrapperX<PayOrderDO>()
-                .eqIfPresent("merchant_id", reqVO.getMerchantId())
-                .eqIfPresent("app_id", reqVO.getAppId())
-                .eqIfPresent("channel_id", reqVO.getChannelId())
-                .eqIfPresent("channel_code", reqVO.getChannelCode())
-                .likeIfPresent("merchant_order_id", reqVO.getMerchantOrderId())
-                .eqIfPresent("notify_status", reqVO.getNotifyStatus())
-                .eqIfPresent("status", reqVO.getStatus())
-                .eqIfPresent("refund_status", reqVO.getRefundStatus())
-                .likeIfPresent("channel_order_no", reqVO.getChannelOrderNo())
-                .betweenIfPresent("create_time", reqVO.getCreateTime())
-                .orderByDesc("id"));
+    default void selectList(PayOrderExportReqVO reqVO, Consumer<List<PayOrderDO>> consumer) {
+        selectBatches(() -> new LambdaQueryWrapperX<PayOrderDO>()
+                .eqIfPresent(PayOrderDO::getMerchantId, reqVO.getMerchantId())
+                .eqIfPresent(PayOrderDO::getAppId, reqVO.getAppId())
+                .eqIfPresent(PayOrderDO::getChannelId, reqVO.getChannelId())
+                .eqIfPresent(PayOrderDO::getChannelCode, reqVO.getChannelCode())
+                .likeIfPresent(PayOrderDO::getMerchantOrderId, reqVO.getMerchantOrderId())
+                .eqIfPresent(PayOrderDO::getNotifyStatus, reqVO.getNotifyStatus())
+                .eqIfPresent(PayOrderDO::getStatus, reqVO.getStatus())
+                .eqIfPresent(PayOrderDO::getRefundStatus, reqVO.getRefundStatus())
+                .likeIfPresent(PayOrderDO::getChannelOrderNo, reqVO.getChannelOrderNo())
+                .betweenIfPresent(PayOrderDO::getCreateTime, reqVO.getCreateTime()), PayOrderDO::getId, consumer);
     }
 
     default List<PayOrderDO> findByIdListQueryOrderSubject(Collection<Long> idList) {
@@ -1,5 +1,6 @@
 package cn.iocoder.yudao.module.pay.job.notify;
 
+import cn.iocoder.yudao.framework.quartz.core.context.JobContextHolder;
 import cn.iocoder.yudao.framework.quartz.core.handler.JobHandler;
 import cn.iocoder.yudao.framework.tenant.core.job.TenantJob;
 import cn.iocoder.yudao.module.pay.service.notify.PayNotifyService;
@@ -12,6 +13,9 @@ import javax.annotation.Resource;
  * 支付通知 Job
  * 通过不断扫描待通知的 PayNotifyTaskDO 记录，回调业务线的回调接口
  *
+ * 支持分片执行，每个分片只扫描 id % 分片总数 == 分片序号 的记录，多个分片可以并发执行。
+ * 注意，分片不保证分配到不同的节点，参见 SchedulerManager 的说明
+ *
  * @author 芋道源码
  */
 @Component
@@ -24,7 +28,9 @@ public class PayNotifyJob implements JobHandler {
 
     @Override
     public String execute(String param) throws Exception {
-        int notifyCount = payNotifyCoreService.executeNotify();
+        // 分片执行时，只通知当前分片的任务
+        int notifyCount = payNotifyCoreService.executeNotify(JobContextHolder.getShardingIndex(),
+                JobContextHolder.getShardingTotal());
         return String.format("执行支付通知 %s 个", notifyCount);
     }
 
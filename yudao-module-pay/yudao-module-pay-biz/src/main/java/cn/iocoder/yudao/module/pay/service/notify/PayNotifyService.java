@@ -22,8 +22,11 @@ public interface PayNotifyService {
      * 执行支付通知
      *
      * 注意，该方法提供给定时任务调用。目前是 yudao-server 进行调用
+     *
+     * @param shardingIndex 分片序号，不分片时为 0
+     * @param shardingTotal 分片总数，不分片时为 1
      * @return 通知数量
      */
-    int executeNotify() throws InterruptedException;
+    int executeNotify(int shardingIndex, int shardingTotal) throws InterruptedException;
 
 }
@@ -108,9 +108,9 @@ public class PayNotifyServiceImpl implements PayNotifyService {
     }
 
     @Override
-    public int executeNotify() throws InterruptedException {
-        // 获得需要通知的任务
-        List<PayNotifyTaskDO> tasks = payNotifyTaskCoreMapper.selectListByNotify();
+    public int executeNotify(int shardingIndex, int shardingTotal) throws InterruptedException {
+        // 获得需要通知的任务，只获取当前分片的
+        List<PayNotifyTaskDO> tasks = payNotifyTaskCoreMapper.selectListByNotify(shardingIndex, shardingTotal);
         if (CollUtil.isEmpty(tasks)) {
             return 0;
         }
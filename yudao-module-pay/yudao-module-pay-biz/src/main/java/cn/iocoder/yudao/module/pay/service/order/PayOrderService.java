@@ -14,6 +14,7 @@ import javax.validation.Valid;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * 支付订单 Service 接口
@@ -41,14 +42,12 @@ public interface PayOrderService {
     PageResult<PayOrderDO> getOrderPage(PayOrderPageReqVO pageReqVO);
 
     /**
-     * 获得支付订单
-     * 列表, 用于 Excel 导出
+     * 分批获得支付订单列表, 用于 Excel 导出大量数据
      *
      * @param exportReqVO 查询条件
-     * @return 支付订单
-     * 列表
+     * @param consumer 每一批支付订单的处理逻辑
      */
-    List<PayOrderDO> getOrderList(PayOrderExportReqVO exportReqVO);
+    void getOrderList(PayOrderExportReqVO exportReqVO, Consumer<List<PayOrderDO>> consumer);
 
     /**
      * 根据 ID 集合获取只包含商品名称的订单集合
@@ -43,6 +43,7 @@ import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 import static cn.iocoder.yudao.framework.common.exception.util.ServiceExceptionUtil.exception;
 
@@ -85,8 +86,8 @@ public class PayOrderServiceImpl implements PayOrderService {
     }
 
     @Override
-    public List<PayOrderDO> getOrderList(PayOrderExportReqVO exportReqVO) {
-        return orderMapper.selectList(exportReqVO);
+    public void getOrderList(PayOrderExportReqVO exportReqVO, Consumer<List<PayOrderDO>> consumer) {
+        orderMapper.selectList(exportReqVO, consumer);
     }
 
     // TODO @艿艿：需要优化。不确定这个方法的作用
@@ -23,6 +23,7 @@ import org.springframework.context.annotation.Import;
 
 import javax.annotation.Resource;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static cn.iocoder.yudao.framework.common.util.object.ObjectUtils.cloneIgnoreId;
@@ -199,7 +200,8 @@ public class PayOrderServiceTest extends BaseDbUnitTest {
         reqVO.setCreateTime((new LocalDateTime[]{LocalDateTime.of(2018, 1, 1, 10, 1, 0), LocalDateTime.of(2018, 1, 1, 10, 1, 0)}));
 
         // 调用
-        List<PayOrderDO> list = orderService.getOrderList(reqVO);
+        List<PayOrderDO> list = new ArrayList<>();
+        orderService.getOrderList(reqVO, list::addAll);
         // 断言
         assertEquals(1, list.size());
         assertPojoEquals(dbOrder, list.get(0));
@@ -3,6 +3,7 @@ package cn.iocoder.yudao.module.system.api.logger;
 import cn.iocoder.yudao.module.system.api.logger.dto.OperateLogCreateReqDTO;
 
 import javax.validation.Valid;
+import java.util.List;
 
 /**
  * 操作日志 API 接口
@@ -18,4 +19,11 @@ public interface OperateLogApi {
      */
     void createOperateLog(@Valid OperateLogCreateReqDTO createReqDTO);
 
+    /**
+     * 批量创建操作日志
+     *
+     * @param createReqDTOs 请求数组
+     */
+    void createOperateLogList(List<@Valid OperateLogCreateReqDTO> createReqDTOs);
+
 }
@@ -18,6 +18,13 @@ public class OperateLogCreateReqDTO {
      */
     private String traceId;
 
+    /**
+     * 租户编号
+     *
+     * 批量写入时，按照该字段设置租户上下文
+     */
+    private Long tenantId;
+
     /**
      * 用户编号
      */
@@ -6,6 +6,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
 import javax.annotation.Resource;
+import java.util.List;
 
 /**
  * 操作日志 API 实现类
@@ -24,4 +25,9 @@ public class OperateLogApiImpl implements OperateLogApi {
         operateLogService.createOperateLog(createReqDTO);
     }
 
+    @Override
+    public void createOperateLogList(List<OperateLogCreateReqDTO> createReqDTOs) {
+        operateLogService.createOperateLogList(createReqDTOs);
+    }
+
 }
@@ -23,7 +23,6 @@ import javax.annotation.Resource;
 import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.io.IOException;
-import java.util.List;
 
 import static cn.iocoder.yudao.framework.operatelog.core.enums.OperateTypeEnum.EXPORT;
 
@@ -49,11 +48,9 @@ public class LoginLogController {
     @PreAuthorize("@ss.hasPermission('system:login-log:export')")
     @OperateLog(type = EXPORT)
     public void exportLoginLog(HttpServletResponse response, @Valid LoginLogExportReqVO reqVO) throws IOException {
-        List<LoginLogDO> list = loginLogService.getLoginLogList(reqVO);
-        // 拼接数据
-        List<LoginLogExcelVO> data = LoginLogConvert.INSTANCE.convertList(list);
-        // 输出
-        ExcelUtils.write(response, "登录日志.xls", "数据列表", LoginLogExcelVO.class, data);
+        // 输出：分批查询、分批写入，避免数据量大时内存溢出
+        ExcelUtils.write(response, "登录日志.xls", "数据列表", LoginLogExcelVO.class,
+                writer -> loginLogService.getLoginLogList(reqVO, list -> writer.write(LoginLogConvert.INSTANCE.convertList(list))));
     }
 
 }
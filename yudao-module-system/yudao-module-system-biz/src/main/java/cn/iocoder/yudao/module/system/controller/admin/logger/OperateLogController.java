@@ -63,7 +63,7 @@ public class OperateLogController {
             // 拼接用户信息
             MapUtils.findAndThen(userMap, operateLog.getUserId(), user -> respVO.setUserNickname(user.getNickname()));
         });
-        return success(new PageResult<>(list, pageResult.getTotal()));
+        return success(new PageResult<>(list, pageResult.getTotal()).setNextCursor(pageResult.getNextCursor()));
     }
 
     @ApiOperation("导出操作日志")
@@ -71,15 +71,15 @@ public class OperateLogController {
     @PreAuthorize("@ss.hasPermission('system:operate-log:export')")
     @OperateLog(type = EXPORT)
     public void exportOperateLog(HttpServletResponse response, @Valid OperateLogExportReqVO reqVO) throws IOException {
-        List<OperateLogDO> list = operateLogService.getOperateLogs(reqVO);
-
-        // 获得拼接需要的数据
-        Collection<Long> userIds = CollectionUtils.convertList(list, OperateLogDO::getUserId);
-        Map<Long, AdminUserDO> userMap = userService.getUserMap(userIds);
-        // 拼接数据
-        List<OperateLogExcelVO> excelDataList = OperateLogConvert.INSTANCE.convertList(list, userMap);
-        // 输出
-        ExcelUtils.write(response, "操作日志.xls", "数据列表", OperateLogExcelVO.class, excelDataList);
+        // 输出：分批查询、分批写入，避免数据量大时内存溢出
+        ExcelUtils.write(response, "操作日志.xls", "数据列表", OperateLogExcelVO.class,
+                writer -> operateLogService.getOperateLogs(reqVO, list -> {
+                    // 获得拼接需要的数据
+                    Collection<Long> userIds = CollectionUtils.convertList(list, OperateLogDO::getUserId);
+                    Map<Long, AdminUserDO> userMap = userService.getUserMap(userIds);
+                    // 拼接数据
+                    writer.write(OperateLogConvert.INSTANCE.convertList(list, userMap));
+                }));
     }
 
 }
@@ -29,10 +29,13 @@ import javax.validation.Valid;
 import java.io.IOException;
 import java.util.*;
 
+import static cn.iocoder.yudao.framework.common.exception.util.ServiceExceptionUtil.exception;
 import static cn.iocoder.yudao.framework.common.pojo.CommonResult.success;
 import static cn.iocoder.yudao.framework.common.util.collection.CollectionUtils.convertList;
 import static cn.iocoder.yudao.framework.common.util.collection.CollectionUtils.convertSet;
 import static cn.iocoder.yudao.framework.operatelog.core.enums.OperateTypeEnum.EXPORT;
+import static cn.iocoder.yudao.module.system.enums.ErrorCodeConstants.USER_IMPORT_LIST_IS_EMPTY;
+import static cn.iocoder.yudao.module.system.service.user.AdminUserServiceImpl.IMPORT_BATCH_SIZE;
 
 @Api(tags = "管理后台 - 用户")
 @RestController
@@ -132,9 +135,12 @@ public class UserController {
     @OperateLog(type = EXPORT)
     public void exportUsers(@Validated UserExportReqVO reqVO,
                             HttpServletResponse response) throws IOException {
-        // 获得用户列表
-        List<AdminUserDO> users = userService.getUsers(reqVO);
+        // 输出：分批查询、分批写入，避免数据量大时内存溢出
+        ExcelUtils.write(response, "用户数据.xls", "用户列表", UserExcelVO.class,
+                writer -> userService.getUsers(reqVO, users -> writer.write(buildUserExcelList(users))));
+    }
 
+    private List<UserExcelVO> buildUserExcelList(List<AdminUserDO> users) {
         // 获得拼接需要的数据
         Collection<Long> deptIds = convertList(users, AdminUserDO::getDeptId);
         Map<Long, DeptDO> deptMap = deptService.getDeptMap(deptIds);
@@ -153,9 +159,7 @@ public class UserController {
             });
             excelUsers.add(excelVO);
         });
-
-        // 输出
-        ExcelUtils.write(response, "用户数据.xls", "用户列表", UserExcelVO.class, excelUsers);
+        return excelUsers;
     }
 
     @GetMapping("/get-import-template")
@@ -182,8 +186,15 @@ public class UserController {
     @PreAuthorize("@ss.hasPermission('system:user:import')")
     public CommonResult<UserImportRespVO> importExcel(@RequestParam("file") MultipartFile file,
                                                       @RequestParam(value = "updateSupport", required = false, defaultValue = "false") Boolean updateSupport) throws Exception {
-        List<UserImportExcelVO> list = ExcelUtils.read(file, UserImportExcelVO.class);
-        return success(userService.importUsers(list, updateSupport));
+        // 分批读取、分批导入，避免数据量大时内存溢出
+        UserImportRespVO respVO = UserImportRespVO.builder().createUsernames(new ArrayList<>())
+                .updateUsernames(new ArrayList<>()).failureUsernames(new LinkedHashMap<>()).build();
+        int count = ExcelUtils.read(file, UserImportExcelVO.class, IMPORT_BATCH_SIZE,
+                list -> userService.importUsers(list, updateSupport, respVO));
+        if (count == 0) {
+            throw exception(USER_IMPORT_LIST_IS_EMPTY);
+        }
+        return success(respVO);
     }
 
 }
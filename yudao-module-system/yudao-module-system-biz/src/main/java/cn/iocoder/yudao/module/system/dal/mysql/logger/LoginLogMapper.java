@@ -10,6 +10,7 @@ import cn.iocoder.yudao.module.system.enums.logger.LoginResultEnum;
 import org.apache.ibatis.annotations.Mapper;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 @Mapper
 public interface LoginLogMapper extends BaseMapperX<LoginLogDO> {
@@ -28,7 +29,11 @@ public interface LoginLogMapper extends BaseMapperX<LoginLogDO> {
         return selectPage(reqVO, query);
     }
 
-    default List<LoginLogDO> selectList(LoginLogExportReqVO reqVO) {
+    default void selectList(LoginLogExportReqVO reqVO, Consumer<List<LoginLogDO>> consumer) {
+        selectBatches(() -> buildQueryWrapper(reqVO), LoginLogDO::getId, consumer); // 降序
+    }
+
+    default LambdaQueryWrapperX<LoginLogDO> buildQueryWrapper(LoginLogExportReqVO reqVO) {
         LambdaQueryWrapperX<LoginLogDO> query = new LambdaQueryWrapperX<LoginLogDO>()
                 .likeIfPresent(LoginLogDO::getUserIp, reqVO.getUserIp())
                 .likeIfPresent(LoginLogDO::getUsername, reqVO.getUsername())
@@ -38,8 +43,7 @@ public interface LoginLogMapper extends BaseMapperX<LoginLogDO> {
         } else if (Boolean.FALSE.equals(reqVO.getStatus())) {
             query.gt(LoginLogDO::getResult, LoginResultEnum.SUCCESS.getResult());
         }
-        query.orderByDesc(LoginLogDO::getId); // 降序
-        return selectList(query);
+        return query;
     }
 
 }
@@ -11,6 +11,7 @@ import org.apache.ibatis.annotations.Mapper;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Mapper
 public interface OperateLogMapper extends BaseMapperX<OperateLogDO> {
@@ -26,11 +27,15 @@ public interface OperateLogMapper extends BaseMapperX<OperateLogDO> {
         } else if (Boolean.FALSE.equals(reqVO.getSuccess())) {
             query.gt(OperateLogDO::getResultCode, GlobalErrorCodeConstants.SUCCESS.getCode());
         }
-        query.orderByDesc(OperateLogDO::getId); // 降序
-        return selectPage(reqVO, query);
+        return selectCursorPage(reqVO, OperateLogDO::getId, query); // 按照编号降序
     }
 
-    default List<OperateLogDO> selectList(OperateLogExportReqVO reqVO, Collection<Long> userIds) {
+    default void selectList(OperateLogExportReqVO reqVO, Collection<Long> userIds,
+                            Consumer<List<OperateLogDO>> consumer) {
+        selectBatches(() -> buildQueryWrapper(reqVO, userIds), OperateLogDO::getId, consumer); // 降序
+    }
+
+    default LambdaQueryWrapperX<OperateLogDO> buildQueryWrapper(OperateLogExportReqVO reqVO, Collection<Long> userIds) {
         LambdaQueryWrapperX<OperateLogDO> query = new LambdaQueryWrapperX<OperateLogDO>()
                 .likeIfPresent(OperateLogDO::getModule, reqVO.getModule())
                 .inIfPresent(OperateLogDO::getUserId, userIds)
@@ -41,8 +46,7 @@ public interface OperateLogMapper extends BaseMapperX<OperateLogDO> {
         } else if (Boolean.FALSE.equals(reqVO.getSuccess())) {
             query.gt(OperateLogDO::getResultCode, GlobalErrorCodeConstants.SUCCESS.getCode());
         }
-        query.orderByDesc(OperateLogDO::getId); // 降序
-        return selectList(query);
+        return query;
     }
 
 }
@@ -29,6 +29,10 @@ public interface UserRoleMapper extends BaseMapperX<UserRoleDO> {
         delete(new LambdaQueryWrapper<UserRoleDO>().eq(UserRoleDO::getRoleId, roleId));
     }
 
+    default List<UserRoleDO> selectListByUserIds(Collection<Long> userIds) {
+        return selectList(UserRoleDO::getUserId, userIds);
+    }
+
     default List<UserRoleDO> selectListByRoleIds(Collection<Long> roleIds) {
         return selectList(UserRoleDO::getRoleId, roleIds);
     }
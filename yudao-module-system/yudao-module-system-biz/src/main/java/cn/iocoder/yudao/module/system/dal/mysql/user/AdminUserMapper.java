@@ -11,6 +11,7 @@ import org.apache.ibatis.annotations.Mapper;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Mapper
 public interface AdminUserMapper extends BaseMapperX<AdminUserDO> {
@@ -27,6 +28,18 @@ public interface AdminUserMapper extends BaseMapperX<AdminUserDO> {
         return selectOne(new LambdaQueryWrapper<AdminUserDO>().eq(AdminUserDO::getMobile, mobile));
     }
 
+    default List<AdminUserDO> selectListByUsernames(Collection<String> usernames) {
+        return selectList(AdminUserDO::getUsername, usernames);
+    }
+
+    default List<AdminUserDO> selectListByEmails(Collection<String> emails) {
+        return selectList(AdminUserDO::getEmail, emails);
+    }
+
+    default List<AdminUserDO> selectListByMobiles(Collection<String> mobiles) {
+        return selectList(AdminUserDO::getMobile, mobiles);
+    }
+
     default PageResult<AdminUserDO> selectPage(UserPageReqVO reqVO, Collection<Long> deptIds) {
         return selectPage(reqVO, new LambdaQueryWrapperX<AdminUserDO>()
                 .likeIfPresent(AdminUserDO::getUsername, reqVO.getUsername())
@@ -37,13 +50,17 @@ public interface AdminUserMapper extends BaseMapperX<AdminUserDO> {
                 .orderByDesc(AdminUserDO::getId));
     }
 
-    default List<AdminUserDO> selectList(UserExportReqVO reqVO, Collection<Long> deptIds) {
-        return selectList(new LambdaQueryWrapperX<AdminUserDO>()
+    default void selectList(UserExportReqVO reqVO, Collection<Long> deptIds, Consumer<List<AdminUserDO>> consumer) {
+        selectBatches(() -> buildQueryWrapper(reqVO, deptIds), AdminUserDO::getId, consumer);
+    }
+
+    default LambdaQueryWrapperX<AdminUserDO> buildQueryWrapper(UserExportReqVO reqVO, Collection<Long> deptIds) {
+        return new LambdaQueryWrapperX<AdminUserDO>()
                 .likeIfPresent(AdminUserDO::getUsername, reqVO.getUsername())
                 .likeIfPresent(AdminUserDO::getMobile, reqVO.getMobile())
                 .eqIfPresent(AdminUserDO::getStatus, reqVO.getStatus())
                 .betweenIfPresent(AdminUserDO::getCreateTime, reqVO.getCreateTime())
-                .inIfPresent(AdminUserDO::getDeptId, deptIds));
+                .inIfPresent(AdminUserDO::getDeptId, deptIds);
     }
 
     default List<AdminUserDO> selectListByNickname(String nickname) {
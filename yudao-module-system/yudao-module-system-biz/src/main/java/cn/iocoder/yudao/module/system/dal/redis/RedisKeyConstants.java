@@ -26,4 +26,8 @@ public interface RedisKeyConstants {
             "social_auth_state:%s", // 参数为 state
             STRING, String.class, Duration.ofHours(24)); // 值为 state
 
+    RedisKeyDefine LOCAL_CACHE_VERSION = new RedisKeyDefine("本地缓存刷新消息的版本号",
+            "local_cache_version:%s", // 参数为刷新消息的 channel
+            STRING, Long.class, RedisKeyDefine.TimeoutTypeEnum.FOREVER);
+
 }
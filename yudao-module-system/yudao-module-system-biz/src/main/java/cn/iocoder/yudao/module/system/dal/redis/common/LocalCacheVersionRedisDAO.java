@@ -0,0 +1,50 @@
+package cn.iocoder.yudao.module.system.dal.redis.common;
+
+import cn.hutool.core.convert.Convert;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.Resource;
+
+import static cn.iocoder.yudao.module.system.dal.redis.RedisKeyConstants.LOCAL_CACHE_VERSION;
+
+/**
+ * 本地缓存刷新消息的版本号的 Redis DAO
+ *
+ * 用途参见 {@link cn.iocoder.yudao.module.system.util.cache.LocalCacheVersion}
+ *
+ * @author 芋道源码
+ */
+@Repository
+public class LocalCacheVersionRedisDAO {
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 获得最新的版本号
+     *
+     * @param channel 刷新消息的 channel
+     * @return 版本号；不存在时，返回 0
+     */
+    public long get(String channel) {
+        String redisKey = formatKey(channel);
+        return Convert.toLong(stringRedisTemplate.opsForValue().get(redisKey), 0L);
+    }
+
+    /**
+     * 递增版本号，发送刷新消息时使用
+     *
+     * @param channel 刷新消息的 channel
+     * @return 递增后的版本号
+     */
+    public Long increment(String channel) {
+        String redisKey = formatKey(channel);
+        return stringRedisTemplate.opsForValue().increment(redisKey);
+    }
+
+    private static String formatKey(String channel) {
+        return String.format(LOCAL_CACHE_VERSION.getKeyTemplate(), channel);
+    }
+
+}
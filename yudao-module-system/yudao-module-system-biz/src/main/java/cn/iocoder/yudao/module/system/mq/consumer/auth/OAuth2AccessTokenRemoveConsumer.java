@@ -0,0 +1,29 @@
+package cn.iocoder.yudao.module.system.mq.consumer.auth;
+
+import cn.iocoder.yudao.framework.mq.core.pubsub.AbstractChannelMessageListener;
+import cn.iocoder.yudao.module.system.mq.message.auth.OAuth2AccessTokenRemoveMessage;
+import cn.iocoder.yudao.module.system.service.oauth2.OAuth2TokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+
+/**
+ * 针对 {@link OAuth2AccessTokenRemoveMessage} 的消费者
+ *
+ * @author 芋道源码
+ */
+@Component
+@Slf4j
+public class OAuth2AccessTokenRemoveConsumer extends AbstractChannelMessageListener<OAuth2AccessTokenRemoveMessage> {
+
+    @Resource
+    private OAuth2TokenService oauth2TokenService;
+
+    @Override
+    public void onMessage(OAuth2AccessTokenRemoveMessage message) {
+        log.info("[onMessage][收到 OAuth2AccessToken 移除消息，数量为:{}]", message.getAccessTokens().size());
+        oauth2TokenService.removeAccessTokenLocalCache(message.getAccessTokens());
+    }
+
+}
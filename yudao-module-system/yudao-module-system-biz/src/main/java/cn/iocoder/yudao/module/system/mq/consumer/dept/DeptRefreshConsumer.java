@@ -3,6 +3,7 @@ package cn.iocoder.yudao.module.system.mq.consumer.dept;
 import cn.iocoder.yudao.framework.mq.core.pubsub.AbstractChannelMessageListener;
 import cn.iocoder.yudao.module.system.mq.message.dept.DeptRefreshMessage;
 import cn.iocoder.yudao.module.system.service.dept.DeptService;
+import cn.iocoder.yudao.module.system.service.permission.PermissionService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -19,11 +20,15 @@ public class DeptRefreshConsumer extends AbstractChannelMessageListener<DeptRefr
 
     @Resource
     private DeptService deptService;
+    @Resource
+    private PermissionService permissionService;
 
     @Override
     public void onMessage(DeptRefreshMessage message) {
         log.info("[onMessage][收到 Dept 刷新消息]");
-        deptService.initLocalCache();
+        deptService.refreshLocalCache(message.getDeptIds(), message.getVersion());
+        // 部门变化后，部门数据权限（例如说，子部门）需要重新计算
+        permissionService.clearDeptDataPermissionCache();
     }
 
 }
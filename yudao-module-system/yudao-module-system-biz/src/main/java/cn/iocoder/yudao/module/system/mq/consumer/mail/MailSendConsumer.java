@@ -1,13 +1,14 @@
 package cn.iocoder.yudao.module.system.mq.consumer.mail;
 
-import cn.iocoder.yudao.framework.mq.core.stream.AbstractStreamMessageListener;
+import cn.iocoder.yudao.framework.mq.core.stream.AbstractStreamBatchMessageListener;
 import cn.iocoder.yudao.module.system.mq.message.mail.MailSendMessage;
-import cn.iocoder.yudao.module.system.mq.message.sms.SmsSendMessage;
 import cn.iocoder.yudao.module.system.service.mail.MailSendService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.Resource;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 针对 {@link MailSendMessage} 的消费者
@@ -16,15 +17,18 @@ import javax.annotation.Resource;
  */
 @Component
 @Slf4j
-public class MailSendConsumer extends AbstractStreamMessageListener<MailSendMessage> {
+public class MailSendConsumer extends AbstractStreamBatchMessageListener<MailSendMessage> {
 
     @Resource
     private MailSendService mailSendService;
 
     @Override
-    public void onMessage(MailSendMessage message) {
-        log.info("[onMessage][消息内容({})]", message);
-        mailSendService.doSendMail(message);
+    public Collection<MailSendMessage> onMessage(List<MailSendMessage> messages) {
+        // 逐条消费，只重新投递失败的消息，避免已经发送成功的被重复发送
+        return consumeEach(messages, message -> {
+            log.info("[onMessage][消息内容({})]", message);
+            mailSendService.doSendMail(message);
+        });
     }
 
 }
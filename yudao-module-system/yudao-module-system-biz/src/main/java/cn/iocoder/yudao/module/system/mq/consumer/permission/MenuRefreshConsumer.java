@@ -23,7 +23,7 @@ public class MenuRefreshConsumer extends AbstractChannelMessageListener<MenuRefr
     @Override
     public void onMessage(MenuRefreshMessage message) {
         log.info("[onMessage][收到 Menu 刷新消息]");
-        menuService.initLocalCache();
+        menuService.refreshLocalCache(message.getMenuIds(), message.getVersion());
     }
 
 }
@@ -23,7 +23,7 @@ public class UserRoleRefreshConsumer extends AbstractChannelMessageListener<User
     @Override
     public void onMessage(UserRoleRefreshMessage message) {
         log.info("[onMessage][收到 User 与 Role 的关联刷新消息]");
-        permissionService.initLocalCache();
+        permissionService.refreshLocalCacheForUserRole(message.getUserIds(), message.getVersion());
     }
 
 }
@@ -2,11 +2,13 @@ package cn.iocoder.yudao.module.system.mq.consumer.sms;
 
 import cn.iocoder.yudao.module.system.mq.message.sms.SmsSendMessage;
 import cn.iocoder.yudao.module.system.service.sms.SmsSendService;
-import cn.iocoder.yudao.framework.mq.core.stream.AbstractStreamMessageListener;
+import cn.iocoder.yudao.framework.mq.core.stream.AbstractStreamBatchMessageListener;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.Resource;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 针对 {@link SmsSendMessage} 的消费者
@@ -15,15 +17,18 @@ import javax.annotation.Resource;
  */
 @Component
 @Slf4j
-public class SmsSendConsumer extends AbstractStreamMessageListener<SmsSendMessage> {
+public class SmsSendConsumer extends AbstractStreamBatchMessageListener<SmsSendMessage> {
 
     @Resource
     private SmsSendService smsSendService;
 
     @Override
-    public void onMessage(SmsSendMessage message) {
-        log.info("[onMessage][消息内容({})]", message);
-        smsSendService.doSendSms(message);
+    public Collection<SmsSendMessage> onMessage(List<SmsSendMessage> messages) {
+        // 逐条消费，只重新投递失败的消息，避免已经发送成功的被重复发送
+        return consumeEach(messages, message -> {
+            log.info("[onMessage][消息内容({})]", message);
+            smsSendService.doSendSms(message);
+        });
     }
 
 }
@@ -0,0 +1,30 @@
+package cn.iocoder.yudao.module.system.mq.message.auth;
+
+import cn.iocoder.yudao.framework.mq.core.pubsub.AbstractChannelMessage;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.Set;
+
+/**
+ * OAuth 2.0 访问令牌的移除 Message
+ *
+ * 用于通知各个节点，移除本地缓存中的访问令牌
+ *
+ * @author 芋道源码
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class OAuth2AccessTokenRemoveMessage extends AbstractChannelMessage {
+
+    /**
+     * 被移除的访问令牌数组
+     */
+    private Set<String> accessTokens;
+
+    @Override
+    public String getChannel() {
+        return "system.oauth2-access-token.remove";
+    }
+
+}
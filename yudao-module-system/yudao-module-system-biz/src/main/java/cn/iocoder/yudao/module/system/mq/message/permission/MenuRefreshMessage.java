@@ -4,6 +4,8 @@ import cn.iocoder.yudao.framework.mq.core.pubsub.AbstractChannelMessage;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
+import java.util.Set;
+
 /**
  * 菜单数据刷新 Message
  *
@@ -13,9 +15,24 @@ import lombok.EqualsAndHashCode;
 @EqualsAndHashCode(callSuper = true)
 public class MenuRefreshMessage extends AbstractChannelMessage {
 
+    public static final String CHANNEL = "system.menu.refresh";
+
+    /**
+     * 变更的菜单编号数组
+     *
+     * 为空时，表示全量刷新
+     */
+    private Set<Long> menuIds;
+    /**
+     * 版本号，每条消息递增，用于发现丢失的消息
+     *
+     * 参见 {@link cn.iocoder.yudao.module.system.util.cache.LocalCacheVersion}
+     */
+    private Long version;
+
     @Override
     public String getChannel() {
-        return "system.menu.refresh";
+        return CHANNEL;
     }
 
 }
@@ -4,6 +4,8 @@ import cn.iocoder.yudao.framework.mq.core.pubsub.AbstractChannelMessage;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
+import java.util.Set;
+
 /**
  * 角色与菜单数据刷新 Message
  *
@@ -13,9 +15,24 @@ import lombok.EqualsAndHashCode;
 @EqualsAndHashCode(callSuper = true)
 public class RoleMenuRefreshMessage extends AbstractChannelMessage {
 
+    public static final String CHANNEL = "system.role-menu.refresh";
+
+    /**
+     * 变更的角色编号数组
+     *
+     * 为空时，表示全量刷新
+     */
+    private Set<Long> roleIds;
+    /**
+     * 版本号，每条消息递增，用于发现丢失的消息
+     *
+     * 参见 {@link cn.iocoder.yudao.module.system.util.cache.LocalCacheVersion}
+     */
+    private Long version;
+
     @Override
     public String getChannel() {
-        return "system.role-menu.refresh";
+        return CHANNEL;
     }
 
 }
@@ -4,6 +4,8 @@ import cn.iocoder.yudao.framework.mq.core.pubsub.AbstractChannelMessage;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
+import java.util.Set;
+
 /**
  * 用户与角色的数据刷新 Message
  *
@@ -13,9 +15,24 @@ import lombok.EqualsAndHashCode;
 @EqualsAndHashCode(callSuper = true)
 public class UserRoleRefreshMessage extends AbstractChannelMessage {
 
+    public static final String CHANNEL = "system.user-role.refresh";
+
+    /**
+     * 变更的用户编号数组
+     *
+     * 为空时，表示全量刷新
+     */
+    private Set<Long> userIds;
+    /**
+     * 版本号，每条消息递增，用于发现丢失的消息
+     *
+     * 参见 {@link cn.iocoder.yudao.module.system.util.cache.LocalCacheVersion}
+     */
+    private Long version;
+
     @Override
     public String getChannel() {
-        return "system.user-role.refresh";
+        return CHANNEL;
     }
 
 }
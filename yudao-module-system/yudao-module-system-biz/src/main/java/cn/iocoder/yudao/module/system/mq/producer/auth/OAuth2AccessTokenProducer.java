@@ -0,0 +1,31 @@
+package cn.iocoder.yudao.module.system.mq.producer.auth;
+
+import cn.iocoder.yudao.framework.mq.core.RedisMQTemplate;
+import cn.iocoder.yudao.module.system.mq.message.auth.OAuth2AccessTokenRemoveMessage;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.util.Collection;
+import java.util.HashSet;
+
+/**
+ * OAuth 2.0 访问令牌相关消息的 Producer
+ */
+@Component
+public class OAuth2AccessTokenProducer {
+
+    @Resource
+    private RedisMQTemplate redisMQTemplate;
+
+    /**
+     * 发送 {@link OAuth2AccessTokenRemoveMessage} 消息
+     *
+     * @param accessTokens 被移除的访问令牌数组
+     */
+    public void sendOAuth2AccessTokenRemoveMessage(Collection<String> accessTokens) {
+        OAuth2AccessTokenRemoveMessage message = new OAuth2AccessTokenRemoveMessage();
+        message.setAccessTokens(new HashSet<>(accessTokens));
+        redisMQTemplate.send(message);
+    }
+
+}
@@ -2,9 +2,12 @@ package cn.iocoder.yudao.module.system.mq.producer.dept;
 
 import cn.iocoder.yudao.module.system.mq.message.dept.DeptRefreshMessage;
 import cn.iocoder.yudao.framework.mq.core.RedisMQTemplate;
+import cn.iocoder.yudao.module.system.dal.redis.common.LocalCacheVersionRedisDAO;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.Resource;
+import java.util.Collection;
+import java.util.HashSet;
 
 /**
  * Dept 部门相关消息的 Producer
@@ -14,12 +17,27 @@ public class DeptProducer {
 
     @Resource
     private RedisMQTemplate redisMQTemplate;
+    @Resource
+    private LocalCacheVersionRedisDAO localCacheVersionRedisDAO;
 
     /**
      * 发送 {@link DeptRefreshMessage} 消息
      */
     public void sendDeptRefreshMessage() {
         DeptRefreshMessage message = new DeptRefreshMessage();
+        message.setVersion(localCacheVersionRedisDAO.increment(DeptRefreshMessage.CHANNEL));
+        redisMQTemplate.send(message);
+    }
+
+    /**
+     * 发送 {@link DeptRefreshMessage} 消息，增量刷新
+     *
+     * @param deptIds 变更的部门编号数组
+     */
+    public void sendDeptRefreshMessage(Collection<Long> deptIds) {
+        DeptRefreshMessage message = new DeptRefreshMessage();
+        message.setVersion(localCacheVersionRedisDAO.increment(DeptRefreshMessage.CHANNEL));
+        message.setDeptIds(new HashSet<>(deptIds));
         redisMQTemplate.send(message);
     }
 
@@ -2,9 +2,12 @@ package cn.iocoder.yudao.module.system.mq.producer.permission;
 
 import cn.iocoder.yudao.module.system.mq.message.permission.MenuRefreshMessage;
 import cn.iocoder.yudao.framework.mq.core.RedisMQTemplate;
+import cn.iocoder.yudao.module.system.dal.redis.common.LocalCacheVersionRedisDAO;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.Resource;
+import java.util.Collection;
+import java.util.HashSet;
 
 /**
  * Menu 菜单相关消息的 Producer
@@ -14,12 +17,27 @@ public class MenuProducer {
 
     @Resource
     private RedisMQTemplate redisMQTemplate;
+    @Resource
+    private LocalCacheVersionRedisDAO localCacheVersionRedisDAO;
 
     /**
      * 发送 {@link MenuRefreshMessage} 消息
      */
     public void sendMenuRefreshMessage() {
         MenuRefreshMessage message = new MenuRefreshMessage();
+        message.setVersion(localCacheVersionRedisDAO.increment(MenuRefreshMessage.CHANNEL));
+        redisMQTemplate.send(message);
+    }
+
+    /**
+     * 发送 {@link MenuRefreshMessage} 消息，增量刷新
+     *
+     * @param menuIds 变更的菜单编号数组
+     */
+    public void sendMenuRefreshMessage(Collection<Long> menuIds) {
+        MenuRefreshMessage message = new MenuRefreshMessage();
+        message.setVersion(localCacheVersionRedisDAO.increment(MenuRefreshMessage.CHANNEL));
+        message.setMenuIds(new HashSet<>(menuIds));
         redisMQTemplate.send(message);
     }
 
@@ -3,9 +3,12 @@ package cn.iocoder.yudao.module.system.mq.producer.permission;
 import cn.iocoder.yudao.module.system.mq.message.permission.RoleMenuRefreshMessage;
 import cn.iocoder.yudao.framework.mq.core.RedisMQTemplate;
 import cn.iocoder.yudao.module.system.mq.message.permission.UserRoleRefreshMessage;
+import cn.iocoder.yudao.module.system.dal.redis.common.LocalCacheVersionRedisDAO;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.Resource;
+import java.util.Collection;
+import java.util.HashSet;
 
 /**
  * Permission 权限相关消息的 Producer
@@ -15,12 +18,27 @@ public class PermissionProducer {
 
     @Resource
     private RedisMQTemplate redisMQTemplate;
+    @Resource
+    private LocalCacheVersionRedisDAO localCacheVersionRedisDAO;
 
     /**
      * 发送 {@link RoleMenuRefreshMessage} 消息
      */
     public void sendRoleMenuRefreshMessage() {
         RoleMenuRefreshMessage message = new RoleMenuRefreshMessage();
+        message.setVersion(localCacheVersionRedisDAO.increment(RoleMenuRefreshMessage.CHANNEL));
+        redisMQTemplate.send(message);
+    }
+
+    /**
+     * 发送 {@link RoleMenuRefreshMessage} 消息，增量刷新
+     *
+     * @param roleIds 变更的角色编号数组
+     */
+    public void sendRoleMenuRefreshMessage(Collection<Long> roleIds) {
+        RoleMenuRefreshMessage message = new RoleMenuRefreshMessage();
+        message.setVersion(localCacheVersionRedisDAO.increment(RoleMenuRefreshMessage.CHANNEL));
+        message.setRoleIds(new HashSet<>(roleIds));
         redisMQTemplate.send(message);
     }
 
@@ -29,6 +47,19 @@ public class PermissionProducer {
      */
     public void sendUserRoleRefreshMessage() {
         UserRoleRefreshMessage message = new UserRoleRefreshMessage();
+        message.setVersion(localCacheVersionRedisDAO.increment(UserRoleRefreshMessage.CHANNEL));
+        redisMQTemplate.send(message);
+    }
+
+    /**
+     * 发送 {@link UserRoleRefreshMessage} 消息，增量刷新
+     *
+     * @param userIds 变更的用户编号数组
+     */
+    public void sendUserRoleRefreshMessage(Collection<Long> userIds) {
+        UserRoleRefreshMessage message = new UserRoleRefreshMessage();
+        message.setVersion(localCacheVersionRedisDAO.increment(UserRoleRefreshMessage.CHANNEL));
+        message.setUserIds(new HashSet<>(userIds));
         redisMQTemplate.send(message);
     }
 
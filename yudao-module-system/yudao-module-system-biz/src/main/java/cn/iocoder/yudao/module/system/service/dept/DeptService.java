@@ -24,6 +24,14 @@ public interface DeptService {
      */
     void initLocalCache();
 
+    /**
+     * 刷新部门的本地缓存。如果部门编号为空，则全量刷新；否则，增量刷新
+     *
+     * @param deptIds 变更的部门编号数组
+     * @param version 刷新消息的版本号
+     */
+    void refreshLocalCache(Collection<Long> deptIds, Long version);
+
     /**
      * 创建部门
      *
@@ -63,6 +71,15 @@ public interface DeptService {
      */
     List<DeptDO> getDeptsByParentIdFromCache(Long parentId, boolean recursive);
 
+    /**
+     * 判断 ancestorId 是否为 deptId 的祖先部门，从缓存中
+     *
+     * @param ancestorId 祖先部门编号
+     * @param deptId 部门编号
+     * @return 是否为祖先部门
+     */
+    boolean isDeptAncestorFromCache(Long ancestorId, Long deptId);
+
     /**
      * 获得部门信息数组
      *
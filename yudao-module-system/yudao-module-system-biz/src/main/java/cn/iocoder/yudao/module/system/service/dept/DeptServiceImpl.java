@@ -12,8 +12,14 @@ import cn.iocoder.yudao.module.system.controller.admin.dept.vo.dept.DeptUpdateRe
 import cn.iocoder.yudao.module.system.convert.dept.DeptConvert;
 import cn.iocoder.yudao.module.system.dal.dataobject.dept.DeptDO;
 import cn.iocoder.yudao.module.system.dal.mysql.dept.DeptMapper;
+import cn.iocoder.yudao.module.system.dal.redis.common.LocalCacheVersionRedisDAO;
 import cn.iocoder.yudao.module.system.enums.dept.DeptIdEnum;
+import cn.iocoder.yudao.module.system.mq.message.dept.DeptRefreshMessage;
 import cn.iocoder.yudao.module.system.mq.producer.dept.DeptProducer;
+import cn.iocoder.yudao.module.system.service.dept.bo.DeptTreeIndexBO;
+import cn.iocoder.yudao.module.system.util.cache.LocalCacheRefreshUtils;
+import cn.iocoder.yudao.module.system.util.cache.LocalCacheVersion;
+import cn.iocoder.yudao.module.system.util.cache.LocalCacheWatermark;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.Multimap;
@@ -25,11 +31,11 @@ import org.springframework.validation.annotation.Validated;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
-import java.time.LocalDateTime;
 import java.util.*;
 
 import static cn.iocoder.yudao.framework.common.exception.util.ServiceExceptionUtil.exception;
 import static cn.iocoder.yudao.module.system.enums.ErrorCodeConstants.*;
+import static java.util.Collections.singleton;
 
 /**
  * 部门 Service 实现类
@@ -58,35 +64,109 @@ public class DeptServiceImpl implements DeptService {
      */
     @Getter
     private volatile Multimap<Long, DeptDO> parentDeptCache;
+    /**
+     * 部门树的闭包索引，用于快速获得所有子部门、判断祖先部门
+     *
+     * 这里声明 volatile 修饰的原因是，每次刷新时，直接修改指向
+     */
+    @Getter
+    private volatile DeptTreeIndexBO deptTreeIndex;
+    /**
+     * 缓存的版本号，用于发现丢失的刷新消息
+     */
+    private final LocalCacheVersion cacheVersion = new LocalCacheVersion();
+    /**
+     * 缓存的水位线，用于发现未通过刷新消息同步的变更
+     */
+    private volatile LocalCacheWatermark cacheWatermark;
 
     @Resource
     private DeptMapper deptMapper;
 
     @Resource
     private DeptProducer deptProducer;
+    @Resource
+    private LocalCacheVersionRedisDAO localCacheVersionRedisDAO;
 
     /**
-     * 初始化 {@link #parentDeptCache} 和 {@link #deptCache} 缓存
+     * 初始化 {@link #parentDeptCache}、{@link #deptCache}、{@link #deptTreeIndex} 缓存
      */
     @Override
     @PostConstruct
     public synchronized void initLocalCache() {
         // 注意：忽略自动多租户，因为要全局初始化缓存
         TenantUtils.executeIgnore(() -> {
-            // 第一步：查询数据
+            // 第一步：查询数据。先读取版本号、水位线，保证之前的变更都包含在查询结果中
+            cacheVersion.reset(localCacheVersionRedisDAO.get(DeptRefreshMessage.CHANNEL));
+            cacheWatermark = LocalCacheRefreshUtils.selectWatermark(deptMapper);
             List<DeptDO> depts = deptMapper.selectList();
             log.info("[initLocalCache][缓存部门，数量为:{}]", depts.size());
 
             // 第二步：构建缓存
-            ImmutableMap.Builder<Long, DeptDO> builder = ImmutableMap.builder();
-            ImmutableMultimap.Builder<Long, DeptDO> parentBuilder = ImmutableMultimap.builder();
-            depts.forEach(sysRoleDO -> {
-                builder.put(sysRoleDO.getId(), sysRoleDO);
-                parentBuilder.put(sysRoleDO.getParentId(), sysRoleDO);
+            buildLocalCache(depts);
+        });
+    }
+
+    @Override
+    public synchronized void refreshLocalCache(Collection<Long> deptIds, Long version) {
+        // 情况一：未指定部门编号，或者变更过多，则全量刷新
+        if (LocalCacheRefreshUtils.isFullRefresh(deptIds)) {
+            initLocalCache();
+            return;
+        }
+        // 情况二：版本号不连续，说明有丢失的消息，则全量刷新
+        if (!cacheVersion.apply(version)) {
+            log.warn("[refreshLocalCache][部门刷新消息的版本号({}) 不连续，进行全量刷新]", version);
+            initLocalCache();
+            return;
+        }
+        // 情况三：增量刷新。基于原缓存复制后，替换变更的部门；查询不到的部门，说明已经被删除
+        try {
+            TenantUtils.executeIgnore(() -> {
+                cacheWatermark = LocalCacheRefreshUtils.selectWatermark(deptMapper);
+                List<DeptDO> changedDepts = deptMapper.selectBatchIds(deptIds);
+                log.info("[refreshLocalCache][增量缓存部门({})，数量为:{}]", deptIds, changedDepts.size());
+                Map<Long, DeptDO> deptMap = new LinkedHashMap<>(deptCache);
+                deptIds.forEach(deptMap::remove);
+                changedDepts.forEach(dept -> deptMap.put(dept.getId(), dept));
+                buildLocalCache(deptMap.values());
             });
-            deptCache = builder.build();
-            parentDeptCache = parentBuilder.build();
+        } catch (Exception ex) {
+            log.error("[refreshLocalCache][部门({}) 增量刷新失败，进行全量刷新]", deptIds, ex);
+            initLocalCache();
+        }
+    }
+
+    /**
+     * 定时检查本地缓存，兜底刷新消息丢失、或者直接修改数据库等情况
+     */
+    @Scheduled(fixedDelay = LocalCacheRefreshUtils.CHECK_PERIOD, initialDelay = LocalCacheRefreshUtils.CHECK_PERIOD)
+    public synchronized void checkLocalCache() {
+        // 情况一：最新的刷新消息丢失
+        if (cacheVersion.isLost(localCacheVersionRedisDAO.get(DeptRefreshMessage.CHANNEL))) {
+            log.warn("[checkLocalCache][部门刷新消息丢失，进行全量刷新]");
+            initLocalCache();
+            return;
+        }
+        // 情况二：水位线变化，存在未同步的变更
+        TenantUtils.executeIgnore(() -> {
+            if (!cacheWatermark.equals(LocalCacheRefreshUtils.selectWatermark(deptMapper))) {
+                log.warn("[checkLocalCache][部门存在未同步的变更，进行全量刷新]");
+                initLocalCache();
+            }
+        });
+    }
+
+    private void buildLocalCache(Collection<DeptDO> depts) {
+        ImmutableMap.Builder<Long, DeptDO> builder = ImmutableMap.builder();
+        ImmutableMultimap.Builder<Long, DeptDO> parentBuilder = ImmutableMultimap.builder();
+        depts.forEach(sysRoleDO -> {
+            builder.put(sysRoleDO.getId(), sysRoleDO);
+            parentBuilder.put(sysRoleDO.getParentId(), sysRoleDO);
         });
+        deptCache = builder.build();
+        parentDeptCache = parentBuilder.build();
+        deptTreeIndex = new DeptTreeIndexBO(deptCache.values());
     }
 
     @Override
@@ -100,7 +180,7 @@ public class DeptServiceImpl implements DeptService {
         DeptDO dept = DeptConvert.INSTANCE.convert(reqVO);
         deptMapper.insert(dept);
         // 发送刷新消息
-        deptProducer.sendDeptRefreshMessage();
+        deptProducer.sendDeptRefreshMessage(singleton(dept.getId()));
         return dept.getId();
     }
 
@@ -115,7 +195,7 @@ public class DeptServiceImpl implements DeptService {
         DeptDO updateObj = DeptConvert.INSTANCE.convert(reqVO);
         deptMapper.updateById(updateObj);
         // 发送刷新消息
-        deptProducer.sendDeptRefreshMessage();
+        deptProducer.sendDeptRefreshMessage(singleton(updateObj.getId()));
     }
 
     @Override
@@ -129,7 +209,7 @@ public class DeptServiceImpl implements DeptService {
         // 删除部门
         deptMapper.deleteById(id);
         // 发送刷新消息
-        deptProducer.sendDeptRefreshMessage();
+        deptProducer.sendDeptRefreshMessage(singleton(id));
     }
 
     @Override
@@ -142,14 +222,21 @@ public class DeptServiceImpl implements DeptService {
         if (parentId == null) {
             return Collections.emptyList();
         }
-        List<DeptDO> result = new ArrayList<>(); // TODO 芋艿：待优化，新增缓存，避免每次遍历的计算
-        // 递归，简单粗暴
-        this.getDeptsByParentIdFromCache(result, parentId,
-                recursive ? Integer.MAX_VALUE : 1, // 如果递归获取，则无限；否则，只递归 1 次
-                parentDeptCache);
+        // 情况一：递归获取，基于闭包索引，直接切片
+        if (recursive) {
+            return deptTreeIndex.getDescendants(parentId, TenantContextHolder.getTenantId());
+        }
+        // 情况二：只获取直接子部门
+        List<DeptDO> result = new ArrayList<>();
+        this.getDeptsByParentIdFromCache(result, parentId, 1, parentDeptCache);
         return result;
     }
 
+    @Override
+    public boolean isDeptAncestorFromCache(Long ancestorId, Long deptId) {
+        return deptTreeIndex.isAncestor(ancestorId, deptId);
+    }
+
     /**
      * 递归获取所有的子部门，添加到 result 结果
      *
@@ -209,8 +296,7 @@ public class DeptServiceImpl implements DeptService {
             throw ServiceExceptionUtil.exception(DEPT_NOT_ENABLE);
         }
         // 父部门不能是原来的子部门
-        List<DeptDO> children = this.getDeptsByParentIdFromCache(id, true);
-        if (children.stream().anyMatch(dept1 -> dept1.getId().equals(parentId))) {
+        if (id != null && isDeptAncestorFromCache(id, parentId)) {
             throw ServiceExceptionUtil.exception(DEPT_PARENT_IS_CHILD);
         }
     }
@@ -0,0 +1,184 @@
+package cn.iocoder.yudao.module.system.service.dept.bo;
+
+import cn.iocoder.yudao.module.system.dal.dataobject.dept.DeptDO;
+
+import java.util.*;
+
+/**
+ * 部门树的闭包索引 BO
+ *
+ * 按照前序遍历（Euler Tour）对部门进行编号，每个部门的子树对应一个连续的区间 [enter, exit)：
+ * 1. 获得部门的所有子部门，即 {@link #depts} 的区间切片，无需递归
+ * 2. 判断 A 是否为 B 的祖先部门，只需要比较两个整数
+ *
+ * 注意，该对象构建后不可变，缓存刷新时，直接创建新的对象替换。
+ *
+ * @author 芋道源码
+ */
+public class DeptTreeIndexBO {
+
+    /**
+     * 前序遍历的部门数组
+     */
+    private final DeptDO[] depts;
+    /**
+     * 部门编号与前序遍历位置的映射
+     */
+    private final Map<Long, Integer> enters;
+    /**
+     * 子树的结束位置（不包含），即 depts[i + 1, exits[i]) 为部门 depts[i] 的所有子部门
+     */
+    private final int[] exits;
+    /**
+     * 子部门的租户编号，所有子部门属于同一个租户时有效，用于多租户场景下直接切片
+     */
+    private final Long[] descendantTenantIds;
+    /**
+     * 子部门是否属于多个租户
+     */
+    private final boolean[] mixedTenants;
+    /**
+     * 父部门编号不存在的部门（例如说，父部门为根节点），按照父部门编号分组后的区间
+     *
+     * key：父部门编号
+     * value：[开始位置, 结束位置)
+     */
+    private final Map<Long, int[]> rootRanges = new HashMap<>();
+
+    public DeptTreeIndexBO(Collection<DeptDO> deptList) {
+        // 1. 按照父部门编号分组，并找到父部门不存在的部门，作为遍历的起点
+        Map<Long, List<DeptDO>> children = new HashMap<>();
+        Set<Long> ids = new HashSet<>();
+        deptList.forEach(dept -> {
+            ids.add(dept.getId());
+            children.computeIfAbsent(dept.getParentId(), key -> new ArrayList<>()).add(dept);
+        });
+        Map<Long, List<DeptDO>> roots = new LinkedHashMap<>();
+        deptList.forEach(dept -> {
+            if (!ids.contains(dept.getParentId())) {
+                roots.computeIfAbsent(dept.getParentId(), key -> new ArrayList<>()).add(dept);
+            }
+        });
+
+        // 2. 前序遍历，使用栈代替递归，避免部门层级过深时栈溢出。父部门形成环的部门，无法遍历到，会被忽略
+        List<DeptDO> order = new ArrayList<>(deptList.size());
+        this.enters = new HashMap<>(deptList.size() * 4 / 3 + 1);
+        Deque<DeptDO> stack = new ArrayDeque<>();
+        roots.forEach((parentId, rootDepts) -> {
+            int start = order.size();
+            for (int i = rootDepts.size() - 1; i >= 0; i--) {
+                stack.push(rootDepts.get(i));
+            }
+            while (!stack.isEmpty()) {
+                DeptDO dept = stack.pop();
+                enters.put(dept.getId(), order.size());
+                order.add(dept);
+                List<DeptDO> childDepts = children.getOrDefault(dept.getId(), Collections.emptyList());
+                for (int i = childDepts.size() - 1; i >= 0; i--) {
+                    stack.push(childDepts.get(i));
+                }
+            }
+            rootRanges.put(parentId, new int[]{start, order.size()});
+        });
+        this.depts = order.toArray(new DeptDO[0]);
+
+        // 3. 逆序遍历，父部门的位置一定在子部门之前，所以可以累加出子树大小、子部门的租户
+        int n = depts.length;
+        int[] sizes = new int[n];
+        boolean[] hasDescendants = new boolean[n];
+        this.exits = new int[n];
+        this.descendantTenantIds = new Long[n];
+        this.mixedTenants = new boolean[n];
+        for (int i = n - 1; i >= 0; i--) {
+            sizes[i]++;
+            exits[i] = i + sizes[i];
+            Integer parent = enters.get(depts[i].getParentId());
+            if (parent == null) {
+                continue;
+            }
+            sizes[parent] += sizes[i];
+            mergeDescendantTenant(parent, hasDescendants, depts[i].getTenantId());
+            if (hasDescendants[i]) {
+                if (mixedTenants[i]) {
+                    mixedTenants[parent] = true;
+                } else {
+                    mergeDescendantTenant(parent, hasDescendants, descendantTenantIds[i]);
+                }
+            }
+        }
+    }
+
+    private void mergeDescendantTenant(int index, boolean[] hasDescendants, Long tenantId) {
+        if (!hasDescendants[index]) {
+            hasDescendants[index] = true;
+            descendantTenantIds[index] = tenantId;
+        } else if (!Objects.equals(descendantTenantIds[index], tenantId)) {
+            mixedTenants[index] = true;
+        }
+    }
+
+    /**
+     * 获得部门的所有子部门
+     *
+     * @param deptId 部门编号。如果部门不存在，则作为虚拟的父部门，例如说根节点
+     * @param tenantId 租户编号。非空时，只返回该租户的子部门，并且不会继续遍历其它租户部门的子部门
+     * @return 所有子部门，按照前序遍历的顺序；不可修改
+     */
+    public List<DeptDO> getDescendants(Long deptId, Long tenantId) {
+        Integer enter = enters.get(deptId);
+        if (enter == null) {
+            int[] range = rootRanges.get(deptId);
+            return range != null ? slice(range[0], range[1], tenantId) : Collections.emptyList();
+        }
+        int exit = exits[enter];
+        // 子部门都属于同一个租户时，直接切片，无需遍历
+        if (tenantId != null && !mixedTenants[enter] && exit > enter + 1) {
+            return tenantId.equals(descendantTenantIds[enter]) ? slice(enter + 1, exit, null)
+                    : Collections.emptyList();
+        }
+        return slice(enter + 1, exit, tenantId);
+    }
+
+    private List<DeptDO> slice(int start, int end, Long tenantId) {
+        if (tenantId == null) {
+            return Collections.unmodifiableList(Arrays.asList(depts).subList(start, end));
+        }
+        List<DeptDO> result = new ArrayList<>();
+        for (int i = start; i < end; ) {
+            if (tenantId.equals(depts[i].getTenantId())) {
+                result.add(depts[i]);
+                i++;
+            } else {
+                // 跳过其它租户的部门，以及它的子部门
+                i = exits[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 判断 ancestorId 是否为 deptId 的祖先部门（不包括自身）
+     *
+     * @param ancestorId 祖先部门编号
+     * @param deptId 部门编号
+     * @return 是否为祖先部门
+     */
+    public boolean isAncestor(Long ancestorId, Long deptId) {
+        Integer ancestor = enters.get(ancestorId);
+        Integer dept = enters.get(deptId);
+        if (ancestor == null || dept == null) {
+            return false;
+        }
+        return ancestor < dept && dept < exits[ancestor];
+    }
+
+    /**
+     * 获得部门数量
+     *
+     * @return 部门数量
+     */
+    public int size() {
+        return depts.length;
+    }
+
+}
@@ -8,6 +8,7 @@ import cn.iocoder.yudao.module.system.api.logger.dto.LoginLogCreateReqDTO;
 
 import javax.validation.Valid;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 登录日志 Service 接口
@@ -23,12 +24,12 @@ public interface LoginLogService {
     PageResult<LoginLogDO> getLoginLogPage(LoginLogPageReqVO reqVO);
 
     /**
-     * 获得登录日志列表
+     * 分批获得登录日志列表，用于导出大量数据
      *
      * @param reqVO 列表条件
-     * @return 登录日志列表
+     * @param consumer 每一批登录日志的处理逻辑
      */
-    List<LoginLogDO> getLoginLogList(LoginLogExportReqVO reqVO);
+    void getLoginLogList(LoginLogExportReqVO reqVO, Consumer<List<LoginLogDO>> consumer);
 
     /**
      * 创建登录日志
@@ -12,6 +12,7 @@ import org.springframework.validation.annotation.Validated;
 
 import javax.annotation.Resource;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 登录日志 Service 实现
@@ -29,8 +30,8 @@ public class LoginLogServiceImpl implements LoginLogService {
     }
 
     @Override
-    public List<LoginLogDO> getLoginLogList(LoginLogExportReqVO reqVO) {
-        return loginLogMapper.selectList(reqVO);
+    public void getLoginLogList(LoginLogExportReqVO reqVO, Consumer<List<LoginLogDO>> consumer) {
+        loginLogMapper.selectList(reqVO, consumer);
     }
 
     @Override
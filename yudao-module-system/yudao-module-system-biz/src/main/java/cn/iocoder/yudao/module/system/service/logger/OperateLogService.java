@@ -9,6 +9,7 @@ import cn.iocoder.yudao.module.system.controller.admin.logger.vo.operatelog.Oper
 import cn.iocoder.yudao.module.system.dal.dataobject.logger.OperateLogDO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 操作日志 Service 接口
@@ -24,6 +25,13 @@ public interface OperateLogService {
      */
     void createOperateLog(OperateLogCreateReqDTO createReqDTO);
 
+    /**
+     * 批量记录操作日志
+     *
+     * @param createReqDTOs 操作日志请求数组
+     */
+    void createOperateLogList(List<OperateLogCreateReqDTO> createReqDTOs);
+
     /**
      * 获得操作日志分页列表
      *
@@ -33,11 +41,11 @@ public interface OperateLogService {
     PageResult<OperateLogDO> getOperateLogPage(OperateLogPageReqVO reqVO);
 
     /**
-     * 获得操作日志列表
+     * 分批获得操作日志列表，用于导出大量数据
      *
      * @param reqVO 列表条件
-     * @return 日志列表
+     * @param consumer 每一批日志的处理逻辑
      */
-    List<OperateLogDO> getOperateLogs(OperateLogExportReqVO reqVO);
+    void getOperateLogs(OperateLogExportReqVO reqVO, Consumer<List<OperateLogDO>> consumer);
 
 }
@@ -4,6 +4,7 @@ import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.iocoder.yudao.framework.common.pojo.PageResult;
 import cn.iocoder.yudao.framework.common.util.string.StrUtils;
+import cn.iocoder.yudao.framework.tenant.core.util.TenantUtils;
 import cn.iocoder.yudao.module.system.api.logger.dto.OperateLogCreateReqDTO;
 import cn.iocoder.yudao.module.system.controller.admin.logger.vo.operatelog.OperateLogExportReqVO;
 import cn.iocoder.yudao.module.system.controller.admin.logger.vo.operatelog.OperateLogPageReqVO;
@@ -18,9 +19,10 @@ import org.springframework.validation.annotation.Validated;
 
 import javax.annotation.Resource;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static cn.iocoder.yudao.framework.common.util.collection.CollectionUtils.convertList;
 import static cn.iocoder.yudao.framework.common.util.collection.CollectionUtils.convertSet;
 import static cn.iocoder.yudao.module.system.dal.dataobject.logger.OperateLogDO.JAVA_METHOD_ARGS_MAX_LENGTH;
 import static cn.iocoder.yudao.module.system.dal.dataobject.logger.OperateLogDO.RESULT_MAX_LENGTH;
@@ -38,10 +40,21 @@ public class OperateLogServiceImpl implements OperateLogService {
 
     @Override
     public void createOperateLog(OperateLogCreateReqDTO createReqDTO) {
+        operateLogMapper.insert(buildOperateLog(createReqDTO));
+    }
+
+    @Override
+    public void createOperateLogList(List<OperateLogCreateReqDTO> createReqDTOs) {
+        // 日志由后台线程批量写入，没有租户上下文，所以按照日志的租户编号分组写入
+        TenantUtils.executeByTenant(createReqDTOs, OperateLogCreateReqDTO::getTenantId, list ->
+                operateLogMapper.insertBatch(convertList(list, this::buildOperateLog)));
+    }
+
+    private OperateLogDO buildOperateLog(OperateLogCreateReqDTO createReqDTO) {
         OperateLogDO logDO = OperateLogConvert.INSTANCE.convert(createReqDTO);
         logDO.setJavaMethodArgs(StrUtils.maxLength(logDO.getJavaMethodArgs(), JAVA_METHOD_ARGS_MAX_LENGTH));
         logDO.setResultData(StrUtils.maxLength(logDO.getResultData(), RESULT_MAX_LENGTH));
-        operateLogMapper.insert(logDO);
+        return logDO;
     }
 
     @Override
@@ -59,17 +72,17 @@ public class OperateLogServiceImpl implements OperateLogService {
     }
 
     @Override
-    public List<OperateLogDO> getOperateLogs(OperateLogExportReqVO reqVO) {
+    public void getOperateLogs(OperateLogExportReqVO reqVO, Consumer<List<OperateLogDO>> consumer) {
         // 处理基于用户昵称的查询
         Collection<Long> userIds = null;
         if (StrUtil.isNotEmpty(reqVO.getUserNickname())) {
             userIds = convertSet(userService.getUsersByNickname(reqVO.getUserNickname()), AdminUserDO::getId);
             if (CollUtil.isEmpty(userIds)) {
-                return Collections.emptyList();
+                return;
             }
         }
-        // 查询列表
-        return operateLogMapper.selectList(reqVO, userIds);
+        // 分批查询列表
+        operateLogMapper.selectList(reqVO, userIds, consumer);
     }
 
 }
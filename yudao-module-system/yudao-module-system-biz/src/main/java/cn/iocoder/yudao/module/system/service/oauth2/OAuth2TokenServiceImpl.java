@@ -14,16 +14,26 @@ import cn.iocoder.yudao.module.system.dal.dataobject.oauth2.OAuth2RefreshTokenDO
 import cn.iocoder.yudao.module.system.dal.mysql.oauth2.OAuth2AccessTokenMapper;
 import cn.iocoder.yudao.module.system.dal.mysql.oauth2.OAuth2RefreshTokenMapper;
 import cn.iocoder.yudao.module.system.dal.redis.oauth2.OAuth2AccessTokenRedisDAO;
+import cn.iocoder.yudao.module.system.mq.producer.auth.OAuth2AccessTokenProducer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Calendar;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 import static cn.iocoder.yudao.framework.common.exception.util.ServiceExceptionUtil.exception0;
 import static cn.iocoder.yudao.framework.common.util.collection.CollectionUtils.convertSet;
+import static java.util.Collections.singleton;
 
 /**
  * OAuth2.0 Token Service 实现类
@@ -33,6 +43,47 @@ import static cn.iocoder.yudao.framework.common.util.collection.CollectionUtils.
 @Service
 public class OAuth2TokenServiceImpl implements OAuth2TokenService {
 
+    /**
+     * 访问令牌本地缓存的最大数量
+     */
+    private static final long ACCESS_TOKEN_LOCAL_CACHE_MAX_SIZE = 100000;
+    /**
+     * 访问令牌本地缓存的最大过期时间
+     *
+     * 实际过期时间，取该值与访问令牌剩余有效期的较小值。即使错过移除消息，本地缓存也最多在该时间后失效
+     */
+    private static final Duration ACCESS_TOKEN_LOCAL_CACHE_MAX_TTL = Duration.ofMinutes(1);
+
+    /**
+     * 访问令牌的本地缓存，作为 Redis 之前的一级缓存
+     * key：访问令牌 {@link OAuth2AccessTokenDO#getAccessToken()}
+     *
+     * 移除访问令牌时，通过 {@link OAuth2AccessTokenProducer} 通知各个节点移除
+     */
+    private final Cache<String, OAuth2AccessTokenDO> accessTokenLocalCache = Caffeine.newBuilder()
+            .maximumSize(ACCESS_TOKEN_LOCAL_CACHE_MAX_SIZE)
+            .expireAfter(new Expiry<String, OAuth2AccessTokenDO>() {
+
+                @Override
+                public long expireAfterCreate(String key, OAuth2AccessTokenDO value, long currentTime) {
+                    Duration ttl = Duration.between(LocalDateTime.now(), value.getExpiresTime());
+                    return Math.max(0, Math.min(ttl.toNanos(), ACCESS_TOKEN_LOCAL_CACHE_MAX_TTL.toNanos()));
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, OAuth2AccessTokenDO value, long currentTime, long currentDuration) {
+                    return expireAfterCreate(key, value, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String key, OAuth2AccessTokenDO value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+            })
+            .recordStats()
+            .build();
+
     @Resource
     private OAuth2AccessTokenMapper oauth2AccessTokenMapper;
     @Resource
@@ -44,6 +95,15 @@ public class OAuth2TokenServiceImpl implements OAuth2TokenService {
     @Resource
     private OAuth2ClientService oauth2ClientService;
 
+    @Resource
+    private OAuth2AccessTokenProducer oauth2AccessTokenProducer;
+
+    @PostConstruct
+    public void initLocalCacheMetrics() {
+        // 注册命中率等指标，未引入 Actuator 时，全局 Registry 不会有任何输出
+        CaffeineCacheMetrics.monitor(Metrics.globalRegistry, accessTokenLocalCache, "system.oauth2.access-token");
+    }
+
     @Override
     @Transactional
     public OAuth2AccessTokenDO createAccessToken(Long userId, Integer userType, String clientId, List<String> scopes) {
@@ -71,8 +131,10 @@ public class OAuth2TokenServiceImpl implements OAuth2TokenService {
         // 移除相关的访问令牌
         List<OAuth2AccessTokenDO> accessTokenDOs = oauth2AccessTokenMapper.selectListByRefreshToken(refreshToken);
         if (CollUtil.isNotEmpty(accessTokenDOs)) {
+            Set<String> accessTokens = convertSet(accessTokenDOs, OAuth2AccessTokenDO::getAccessToken);
             oauth2AccessTokenMapper.deleteBatchIds(convertSet(accessTokenDOs, OAuth2AccessTokenDO::getId));
-            oauth2AccessTokenRedisDAO.deleteList(convertSet(accessTokenDOs, OAuth2AccessTokenDO::getAccessToken));
+            oauth2AccessTokenRedisDAO.deleteList(accessTokens);
+            removeAccessTokenLocalCacheAndNotify(accessTokens);
         }
 
         // 已过期的情况下，删除刷新令牌
@@ -87,9 +149,16 @@ public class OAuth2TokenServiceImpl implements OAuth2TokenService {
 
     @Override
     public OAuth2AccessTokenDO getAccessToken(String accessToken) {
-        // 优先从 Redis 中获取
-        OAuth2AccessTokenDO accessTokenDO = oauth2AccessTokenRedisDAO.get(accessToken);
+        // 优先从本地缓存中获取
+        OAuth2AccessTokenDO accessTokenDO = accessTokenLocalCache.getIfPresent(accessToken);
+        if (accessTokenDO != null) {
+            return accessTokenDO;
+        }
+
+        // 其次从 Redis 中获取
+        accessTokenDO = oauth2AccessTokenRedisDAO.get(accessToken);
         if (accessTokenDO != null) {
+            accessTokenLocalCache.put(accessToken, accessTokenDO);
             return accessTokenDO;
         }
 
@@ -98,6 +167,7 @@ public class OAuth2TokenServiceImpl implements OAuth2TokenService {
         // 如果在 MySQL 存在，则往 Redis 中写入
         if (accessTokenDO != null && !DateUtils.isExpired(accessTokenDO.getExpiresTime())) {
             oauth2AccessTokenRedisDAO.set(accessTokenDO);
+            accessTokenLocalCache.put(accessToken, accessTokenDO);
         }
         return accessTokenDO;
     }
@@ -123,11 +193,27 @@ public class OAuth2TokenServiceImpl implements OAuth2TokenService {
         }
         oauth2AccessTokenMapper.deleteById(accessTokenDO.getId());
         oauth2AccessTokenRedisDAO.delete(accessToken);
+        removeAccessTokenLocalCacheAndNotify(singleton(accessToken));
         // 删除刷新令牌
         oauth2RefreshTokenMapper.deleteByRefreshToken(accessTokenDO.getRefreshToken());
         return accessTokenDO;
     }
 
+    @Override
+    public void removeAccessTokenLocalCache(Collection<String> accessTokens) {
+        accessTokenLocalCache.invalidateAll(accessTokens);
+    }
+
+    /**
+     * 移除当前节点的本地缓存，并通知其它节点移除
+     *
+     * @param accessTokens 访问令牌数组
+     */
+    private void removeAccessTokenLocalCacheAndNotify(Collection<String> accessTokens) {
+        removeAccessTokenLocalCache(accessTokens);
+        oauth2AccessTokenProducer.sendOAuth2AccessTokenRemoveMessage(accessTokens);
+    }
+
     @Override
     public PageResult<OAuth2AccessTokenDO> getAccessTokenPage(OAuth2AccessTokenPageReqVO reqVO) {
         return oauth2AccessTokenMapper.selectPage(reqVO);
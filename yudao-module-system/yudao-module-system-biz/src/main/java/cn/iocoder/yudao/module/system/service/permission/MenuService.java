@@ -20,6 +20,14 @@ public interface MenuService {
      */
     void initLocalCache();
 
+    /**
+     * 刷新菜单的本地缓存。如果菜单编号为空，则全量刷新；否则，增量刷新
+     *
+     * @param menuIds 变更的菜单编号数组
+     * @param version 刷新消息的版本号
+     */
+    void refreshLocalCache(Collection<Long> menuIds, Long version);
+
     /**
      * 创建菜单
      *
@@ -98,6 +106,14 @@ public interface MenuService {
      */
     List<MenuDO> getMenuListByPermissionFromCache(String permission);
 
+    /**
+     * 获得菜单，从缓存中
+     *
+     * @param id 菜单编号
+     * @return 菜单
+     */
+    MenuDO getMenuFromCache(Long id);
+
     /**
      * 获得菜单
      *
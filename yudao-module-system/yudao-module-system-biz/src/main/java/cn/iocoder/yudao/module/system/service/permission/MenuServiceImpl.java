@@ -10,10 +10,15 @@ import cn.iocoder.yudao.module.system.controller.admin.permission.vo.menu.MenuUp
 import cn.iocoder.yudao.module.system.convert.permission.MenuConvert;
 import cn.iocoder.yudao.module.system.dal.dataobject.permission.MenuDO;
 import cn.iocoder.yudao.module.system.dal.mysql.permission.MenuMapper;
+import cn.iocoder.yudao.module.system.dal.redis.common.LocalCacheVersionRedisDAO;
 import cn.iocoder.yudao.module.system.enums.permission.MenuIdEnum;
 import cn.iocoder.yudao.module.system.enums.permission.MenuTypeEnum;
+import cn.iocoder.yudao.module.system.mq.message.permission.MenuRefreshMessage;
 import cn.iocoder.yudao.module.system.mq.producer.permission.MenuProducer;
 import cn.iocoder.yudao.module.system.service.tenant.TenantService;
+import cn.iocoder.yudao.module.system.util.cache.LocalCacheRefreshUtils;
+import cn.iocoder.yudao.module.system.util.cache.LocalCacheVersion;
+import cn.iocoder.yudao.module.system.util.cache.LocalCacheWatermark;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultimap;
@@ -21,6 +26,7 @@ import com.google.common.collect.Multimap;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
@@ -32,6 +38,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 import static cn.iocoder.yudao.module.system.enums.ErrorCodeConstants.*;
+import static java.util.Collections.singleton;
 
 /**
  * 菜单 Service 实现
@@ -59,6 +66,14 @@ public class MenuServiceImpl implements MenuService {
      */
     @Getter
     private volatile Multimap<String, MenuDO> permissionMenuCache;
+    /**
+     * 缓存的版本号，用于发现丢失的刷新消息
+     */
+    private final LocalCacheVersion cacheVersion = new LocalCacheVersion();
+    /**
+     * 缓存的水位线，用于发现未通过刷新消息同步的变更
+     */
+    private volatile LocalCacheWatermark cacheWatermark;
 
     @Resource
     private MenuMapper menuMapper;
@@ -70,6 +85,8 @@ public class MenuServiceImpl implements MenuService {
 
     @Resource
     private MenuProducer menuProducer;
+    @Resource
+    private LocalCacheVersionRedisDAO localCacheVersionRedisDAO;
 
     /**
      * 初始化 {@link #menuCache} 和 {@link #permissionMenuCache} 缓存
@@ -77,11 +94,63 @@ public class MenuServiceImpl implements MenuService {
     @Override
     @PostConstruct
     public synchronized void initLocalCache() {
-        // 第一步：查询数据
+        // 第一步：查询数据。先读取版本号、水位线，保证之前的变更都包含在查询结果中
+        cacheVersion.reset(localCacheVersionRedisDAO.get(MenuRefreshMessage.CHANNEL));
+        cacheWatermark = LocalCacheRefreshUtils.selectWatermark(menuMapper);
         List<MenuDO> menuList = menuMapper.selectList();
         log.info("[initLocalCache][缓存菜单，数量为:{}]", menuList.size());
 
         // 第二步：构建缓存
+        buildLocalCache(menuList);
+    }
+
+    @Override
+    public synchronized void refreshLocalCache(Collection<Long> menuIds, Long version) {
+        // 情况一：未指定菜单编号，或者变更过多，则全量刷新
+        if (LocalCacheRefreshUtils.isFullRefresh(menuIds)) {
+            initLocalCache();
+            return;
+        }
+        // 情况二：版本号不连续，说明有丢失的消息，则全量刷新
+        if (!cacheVersion.apply(version)) {
+            log.warn("[refreshLocalCache][菜单刷新消息的版本号({}) 不连续，进行全量刷新]", version);
+            initLocalCache();
+            return;
+        }
+        // 情况三：增量刷新。基于原缓存复制后，替换变更的菜单；查询不到的菜单，说明已经被删除
+        try {
+            cacheWatermark = LocalCacheRefreshUtils.selectWatermark(menuMapper);
+            List<MenuDO> changedMenus = menuMapper.selectBatchIds(menuIds);
+            log.info("[refreshLocalCache][增量缓存菜单({})，数量为:{}]", menuIds, changedMenus.size());
+            Map<Long, MenuDO> menuMap = new LinkedHashMap<>(menuCache);
+            menuIds.forEach(menuMap::remove);
+            changedMenus.forEach(menu -> menuMap.put(menu.getId(), menu));
+            buildLocalCache(menuMap.values());
+        } catch (Exception ex) {
+            log.error("[refreshLocalCache][菜单({}) 增量刷新失败，进行全量刷新]", menuIds, ex);
+            initLocalCache();
+        }
+    }
+
+    /**
+     * 定时检查本地缓存，兜底刷新消息丢失、或者直接修改数据库等情况
+     */
+    @Scheduled(fixedDelay = LocalCacheRefreshUtils.CHECK_PERIOD, initialDelay = LocalCacheRefreshUtils.CHECK_PERIOD)
+    public synchronized void checkLocalCache() {
+        // 情况一：最新的刷新消息丢失
+        if (cacheVersion.isLost(localCacheVersionRedisDAO.get(MenuRefreshMessage.CHANNEL))) {
+            log.warn("[checkLocalCache][菜单刷新消息丢失，进行全量刷新]");
+            initLocalCache();
+            return;
+        }
+        // 情况二：水位线变化，存在未同步的变更
+        if (!cacheWatermark.equals(LocalCacheRefreshUtils.selectWatermark(menuMapper))) {
+            log.warn("[checkLocalCache][菜单存在未同步的变更，进行全量刷新]");
+            initLocalCache();
+        }
+    }
+
+    private void buildLocalCache(Collection<MenuDO> menuList) {
         ImmutableMap.Builder<Long, MenuDO> menuCacheBuilder = ImmutableMap.builder();
         ImmutableMultimap.Builder<String, MenuDO> permMenuCacheBuilder = ImmutableMultimap.builder();
         menuList.forEach(menuDO -> {
@@ -92,6 +161,8 @@ public class MenuServiceImpl implements MenuService {
         });
         menuCache = menuCacheBuilder.build();
         permissionMenuCache = permMenuCacheBuilder.build();
+        // 菜单变化后，权限索引需要重新构建
+        permissionService.clearPermissionIndex();
     }
 
     @Override
@@ -105,7 +176,7 @@ public class MenuServiceImpl implements MenuService {
         initMenuProperty(menu);
         menuMapper.insert(menu);
         // 发送刷新消息
-        menuProducer.sendMenuRefreshMessage();
+        menuProducer.sendMenuRefreshMessage(singleton(menu.getId()));
         // 返回
         return menu.getId();
     }
@@ -125,7 +196,7 @@ public class MenuServiceImpl implements MenuService {
         initMenuProperty(updateObject);
         menuMapper.updateById(updateObject);
         // 发送刷新消息
-        menuProducer.sendMenuRefreshMessage();
+        menuProducer.sendMenuRefreshMessage(singleton(reqVO.getId()));
     }
 
     /**
@@ -153,7 +224,7 @@ public class MenuServiceImpl implements MenuService {
 
             @Override
             public void afterCommit() {
-                menuProducer.sendMenuRefreshMessage();
+                menuProducer.sendMenuRefreshMessage(singleton(menuId));
             }
 
         });
@@ -207,6 +278,11 @@ public class MenuServiceImpl implements MenuService {
         return new ArrayList<>(permissionMenuCache.get(permission));
     }
 
+    @Override
+    public MenuDO getMenuFromCache(Long id) {
+        return menuCache.get(id);
+    }
+
     @Override
     public MenuDO getMenu(Long id) {
         return menuMapper.selectById(id);
@@ -22,6 +22,22 @@ public interface PermissionService {
      */
     void initLocalCache();
 
+    /**
+     * 刷新角色与菜单的本地缓存。如果角色编号为空，则全量刷新；否则，增量刷新
+     *
+     * @param roleIds 变更的角色编号数组
+     * @param version 刷新消息的版本号
+     */
+    void refreshLocalCacheForRoleMenu(Collection<Long> roleIds, Long version);
+
+    /**
+     * 刷新用户与角色的本地缓存。如果用户编号为空，则全量刷新；否则，增量刷新
+     *
+     * @param userIds 变更的用户编号数组
+     * @param version 刷新消息的版本号
+     */
+    void refreshLocalCacheForUserRole(Collection<Long> userIds, Long version);
+
     /**
      * 获得角色们拥有的菜单列表，从缓存中获取
      *
@@ -114,6 +130,27 @@ public interface PermissionService {
      */
     void processUserDeleted(Long userId);
 
+    /**
+     * 处理用户的部门变更时，清空该用户的部门数据权限缓存
+     *
+     * @param userId 用户编号
+     */
+    void processUserDeptUpdated(Long userId);
+
+    /**
+     * 清空权限索引，在下次权限判断时重新构建
+     *
+     * 在角色、菜单的本地缓存刷新后，需要调用该方法
+     */
+    void clearPermissionIndex();
+
+    /**
+     * 清空部门数据权限的本地缓存，在下次获取时重新计算
+     *
+     * 在部门、角色的本地缓存刷新后，需要调用该方法
+     */
+    void clearDeptDataPermissionCache();
+
     /**
      * 判断是否有权限，任一一个即可
      *
@@ -3,12 +3,15 @@ package cn.iocoder.yudao.module.system.service.permission;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.collection.CollectionUtil;
 import cn.hutool.core.util.ArrayUtil;
+import cn.hutool.core.util.StrUtil;
 import cn.iocoder.yudao.framework.common.enums.CommonStatusEnum;
 import cn.iocoder.yudao.framework.common.util.collection.CollectionUtils;
+import cn.iocoder.yudao.framework.common.util.collection.CompactLongSet;
 import cn.iocoder.yudao.framework.common.util.collection.MapUtils;
 import cn.iocoder.yudao.framework.common.util.json.JsonUtils;
 import cn.iocoder.yudao.framework.datapermission.core.annotation.DataPermission;
 import cn.iocoder.yudao.framework.tenant.core.aop.TenantIgnore;
+import cn.iocoder.yudao.framework.tenant.core.context.TenantContextHolder;
 import cn.iocoder.yudao.framework.tenant.core.util.TenantUtils;
 import cn.iocoder.yudao.module.system.api.permission.dto.DeptDataPermissionRespDTO;
 import cn.iocoder.yudao.module.system.dal.dataobject.dept.DeptDO;
@@ -18,18 +21,30 @@ import cn.iocoder.yudao.module.system.dal.dataobject.permission.RoleMenuDO;
 import cn.iocoder.yudao.module.system.dal.dataobject.permission.UserRoleDO;
 import cn.iocoder.yudao.module.system.dal.mysql.permission.RoleMenuMapper;
 import cn.iocoder.yudao.module.system.dal.mysql.permission.UserRoleMapper;
+import cn.iocoder.yudao.module.system.dal.redis.common.LocalCacheVersionRedisDAO;
 import cn.iocoder.yudao.module.system.enums.permission.DataScopeEnum;
+import cn.iocoder.yudao.module.system.mq.message.permission.RoleMenuRefreshMessage;
+import cn.iocoder.yudao.module.system.mq.message.permission.UserRoleRefreshMessage;
 import cn.iocoder.yudao.module.system.mq.producer.permission.PermissionProducer;
 import cn.iocoder.yudao.module.system.service.dept.DeptService;
+import cn.iocoder.yudao.module.system.service.permission.bo.PermissionIndexBO;
 import cn.iocoder.yudao.module.system.service.user.AdminUserService;
+import cn.iocoder.yudao.module.system.util.cache.LocalCacheRefreshUtils;
+import cn.iocoder.yudao.module.system.util.cache.LocalCacheVersion;
+import cn.iocoder.yudao.module.system.util.cache.LocalCacheWatermark;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
@@ -37,7 +52,9 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
 
 import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import static cn.iocoder.yudao.framework.common.util.collection.CollectionUtils.convertSet;
@@ -52,6 +69,17 @@ import static java.util.Collections.singleton;
 @Slf4j
 public class PermissionServiceImpl implements PermissionService {
 
+    /**
+     * 部门数据权限本地缓存的最大数量
+     */
+    private static final long DEPT_DATA_PERMISSION_CACHE_MAX_SIZE = 10000;
+    /**
+     * 部门数据权限本地缓存的过期时间
+     *
+     * 用户的部门变更时，没有对应的刷新消息，依赖该过期时间兜底
+     */
+    private static final Duration DEPT_DATA_PERMISSION_CACHE_TTL = Duration.ofMinutes(1);
+
     /**
      * 角色编号与菜单编号的缓存映射
      * key：角色编号
@@ -60,7 +88,6 @@ public class PermissionServiceImpl implements PermissionService {
      * 这里声明 volatile 修饰的原因是，每次刷新时，直接修改指向
      */
     @Getter
-    @Setter // 单元测试需要
     private volatile Multimap<Long, Long> roleMenuCache;
     /**
      * 菜单编号与角色编号的缓存映射
@@ -81,9 +108,53 @@ public class PermissionServiceImpl implements PermissionService {
      * 这里声明 volatile 修饰的原因是，每次刷新时，直接修改指向
      */
     @Getter
-    @Setter // 单元测试需要
     private volatile Map<Long, Set<Long>> userRoleCache;
 
+    /**
+     * {@link #roleMenuCache} 和 {@link #menuRoleCache} 的版本号，用于发现丢失的刷新消息
+     */
+    private final LocalCacheVersion roleMenuCacheVersion = new LocalCacheVersion();
+    /**
+     * {@link #roleMenuCache} 和 {@link #menuRoleCache} 的水位线，用于发现未通过刷新消息同步的变更
+     */
+    private volatile LocalCacheWatermark roleMenuCacheWatermark;
+    /**
+     * {@link #userRoleCache} 的版本号，用于发现丢失的刷新消息
+     */
+    private final LocalCacheVersion userRoleCacheVersion = new LocalCacheVersion();
+    /**
+     * {@link #userRoleCache} 的水位线，用于发现未通过刷新消息同步的变更
+     */
+    private volatile LocalCacheWatermark userRoleCacheWatermark;
+
+    /**
+     * 权限索引，用于 {@link #hasAnyPermissions(Long, String...)} 的快速判断
+     *
+     * 为空时，表示需要重新构建。在角色、菜单、用户与角色等缓存刷新时，会被清空
+     */
+    private volatile PermissionIndexBO permissionIndex;
+    /**
+     * {@link #permissionIndex} 的版本号，每次清空时递增
+     *
+     * 构建权限索引期间，如果被清空，说明构建基于的缓存可能已经过期，此时构建的索引不会被保存
+     * 读写 {@link #permissionIndex} 和该版本号时，需要持有 {@link #permissionIndexLock} 锁
+     */
+    private long permissionIndexVersion;
+    private final Object permissionIndexLock = new Object();
+
+    /**
+     * 部门数据权限的本地缓存，避免每个请求都重新计算
+     * key：租户编号 + 用户编号，参见 {@link #buildDeptDataPermissionCacheKey(Long, Long)}
+     * value：部门数据权限，其中部门编号使用 {@link CompactLongSet} 压缩存储
+     *
+     * 在部门、角色、用户与角色的本地缓存刷新后，以及用户的部门变更后，会被清空
+     */
+    private final Cache<String, DeptDataPermissionRespDTO> deptDataPermissionCache = Caffeine.newBuilder()
+            .maximumSize(DEPT_DATA_PERMISSION_CACHE_MAX_SIZE)
+            .expireAfterWrite(DEPT_DATA_PERMISSION_CACHE_TTL)
+            .recordStats()
+            .build();
+
     @Resource
     private RoleMenuMapper roleMenuMapper;
     @Resource
@@ -100,6 +171,8 @@ public class PermissionServiceImpl implements PermissionService {
 
     @Resource
     private PermissionProducer permissionProducer;
+    @Resource
+    private LocalCacheVersionRedisDAO localCacheVersionRedisDAO;
 
     @Override
     @PostConstruct
@@ -108,14 +181,22 @@ public class PermissionServiceImpl implements PermissionService {
         initLocalCacheForUserRole();
     }
 
+    @PostConstruct
+    public void initLocalCacheMetrics() {
+        // 注册命中率等指标，未引入 Actuator 时，全局 Registry 不会有任何输出
+        CaffeineCacheMetrics.monitor(Metrics.globalRegistry, deptDataPermissionCache, "system.permission.dept-data-permission");
+    }
+
     /**
      * 刷新 RoleMenu 本地缓存
      */
     @VisibleForTesting
-    void initLocalCacheForRoleMenu() {
+    synchronized void initLocalCacheForRoleMenu() {
         // 注意：忽略自动多租户，因为要全局初始化缓存
         TenantUtils.executeIgnore(() -> {
-            // 第一步：查询数据
+            // 第一步：查询数据。先读取版本号、水位线，保证之前的变更都包含在查询结果中
+            roleMenuCacheVersion.reset(localCacheVersionRedisDAO.get(RoleMenuRefreshMessage.CHANNEL));
+            roleMenuCacheWatermark = LocalCacheRefreshUtils.selectWatermark(roleMenuMapper);
             List<RoleMenuDO> roleMenus = roleMenuMapper.selectList();
             log.info("[initLocalCacheForRoleMenu][缓存角色与菜单，数量为:{}]", roleMenus.size());
 
@@ -128,6 +209,7 @@ public class PermissionServiceImpl implements PermissionService {
             });
             roleMenuCache = roleMenuCacheBuilder.build();
             menuRoleCache = menuRoleCacheBuilder.build();
+            clearPermissionIndex();
         });
     }
 
@@ -135,20 +217,218 @@ public class PermissionServiceImpl implements PermissionService {
      * 刷新 UserRole 本地缓存
      */
     @VisibleForTesting
-    void initLocalCacheForUserRole() {
+    synchronized void initLocalCacheForUserRole() {
         // 注意：忽略自动多租户，因为要全局初始化缓存
         TenantUtils.executeIgnore(() -> {
-            // 第一步：加载数据
+            // 第一步：加载数据。先读取版本号、水位线，保证之前的变更都包含在查询结果中
+            userRoleCacheVersion.reset(localCacheVersionRedisDAO.get(UserRoleRefreshMessage.CHANNEL));
+            userRoleCacheWatermark = LocalCacheRefreshUtils.selectWatermark(userRoleMapper);
             List<UserRoleDO> userRoles = userRoleMapper.selectList();
             log.info("[initLocalCacheForUserRole][缓存用户与角色，数量为:{}]", userRoles.size());
 
             // 第二步：构建缓存。
             ImmutableMultimap.Builder<Long, Long> userRoleCacheBuilder = ImmutableMultimap.builder();
             userRoles.forEach(userRoleDO -> userRoleCacheBuilder.put(userRoleDO.getUserId(), userRoleDO.getRoleId()));
-            userRoleCache = CollectionUtils.convertMultiMap2(userRoles, UserRoleDO::getUserId, UserRoleDO::getRoleId);
+            // 使用 ConcurrentHashMap 的原因是，增量刷新时，直接替换用户对应的角色编号集合
+            userRoleCache = new ConcurrentHashMap<>(CollectionUtils.convertMultiMap2(userRoles,
+                    UserRoleDO::getUserId, UserRoleDO::getRoleId));
+            clearPermissionIndex();
+            clearDeptDataPermissionCache();
         });
     }
 
+    @Override
+    public synchronized void refreshLocalCacheForRoleMenu(Collection<Long> roleIds, Long version) {
+        // 情况一：未指定角色编号，或者变更过多，则全量刷新
+        if (LocalCacheRefreshUtils.isFullRefresh(roleIds)) {
+            initLocalCacheForRoleMenu();
+            return;
+        }
+        // 情况二：版本号不连续，说明有丢失的消息，则全量刷新
+        if (!roleMenuCacheVersion.apply(version)) {
+            log.warn("[refreshLocalCacheForRoleMenu][角色与菜单刷新消息的版本号({}) 不连续，进行全量刷新]", version);
+            initLocalCacheForRoleMenu();
+            return;
+        }
+        // 情况三：增量刷新。由于 ImmutableMultimap 不可变，基于原缓存复制后，替换变更角色的菜单
+        try {
+            TenantUtils.executeIgnore(() -> {
+                roleMenuCacheWatermark = LocalCacheRefreshUtils.selectWatermark(roleMenuMapper);
+                Set<Long> changedRoleIds = new HashSet<>(roleIds);
+                List<RoleMenuDO> roleMenus = roleMenuMapper.selectListByRoleIds(changedRoleIds);
+                log.info("[refreshLocalCacheForRoleMenu][增量缓存角色({})与菜单，数量为:{}]", changedRoleIds, roleMenus.size());
+
+                ImmutableMultimap.Builder<Long, Long> roleMenuCacheBuilder = ImmutableMultimap.builder();
+                ImmutableMultimap.Builder<Long, Long> menuRoleCacheBuilder = ImmutableMultimap.builder();
+                roleMenuCache.forEach((roleId, menuId) -> {
+                    if (!changedRoleIds.contains(roleId)) {
+                        roleMenuCacheBuilder.put(roleId, menuId);
+                        menuRoleCacheBuilder.put(menuId, roleId);
+                    }
+                });
+                roleMenus.forEach(roleMenuDO -> {
+                    roleMenuCacheBuilder.put(roleMenuDO.getRoleId(), roleMenuDO.getMenuId());
+                    menuRoleCacheBuilder.put(roleMenuDO.getMenuId(), roleMenuDO.getRoleId());
+                });
+                roleMenuCache = roleMenuCacheBuilder.build();
+                menuRoleCache = menuRoleCacheBuilder.build();
+                clearPermissionIndex();
+            });
+        } catch (Exception ex) {
+            log.error("[refreshLocalCacheForRoleMenu][角色({}) 增量刷新失败，进行全量刷新]", roleIds, ex);
+            initLocalCacheForRoleMenu();
+        }
+    }
+
+    @Override
+    public synchronized void refreshLocalCacheForUserRole(Collection<Long> userIds, Long version) {
+        // 情况一：未指定用户编号，或者变更过多，则全量刷新
+        if (LocalCacheRefreshUtils.isFullRefresh(userIds)) {
+            initLocalCacheForUserRole();
+            return;
+        }
+        // 情况二：版本号不连续，说明有丢失的消息，则全量刷新
+        if (!userRoleCacheVersion.apply(version)) {
+            log.warn("[refreshLocalCacheForUserRole][用户与角色刷新消息的版本号({}) 不连续，进行全量刷新]", version);
+            initLocalCacheForUserRole();
+            return;
+        }
+        // 情况三：增量刷新，逐个替换用户对应的角色编号集合
+        try {
+            TenantUtils.executeIgnore(() -> {
+                userRoleCacheWatermark = LocalCacheRefreshUtils.selectWatermark(userRoleMapper);
+                List<UserRoleDO> userRoles = userRoleMapper.selectListByUserIds(userIds);
+                log.info("[refreshLocalCacheForUserRole][增量缓存用户({})与角色，数量为:{}]", userIds, userRoles.size());
+
+                Map<Long, Set<Long>> changedUserRoles = CollectionUtils.convertMultiMap2(userRoles,
+                        UserRoleDO::getUserId, UserRoleDO::getRoleId);
+                userIds.forEach(userId -> {
+                    Set<Long> roleIds = changedUserRoles.get(userId);
+                    if (CollUtil.isEmpty(roleIds)) {
+                        userRoleCache.remove(userId);
+                    } else {
+                        userRoleCache.put(userId, roleIds);
+                    }
+                });
+                clearPermissionIndex();
+                clearDeptDataPermissionCache(userIds);
+            });
+        } catch (Exception ex) {
+            log.error("[refreshLocalCacheForUserRole][用户({}) 增量刷新失败，进行全量刷新]", userIds, ex);
+            initLocalCacheForUserRole();
+        }
+    }
+
+    /**
+     * 定时检查本地缓存，兜底刷新消息丢失、或者直接修改数据库等情况
+     */
+    @Scheduled(fixedDelay = LocalCacheRefreshUtils.CHECK_PERIOD, initialDelay = LocalCacheRefreshUtils.CHECK_PERIOD)
+    public synchronized void checkLocalCache() {
+        // 角色与菜单
+        if (roleMenuCacheVersion.isLost(localCacheVersionRedisDAO.get(RoleMenuRefreshMessage.CHANNEL))) {
+            log.warn("[checkLocalCache][角色与菜单刷新消息丢失，进行全量刷新]");
+            initLocalCacheForRoleMenu();
+        } else {
+            TenantUtils.executeIgnore(() -> {
+                if (!roleMenuCacheWatermark.equals(LocalCacheRefreshUtils.selectWatermark(roleMenuMapper))) {
+                    log.warn("[checkLocalCache][角色与菜单存在未同步的变更，进行全量刷新]");
+                    initLocalCacheForRoleMenu();
+                }
+            });
+        }
+        // 用户与角色
+        if (userRoleCacheVersion.isLost(localCacheVersionRedisDAO.get(UserRoleRefreshMessage.CHANNEL))) {
+            log.warn("[checkLocalCache][用户与角色刷新消息丢失，进行全量刷新]");
+            initLocalCacheForUserRole();
+        } else {
+            TenantUtils.executeIgnore(() -> {
+                if (!userRoleCacheWatermark.equals(LocalCacheRefreshUtils.selectWatermark(userRoleMapper))) {
+                    log.warn("[checkLocalCache][用户与角色存在未同步的变更，进行全量刷新]");
+                    initLocalCacheForUserRole();
+                }
+            });
+        }
+    }
+
+    @VisibleForTesting // 单元测试需要
+    public void setRoleMenuCache(Multimap<Long, Long> roleMenuCache) {
+        this.roleMenuCache = roleMenuCache;
+        clearPermissionIndex();
+    }
+
+    @VisibleForTesting // 单元测试需要
+    public void setUserRoleCache(Map<Long, Set<Long>> userRoleCache) {
+        this.userRoleCache = userRoleCache;
+        clearPermissionIndex();
+        clearDeptDataPermissionCache();
+    }
+
+    @Override
+    public void clearPermissionIndex() {
+        synchronized (permissionIndexLock) {
+            permissionIndexVersion++;
+            permissionIndex = null;
+        }
+    }
+
+    @Override
+    public void clearDeptDataPermissionCache() {
+        deptDataPermissionCache.invalidateAll();
+    }
+
+    /**
+     * 清空指定用户的部门数据权限的本地缓存
+     *
+     * @param userIds 用户编号数组
+     */
+    private void clearDeptDataPermissionCache(Collection<Long> userIds) {
+        Set<String> suffixes = convertSet(userIds, userId -> ":" + userId);
+        deptDataPermissionCache.asMap().keySet().removeIf(key -> suffixes.contains(key.substring(key.indexOf(':'))));
+    }
+
+    /**
+     * 获得权限索引。如果不存在，则基于当前的本地缓存进行构建
+     *
+     * @return 权限索引
+     */
+    private PermissionIndexBO getPermissionIndex() {
+        PermissionIndexBO index = permissionIndex;
+        if (index != null) {
+            return index;
+        }
+        synchronized (this) {
+            long version;
+            synchronized (permissionIndexLock) {
+                if (permissionIndex != null) {
+                    return permissionIndex;
+                }
+                version = permissionIndexVersion;
+            }
+            index = buildPermissionIndex();
+            // 构建期间没有被清空，才进行保存；否则，仅本次使用，下次重新构建
+            synchronized (permissionIndexLock) {
+                if (permissionIndexVersion == version) {
+                    permissionIndex = index;
+                }
+            }
+            return index;
+        }
+    }
+
+    private PermissionIndexBO buildPermissionIndex() {
+        PermissionIndexBO index = new PermissionIndexBO(
+                userId -> getUserRoleIdsFromCache(userId, singleton(CommonStatusEnum.ENABLE.getStatus())),
+                roleIds -> roleService.hasAnySuperAdmin(roleIds));
+        roleMenuCache.forEach((roleId, menuId) -> {
+            MenuDO menu = menuService.getMenuFromCache(menuId);
+            if (menu != null && StrUtil.isNotEmpty(menu.getPermission())) {
+                index.addRolePermission(roleId, menu.getPermission());
+            }
+        });
+        log.info("[buildPermissionIndex][构建权限索引，权限数量为:{}]", index.getPermissionCount());
+        return index;
+    }
+
     @Override
     public List<MenuDO> getRoleMenuListFromCache(Collection<Long> roleIds, Collection<Integer> menuTypes,
                                                  Collection<Integer> menusStatuses) {
@@ -222,7 +502,7 @@ public class PermissionServiceImpl implements PermissionService {
 
             @Override
             public void afterCommit() {
-                permissionProducer.sendRoleMenuRefreshMessage();
+                permissionProducer.sendRoleMenuRefreshMessage(singleton(roleId));
             }
 
         });
@@ -266,7 +546,7 @@ public class PermissionServiceImpl implements PermissionService {
 
             @Override
             public void afterCommit() {
-                permissionProducer.sendUserRoleRefreshMessage();
+                permissionProducer.sendUserRoleRefreshMessage(singleton(userId));
             }
 
         });
@@ -280,6 +560,8 @@ public class PermissionServiceImpl implements PermissionService {
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void processRoleDeleted(Long roleId) {
+        // 获得拥有该角色的用户编号，用于增量刷新
+        Set<Long> userIds = getUserRoleIdListByRoleIds(singleton(roleId));
         // 标记删除 UserRole
         userRoleMapper.deleteListByRoleId(roleId);
         // 标记删除 RoleMenu
@@ -289,8 +571,10 @@ public class PermissionServiceImpl implements PermissionService {
 
             @Override
             public void afterCommit() {
-                permissionProducer.sendRoleMenuRefreshMessage();
-                permissionProducer.sendUserRoleRefreshMessage();
+                permissionProducer.sendRoleMenuRefreshMessage(singleton(roleId));
+                if (CollUtil.isNotEmpty(userIds)) {
+                    permissionProducer.sendUserRoleRefreshMessage(userIds);
+                }
             }
 
         });
@@ -299,13 +583,17 @@ public class PermissionServiceImpl implements PermissionService {
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void processMenuDeleted(Long menuId) {
+        // 获得拥有该菜单的角色编号，用于增量刷新
+        Set<Long> roleIds = convertSet(roleMenuMapper.selectListByMenuId(menuId), RoleMenuDO::getRoleId);
         roleMenuMapper.deleteListByMenuId(menuId);
         // 发送刷新消息. 注意，需要事务提交后，在进行发送刷新消息。不然 db 还未提交，结果缓存先刷新了
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
 
             @Override
             public void afterCommit() {
-                permissionProducer.sendRoleMenuRefreshMessage();
+                if (CollUtil.isNotEmpty(roleIds)) {
+                    permissionProducer.sendRoleMenuRefreshMessage(roleIds);
+                }
             }
 
         });
@@ -319,7 +607,20 @@ public class PermissionServiceImpl implements PermissionService {
 
             @Override
             public void afterCommit() {
-                permissionProducer.sendUserRoleRefreshMessage();
+                permissionProducer.sendUserRoleRefreshMessage(singleton(userId));
+            }
+
+        });
+    }
+
+    @Override
+    public void processUserDeptUpdated(Long userId) {
+        // 复用用户与角色的增量刷新消息：各节点刷新时，会清空该用户的部门数据权限缓存，而不是等待过期
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                permissionProducer.sendUserRoleRefreshMessage(singleton(userId));
             }
 
         });
@@ -332,27 +633,8 @@ public class PermissionServiceImpl implements PermissionService {
             return true;
         }
 
-        // 获得当前登录的角色。如果为空，说明没有权限
-        Set<Long> roleIds = getUserRoleIdsFromCache(userId, singleton(CommonStatusEnum.ENABLE.getStatus()));
-        if (CollUtil.isEmpty(roleIds)) {
-            return false;
-        }
-        // 判断是否是超管。如果是，当然符合条件
-        if (roleService.hasAnySuperAdmin(roleIds)) {
-            return true;
-        }
-
-        // 遍历权限，判断是否有一个满足
-        return Arrays.stream(permissions).anyMatch(permission -> {
-            List<MenuDO> menuList = menuService.getMenuListByPermissionFromCache(permission);
-            // 采用严格模式，如果权限找不到对应的 Menu 的话，认为
-            if (CollUtil.isEmpty(menuList)) {
-                return false;
-            }
-            // 获得是否拥有该权限，任一一个
-            return menuList.stream().anyMatch(menu -> CollUtil.containsAny(roleIds,
-                    menuRoleCache.get(menu.getId())));
-        });
+        // 基于权限索引判断：用户的角色、超管的判断，都已经预先计算在索引中
+        return getPermissionIndex().hasAnyPermissions(userId, permissions);
     }
 
     @Override
@@ -380,6 +662,26 @@ public class PermissionServiceImpl implements PermissionService {
     @DataPermission(enable = false) // 关闭数据权限，不然就会出现递归获取数据权限的问题
     @TenantIgnore // 忽略多租户的自动过滤。如果不忽略，会导致添加租户时，因为切换租户，导致获取不到 User。即使忽略，本身该方法不存在跨租户的操作，不会存在问题。
     public DeptDataPermissionRespDTO getDeptDataPermission(Long userId) {
+        // 从本地缓存中获得。未命中时，计算后压缩部门编号，再放入缓存
+        DeptDataPermissionRespDTO cache = deptDataPermissionCache.get(
+                buildDeptDataPermissionCacheKey(TenantContextHolder.getTenantId(), userId), key -> {
+                    DeptDataPermissionRespDTO result = buildDeptDataPermission(userId);
+                    result.setDeptIds(CompactLongSet.of(result.getDeptIds()));
+                    return result;
+                });
+        // 返回副本，避免调用方修改缓存。部门编号是不可变集合，可直接共享
+        DeptDataPermissionRespDTO result = new DeptDataPermissionRespDTO();
+        result.setAll(cache.getAll());
+        result.setSelf(cache.getSelf());
+        result.setDeptIds(cache.getDeptIds());
+        return result;
+    }
+
+    private static String buildDeptDataPermissionCacheKey(Long tenantId, Long userId) {
+        return tenantId + ":" + userId;
+    }
+
+    private DeptDataPermissionRespDTO buildDeptDataPermission(Long userId) {
         // 获得用户的角色
         Set<Long> roleIds = getUserRoleIdsFromCache(userId, singleton(CommonStatusEnum.ENABLE.getStatus()));
         // 如果角色为空，则只能查看自己
@@ -77,6 +77,9 @@ public class RoleServiceImpl implements RoleService {
 
             // 第二步：构建缓存
             roleCache = CollectionUtils.convertMap(roleList, RoleDO::getId);
+            // 角色变化后，权限索引需要重新构建，部门数据权限需要重新计算
+            permissionService.clearPermissionIndex();
+            permissionService.clearDeptDataPermissionCache();
         });
     }
 
@@ -0,0 +1,120 @@
+package cn.iocoder.yudao.module.system.service.permission.bo;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 权限索引 BO
+ *
+ * 将权限标识 {@link #permissionIds} 编号化为连续的 int 编号，每个角色拥有的权限使用 {@link BitSet} 表示，
+ * 用户拥有的权限为其角色权限的并集，惰性计算并缓存在 {@link #userPermissionCache} 中。
+ * 这样，权限校验只需要一次 Map 查找和一次位运算，不产生任何对象分配。
+ *
+ * 注意，该对象构建后不可变（用户缓存除外），缓存刷新时，直接创建新的对象替换。
+ *
+ * @author 芋道源码
+ */
+public class PermissionIndexBO {
+
+    /**
+     * 超级管理员的权限位图，拥有所有权限
+     */
+    private static final BitSet ALL = new BitSet(0);
+
+    /**
+     * 权限标识与编号的映射
+     * key：权限标识
+     * value：权限编号，从 0 开始连续分配
+     */
+    private final Map<String, Integer> permissionIds = new HashMap<>();
+    /**
+     * 角色编号与权限位图的映射
+     */
+    private final Map<Long, BitSet> rolePermissions = new HashMap<>();
+    /**
+     * 用户编号与权限位图的缓存，惰性计算
+     */
+    private final Map<Long, BitSet> userPermissionCache = new ConcurrentHashMap<>();
+
+    /**
+     * 用户开启的角色编号的加载器，仅在用户缓存未命中时调用
+     */
+    private final Function<Long, Set<Long>> userRoleIdsLoader;
+    /**
+     * 角色是否包含超级管理员的判断器，仅在用户缓存未命中时调用
+     */
+    private final Predicate<Set<Long>> superAdminChecker;
+
+    public PermissionIndexBO(Function<Long, Set<Long>> userRoleIdsLoader, Predicate<Set<Long>> superAdminChecker) {
+        this.userRoleIdsLoader = userRoleIdsLoader;
+        this.superAdminChecker = superAdminChecker;
+    }
+
+    /**
+     * 添加角色拥有的权限
+     *
+     * @param roleId 角色编号
+     * @param permission 权限标识
+     */
+    public void addRolePermission(Long roleId, String permission) {
+        Integer permissionId = permissionIds.computeIfAbsent(permission, key -> permissionIds.size());
+        rolePermissions.computeIfAbsent(roleId, key -> new BitSet()).set(permissionId);
+    }
+
+    /**
+     * 判断用户是否有权限，任一一个即可
+     *
+     * @param userId 用户编号
+     * @param permissions 权限标识数组
+     * @return 是否
+     */
+    public boolean hasAnyPermissions(Long userId, String... permissions) {
+        BitSet userPermissions = userPermissionCache.get(userId);
+        if (userPermissions == null) {
+            userPermissions = buildUserPermissions(userRoleIdsLoader.apply(userId));
+            userPermissionCache.putIfAbsent(userId, userPermissions);
+        }
+        // 超级管理员，拥有所有权限
+        if (userPermissions == ALL) {
+            return true;
+        }
+        // 遍历权限，判断是否有一个满足。采用严格模式，如果权限找不到对应的编号，认为没有权限
+        for (String permission : permissions) {
+            Integer permissionId = permissionIds.get(permission);
+            if (permissionId != null && userPermissions.get(permissionId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BitSet buildUserPermissions(Set<Long> roleIds) {
+        BitSet result = new BitSet();
+        if (roleIds == null || roleIds.isEmpty()) {
+            return result;
+        }
+        if (superAdminChecker.test(roleIds)) {
+            return ALL;
+        }
+        roleIds.forEach(roleId -> {
+            BitSet roleBits = rolePermissions.get(roleId);
+            if (roleBits != null) {
+                result.or(roleBits);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @return 权限标识的数量
+     */
+    public int getPermissionCount() {
+        return permissionIds.size();
+    }
+
+}
@@ -12,9 +12,7 @@ import cn.iocoder.yudao.module.system.convert.sensitiveword.SensitiveWordConvert
 import cn.iocoder.yudao.module.system.dal.dataobject.sensitiveword.SensitiveWordDO;
 import cn.iocoder.yudao.module.system.dal.mysql.sensitiveword.SensitiveWordMapper;
 import cn.iocoder.yudao.module.system.mq.producer.sensitiveword.SensitiveWordProducer;
-import cn.iocoder.yudao.module.system.util.collection.SimpleTrie;
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
+import cn.iocoder.yudao.module.system.util.collection.AhoCorasickTrie;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -54,15 +52,10 @@ public class SensitiveWordServiceImpl implements SensitiveWordService {
     private SensitiveWordProducer sensitiveWordProducer;
 
     /**
-     * 默认的敏感词的字典树，包含所有敏感词
+     * 敏感词的自动机，包含所有标签的敏感词
      */
     @Getter
-    private volatile SimpleTrie defaultSensitiveWordTrie = new SimpleTrie(Collections.emptySet());
-    /**
-     * 标签与敏感词的字段数的映射
-     */
-    @Getter
-    private volatile Map<String, SimpleTrie> tagSensitiveWordTries = Collections.emptyMap();
+    private volatile AhoCorasickTrie sensitiveWordTrie = new AhoCorasickTrie(Collections.emptyMap());
 
     /**
      * 初始化缓存
@@ -79,7 +72,7 @@ public class SensitiveWordServiceImpl implements SensitiveWordService {
         Set<String> tags = new HashSet<>();
         sensitiveWords.forEach(word -> tags.addAll(word.getTags()));
         sensitiveWordTagsCache = tags;
-        // 写入 defaultSensitiveWordTrie、tagSensitiveWordTries 缓存
+        // 写入 sensitiveWordTrie 缓存
         initSensitiveWordTrie(sensitiveWords);
     }
 
@@ -87,21 +80,11 @@ public class SensitiveWordServiceImpl implements SensitiveWordService {
         // 过滤禁用的敏感词
         wordDOs = CollectionUtils.filterList(wordDOs, word -> word.getStatus().equals(CommonStatusEnum.ENABLE.getStatus()));
 
-        // 初始化默认的 defaultSensitiveWordTrie
-        this.defaultSensitiveWordTrie = new SimpleTrie(CollectionUtils.convertList(wordDOs, SensitiveWordDO::getName));
-
-        // 初始化 tagSensitiveWordTries
-        Multimap<String, String> tagWords = HashMultimap.create();
-        for (SensitiveWordDO word : wordDOs) {
-            if (CollUtil.isEmpty(word.getTags())) {
-                continue;
-            }
-            word.getTags().forEach(tag -> tagWords.put(tag, word.getName()));
-        }
-        // 添加到 tagSensitiveWordTries 中
-        Map<String, SimpleTrie> tagSensitiveWordTries = new HashMap<>();
-        tagWords.asMap().forEach((tag, words) -> tagSensitiveWordTries.put(tag, new SimpleTrie(words)));
-        this.tagSensitiveWordTries = tagSensitiveWordTries;
+        // 初始化 sensitiveWordTrie，所有标签共用一个自动机
+        Map<String, List<String>> wordTags = new HashMap<>();
+        wordDOs.forEach(word -> wordTags.computeIfAbsent(word.getName(), key -> new ArrayList<>())
+                .addAll(CollUtil.emptyIfNull(word.getTags())));
+        this.sensitiveWordTrie = new AhoCorasickTrie(wordTags);
     }
 
     @Override
@@ -185,37 +168,14 @@ public class SensitiveWordServiceImpl implements SensitiveWordService {
 
     @Override
     public List<String> validateText(String text, List<String> tags) {
-        if (CollUtil.isEmpty(tags)) {
-            return defaultSensitiveWordTrie.validate(text);
-        }
-        // 有标签的情况
-        Set<String> result = new HashSet<>();
-        tags.forEach(tag -> {
-            SimpleTrie trie = tagSensitiveWordTries.get(tag);
-            if (trie == null) {
-                return;
-            }
-            result.addAll(trie.validate(text));
-        });
-        return new ArrayList<>(result);
+        // 标签为空时，校验所有敏感词；否则，只校验标签对应的敏感词
+        return sensitiveWordTrie.validate(text, tags);
     }
 
     @Override
     public boolean isTextValid(String text, List<String> tags) {
-        if (CollUtil.isEmpty(tags)) {
-            return defaultSensitiveWordTrie.isValid(text);
-        }
-        // 有标签的情况
-        for (String tag : tags) {
-            SimpleTrie trie = tagSensitiveWordTries.get(tag);
-            if (trie == null) {
-                continue;
-            }
-            if (!trie.isValid(text)) {
-                return false;
-            }
-        }
-        return true;
+        // 标签为空时，校验所有敏感词；否则，只校验标签对应的敏感词
+        return sensitiveWordTrie.isValid(text, tags);
     }
 
 }
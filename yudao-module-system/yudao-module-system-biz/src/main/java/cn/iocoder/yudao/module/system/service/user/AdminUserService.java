@@ -11,6 +11,7 @@ import cn.iocoder.yudao.module.system.dal.dataobject.user.AdminUserDO;
 import javax.validation.Valid;
 import java.io.InputStream;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * 后台用户 Service 接口
@@ -168,12 +169,12 @@ public interface AdminUserService {
     }
 
     /**
-     * 获得用户列表
+     * 分批获得用户列表，用于导出大量数据
      *
      * @param reqVO 列表请求
-     * @return 用户列表
+     * @param consumer 每一批用户的处理逻辑
      */
-    List<AdminUserDO> getUsers(UserExportReqVO reqVO);
+    void getUsers(UserExportReqVO reqVO, Consumer<List<AdminUserDO>> consumer);
 
     /**
      * 获得用户列表，基于昵称模糊匹配
@@ -200,6 +201,18 @@ public interface AdminUserService {
      */
     UserImportRespVO importUsers(List<UserImportExcelVO> importUsers, boolean isUpdateSupport);
 
+    /**
+     * 批量导入一批用户，结果累加到 respVO 中
+     *
+     * 用于分批读取 Excel 时，逐批导入，避免大量用户一次性加载到内存中。
+     * 每批使用独立的事务，写入失败时回滚该批，该批的用户都记录到 {@link UserImportRespVO#getFailureUsernames()} 中
+     *
+     * @param importUsers     导入用户列表
+     * @param isUpdateSupport 是否支持更新
+     * @param respVO          导入结果
+     */
+    void importUsers(List<UserImportExcelVO> importUsers, boolean isUpdateSupport, UserImportRespVO respVO);
+
     /**
      * 获得指定状态的用户们
      *
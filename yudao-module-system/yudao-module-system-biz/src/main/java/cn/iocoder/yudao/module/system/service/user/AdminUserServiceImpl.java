@@ -2,6 +2,7 @@ package cn.iocoder.yudao.module.system.service.user;
 
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.exceptions.ExceptionUtil;
 import cn.hutool.core.io.IoUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.iocoder.yudao.framework.common.enums.CommonStatusEnum;
@@ -35,9 +36,12 @@ import javax.annotation.Resource;
 import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static cn.iocoder.yudao.framework.common.exception.util.ServiceExceptionUtil.exception;
 import static cn.iocoder.yudao.framework.common.util.collection.CollectionUtils.convertList;
+import static cn.iocoder.yudao.framework.common.util.collection.CollectionUtils.convertMap;
 import static cn.iocoder.yudao.framework.common.util.collection.CollectionUtils.convertSet;
 import static cn.iocoder.yudao.module.system.enums.ErrorCodeConstants.*;
 
@@ -49,6 +53,11 @@ import static cn.iocoder.yudao.module.system.enums.ErrorCodeConstants.*;
 @Slf4j
 public class AdminUserServiceImpl implements AdminUserService {
 
+    /**
+     * 导入用户时，每批的数量
+     */
+    public static final int IMPORT_BATCH_SIZE = 1000;
+
     @Value("${sys.user.init-password:yudaoyuanma}")
     private String userInitPassword;
 
@@ -109,11 +118,16 @@ public class AdminUserServiceImpl implements AdminUserService {
         // 校验正确性
         self.checkCreateOrUpdate(reqVO.getId(), reqVO.getUsername(), reqVO.getMobile(), reqVO.getEmail(),
                 reqVO.getDeptId(), reqVO.getPostIds());
+        AdminUserDO oldUser = userMapper.selectById(reqVO.getId());
         // 更新用户
         AdminUserDO updateObj = UserConvert.INSTANCE.convert(reqVO);
         userMapper.updateById(updateObj);
         // 更新岗位
         updateUserPost(reqVO, updateObj);
+        // 部门变更时，部门数据权限需要重新计算
+        if (!Objects.equals(oldUser.getDeptId(), updateObj.getDeptId())) {
+            permissionService.processUserDeptUpdated(updateObj.getId());
+        }
     }
 
     private void updateUserPost(UserUpdateReqVO reqVO, AdminUserDO updateObj) {
@@ -275,8 +289,8 @@ public class AdminUserServiceImpl implements AdminUserService {
     }
 
     @Override
-    public List<AdminUserDO> getUsers(UserExportReqVO reqVO) {
-        return userMapper.selectList(reqVO, getDeptCondition(reqVO.getDeptId()));
+    public void getUsers(UserExportReqVO reqVO, Consumer<List<AdminUserDO>> consumer) {
+        userMapper.selectList(reqVO, getDeptCondition(reqVO.getDeptId()), consumer);
     }
 
     @Override
@@ -403,41 +417,167 @@ public class AdminUserServiceImpl implements AdminUserService {
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class) // 添加事务，异常则回滚所有导入
     public UserImportRespVO importUsers(List<UserImportExcelVO> importUsers, boolean isUpdateSupport) {
         if (CollUtil.isEmpty(importUsers)) {
             throw exception(USER_IMPORT_LIST_IS_EMPTY);
         }
         UserImportRespVO respVO = UserImportRespVO.builder().createUsernames(new ArrayList<>())
                 .updateUsernames(new ArrayList<>()).failureUsernames(new LinkedHashMap<>()).build();
-        importUsers.forEach(importUser -> {
+        CollUtil.split(importUsers, IMPORT_BATCH_SIZE).forEach(list -> importUsers(list, isUpdateSupport, respVO));
+        return respVO;
+    }
+
+    @Override
+    public void importUsers(List<UserImportExcelVO> importUsers, boolean isUpdateSupport, UserImportRespVO respVO) {
+        if (CollUtil.isEmpty(importUsers)) {
+            return;
+        }
+        // 每批使用独立的事务导入，单批失败时只回滚该批，不影响其它批
+        UserImportRespVO batchRespVO = UserImportRespVO.builder().createUsernames(new ArrayList<>())
+                .updateUsernames(new ArrayList<>()).failureUsernames(new LinkedHashMap<>()).build();
+        try {
+            self.importUserBatch(importUsers, isUpdateSupport, batchRespVO);
+        } catch (Exception ex) {
+            log.error("[importUsers][导入 {} 个用户失败]", importUsers.size(), ex);
+            // 该批已经回滚：校验不通过的用户保留原因，其它用户都记为失败
+            String error = ex instanceof ServiceException ? ex.getMessage() : ExceptionUtil.getRootCauseMessage(ex);
+            batchRespVO.getCreateUsernames().clear();
+            batchRespVO.getUpdateUsernames().clear();
+            importUsers.forEach(importUser -> batchRespVO.getFailureUsernames().putIfAbsent(importUser.getUsername(), error));
+        }
+        respVO.getCreateUsernames().addAll(batchRespVO.getCreateUsernames());
+        respVO.getUpdateUsernames().addAll(batchRespVO.getUpdateUsernames());
+        respVO.getFailureUsernames().putAll(batchRespVO.getFailureUsernames());
+    }
+
+    /**
+     * 导入一批用户，结果记录到 respVO 中
+     *
+     * 新增、更新的用户名，在写入数据库成功后，才记录到 respVO 中
+     *
+     * @param importUsers     导入用户列表
+     * @param isUpdateSupport 是否支持更新
+     * @param respVO          该批的导入结果
+     */
+    @Transactional(rollbackFor = Exception.class) // 添加事务，异常则回滚该批导入
+    public void importUserBatch(List<UserImportExcelVO> importUsers, boolean isUpdateSupport, UserImportRespVO respVO) {
+        // 批量查询已存在的用户名、手机号、邮箱，以及校验部门，避免逐条查询数据库
+        Map<String, AdminUserDO> existUsers = convertMap(selectUsers(userMapper::selectListByUsernames,
+                importUsers, UserImportExcelVO::getUsername), AdminUserDO::getUsername);
+        Set<String> existMobiles = convertSet(selectUsers(userMapper::selectListByMobiles,
+                importUsers, UserImportExcelVO::getMobile), AdminUserDO::getMobile);
+        Set<String> existEmails = convertSet(selectUsers(userMapper::selectListByEmails,
+                importUsers, UserImportExcelVO::getEmail), AdminUserDO::getEmail);
+        Map<Long, String> deptErrors = checkImportDepts(importUsers);
+
+        List<AdminUserDO> createUsers = new ArrayList<>();
+        List<AdminUserDO> updateUsers = new ArrayList<>();
+        Set<Long> deptUpdatedUserIds = new HashSet<>();
+        String password = null; // 初始密码相同，只加密一次，避免每个用户都进行耗时的加密
+        for (UserImportExcelVO importUser : importUsers) {
             // 校验，判断是否有不符合的原因
-            try {
-                checkCreateOrUpdate(null, null, importUser.getMobile(), importUser.getEmail(),
-                        importUser.getDeptId(), null);
-            } catch (ServiceException ex) {
-                respVO.getFailureUsernames().put(importUser.getUsername(), ex.getMessage());
-                return;
+            String error = checkImportUser(importUser, existMobiles, existEmails, deptErrors);
+            if (error != null) {
+                respVO.getFailureUsernames().put(importUser.getUsername(), error);
+                continue;
             }
             // 判断如果不存在，在进行插入
-            AdminUserDO existUser = userMapper.selectByUsername(importUser.getUsername());
+            AdminUserDO existUser = existUsers.get(importUser.getUsername());
             if (existUser == null) {
-                userMapper.insert(UserConvert.INSTANCE.convert(importUser)
-                        .setPassword(encodePassword(userInitPassword)).setPostIds(new HashSet<>())); // 设置默认密码及空岗位编号数组
-                respVO.getCreateUsernames().add(importUser.getUsername());
-                return;
+                if (password == null) {
+                    password = encodePassword(userInitPassword);
+                }
+                AdminUserDO createUser = UserConvert.INSTANCE.convert(importUser)
+                        .setPassword(password).setPostIds(new HashSet<>()); // 设置默认密码及空岗位编号数组
+                createUsers.add(createUser);
+                existUsers.put(createUser.getUsername(), createUser);
+                addImportedUser(createUser, existMobiles, existEmails);
+                continue;
             }
-            // 如果存在，判断是否允许更新
-            if (!isUpdateSupport) {
+            // 如果存在，判断是否允许更新。同一批中重复的用户名，尚未插入，视为已存在
+            if (!isUpdateSupport || existUser.getId() == null) {
                 respVO.getFailureUsernames().put(importUser.getUsername(), USER_USERNAME_EXISTS.getMsg());
-                return;
+                continue;
             }
             AdminUserDO updateUser = UserConvert.INSTANCE.convert(importUser);
             updateUser.setId(existUser.getId());
-            userMapper.updateById(updateUser);
-            respVO.getUpdateUsernames().add(importUser.getUsername());
+            updateUsers.add(updateUser);
+            addImportedUser(updateUser, existMobiles, existEmails);
+            // 部门变更时，部门数据权限需要重新计算
+            if (!Objects.equals(existUser.getDeptId(), updateUser.getDeptId())) {
+                deptUpdatedUserIds.add(updateUser.getId());
+            }
+        }
+        // 批量插入、更新
+        if (CollUtil.isNotEmpty(createUsers)) {
+            userMapper.insertBatch(createUsers);
+        }
+        if (CollUtil.isNotEmpty(updateUsers)) {
+            userMapper.updateBatch(updateUsers, IMPORT_BATCH_SIZE);
+        }
+        deptUpdatedUserIds.forEach(permissionService::processUserDeptUpdated);
+        // 写入成功后，再记录结果
+        respVO.getCreateUsernames().addAll(convertList(createUsers, AdminUserDO::getUsername));
+        respVO.getUpdateUsernames().addAll(convertList(updateUsers, AdminUserDO::getUsername));
+    }
+
+    private List<AdminUserDO> selectUsers(Function<Collection<String>, List<AdminUserDO>> selectFunc,
+                                          List<UserImportExcelVO> importUsers, Function<UserImportExcelVO, String> func) {
+        Set<String> values = convertSet(importUsers, func, importUser -> StrUtil.isNotBlank(func.apply(importUser)));
+        return values.isEmpty() ? Collections.emptyList() : selectFunc.apply(values);
+    }
+
+    /**
+     * 校验导入用户的部门，返回无效部门的失败原因
+     *
+     * @param importUsers 导入用户列表
+     * @return 失败原因 Map，key 为部门编号
+     */
+    private Map<Long, String> checkImportDepts(List<UserImportExcelVO> importUsers) {
+        Set<Long> deptIds = convertSet(importUsers, UserImportExcelVO::getDeptId, importUser -> importUser.getDeptId() != null);
+        // 优先批量校验；存在无效部门时，再逐个校验，获得每个部门的失败原因
+        try {
+            deptService.validDepts(deptIds);
+            return Collections.emptyMap();
+        } catch (ServiceException ignored) {
+        }
+        Map<Long, String> deptErrors = new HashMap<>();
+        deptIds.forEach(deptId -> {
+            try {
+                deptService.validDepts(CollectionUtils.singleton(deptId));
+            } catch (ServiceException ex) {
+                deptErrors.put(deptId, ex.getMessage());
+            }
         });
-        return respVO;
+        return deptErrors;
+    }
+
+    /**
+     * 校验导入用户，和 {@link #checkCreateOrUpdate(Long, String, String, String, Long, Set)} 的顺序保持一致
+     *
+     * @return 失败原因。如果为 null，说明校验通过
+     */
+    private static String checkImportUser(UserImportExcelVO importUser, Set<String> existMobiles,
+                                          Set<String> existEmails, Map<Long, String> deptErrors) {
+        if (StrUtil.isNotBlank(importUser.getMobile()) && existMobiles.contains(importUser.getMobile())) {
+            return USER_MOBILE_EXISTS.getMsg();
+        }
+        if (StrUtil.isNotBlank(importUser.getEmail()) && existEmails.contains(importUser.getEmail())) {
+            return USER_EMAIL_EXISTS.getMsg();
+        }
+        return importUser.getDeptId() != null ? deptErrors.get(importUser.getDeptId()) : null;
+    }
+
+    /**
+     * 记录已导入用户的手机号、邮箱，保证同一批中后续的用户也满足唯一性
+     */
+    private static void addImportedUser(AdminUserDO user, Set<String> existMobiles, Set<String> existEmails) {
+        if (StrUtil.isNotBlank(user.getMobile())) {
+            existMobiles.add(user.getMobile());
+        }
+        if (StrUtil.isNotBlank(user.getEmail())) {
+            existEmails.add(user.getEmail());
+        }
     }
 
     @Override
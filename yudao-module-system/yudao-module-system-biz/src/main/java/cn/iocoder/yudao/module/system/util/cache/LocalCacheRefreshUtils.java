@@ -0,0 +1,53 @@
+package cn.iocoder.yudao.module.system.util.cache;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.convert.Convert;
+import cn.iocoder.yudao.framework.mybatis.core.mapper.BaseMapperX;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+
+import java.util.Collection;
+
+/**
+ * 本地缓存刷新的工具类
+ *
+ * 刷新消息携带变更的编号时，进行增量刷新；否则，进行全量刷新
+ *
+ * @author 芋道源码
+ */
+public class LocalCacheRefreshUtils {
+
+    /**
+     * 增量刷新的最大编号数量。超过时，全量刷新的代价更低
+     */
+    public static final int DELTA_REFRESH_MAX_SIZE = 1000;
+
+    /**
+     * 定时检查本地缓存是否过期的周期，单位：毫秒
+     */
+    public static final long CHECK_PERIOD = 60 * 1000L;
+
+    /**
+     * 判断是否需要全量刷新
+     *
+     * @param ids 变更的编号
+     * @return 是否全量刷新
+     */
+    public static boolean isFullRefresh(Collection<?> ids) {
+        return CollUtil.isEmpty(ids) || ids.size() > DELTA_REFRESH_MAX_SIZE;
+    }
+
+    /**
+     * 查询表的水位线，即记录数和最大的更新时间
+     *
+     * 注意，调用方需要自行处理多租户，一般是忽略多租户，查询全表
+     *
+     * @param mapper Mapper
+     * @return 水位线
+     */
+    public static <T> LocalCacheWatermark selectWatermark(BaseMapperX<T> mapper) {
+        Long count = mapper.selectCount(null);
+        Object maxUpdateTime = CollUtil.getFirst(mapper.selectObjs(new QueryWrapper<T>().select("MAX(update_time)")));
+        return new LocalCacheWatermark(count, Convert.toLocalDateTime(maxUpdateTime));
+    }
+
+}
@@ -0,0 +1,74 @@
+package cn.iocoder.yudao.module.system.util.cache;
+
+/**
+ * 本地缓存的版本号，用于发现丢失的刷新消息
+ *
+ * Redis Pub/Sub 不保证送达，例如说，节点与 Redis 重连期间的消息会丢失。因此，每次发送刷新消息时，
+ * 通过 Redis INCR 获得递增的版本号，消费时与本地最近一次应用的版本号比较：
+ * 1. 版本号连续，说明没有丢失消息，可以增量刷新
+ * 2. 版本号跳跃，说明中间的消息丢失，需要全量刷新
+ *
+ * 最后一条消息丢失时，没有后续的消息暴露跳跃，所以还需要定时对比 Redis 中的最新版本号，参见 {@link #isLost(long)}
+ *
+ * @author 芋道源码
+ */
+public class LocalCacheVersion {
+
+    /**
+     * 最近一次应用的版本号
+     */
+    private long appliedVersion;
+    /**
+     * 上次检查时，落后的最新版本号；为空时，表示未落后
+     */
+    private Long behindVersion;
+
+    /**
+     * 全量刷新时，重置版本号
+     *
+     * 注意，需要在查询数据之前，读取 Redis 中的最新版本号，保证该版本号之前的变更都已经加载
+     *
+     * @param version 最新版本号
+     */
+    public synchronized void reset(long version) {
+        this.appliedVersion = version;
+        this.behindVersion = null;
+    }
+
+    /**
+     * 应用刷新消息的版本号
+     *
+     * @param version 消息的版本号，为空时表示旧版本节点发送的消息，不做检查
+     * @return 是否连续。不连续时，说明存在丢失的消息，需要全量刷新
+     */
+    public synchronized boolean apply(Long version) {
+        if (version == null) {
+            return true;
+        }
+        // 小于等于 appliedVersion 的消息，乱序到达，或者已经被全量刷新加载，重复应用也没有影响
+        boolean continuous = version <= appliedVersion + 1;
+        appliedVersion = Math.max(appliedVersion, version);
+        return continuous;
+    }
+
+    /**
+     * 定时检查，是否有丢失的消息
+     *
+     * 首次发现落后时，消息可能还在途中，等待下次检查；下次检查时仍然落后于当时的最新版本号，说明消息丢失
+     *
+     * @param latestVersion Redis 中的最新版本号
+     * @return 是否丢失
+     */
+    public synchronized boolean isLost(long latestVersion) {
+        if (latestVersion <= appliedVersion) {
+            behindVersion = null;
+            return false;
+        }
+        if (behindVersion != null && appliedVersion < behindVersion) {
+            return true;
+        }
+        behindVersion = latestVersion;
+        return false;
+    }
+
+}
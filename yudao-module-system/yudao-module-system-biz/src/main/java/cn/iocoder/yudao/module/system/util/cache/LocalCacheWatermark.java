@@ -0,0 +1,30 @@
+package cn.iocoder.yudao.module.system.util.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 本地缓存的水位线，即加载缓存时，表的记录数和最大的更新时间
+ *
+ * 定时与数据库的最新水位线比较，不一致时，说明存在未通过刷新消息同步的变更，需要全量刷新：
+ * 1. 新增、修改记录时，最大的更新时间会变大
+ * 2. 删除记录时，更新时间不一定变化，但是记录数会变少
+ *
+ * @author 芋道源码
+ */
+@Data
+@AllArgsConstructor
+public class LocalCacheWatermark {
+
+    /**
+     * 记录数
+     */
+    private Long count;
+    /**
+     * 最大的更新时间
+     */
+    private LocalDateTime maxUpdateTime;
+
+}
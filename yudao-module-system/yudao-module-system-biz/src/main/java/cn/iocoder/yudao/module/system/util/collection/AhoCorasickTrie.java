@@ -0,0 +1,348 @@
+package cn.iocoder.yudao.module.system.util.collection;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.StrUtil;
+
+import java.util.*;
+
+/**
+ * 基于 Aho-Corasick 自动机，实现敏感词的校验
+ * <p>
+ * 相比前缀树在文本的每个位置重新匹配，只需要遍历一次文本，即可找出所有敏感词，时间复杂度为 O(n)。
+ * 同时，所有标签的敏感词构建在同一个自动机中，每个敏感词使用位图记录所属的标签，一次遍历即可回答任意标签组合的校验。
+ * <p>
+ * 存储结构：根节点使用按字符下标的数组，直接寻址；其它节点使用有序的字符数组 + 二分查找，节省内存。
+ * 该对象构建后不可变，线程安全。
+ *
+ * @author 芋道源码
+ */
+public class AhoCorasickTrie {
+
+    /**
+     * 根节点的编号
+     */
+    private static final int ROOT = 0;
+    /**
+     * 不存在的节点编号
+     */
+    private static final int NONE = -1;
+
+    /**
+     * 根节点的转移表，按字符下标直接寻址。值为 0 时，表示没有转移，停留在根节点
+     */
+    private final int[] rootNext = new int[Character.MAX_VALUE + 1];
+    /**
+     * 每个节点的转移字符，有序，用于二分查找
+     */
+    private final char[][] nextChars;
+    /**
+     * 每个节点的转移目标，与 {@link #nextChars} 一一对应
+     */
+    private final int[][] nextNodes;
+    /**
+     * 每个节点的失败指针
+     */
+    private final int[] fails;
+    /**
+     * 每个节点结束的敏感词编号。不存在时，为 {@link #NONE}
+     */
+    private final int[] nodeWords;
+    /**
+     * 每个节点沿着失败指针，最近的结束敏感词的节点。不存在时，为 {@link #NONE}
+     */
+    private final int[] outputs;
+    /**
+     * 每个节点及其失败指针链上，所有敏感词的标签位图的并集，用于快速判断是否命中
+     */
+    private final long[][] nodeTagMasks;
+    /**
+     * 每个节点及其失败指针链上，是否存在敏感词
+     */
+    private final boolean[] nodeMatched;
+
+    /**
+     * 敏感词数组，下标为敏感词编号
+     */
+    private final String[] words;
+    /**
+     * 敏感词的标签位图，下标为敏感词编号
+     */
+    private final long[][] wordTagMasks;
+    /**
+     * 标签与位图下标的映射
+     */
+    private final Map<String, Integer> tagIndexes;
+
+    /**
+     * 基于敏感词与标签，构建自动机
+     *
+     * @param wordTags 敏感词与标签的映射。标签可以为空，此时只在不指定标签时参与校验
+     */
+    public AhoCorasickTrie(Map<String, ? extends Collection<String>> wordTags) {
+        // 第一步：分配标签的位图下标
+        tagIndexes = new HashMap<>();
+        wordTags.values().forEach(tags -> {
+            if (tags != null) {
+                tags.forEach(tag -> tagIndexes.putIfAbsent(tag, tagIndexes.size()));
+            }
+        });
+        int maskLength = (tagIndexes.size() + Long.SIZE - 1) / Long.SIZE;
+
+        // 第二步：构建前缀树。使用临时的 Map 存储转移，后续再压缩成数组
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        trie.add(new HashMap<>());
+        List<Integer> nodeWordList = new ArrayList<>();
+        nodeWordList.add(NONE);
+        List<String> wordList = new ArrayList<>();
+        List<long[]> wordTagMaskList = new ArrayList<>();
+        wordTags.forEach((word, tags) -> {
+            if (StrUtil.isEmpty(word)) {
+                return;
+            }
+            int node = ROOT;
+            for (int i = 0; i < word.length(); i++) {
+                Integer next = trie.get(node).get(word.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new HashMap<>());
+                    nodeWordList.add(NONE);
+                    trie.get(node).put(word.charAt(i), next);
+                }
+                node = next;
+            }
+            // 相同的敏感词，只会出现一次，因为 wordTags 是 Map
+            nodeWordList.set(node, wordList.size());
+            wordList.add(word);
+            wordTagMaskList.add(buildMask(tags, maskLength));
+        });
+        int size = trie.size();
+        words = wordList.toArray(new String[0]);
+        wordTagMasks = wordTagMaskList.toArray(new long[0][]);
+
+        // 第三步：压缩转移为有序数组
+        nextChars = new char[size][];
+        nextNodes = new int[size][];
+        nodeWords = new int[size];
+        for (int node = 0; node < size; node++) {
+            nodeWords[node] = nodeWordList.get(node);
+            Map<Character, Integer> children = trie.get(node);
+            char[] chars = new char[children.size()];
+            int index = 0;
+            for (Character c : children.keySet()) {
+                chars[index++] = c;
+            }
+            Arrays.sort(chars);
+            int[] nodes = new int[chars.length];
+            for (int i = 0; i < chars.length; i++) {
+                nodes[i] = children.get(chars[i]);
+            }
+            nextChars[node] = chars;
+            nextNodes[node] = nodes;
+        }
+        for (int i = 0; i < nextChars[ROOT].length; i++) {
+            rootNext[nextChars[ROOT][i]] = nextNodes[ROOT][i];
+        }
+
+        // 第四步：广度优先，构建失败指针，并合并失败指针链上的输出
+        fails = new int[size];
+        outputs = new int[size];
+        nodeTagMasks = new long[size][];
+        nodeMatched = new boolean[size];
+        outputs[ROOT] = NONE;
+        nodeTagMasks[ROOT] = new long[maskLength];
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(ROOT);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < nextChars[node].length; i++) {
+                char c = nextChars[node][i];
+                int child = nextNodes[node][i];
+                int fail = node == ROOT ? ROOT : transition(fails[node], c);
+                fails[child] = fail;
+                outputs[child] = nodeWords[fail] != NONE ? fail : outputs[fail];
+                long[] mask = nodeTagMasks[fail].clone();
+                if (nodeWords[child] != NONE) {
+                    or(mask, wordTagMasks[nodeWords[child]]);
+                }
+                nodeTagMasks[child] = mask;
+                nodeMatched[child] = nodeWords[child] != NONE || nodeMatched[fail];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * 验证文本是否合法，即不包含任一敏感词
+     *
+     * @param text 文本
+     * @return 是否 ok
+     */
+    public boolean isValid(String text) {
+        return isValid(text, null);
+    }
+
+    /**
+     * 验证文本是否合法，即不包含指定标签的敏感词
+     *
+     * @param text 文本
+     * @param tags 标签数组。为空时，校验所有敏感词
+     * @return 是否 ok
+     */
+    public boolean isValid(String text, Collection<String> tags) {
+        return findFirst(text, tags) == null;
+    }
+
+    /**
+     * 获得文本中第一个出现的敏感词，找到后立即返回
+     *
+     * @param text 文本
+     * @param tags 标签数组。为空时，校验所有敏感词
+     * @return 敏感词；如果不存在，则返回 null
+     */
+    public String findFirst(String text, Collection<String> tags) {
+        long[] queryMask = buildQueryMask(tags);
+        if (queryMask != null && isEmpty(queryMask)) {
+            return null;
+        }
+        int node = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            node = transition(node, text.charAt(i));
+            if (node == ROOT || !isNodeMatched(node, queryMask)) {
+                continue;
+            }
+            // 沿着输出链，找到第一个满足标签的敏感词
+            for (int output = nodeWords[node] != NONE ? node : outputs[node]; output != NONE; output = outputs[output]) {
+                int word = nodeWords[output];
+                if (isWordMatched(word, queryMask)) {
+                    return words[word];
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获得文本所包含的所有不合法的敏感词
+     *
+     * @param text 文本
+     * @return 匹配的敏感词，按照出现顺序，并去重
+     */
+    public List<String> validate(String text) {
+        return validate(text, null);
+    }
+
+    /**
+     * 获得文本所包含的指定标签的所有不合法的敏感词
+     *
+     * @param text 文本
+     * @param tags 标签数组。为空时，校验所有敏感词
+     * @return 匹配的敏感词，按照出现顺序，并去重
+     */
+    public List<String> validate(String text, Collection<String> tags) {
+        long[] queryMask = buildQueryMask(tags);
+        if (queryMask != null && isEmpty(queryMask)) {
+            return new ArrayList<>();
+        }
+        Set<String> results = new LinkedHashSet<>();
+        int node = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            node = transition(node, text.charAt(i));
+            if (node == ROOT || !isNodeMatched(node, queryMask)) {
+                continue;
+            }
+            for (int output = nodeWords[node] != NONE ? node : outputs[node]; output != NONE; output = outputs[output]) {
+                int word = nodeWords[output];
+                if (isWordMatched(word, queryMask)) {
+                    results.add(words[word]);
+                }
+            }
+        }
+        return new ArrayList<>(results);
+    }
+
+    /**
+     * @return 标签集合
+     */
+    public Set<String> getTags() {
+        return Collections.unmodifiableSet(tagIndexes.keySet());
+    }
+
+    /**
+     * @return 敏感词数量
+     */
+    public int getWordCount() {
+        return words.length;
+    }
+
+    private int transition(int node, char c) {
+        while (node != ROOT) {
+            int index = Arrays.binarySearch(nextChars[node], c);
+            if (index >= 0) {
+                return nextNodes[node][index];
+            }
+            node = fails[node];
+        }
+        return rootNext[c];
+    }
+
+    private boolean isNodeMatched(int node, long[] queryMask) {
+        return queryMask == null ? nodeMatched[node] : intersects(nodeTagMasks[node], queryMask);
+    }
+
+    private boolean isWordMatched(int word, long[] queryMask) {
+        return queryMask == null || intersects(wordTagMasks[word], queryMask);
+    }
+
+    /**
+     * 构建查询的标签位图
+     *
+     * @param tags 标签数组
+     * @return 位图。为 null 时，表示不过滤标签
+     */
+    private long[] buildQueryMask(Collection<String> tags) {
+        if (CollUtil.isEmpty(tags)) {
+            return null;
+        }
+        // 不存在的标签，直接忽略
+        return buildMask(tags, nodeTagMasks[ROOT].length);
+    }
+
+    private long[] buildMask(Collection<String> tags, int maskLength) {
+        long[] mask = new long[maskLength];
+        if (tags == null) {
+            return mask;
+        }
+        tags.forEach(tag -> {
+            Integer index = tagIndexes.get(tag);
+            if (index != null) {
+                mask[index / Long.SIZE] |= 1L << (index % Long.SIZE);
+            }
+        });
+        return mask;
+    }
+
+    private static void or(long[] target, long[] source) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] |= source[i];
+        }
+    }
+
+    private static boolean intersects(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if ((a[i] & b[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEmpty(long[] mask) {
+        for (long value : mask) {
+            if (value != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
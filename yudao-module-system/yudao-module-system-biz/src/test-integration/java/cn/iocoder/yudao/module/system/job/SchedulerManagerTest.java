@@ -17,13 +17,13 @@ public class SchedulerManagerTest extends BaseDbUnitTest {
     @Test
     public void testAddJob() throws SchedulerException {
         String jobHandlerName = StrUtil.lowerFirst(UserSessionTimeoutJob.class.getSimpleName());
-        schedulerManager.addJob(1L, jobHandlerName, "test", "0/10 * * * * ? *", 0, 0);
+        schedulerManager.addJob(1L, jobHandlerName, "test", "0/10 * * * * ? *", 0, 0, 1);
     }
 
     @Test
     public void testUpdateJob() throws SchedulerException {
         String jobHandlerName = StrUtil.lowerFirst(UserSessionTimeoutJob.class.getSimpleName());
-        schedulerManager.updateJob(jobHandlerName, "hahaha", "0/20 * * * * ? *", 0, 0);
+        schedulerManager.updateJob(jobHandlerName, "hahaha", "0/20 * * * * ? *", 0, 0, 1);
     }
 
     @Test
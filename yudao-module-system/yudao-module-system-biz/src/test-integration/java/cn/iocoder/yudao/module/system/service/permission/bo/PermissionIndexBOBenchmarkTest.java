@@ -0,0 +1,185 @@
+package cn.iocoder.yudao.module.system.service.permission.bo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link PermissionIndexBO} 的基准测试，对比 hasAnyPermissions 的耗时：
+ *
+ * 1. 权限索引：用户的权限位图惰性计算后缓存，每次校验为 Map 查找 + 位运算
+ * 2. 逐个菜单匹配：即原 PermissionServiceImpl 的实现，每次校验都按权限标识查找菜单，再判断菜单的角色与用户的角色是否有交集
+ *
+ * 两种方式使用同一份角色、菜单、用户数据，先断言所有校验的结果一致。
+ * 每种方式先预热，再取多轮的平均耗时。结果受 JIT、GC 影响，仅用于横向对比
+ */
+public class PermissionIndexBOBenchmarkTest {
+
+    private static final int ROLE_COUNT = 200;
+    private static final int MENU_COUNT = 2000;
+    /**
+     * 每个角色拥有的菜单数量
+     */
+    private static final int ROLE_MENU_COUNT = 300;
+    private static final int USER_COUNT = 10000;
+    /**
+     * 每个用户最多拥有的角色数量
+     */
+    private static final int USER_ROLE_MAX = 3;
+    private static final int QUERY_COUNT = 100000;
+    /**
+     * 超级管理员的角色编号
+     */
+    private static final Long SUPER_ADMIN_ROLE_ID = 0L;
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURE_ROUNDS = 10;
+
+    /**
+     * 权限标识与菜单编号的映射。一个权限标识，可能对应多个菜单
+     */
+    private final Map<String, List<Long>> permissionMenuIds = new HashMap<>();
+    /**
+     * 菜单编号与角色编号的映射
+     */
+    private final Map<Long, Set<Long>> menuRoleIds = new HashMap<>();
+    /**
+     * 用户编号与角色编号的映射
+     */
+    private final Map<Long, Set<Long>> userRoleIds = new HashMap<>();
+
+    @Test
+    public void testHasAnyPermissions_benchmark() {
+        Random random = new Random(1024);
+        List<String> permissions = buildData(random);
+        PermissionIndexBO index = buildIndex();
+        List<Query> queries = buildQueries(random, permissions);
+
+        // 断言：两种方式的校验结果一致
+        int allowedCount = 0;
+        for (Query query : queries) {
+            boolean expected = hasAnyPermissionsByMenu(query.userId, query.permissions);
+            assertEquals(expected, index.hasAnyPermissions(query.userId, query.permissions));
+            allowedCount += expected ? 1 : 0;
+        }
+        System.out.printf("角色 %d 个，菜单 %d 个，用户 %d 个，校验 %d 次，其中通过 %d 次%n",
+                ROLE_COUNT, MENU_COUNT, USER_COUNT, queries.size(), allowedCount);
+
+        System.out.printf("权限索引: %.2f ms/次%n", benchmark(queries, query ->
+                index.hasAnyPermissions(query.userId, query.permissions)));
+        System.out.printf("逐个菜单匹配: %.2f ms/次%n", benchmark(queries, query ->
+                hasAnyPermissionsByMenu(query.userId, query.permissions)));
+    }
+
+    private static double benchmark(List<Query> queries, Predicate<Query> checker) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            queries.forEach(checker::test);
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            queries.forEach(checker::test);
+        }
+        return (System.nanoTime() - startTime) / 1e6 / MEASURE_ROUNDS;
+    }
+
+    /**
+     * 原 PermissionServiceImpl 的 hasAnyPermissions 实现，作为基准测试的对照组
+     */
+    private boolean hasAnyPermissionsByMenu(Long userId, String... permissions) {
+        // 获得当前登录的角色。如果为空，说明没有权限
+        Set<Long> roleIds = userRoleIds.get(userId);
+        if (roleIds == null || roleIds.isEmpty()) {
+            return false;
+        }
+        // 判断是否是超管。如果是，当然符合条件
+        if (roleIds.contains(SUPER_ADMIN_ROLE_ID)) {
+            return true;
+        }
+        // 遍历权限，判断是否有一个满足
+        return Arrays.stream(permissions).anyMatch(permission -> {
+            List<Long> menuIds = permissionMenuIds.get(permission);
+            // 采用严格模式，如果权限找不到对应的 Menu 的话，认为没有权限
+            if (menuIds == null) {
+                return false;
+            }
+            return menuIds.stream().anyMatch(menuId -> {
+                Set<Long> menuRoles = menuRoleIds.getOrDefault(menuId, Collections.emptySet());
+                return roleIds.stream().anyMatch(menuRoles::contains);
+            });
+        });
+    }
+
+    private PermissionIndexBO buildIndex() {
+        PermissionIndexBO index = new PermissionIndexBO(userRoleIds::get,
+                roleIds -> roleIds.contains(SUPER_ADMIN_ROLE_ID));
+        permissionMenuIds.forEach((permission, menuIds) -> menuIds.forEach(menuId ->
+                menuRoleIds.getOrDefault(menuId, Collections.emptySet()).forEach(roleId ->
+                        index.addRolePermission(roleId, permission))));
+        return index;
+    }
+
+    /**
+     * 构建菜单、角色、用户数据
+     *
+     * @return 权限标识数组
+     */
+    private List<String> buildData(Random random) {
+        // 菜单：每 10 个菜单，有一个与前一个菜单使用相同的权限标识
+        List<String> permissions = new ArrayList<>();
+        for (long menuId = 0; menuId < MENU_COUNT; menuId++) {
+            String permission = menuId % 10 == 9 ? permissions.get(permissions.size() - 1)
+                    : "system:module-" + menuId / 10 + ":action-" + menuId % 10;
+            if (!permissionMenuIds.containsKey(permission)) {
+                permissions.add(permission);
+            }
+            permissionMenuIds.computeIfAbsent(permission, key -> new ArrayList<>()).add(menuId);
+        }
+        // 角色与菜单。超级管理员不分配菜单
+        for (long roleId = 1; roleId < ROLE_COUNT; roleId++) {
+            for (int i = 0; i < ROLE_MENU_COUNT; i++) {
+                long menuId = random.nextInt(MENU_COUNT);
+                menuRoleIds.computeIfAbsent(menuId, key -> new HashSet<>()).add(roleId);
+            }
+        }
+        // 用户与角色。少量用户是超级管理员，少量用户没有角色
+        for (long userId = 0; userId < USER_COUNT; userId++) {
+            Set<Long> roleIds = new HashSet<>();
+            int roleCount = random.nextInt(USER_ROLE_MAX + 1);
+            for (int i = 0; i < roleCount; i++) {
+                roleIds.add((long) random.nextInt(ROLE_COUNT));
+            }
+            userRoleIds.put(userId, roleIds);
+        }
+        return permissions;
+    }
+
+    private static List<Query> buildQueries(Random random, List<String> permissions) {
+        List<Query> queries = new ArrayList<>(QUERY_COUNT);
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            // 一般是 1 个权限标识，少量是 2 个，并包含不存在的权限标识
+            String[] queryPermissions = new String[random.nextInt(4) == 0 ? 2 : 1];
+            for (int j = 0; j < queryPermissions.length; j++) {
+                queryPermissions[j] = random.nextInt(20) == 0 ? "system:not-exists:" + j
+                        : permissions.get(random.nextInt(permissions.size()));
+            }
+            queries.add(new Query((long) random.nextInt(USER_COUNT), queryPermissions));
+        }
+        return queries;
+    }
+
+    private static class Query {
+
+        private final Long userId;
+        private final String[] permissions;
+
+        private Query(Long userId, String[] permissions) {
+            this.userId = userId;
+            this.permissions = permissions;
+        }
+
+    }
+
+}
@@ -0,0 +1,119 @@
+package cn.iocoder.yudao.module.system.util.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link AhoCorasickTrie} 的基准测试，在中文语料上，对比 validate 的耗时：
+ *
+ * 1. Aho-Corasick 自动机：只遍历一次文本
+ * 2. 前缀树：即 {@link SimpleTrie}，在文本的每个位置重新匹配
+ *
+ * 两者的匹配语义不完全相同：{@link SimpleTrie} 在存在前缀关系时只返回最短的敏感词，并且不匹配文本最后一个字符开始的敏感词。
+ * 所以语料中的敏感词至少 2 个字，并且互相不为前缀，保证两者的匹配结果一致。
+ *
+ * 每种方式先预热，再取多轮的平均耗时。结果受 JIT、GC 影响，仅用于横向对比
+ */
+public class AhoCorasickTrieBenchmarkTest {
+
+    private static final int WORD_COUNT = 5000;
+    private static final int TEXT_COUNT = 2000;
+    private static final int TEXT_LENGTH = 500;
+    /**
+     * 每段文本中，插入的敏感词数量
+     */
+    private static final int TEXT_WORD_COUNT = 3;
+
+    /**
+     * 生成汉字的范围：CJK 统一汉字中，最常用的前 3000 个编码
+     */
+    private static final char CHINESE_START = '一';
+    private static final int CHINESE_RANGE = 3000;
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURE_ROUNDS = 10;
+
+    @Test
+    public void testValidate_benchmark() {
+        Random random = new Random(1024);
+        List<String> words = buildWords(random);
+        List<String> texts = buildTexts(random, words);
+        Map<String, List<String>> wordTags = new HashMap<>();
+        words.forEach(word -> wordTags.put(word, Collections.emptyList()));
+        AhoCorasickTrie ahoCorasickTrie = new AhoCorasickTrie(wordTags);
+        SimpleTrie simpleTrie = new SimpleTrie(new ArrayList<>(words));
+
+        // 断言：两种方式的匹配结果一致。SimpleTrie 返回的顺序不固定，所以按集合比较
+        int matchedCount = 0;
+        for (String text : texts) {
+            List<String> expected = simpleTrie.validate(text);
+            assertEquals(new HashSet<>(expected), new HashSet<>(ahoCorasickTrie.validate(text)));
+            assertEquals(simpleTrie.isValid(text), ahoCorasickTrie.isValid(text));
+            matchedCount += expected.size();
+        }
+        System.out.printf("敏感词 %d 个，文本 %d 段，每段 %d 字，共命中 %d 次%n",
+                words.size(), texts.size(), TEXT_LENGTH, matchedCount);
+
+        System.out.printf("Aho-Corasick 自动机: %.2f ms/次%n", benchmark(texts, ahoCorasickTrie::validate));
+        System.out.printf("前缀树: %.2f ms/次%n", benchmark(texts, simpleTrie::validate));
+    }
+
+    private static double benchmark(List<String> texts, Consumer<String> validator) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            texts.forEach(validator);
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            texts.forEach(validator);
+        }
+        return (System.nanoTime() - startTime) / 1e6 / MEASURE_ROUNDS;
+    }
+
+    /**
+     * 生成 2 ~ 4 个字的敏感词，并移除以其它敏感词为前缀的敏感词
+     */
+    private static List<String> buildWords(Random random) {
+        TreeSet<String> candidates = new TreeSet<>();
+        while (candidates.size() < WORD_COUNT) {
+            candidates.add(randomChinese(random, 2 + random.nextInt(3)));
+        }
+        // 排序后，前缀一定排在以它为前缀的敏感词之前
+        List<String> words = new ArrayList<>();
+        for (String candidate : candidates) {
+            if (words.isEmpty() || !candidate.startsWith(words.get(words.size() - 1))) {
+                words.add(candidate);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * 生成随机的中文文本，并在随机位置插入敏感词
+     */
+    private static List<String> buildTexts(Random random, List<String> words) {
+        List<String> texts = new ArrayList<>(TEXT_COUNT);
+        for (int i = 0; i < TEXT_COUNT; i++) {
+            StringBuilder text = new StringBuilder(randomChinese(random, TEXT_LENGTH));
+            for (int j = 0; j < TEXT_WORD_COUNT; j++) {
+                String word = words.get(random.nextInt(words.size()));
+                int index = random.nextInt(TEXT_LENGTH - word.length());
+                text.replace(index, index + word.length(), word);
+            }
+            texts.add(text.toString());
+        }
+        return texts;
+    }
+
+    private static String randomChinese(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (CHINESE_START + random.nextInt(CHINESE_RANGE));
+        }
+        return new String(chars);
+    }
+
+}
@@ -8,6 +8,8 @@ import java.util.*;
  * 基于前缀树，实现敏感词的校验
  * <p>
  * 相比 Apache Common 提供的 PatriciaTrie 来说，性能可能会更加好一些。
+ * <p>
+ * 已被 {@link AhoCorasickTrie} 替代，保留在这里，作为 {@link AhoCorasickTrieBenchmarkTest} 的对照组
  *
  * @author 芋道源码
  */
@@ -10,8 +10,11 @@ import cn.iocoder.yudao.module.system.controller.admin.dept.vo.dept.DeptListReqV
 import cn.iocoder.yudao.module.system.controller.admin.dept.vo.dept.DeptUpdateReqVO;
 import cn.iocoder.yudao.module.system.dal.dataobject.dept.DeptDO;
 import cn.iocoder.yudao.module.system.dal.mysql.dept.DeptMapper;
+import cn.iocoder.yudao.module.system.dal.redis.common.LocalCacheVersionRedisDAO;
 import cn.iocoder.yudao.module.system.enums.dept.DeptIdEnum;
+import cn.iocoder.yudao.module.system.mq.message.dept.DeptRefreshMessage;
 import cn.iocoder.yudao.module.system.mq.producer.dept.DeptProducer;
+import cn.iocoder.yudao.module.system.util.cache.LocalCacheRefreshUtils;
 import com.google.common.collect.Multimap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,16 +24,24 @@ import org.springframework.context.annotation.Import;
 import javax.annotation.Resource;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static cn.hutool.core.util.RandomUtil.randomEle;
+import static cn.iocoder.yudao.framework.common.util.collection.CollectionUtils.convertSet;
+import static cn.iocoder.yudao.framework.common.util.collection.SetUtils.asSet;
 import static cn.iocoder.yudao.framework.test.core.util.AssertUtils.assertPojoEquals;
 import static cn.iocoder.yudao.framework.test.core.util.AssertUtils.assertServiceException;
 import static cn.iocoder.yudao.framework.test.core.util.RandomUtils.*;
 import static cn.iocoder.yudao.module.system.enums.ErrorCodeConstants.*;
+import static java.util.Collections.singleton;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * {@link DeptServiceImpl} 的单元测试类
@@ -46,6 +57,8 @@ public class DeptServiceTest extends BaseDbUnitTest {
     private DeptMapper deptMapper;
     @MockBean
     private DeptProducer deptProducer;
+    @MockBean
+    private LocalCacheVersionRedisDAO localCacheVersionRedisDAO;
 
     @BeforeEach
     public void setUp() {
@@ -75,6 +88,160 @@ public class DeptServiceTest extends BaseDbUnitTest {
         assertPojoEquals(deptDO2, parentDeptCache.get(deptDO2.getParentId()));
     }
 
+    @Test
+    public void testRefreshLocalCache_delta() {
+        // mock 数据
+        DeptDO deptDO1 = randomDeptDO();
+        deptMapper.insert(deptDO1);
+        DeptDO deptDO2 = randomDeptDO();
+        deptMapper.insert(deptDO2);
+        deptService.initLocalCache();
+        // mock 数据：修改部门 1、删除部门 2、新增部门 3（不在刷新消息中）
+        DeptDO updateObj = new DeptDO();
+        updateObj.setId(deptDO1.getId());
+        updateObj.setName("新名字");
+        deptMapper.updateById(updateObj);
+        deptMapper.deleteById(deptDO2.getId());
+        DeptDO deptDO3 = randomDeptDO();
+        deptMapper.insert(deptDO3);
+
+        // 调用
+        deptService.refreshLocalCache(asSet(deptDO1.getId(), deptDO2.getId()), 1L);
+        // 断言：只刷新了消息中的部门
+        Map<Long, DeptDO> deptCache = deptService.getDeptCache();
+        assertEquals(1, deptCache.size());
+        assertEquals("新名字", deptCache.get(deptDO1.getId()).getName());
+        assertFalse(deptCache.containsKey(deptDO3.getId()));
+        assertEquals(1, deptService.getParentDeptCache().size());
+    }
+
+    @Test
+    public void testRefreshLocalCache_versionGap() {
+        // mock 数据
+        DeptDO deptDO1 = randomDeptDO();
+        deptMapper.insert(deptDO1);
+        deptService.initLocalCache();
+        // mock 数据：部门 2 的刷新消息（版本号 1）丢失
+        DeptDO deptDO2 = randomDeptDO();
+        deptMapper.insert(deptDO2);
+        deptMapper.deleteById(deptDO1.getId());
+
+        // 调用：收到版本号 2 的消息，只包含部门 1
+        deptService.refreshLocalCache(singleton(deptDO1.getId()), 2L);
+        // 断言：版本号不连续，全量刷新，部门 2 也被加载
+        assertEquals(singleton(deptDO2.getId()), deptService.getDeptCache().keySet());
+    }
+
+    @Test
+    public void testRefreshLocalCache_full() {
+        // mock 数据
+        DeptDO deptDO1 = randomDeptDO();
+        deptMapper.insert(deptDO1);
+        deptService.initLocalCache();
+        DeptDO deptDO2 = randomDeptDO();
+        deptMapper.insert(deptDO2);
+
+        // 调用：未指定部门编号，全量刷新
+        deptService.refreshLocalCache(null, null);
+        // 断言
+        assertEquals(asSet(deptDO1.getId(), deptDO2.getId()), deptService.getDeptCache().keySet());
+
+        // mock 数据
+        DeptDO deptDO3 = randomDeptDO();
+        deptMapper.insert(deptDO3);
+        // 调用：变更的部门编号超过 DELTA_REFRESH_MAX_SIZE，全量刷新。即使编号中不包含部门 3，也会被加载
+        Set<Long> deptIds = LongStream.rangeClosed(1, LocalCacheRefreshUtils.DELTA_REFRESH_MAX_SIZE + 1)
+                .map(i -> -i).boxed().collect(Collectors.toSet());
+        deptService.refreshLocalCache(deptIds, null);
+        // 断言
+        assertEquals(asSet(deptDO1.getId(), deptDO2.getId(), deptDO3.getId()), deptService.getDeptCache().keySet());
+    }
+
+    @Test
+    public void testCheckLocalCache_unchanged() {
+        // mock 数据
+        deptMapper.insert(randomDeptDO());
+        deptService.initLocalCache();
+        Map<Long, DeptDO> deptCache = deptService.getDeptCache();
+
+        // 调用
+        deptService.checkLocalCache();
+        // 断言：没有变更，不刷新
+        assertSame(deptCache, deptService.getDeptCache());
+    }
+
+    @Test
+    public void testCheckLocalCache_watermark() {
+        // mock 数据
+        DeptDO deptDO1 = randomDeptDO();
+        deptMapper.insert(deptDO1);
+        deptService.initLocalCache();
+        // mock 数据：未发送刷新消息，直接修改数据库
+        DeptDO deptDO2 = randomDeptDO();
+        deptMapper.insert(deptDO2);
+
+        // 调用
+        deptService.checkLocalCache();
+        // 断言：水位线变化，全量刷新
+        assertEquals(asSet(deptDO1.getId(), deptDO2.getId()), deptService.getDeptCache().keySet());
+
+        // mock 数据：删除不会改变最大的更新时间，但是会改变记录数
+        deptMapper.deleteById(deptDO1.getId());
+        // 调用
+        deptService.checkLocalCache();
+        // 断言
+        assertEquals(singleton(deptDO2.getId()), deptService.getDeptCache().keySet());
+    }
+
+    @Test
+    public void testCheckLocalCache_lost() {
+        // mock 数据
+        deptMapper.insert(randomDeptDO());
+        deptService.initLocalCache();
+        Map<Long, DeptDO> deptCache = deptService.getDeptCache();
+        // mock 方法：最新的刷新消息（版本号 1）未收到
+        when(localCacheVersionRedisDAO.get(eq(DeptRefreshMessage.CHANNEL))).thenReturn(1L);
+
+        // 调用：第一次检查，消息可能还在途中
+        deptService.checkLocalCache();
+        // 断言：不刷新
+        assertSame(deptCache, deptService.getDeptCache());
+
+        // 调用：第二次检查，仍然落后
+        deptService.checkLocalCache();
+        // 断言：消息丢失，全量刷新
+        assertNotSame(deptCache, deptService.getDeptCache());
+    }
+
+    @Test
+    public void testGetDeptsByParentIdFromCache() {
+        // mock 数据
+        DeptDO deptDO1 = randomDeptDO(o -> o.setParentId(DeptIdEnum.ROOT.getId()));
+        deptMapper.insert(deptDO1);
+        DeptDO deptDO2 = randomDeptDO(o -> o.setParentId(deptDO1.getId()));
+        deptMapper.insert(deptDO2);
+        DeptDO deptDO3 = randomDeptDO(o -> o.setParentId(deptDO2.getId()));
+        deptMapper.insert(deptDO3);
+        DeptDO deptDO4 = randomDeptDO(o -> o.setParentId(DeptIdEnum.ROOT.getId()));
+        deptMapper.insert(deptDO4);
+        // 初始化本地缓存
+        deptService.initLocalCache();
+
+        // 调用，并断言：递归获取
+        assertEquals(asSet(deptDO2.getId(), deptDO3.getId()),
+                convertSet(deptService.getDeptsByParentIdFromCache(deptDO1.getId(), true), DeptDO::getId));
+        assertEquals(asSet(deptDO1.getId(), deptDO2.getId(), deptDO3.getId(), deptDO4.getId()),
+                convertSet(deptService.getDeptsByParentIdFromCache(DeptIdEnum.ROOT.getId(), true), DeptDO::getId));
+        assertTrue(deptService.getDeptsByParentIdFromCache(deptDO3.getId(), true).isEmpty());
+        // 调用，并断言：只获取直接子部门
+        assertEquals(asSet(deptDO2.getId()),
+                convertSet(deptService.getDeptsByParentIdFromCache(deptDO1.getId(), false), DeptDO::getId));
+        // 调用，并断言：祖先部门
+        assertTrue(deptService.isDeptAncestorFromCache(deptDO1.getId(), deptDO3.getId()));
+        assertFalse(deptService.isDeptAncestorFromCache(deptDO3.getId(), deptDO1.getId()));
+        assertFalse(deptService.isDeptAncestorFromCache(deptDO4.getId(), deptDO3.getId()));
+    }
+
     @Test
     void testListDepts() {
         // mock 数据
@@ -114,7 +281,7 @@ public class DeptServiceTest extends BaseDbUnitTest {
         DeptDO deptDO = deptMapper.selectById(deptId);
         assertPojoEquals(reqVO, deptDO);
         // 校验调用
-        verify(deptProducer, times(1)).sendDeptRefreshMessage();
+        verify(deptProducer, times(1)).sendDeptRefreshMessage(eq(singleton(deptId)));
     }
 
     @Test
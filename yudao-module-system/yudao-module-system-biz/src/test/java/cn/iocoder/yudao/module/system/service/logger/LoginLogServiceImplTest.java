@@ -18,6 +18,7 @@ import org.springframework.context.annotation.Import;
 
 import javax.annotation.Resource;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static cn.hutool.core.util.RandomUtil.randomEle;
@@ -115,7 +116,8 @@ public class LoginLogServiceImplTest extends BaseDbUnitTest {
                 buildTime(2021, 3, 7)}));
 
         // 调用service方法
-        List<LoginLogDO> loginLogList = loginLogService.getLoginLogList(reqVO);
+        List<LoginLogDO> loginLogList = new ArrayList<>();
+        loginLogService.getLoginLogList(reqVO, loginLogList::addAll);
 
         // 断言
         assertEquals(1, loginLogList.size());
@@ -1,12 +1,15 @@
 package cn.iocoder.yudao.module.system.service.logger;
 
+import cn.hutool.core.codec.Base64;
 import cn.hutool.core.map.MapUtil;
 import cn.iocoder.yudao.framework.common.enums.CommonStatusEnum;
 import cn.iocoder.yudao.framework.common.enums.UserTypeEnum;
 import cn.iocoder.yudao.framework.common.exception.enums.GlobalErrorCodeConstants;
 import cn.iocoder.yudao.framework.common.pojo.PageResult;
+import cn.iocoder.yudao.framework.common.util.collection.CollectionUtils;
 import cn.iocoder.yudao.framework.common.util.monitor.TracerUtils;
 import cn.iocoder.yudao.framework.common.util.object.ObjectUtils;
+import cn.iocoder.yudao.framework.mybatis.core.util.MyBatisUtils;
 import cn.iocoder.yudao.framework.operatelog.core.enums.OperateTypeEnum;
 import cn.iocoder.yudao.framework.test.core.ut.BaseDbUnitTest;
 import cn.iocoder.yudao.framework.test.core.util.RandomUtils;
@@ -24,6 +27,8 @@ import org.springframework.context.annotation.Import;
 
 import javax.annotation.Resource;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -31,8 +36,9 @@ import static cn.hutool.core.util.RandomUtil.randomEle;
 import static cn.iocoder.yudao.framework.common.exception.enums.GlobalErrorCodeConstants.BAD_REQUEST;
 import static cn.iocoder.yudao.framework.common.util.date.LocalDateTimeUtils.buildTime;
 import static cn.iocoder.yudao.framework.test.core.util.AssertUtils.assertPojoEquals;
+import static cn.iocoder.yudao.framework.test.core.util.AssertUtils.assertServiceException;
 import static cn.iocoder.yudao.framework.test.core.util.RandomUtils.randomLongId;
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
 
 @Import({OperateLogServiceImpl.class})
@@ -160,10 +166,140 @@ public class OperateLogServiceImplTest extends BaseDbUnitTest {
         reqVO.setSuccess(true);
 
         // 调用 service 方法
-        List<OperateLogDO> list = operateLogServiceImpl.getOperateLogs(reqVO);
+        List<OperateLogDO> list = new ArrayList<>();
+        operateLogServiceImpl.getOperateLogs(reqVO, list::addAll);
         // 断言，只查到了一条符合条件的
         assertEquals(1, list.size());
         assertPojoEquals(sysOperateLogDO, list.get(0));
     }
 
+    @Test
+    public void testGetOperateLogPage_cursor() {
+        // mock 数据：5 条操作日志
+        List<OperateLogDO> logs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            OperateLogDO log = randomOperateLog();
+            operateLogMapper.insert(log);
+            logs.add(log);
+        }
+        // 准备参数
+        OperateLogPageReqVO reqVO = new OperateLogPageReqVO();
+        reqVO.setPageSize(2);
+
+        // 调用：第一页，未传递游标
+        PageResult<OperateLogDO> pageResult = operateLogServiceImpl.getOperateLogPage(reqVO);
+        // 断言：按照编号倒序，返回下一页的游标
+        assertEquals(5, pageResult.getTotal());
+        assertEquals(Arrays.asList(logs.get(4).getId(), logs.get(3).getId()), getIds(pageResult));
+        assertEquals(MyBatisUtils.encodeCursor(logs.get(3).getId()), pageResult.getNextCursor());
+
+        // 调用：第二页，传递游标
+        reqVO.setCursor(pageResult.getNextCursor());
+        pageResult = operateLogServiceImpl.getOperateLogPage(reqVO);
+        // 断言：总数不受游标条件影响
+        assertEquals(5, pageResult.getTotal());
+        assertEquals(Arrays.asList(logs.get(2).getId(), logs.get(1).getId()), getIds(pageResult));
+        assertEquals(MyBatisUtils.encodeCursor(logs.get(1).getId()), pageResult.getNextCursor());
+
+        // 调用：最后一页，不足 pageSize 条
+        reqVO.setCursor(pageResult.getNextCursor());
+        pageResult = operateLogServiceImpl.getOperateLogPage(reqVO);
+        // 断言：没有下一页
+        assertEquals(Collections.singletonList(logs.get(0).getId()), getIds(pageResult));
+        assertNull(pageResult.getNextCursor());
+    }
+
+    @Test
+    public void testGetOperateLogPage_cursorExactPageSize() {
+        // mock 数据：4 条操作日志，正好 2 页
+        List<OperateLogDO> logs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            OperateLogDO log = randomOperateLog();
+            operateLogMapper.insert(log);
+            logs.add(log);
+        }
+        // 准备参数
+        OperateLogPageReqVO reqVO = new OperateLogPageReqVO();
+        reqVO.setPageSize(2);
+        reqVO.setCursor(MyBatisUtils.encodeCursor(logs.get(2).getId()));
+
+        // 调用：最后一页，正好 pageSize 条
+        PageResult<OperateLogDO> pageResult = operateLogServiceImpl.getOperateLogPage(reqVO);
+        // 断言：多查询的一条不存在，所以没有下一页
+        assertEquals(Arrays.asList(logs.get(1).getId(), logs.get(0).getId()), getIds(pageResult));
+        assertNull(pageResult.getNextCursor());
+    }
+
+    @Test
+    public void testGetOperateLogPage_badCursor() {
+        // mock 数据
+        operateLogMapper.insert(randomOperateLog());
+        // 准备参数：游标不是数字
+        OperateLogPageReqVO reqVO = new OperateLogPageReqVO();
+        reqVO.setCursor(Base64.encodeUrlSafe("abc"));
+
+        // 调用，并断言异常
+        assertServiceException(() -> operateLogServiceImpl.getOperateLogPage(reqVO), BAD_REQUEST);
+        // 调用：游标不是 Base64，并断言异常
+        reqVO.setCursor("!!!");
+        assertServiceException(() -> operateLogServiceImpl.getOperateLogPage(reqVO), BAD_REQUEST);
+    }
+
+    @Test
+    public void testGetOperateLogPage_skipCount() {
+        // mock 数据：3 条操作日志
+        List<OperateLogDO> logs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            OperateLogDO log = randomOperateLog();
+            operateLogMapper.insert(log);
+            logs.add(log);
+        }
+        // 准备参数
+        OperateLogPageReqVO reqVO = new OperateLogPageReqVO();
+        reqVO.setPageSize(2);
+        reqVO.setSkipCount(true);
+
+        // 调用：有下一页
+        PageResult<OperateLogDO> pageResult = operateLogServiceImpl.getOperateLogPage(reqVO);
+        // 断言：总数为估算值，本页条数 + 1，只用于判断是否有下一页
+        assertEquals(3, pageResult.getTotal());
+        assertEquals(Arrays.asList(logs.get(2).getId(), logs.get(1).getId()), getIds(pageResult));
+        assertEquals(MyBatisUtils.encodeCursor(logs.get(1).getId()), pageResult.getNextCursor());
+
+        // 调用：最后一页
+        reqVO.setCursor(pageResult.getNextCursor());
+        pageResult = operateLogServiceImpl.getOperateLogPage(reqVO);
+        // 断言：使用游标时，pageNo 仍为 1，所以估算的总数只是本页条数，不是真实的总数
+        assertEquals(1, pageResult.getTotal());
+        assertEquals(Collections.singletonList(logs.get(0).getId()), getIds(pageResult));
+        assertNull(pageResult.getNextCursor());
+    }
+
+    @Test
+    public void testGetOperateLogPage_skipCountEmpty() {
+        // 准备参数
+        OperateLogPageReqVO reqVO = new OperateLogPageReqVO();
+        reqVO.setSkipCount(true);
+
+        // 调用
+        PageResult<OperateLogDO> pageResult = operateLogServiceImpl.getOperateLogPage(reqVO);
+        // 断言：跳过 COUNT 查询时，总数同样为估算值
+        assertEquals(0, pageResult.getTotal());
+        assertTrue(pageResult.getList().isEmpty());
+        assertNull(pageResult.getNextCursor());
+    }
+
+    private static OperateLogDO randomOperateLog() {
+        return RandomUtils.randomPojo(OperateLogDO.class, o -> {
+            o.setId(null);
+            o.setUserType(randomEle(UserTypeEnum.values()).getValue());
+            o.setResultCode(GlobalErrorCodeConstants.SUCCESS.getCode());
+            o.setExts(MapUtil.<String, Object>builder("orderId", randomLongId()).build());
+        });
+    }
+
+    private static List<Long> getIds(PageResult<OperateLogDO> pageResult) {
+        return CollectionUtils.convertList(pageResult.getList(), OperateLogDO::getId);
+    }
+
 }
@@ -10,6 +10,7 @@ import cn.iocoder.yudao.module.system.controller.admin.permission.vo.menu.MenuLi
 import cn.iocoder.yudao.module.system.controller.admin.permission.vo.menu.MenuUpdateReqVO;
 import cn.iocoder.yudao.module.system.dal.dataobject.permission.MenuDO;
 import cn.iocoder.yudao.module.system.dal.mysql.permission.MenuMapper;
+import cn.iocoder.yudao.module.system.dal.redis.common.LocalCacheVersionRedisDAO;
 import cn.iocoder.yudao.module.system.enums.permission.MenuTypeEnum;
 import cn.iocoder.yudao.module.system.mq.producer.permission.MenuProducer;
 import cn.iocoder.yudao.module.system.service.tenant.TenantService;
@@ -27,7 +28,9 @@ import static cn.iocoder.yudao.framework.test.core.util.AssertUtils.assertServic
 import static cn.iocoder.yudao.framework.test.core.util.RandomUtils.*;
 import static cn.iocoder.yudao.module.system.enums.ErrorCodeConstants.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static java.util.Collections.singleton;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 
@@ -46,6 +49,8 @@ public class MenuServiceTest extends BaseDbUnitTest {
     @MockBean
     private MenuProducer menuProducer;
     @MockBean
+    private LocalCacheVersionRedisDAO localCacheVersionRedisDAO;
+    @MockBean
     private TenantService tenantService;
 
     @Test
@@ -91,7 +96,7 @@ public class MenuServiceTest extends BaseDbUnitTest {
         MenuDO ret = menuMapper.selectById(menuId);
         assertPojoEquals(vo, ret);
         // 校验调用
-        verify(menuProducer).sendMenuRefreshMessage();
+        verify(menuProducer).sendMenuRefreshMessage(eq(singleton(menuId)));
     }
 
     @Test
@@ -116,7 +121,7 @@ public class MenuServiceTest extends BaseDbUnitTest {
         MenuDO ret = menuMapper.selectById(sonId);
         assertPojoEquals(vo, ret);
         // 校验调用
-        verify(menuProducer).sendMenuRefreshMessage();
+        verify(menuProducer).sendMenuRefreshMessage(eq(singleton(sonId)));
     }
 
     @Test
@@ -147,7 +152,7 @@ public class MenuServiceTest extends BaseDbUnitTest {
         MenuDO menuDO = menuMapper.selectById(sonId);
         assertNull(menuDO);
         verify(permissionService).processMenuDeleted(sonId);
-        verify(menuProducer).sendMenuRefreshMessage();
+        verify(menuProducer).sendMenuRefreshMessage(eq(singleton(sonId)));
     }
 
     @Test
@@ -13,6 +13,7 @@ import cn.iocoder.yudao.module.system.dal.dataobject.permission.UserRoleDO;
 import cn.iocoder.yudao.module.system.dal.dataobject.user.AdminUserDO;
 import cn.iocoder.yudao.module.system.dal.mysql.permission.RoleMenuMapper;
 import cn.iocoder.yudao.module.system.dal.mysql.permission.UserRoleMapper;
+import cn.iocoder.yudao.module.system.dal.redis.common.LocalCacheVersionRedisDAO;
 import cn.iocoder.yudao.module.system.enums.permission.DataScopeEnum;
 import cn.iocoder.yudao.module.system.mq.producer.permission.PermissionProducer;
 import cn.iocoder.yudao.module.system.service.dept.DeptService;
@@ -25,6 +26,7 @@ import org.springframework.context.annotation.Import;
 
 import javax.annotation.Resource;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -38,6 +40,7 @@ import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -63,6 +66,8 @@ public class PermissionServiceTest extends BaseDbUnitTest {
 
     @MockBean
     private PermissionProducer permissionProducer;
+    @MockBean
+    private LocalCacheVersionRedisDAO localCacheVersionRedisDAO;
 
     @Test
     public void testInitLocalCacheForRoleMenu() {
@@ -98,6 +103,37 @@ public class PermissionServiceTest extends BaseDbUnitTest {
         assertEquals(asSet(10L, 20L), permissionService.getUserRoleCache().get(1L));
     }
 
+    @Test
+    public void testRefreshLocalCacheForUserRole_versionGap() {
+        // mock 数据
+        userRoleMapper.insert(randomPojo(UserRoleDO.class, o -> o.setUserId(1L).setRoleId(10L)));
+        permissionService.initLocalCacheForUserRole();
+        // mock 数据：用户 2 的刷新消息（版本号 1）丢失
+        userRoleMapper.insert(randomPojo(UserRoleDO.class, o -> o.setUserId(2L).setRoleId(20L)));
+
+        // 调用：收到版本号 2 的消息，只包含用户 1
+        permissionService.refreshLocalCacheForUserRole(singleton(1L), 2L);
+        // 断言：版本号不连续，全量刷新，用户 2 也被加载
+        assertEquals(asSet(10L), permissionService.getUserRoleCache().get(1L));
+        assertEquals(asSet(20L), permissionService.getUserRoleCache().get(2L));
+    }
+
+    @Test
+    public void testCheckLocalCache_watermark() {
+        // mock 数据
+        roleMenuMapper.insert(randomPojo(RoleMenuDO.class, o -> o.setRoleId(1L).setMenuId(10L)));
+        permissionService.initLocalCache();
+        // mock 数据：未发送刷新消息，直接修改数据库
+        roleMenuMapper.insert(randomPojo(RoleMenuDO.class, o -> o.setRoleId(1L).setMenuId(20L)));
+        userRoleMapper.insert(randomPojo(UserRoleDO.class, o -> o.setUserId(2L).setRoleId(1L)));
+
+        // 调用
+        permissionService.checkLocalCache();
+        // 断言：水位线变化，全量刷新
+        assertEquals(asSet(10L, 20L), new HashSet<>(permissionService.getRoleMenuCache().get(1L)));
+        assertEquals(asSet(1L), permissionService.getUserRoleCache().get(2L));
+    }
+
     @Test
     public void testGetRoleMenuListFromCache_superAdmin() {
         // 准备参数
@@ -207,7 +243,7 @@ public class PermissionServiceTest extends BaseDbUnitTest {
         assertEquals(200L, roleMenuList.get(0).getMenuId());
         assertEquals(1L, roleMenuList.get(1).getRoleId());
         assertEquals(300L, roleMenuList.get(1).getMenuId());
-        verify(permissionProducer).sendRoleMenuRefreshMessage();
+        verify(permissionProducer).sendRoleMenuRefreshMessage(eq(singleton(roleId)));
     }
 
     @Test
@@ -230,7 +266,7 @@ public class PermissionServiceTest extends BaseDbUnitTest {
         assertEquals(200L, userRoleDOList.get(0).getRoleId());
         assertEquals(1L, userRoleDOList.get(1).getUserId());
         assertEquals(300L, userRoleDOList.get(1).getRoleId());
-        verify(permissionProducer).sendUserRoleRefreshMessage();
+        verify(permissionProducer).sendUserRoleRefreshMessage(eq(singleton(userId)));
     }
 
     @Test
@@ -304,8 +340,8 @@ public class PermissionServiceTest extends BaseDbUnitTest {
         assertEquals(1, dbUserRoles.size());
         assertPojoEquals(dbUserRoles.get(0), userRoleDO02);
         // 断言调用
-        verify(permissionProducer).sendRoleMenuRefreshMessage();
-        verify(permissionProducer).sendUserRoleRefreshMessage();
+        verify(permissionProducer).sendRoleMenuRefreshMessage(eq(singleton(roleId)));
+        verify(permissionProducer).sendUserRoleRefreshMessage(eq(singleton(userRoleDO01.getUserId())));
     }
 
     @Test
@@ -325,7 +361,7 @@ public class PermissionServiceTest extends BaseDbUnitTest {
         assertEquals(1, dbRoleMenus.size());
         assertPojoEquals(dbRoleMenus.get(0), roleMenuDO02);
         // 断言调用
-        verify(permissionProducer).sendRoleMenuRefreshMessage();
+        verify(permissionProducer).sendRoleMenuRefreshMessage(eq(singleton(roleMenuDO01.getRoleId())));
     }
 
     @Test
@@ -345,7 +381,18 @@ public class PermissionServiceTest extends BaseDbUnitTest {
         assertEquals(1, dbUserRoles.size());
         assertPojoEquals(dbUserRoles.get(0), userRoleDO02);
         // 断言调用
-        verify(permissionProducer).sendUserRoleRefreshMessage();
+        verify(permissionProducer).sendUserRoleRefreshMessage(eq(singleton(userId)));
+    }
+
+    @Test
+    public void testProcessUserDeptUpdated() {
+        // 准备参数
+        Long userId = randomLongId();
+
+        // 调用
+        permissionService.processUserDeptUpdated(userId);
+        // 断言调用
+        verify(permissionProducer).sendUserRoleRefreshMessage(eq(singleton(userId)));
     }
 
     @Test
@@ -378,10 +425,9 @@ public class PermissionServiceTest extends BaseDbUnitTest {
                 .setStatus(CommonStatusEnum.ENABLE.getStatus()));
         when(roleService.getRoleFromCache(eq(100L))).thenReturn(role);
         // mock 其它方法
-        MenuDO menu = randomPojo(MenuDO.class, o -> o.setId(1000L));
-        when(menuService.getMenuListByPermissionFromCache(eq("system:user:create"))).thenReturn(singletonList(menu));
-        permissionService.setMenuRoleCache(ImmutableMultimap.<Long, Long>builder().put(1000L, 100L).build());
-
+        MenuDO menu = randomPojo(MenuDO.class, o -> o.setId(1000L).setPermission("system:user:create"));
+        when(menuService.getMenuFromCache(eq(1000L))).thenReturn(menu);
+        permissionService.setRoleMenuCache(ImmutableMultimap.<Long, Long>builder().put(100L, 1000L).build());
 
         // 调用
         boolean has = permissionService.hasAnyPermissions(userId, roles);
@@ -389,6 +435,32 @@ public class PermissionServiceTest extends BaseDbUnitTest {
         assertTrue(has);
     }
 
+    @Test
+    public void testHasAnyPermissions_clearedWhileBuilding() {
+        // 准备参数
+        Long userId = 1L;
+        // mock 用户与角色的缓存
+        permissionService.setUserRoleCache(MapUtil.<Long, Set<Long>>builder().put(1L, asSet(100L)).build());
+        RoleDO role = randomPojo(RoleDO.class, o -> o.setId(100L)
+                .setStatus(CommonStatusEnum.ENABLE.getStatus()));
+        when(roleService.getRoleFromCache(eq(100L))).thenReturn(role);
+        // mock 其它方法：构建权限索引期间，角色与菜单的缓存被刷新
+        MenuDO menu01 = randomPojo(MenuDO.class, o -> o.setId(1000L).setPermission("system:user:create"));
+        MenuDO menu02 = randomPojo(MenuDO.class, o -> o.setId(2000L).setPermission("system:user:delete"));
+        when(menuService.getMenuFromCache(eq(1000L))).thenAnswer(invocation -> {
+            permissionService.setRoleMenuCache(ImmutableMultimap.<Long, Long>builder().put(100L, 2000L).build());
+            return menu01;
+        });
+        when(menuService.getMenuFromCache(eq(2000L))).thenReturn(menu02);
+        permissionService.setRoleMenuCache(ImmutableMultimap.<Long, Long>builder().put(100L, 1000L).build());
+
+        // 调用，并断言：基于旧缓存构建的索引，仅本次使用
+        assertTrue(permissionService.hasAnyPermissions(userId, "system:user:create"));
+        // 调用，并断言：重新构建，使用新缓存
+        assertTrue(permissionService.hasAnyPermissions(userId, "system:user:delete"));
+        assertFalse(permissionService.hasAnyPermissions(userId, "system:user:create"));
+    }
+
     @Test
     public void testHasAnyRoles_superAdmin() {
         // 准备参数
@@ -542,4 +614,63 @@ public class PermissionServiceTest extends BaseDbUnitTest {
         assertTrue(CollUtil.isEmpty(result.getDeptIds()));
     }
 
+    @Test
+    public void testGetDeptDataPermission_cache() {
+        // 准备参数
+        Long userId = 1L;
+        // mock 用户的角色编号
+        permissionService.setUserRoleCache(MapUtil.<Long, Set<Long>>builder().put(1L, asSet(2L)).build());
+        // mock 获得用户的角色
+        RoleDO roleDO = randomPojo(RoleDO.class, o -> o.setDataScope(DataScopeEnum.DEPT_ONLY.getScope())
+                .setStatus(CommonStatusEnum.ENABLE.getStatus()));
+        when(roleService.getRolesFromCache(eq(singleton(2L)))).thenReturn(singletonList(roleDO));
+        when(roleService.getRoleFromCache(eq(2L))).thenReturn(roleDO);
+        // mock 部门的返回
+        when(userService.getUser(eq(1L))).thenReturn(new AdminUserDO().setDeptId(3L));
+
+        // 调用，第二次命中缓存
+        DeptDataPermissionRespDTO result = permissionService.getDeptDataPermission(userId);
+        DeptDataPermissionRespDTO result2 = permissionService.getDeptDataPermission(userId);
+        // 断言
+        assertEquals(result, result2);
+        assertTrue(CollUtil.contains(result2.getDeptIds(), 3L));
+        verify(userService, times(1)).getUser(eq(1L));
+
+        // 调用，清空缓存后，重新计算
+        permissionService.clearDeptDataPermissionCache();
+        permissionService.getDeptDataPermission(userId);
+        // 断言
+        verify(userService, times(2)).getUser(eq(1L));
+    }
+
+    @Test
+    public void testGetDeptDataPermission_userDeptUpdated() {
+        // mock 用户的角色编号
+        permissionService.setUserRoleCache(MapUtil.<Long, Set<Long>>builder()
+                .put(1L, asSet(2L)).put(4L, asSet(2L)).build());
+        UserRoleDO userRoleDO = new UserRoleDO();
+        userRoleDO.setUserId(1L);
+        userRoleDO.setRoleId(2L);
+        userRoleMapper.insert(userRoleDO);
+        // mock 获得用户的角色
+        RoleDO roleDO = randomPojo(RoleDO.class, o -> o.setDataScope(DataScopeEnum.DEPT_ONLY.getScope())
+                .setStatus(CommonStatusEnum.ENABLE.getStatus()));
+        when(roleService.getRolesFromCache(eq(singleton(2L)))).thenReturn(singletonList(roleDO));
+        when(roleService.getRoleFromCache(eq(2L))).thenReturn(roleDO);
+        // mock 部门的返回
+        when(userService.getUser(eq(1L))).thenReturn(new AdminUserDO().setDeptId(3L));
+        when(userService.getUser(eq(4L))).thenReturn(new AdminUserDO().setDeptId(3L));
+        permissionService.getDeptDataPermission(1L);
+        permissionService.getDeptDataPermission(4L);
+
+        // 调用：用户 1 的部门变更后，收到用户与角色的增量刷新消息
+        when(userService.getUser(eq(1L))).thenReturn(new AdminUserDO().setDeptId(5L));
+        permissionService.refreshLocalCacheForUserRole(singleton(1L), 1L);
+        // 断言：只清空了用户 1 的缓存
+        assertEquals(singleton(5L), new HashSet<>(permissionService.getDeptDataPermission(1L).getDeptIds()));
+        assertEquals(singleton(3L), new HashSet<>(permissionService.getDeptDataPermission(4L).getDeptIds()));
+        verify(userService, times(2)).getUser(eq(1L));
+        verify(userService, times(1)).getUser(eq(4L));
+    }
+
 }
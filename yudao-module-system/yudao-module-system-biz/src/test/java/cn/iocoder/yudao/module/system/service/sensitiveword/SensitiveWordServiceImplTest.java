@@ -62,11 +62,10 @@ public class SensitiveWordServiceImplTest extends BaseDbUnitTest {
         sensitiveWordService.initLocalCache();
         // 断言 sensitiveWordTagsCache 缓存
         assertEquals(SetUtils.asSet("论坛", "蔬菜"), sensitiveWordService.getSensitiveWordTags());
-        // 断言 tagSensitiveWordTries 缓存
-        assertNotNull(sensitiveWordService.getDefaultSensitiveWordTrie());
-        assertEquals(2, sensitiveWordService.getTagSensitiveWordTries().size());
-        assertNotNull(sensitiveWordService.getTagSensitiveWordTries().get("论坛"));
-        assertNotNull(sensitiveWordService.getTagSensitiveWordTries().get("蔬菜"));
+        // 断言 sensitiveWordTrie 缓存
+        assertNotNull(sensitiveWordService.getSensitiveWordTrie());
+        assertEquals(2, sensitiveWordService.getSensitiveWordTrie().getWordCount());
+        assertEquals(SetUtils.asSet("论坛", "蔬菜"), sensitiveWordService.getSensitiveWordTrie().getTags());
     }
 
     @Test
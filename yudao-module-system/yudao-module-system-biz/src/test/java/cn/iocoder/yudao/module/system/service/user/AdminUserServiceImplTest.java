@@ -33,6 +33,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import javax.annotation.Resource;
 import java.io.ByteArrayInputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.Consumer;
@@ -49,6 +50,7 @@ import static java.util.Collections.singleton;
 import static org.assertj.core.util.Lists.newArrayList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -171,6 +173,8 @@ public class AdminUserServiceImplTest extends BaseDbUnitTest {
         List<UserPostDO> userPosts = userPostMapper.selectListByUserId(user.getId());
         assertEquals(2L, userPosts.get(0).getPostId());
         assertEquals(3L, userPosts.get(1).getPostId());
+        // 断言部门变更，清空部门数据权限缓存
+        verify(permissionService).processUserDeptUpdated(eq(reqVO.getId()));
     }
 
     @Test
@@ -325,7 +329,8 @@ public class AdminUserServiceImplTest extends BaseDbUnitTest {
         when(deptService.getDeptsByParentIdFromCache(eq(reqVO.getDeptId()), eq(true))).thenReturn(deptList);
 
         // 调用
-        List<AdminUserDO> list = userService.getUsers(reqVO);
+        List<AdminUserDO> list = new ArrayList<>();
+        userService.getUsers(reqVO, list::addAll);
         // 断言
         assertEquals(1, list.size());
         assertPojoEquals(dbUser, list.get(0));
@@ -468,6 +473,96 @@ public class AdminUserServiceImplTest extends BaseDbUnitTest {
         assertEquals(0, respVO.getFailureUsernames().size());
     }
 
+    /**
+     * 情况五，同一批中手机号重复，后者失败
+     */
+    @Test
+    public void testImportUsers_05() {
+        // 准备参数
+        UserImportExcelVO importUser01 = randomPojo(UserImportExcelVO.class, o -> {
+            o.setStatus(randomEle(CommonStatusEnum.values()).getStatus()); // 保证 status 的范围
+            o.setSex(randomEle(SexEnum.values()).getSex()); // 保证 sex 的范围
+        });
+        UserImportExcelVO importUser02 = randomPojo(UserImportExcelVO.class, o -> {
+            o.setStatus(randomEle(CommonStatusEnum.values()).getStatus()); // 保证 status 的范围
+            o.setSex(randomEle(SexEnum.values()).getSex()); // 保证 sex 的范围
+            o.setMobile(importUser01.getMobile());
+        });
+        // mock passwordEncoder 的方法
+        when(passwordEncoder.encode(eq("yudaoyuanma"))).thenReturn("java");
+
+        // 调用
+        UserImportRespVO respVO = userService.importUsers(newArrayList(importUser01, importUser02), true);
+        // 断言
+        assertEquals(1, respVO.getCreateUsernames().size());
+        assertEquals(importUser01.getUsername(), respVO.getCreateUsernames().get(0));
+        assertEquals(0, respVO.getUpdateUsernames().size());
+        assertEquals(1, respVO.getFailureUsernames().size());
+        assertEquals(USER_MOBILE_EXISTS.getMsg(), respVO.getFailureUsernames().get(importUser02.getUsername()));
+        verify(passwordEncoder, times(1)).encode(eq("yudaoyuanma"));
+    }
+
+    /**
+     * 情况六，存在，强制更新，部门变更时重新计算部门数据权限
+     */
+    @Test
+    public void testImportUsers_06() {
+        // mock 数据
+        AdminUserDO dbUser = randomAdminUserDO();
+        userMapper.insert(dbUser);
+        // 准备参数
+        UserImportExcelVO importUser = randomPojo(UserImportExcelVO.class, o -> {
+            o.setStatus(randomEle(CommonStatusEnum.values()).getStatus()); // 保证 status 的范围
+            o.setSex(randomEle(SexEnum.values()).getSex()); // 保证 sex 的范围
+            o.setUsername(dbUser.getUsername());
+            o.setDeptId(dbUser.getDeptId() + 1);
+        });
+
+        // 调用
+        UserImportRespVO respVO = userService.importUsers(newArrayList(importUser), true);
+        // 断言
+        assertEquals(1, respVO.getUpdateUsernames().size());
+        verify(permissionService).processUserDeptUpdated(eq(dbUser.getId()));
+    }
+
+    /**
+     * 情况七，写入失败，回滚该批，该批的用户都记为失败
+     */
+    @Test
+    public void testImportUsers_07() {
+        // mock 数据
+        AdminUserDO dbUser = randomAdminUserDO();
+        userMapper.insert(dbUser);
+        // 准备参数
+        UserImportExcelVO importUser01 = randomPojo(UserImportExcelVO.class, o -> {
+            o.setStatus(randomEle(CommonStatusEnum.values()).getStatus()); // 保证 status 的范围
+            o.setSex(randomEle(SexEnum.values()).getSex()); // 保证 sex 的范围
+        });
+        UserImportExcelVO importUser02 = randomPojo(UserImportExcelVO.class, o -> {
+            o.setStatus(randomEle(CommonStatusEnum.values()).getStatus()); // 保证 status 的范围
+            o.setSex(randomEle(SexEnum.values()).getSex()); // 保证 sex 的范围
+            o.setUsername(dbUser.getUsername());
+            o.setDeptId(dbUser.getDeptId() + 1);
+        });
+        // mock 方法，模拟更新后失败
+        when(passwordEncoder.encode(eq("yudaoyuanma"))).thenReturn("java");
+        doThrow(new IllegalStateException("模拟失败")).when(permissionService).processUserDeptUpdated(any());
+
+        // 调用
+        UserImportRespVO respVO = userService.importUsers(newArrayList(importUser01, importUser02), true);
+        // 断言：该批的用户都记为失败
+        assertEquals(0, respVO.getCreateUsernames().size());
+        assertEquals(0, respVO.getUpdateUsernames().size());
+        assertEquals(2, respVO.getFailureUsernames().size());
+        assertTrue(respVO.getFailureUsernames().get(importUser01.getUsername()).contains("模拟失败"));
+        assertTrue(respVO.getFailureUsernames().get(importUser02.getUsername()).contains("模拟失败"));
+        // 断言：该批已经回滚
+        assertNull(userMapper.selectByUsername(importUser01.getUsername()));
+        AdminUserDO user = userMapper.selectById(dbUser.getId());
+        assertEquals(dbUser.getDeptId(), user.getDeptId());
+        assertEquals(dbUser.getNickname(), user.getNickname());
+    }
+
     @Test
     public void testCheckUserExists_notExists() {
         assertServiceException(() -> userService.checkUserExists(randomLongId()), USER_NOT_EXISTS);
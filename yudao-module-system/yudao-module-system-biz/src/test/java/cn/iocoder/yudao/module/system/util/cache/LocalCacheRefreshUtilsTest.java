@@ -0,0 +1,35 @@
+package cn.iocoder.yudao.module.system.util.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static cn.iocoder.yudao.module.system.util.cache.LocalCacheRefreshUtils.DELTA_REFRESH_MAX_SIZE;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link LocalCacheRefreshUtils} 的单元测试类
+ */
+public class LocalCacheRefreshUtilsTest {
+
+    @Test
+    public void testIsFullRefresh() {
+        // 情况一：未指定编号
+        assertTrue(LocalCacheRefreshUtils.isFullRefresh(null));
+        assertTrue(LocalCacheRefreshUtils.isFullRefresh(Collections.emptyList()));
+        // 情况二：编号数量在 DELTA_REFRESH_MAX_SIZE 内，增量刷新
+        assertFalse(LocalCacheRefreshUtils.isFullRefresh(Collections.singletonList(1L)));
+        assertFalse(LocalCacheRefreshUtils.isFullRefresh(buildIds(DELTA_REFRESH_MAX_SIZE)));
+        // 情况三：编号数量超过 DELTA_REFRESH_MAX_SIZE，全量刷新
+        assertTrue(LocalCacheRefreshUtils.isFullRefresh(buildIds(DELTA_REFRESH_MAX_SIZE + 1)));
+    }
+
+    private static List<Long> buildIds(int size) {
+        return LongStream.rangeClosed(1, size).boxed().collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,52 @@
+package cn.iocoder.yudao.module.system.util.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link LocalCacheVersion} 的单元测试类
+ */
+public class LocalCacheVersionTest {
+
+    @Test
+    public void testApply() {
+        // 准备参数
+        LocalCacheVersion version = new LocalCacheVersion();
+        version.reset(10);
+
+        // 情况一：版本号连续
+        assertTrue(version.apply(11L));
+        // 情况二：没有版本号，不检查
+        assertTrue(version.apply(null));
+        // 情况三：乱序到达、或者已经被全量刷新加载
+        assertTrue(version.apply(5L));
+        assertTrue(version.apply(11L));
+        // 情况四：版本号跳跃，中间的消息丢失
+        assertFalse(version.apply(13L));
+        // 情况五：跳跃后，以最大的版本号为准
+        assertTrue(version.apply(14L));
+    }
+
+    @Test
+    public void testIsLost() {
+        // 准备参数
+        LocalCacheVersion version = new LocalCacheVersion();
+        version.reset(10);
+
+        // 情况一：未落后
+        assertFalse(version.isLost(10));
+        // 情况二：首次落后，消息可能还在途中
+        assertFalse(version.isLost(11));
+        // 情况三：消息在两次检查之间到达
+        version.apply(11L);
+        assertFalse(version.isLost(12));
+        // 情况四：两次检查都落后，消息丢失
+        assertTrue(version.isLost(12));
+        // 情况五：全量刷新后，重新计算
+        version.reset(12);
+        assertFalse(version.isLost(12));
+    }
+
+}
@@ -0,0 +1,114 @@
+package cn.iocoder.yudao.module.system.util.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link AhoCorasickTrie} 的单元测试类
+ */
+public class AhoCorasickTrieTest {
+
+    @Test
+    public void testValidate_overlapping() {
+        // 准备参数：经典的 he、she、his、hers
+        AhoCorasickTrie trie = buildTrie("he", "she", "his", "hers");
+
+        // 调用，并断言：she 结束的位置，同时命中 he
+        assertEquals(asList("she", "he", "hers"), trie.validate("ushers"));
+        assertEquals(asList("his"), trie.validate("this"));
+        assertEquals("she", trie.findFirst("ushers", null));
+    }
+
+    @Test
+    public void testValidate_nested() {
+        // 准备参数：b 嵌套在 abc 中，abc 是 abcd 的前缀
+        AhoCorasickTrie trie = buildTrie("abc", "b", "abcd");
+
+        // 调用，并断言：按照结束的位置排序
+        assertEquals(asList("b", "abc", "abcd"), trie.validate("xabcdx"));
+        assertEquals("b", trie.findFirst("xabcdx", null));
+        // 调用，并断言：相同的敏感词只返回一次
+        assertEquals(singletonList("b"), trie.validate("bbb"));
+    }
+
+    @Test
+    public void testValidate_failureLink() {
+        // 准备参数
+        AhoCorasickTrie trie = buildTrie("abcd", "bce", "aab");
+
+        // 调用，并断言：abc 之后不匹配 d，沿着失败指针转移到 bc，继续匹配 bce
+        assertEquals(singletonList("bce"), trie.validate("abce"));
+        // 调用，并断言：aa 之后不匹配 a，沿着失败指针转移到 a，继续匹配 aab
+        assertEquals(singletonList("aab"), trie.validate("aaab"));
+        // 调用，并断言：部分匹配后失败，不命中
+        assertTrue(trie.isValid("abcab"));
+    }
+
+    @Test
+    public void testValidate_empty() {
+        // 情况一：空文本
+        AhoCorasickTrie trie = buildTrie("abc");
+        assertTrue(trie.isValid(""));
+        assertNull(trie.findFirst("", null));
+        assertTrue(trie.validate("").isEmpty());
+        // 情况二：空的敏感词会被忽略
+        trie = buildTrie("", "abc");
+        assertEquals(1, trie.getWordCount());
+        assertTrue(trie.isValid("xyz"));
+        // 情况三：没有敏感词
+        trie = new AhoCorasickTrie(Collections.emptyMap());
+        assertEquals(0, trie.getWordCount());
+        assertTrue(trie.isValid("abc"));
+        assertTrue(trie.validate("abc", singletonList("tag")).isEmpty());
+    }
+
+    @Test
+    public void testValidate_tags() {
+        // 准备参数
+        Map<String, List<String>> wordTags = new LinkedHashMap<>();
+        wordTags.put("he", asList("a", "b"));
+        wordTags.put("she", singletonList("b"));
+        wordTags.put("hers", null);
+        AhoCorasickTrie trie = new AhoCorasickTrie(wordTags);
+
+        // 调用，并断言：不指定标签，校验所有敏感词
+        assertEquals(asList("she", "he", "hers"), trie.validate("ushers", emptyList()));
+        // 调用，并断言：指定标签
+        assertEquals(singletonList("he"), trie.validate("ushers", singletonList("a")));
+        assertEquals(asList("she", "he"), trie.validate("ushers", singletonList("b")));
+        assertEquals("he", trie.findFirst("ushers", singletonList("a")));
+        // 调用，并断言：不存在的标签，不命中任何敏感词
+        assertTrue(trie.isValid("ushers", singletonList("c")));
+        assertEquals(new HashSet<>(asList("a", "b")), trie.getTags());
+    }
+
+    @Test
+    public void testValidate_manyTags() {
+        // 准备参数：超过 64 个标签，位图需要多个 long
+        Map<String, List<String>> wordTags = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            wordTags.put("w" + i + "#", singletonList("tag" + i));
+        }
+        AhoCorasickTrie trie = new AhoCorasickTrie(wordTags);
+
+        // 调用，并断言
+        assertEquals(singletonList("w99#"), trie.validate("xxw99#xx", singletonList("tag99")));
+        assertTrue(trie.isValid("xxw99#xx", singletonList("tag98")));
+        assertEquals(singletonList("w0#"), trie.validate("w0#", singletonList("tag0")));
+    }
+
+    private static AhoCorasickTrie buildTrie(String... words) {
+        Map<String, List<String>> wordTags = new LinkedHashMap<>();
+        for (String word : words) {
+            wordTags.put(word, emptyList());
+        }
+        return new AhoCorasickTrie(wordTags);
+    }
+
+}